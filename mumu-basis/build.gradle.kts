@@ -19,6 +19,10 @@ dependencies {
     annotationProcessor(libs.hibernate.processor)
     implementation(libs.spring.cloud.commons)
     implementation(libs.grpc.api)
+    compileOnly(libs.spring.grpc.client.spring.boot.starter)
+    compileOnly(libs.micrometer.core)
+    testImplementation(libs.spring.grpc.client.spring.boot.starter)
+    testImplementation(libs.micrometer.core)
     implementation(libs.grpc.protobuf)
     implementation(libs.micrometer.tracing)
     implementation(libs.protobuf.java)
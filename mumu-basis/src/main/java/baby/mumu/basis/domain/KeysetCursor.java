@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.basis.domain;
+
+import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.response.ResponseCode;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * 键集分页游标
+ * <p>
+ * 以（创建时间，ID）作为排序键定位上一页最后一条记录，下一页通过 {@code (creationTime, id) < (?, ?)}
+ * 直接定位，查询耗时与页深度无关；对调用方而言游标是不透明字符串
+ *
+ * @param creationTime 创建时间
+ * @param id           ID
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public record KeysetCursor(OffsetDateTime creationTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 生成记录对应的游标
+     *
+     * @param creationTime 创建时间
+     * @param id           ID
+     * @return 游标，排序键不完整时返回null
+     */
+    public static String encode(OffsetDateTime creationTime, Long id) {
+        if (creationTime == null || id == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((creationTime + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标
+     * @return 游标为空时返回空
+     * @throws ApplicationException 游标格式不合法
+     */
+    public static Optional<KeysetCursor> decode(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return Optional.empty();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new ApplicationException(ResponseCode.PARAMS_IS_INVALID);
+            }
+            return Optional.of(new KeysetCursor(
+                OffsetDateTime.parse(decoded.substring(0, separatorIndex)),
+                Long.valueOf(decoded.substring(separatorIndex + 1))));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ApplicationException(ResponseCode.PARAMS_IS_INVALID, e);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package baby.mumu.basis.enums;
 
 import org.apache.commons.lang3.time.DurationUtils;
 
+import java.time.Duration;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
@@ -28,17 +29,21 @@ import java.util.concurrent.TimeUnit;
  * @since 2.4.0
  */
 public enum CacheLevelEnum {
-    HIGH(5, TimeUnit.SECONDS),
-    MEDIUM(1, TimeUnit.HOURS),
-    LOW(6, TimeUnit.HOURS);
+    HIGH(5, TimeUnit.SECONDS, 1, TimeUnit.SECONDS),
+    MEDIUM(1, TimeUnit.HOURS, 30, TimeUnit.SECONDS),
+    LOW(6, TimeUnit.HOURS, 1, TimeUnit.MINUTES);
 
 
     private final long ttl;
     private final TimeUnit ttlUnit;
+    private final long nearCacheTtl;
+    private final TimeUnit nearCacheTtlUnit;
 
-    CacheLevelEnum(long ttl, TimeUnit ttlUnit) {
+    CacheLevelEnum(long ttl, TimeUnit ttlUnit, long nearCacheTtl, TimeUnit nearCacheTtlUnit) {
         this.ttl = ttl;
         this.ttlUnit = ttlUnit;
+        this.nearCacheTtl = nearCacheTtl;
+        this.nearCacheTtlUnit = nearCacheTtlUnit;
     }
 
     public long getSecondTtl() {
@@ -47,4 +52,14 @@ public enum CacheLevelEnum {
         long baseTTL = DurationUtils.toDuration(ttl, ttlUnit).getSeconds();
         return baseTTL + ttlJitter;
     }
+
+    /**
+     * 进程内近端缓存有效期，远短于redis中的有效期以限制跨实例失效通知丢失时的不一致窗口
+     *
+     * @return 近端缓存有效期
+     * @since 2.17.0
+     */
+    public Duration getNearCacheTtl() {
+        return DurationUtils.toDuration(nearCacheTtl, nearCacheTtlUnit);
+    }
 }
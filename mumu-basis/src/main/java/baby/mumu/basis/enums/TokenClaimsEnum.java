@@ -52,7 +52,17 @@ public enum TokenClaimsEnum {
     /**
      * 授权类型
      */
-    AUTHORIZATION_GRANT_TYPE("grant");
+    AUTHORIZATION_GRANT_TYPE("grant"),
+
+    /**
+     * 权限位图（基于权限字典编码）
+     */
+    AUTHORITY_BITSET("atb"),
+
+    /**
+     * 权限字典版本
+     */
+    AUTHORITY_DICTIONARY_VERSION("atv");
 
 
     private final String claimName;
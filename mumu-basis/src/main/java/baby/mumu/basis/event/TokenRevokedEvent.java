@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.basis.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.io.Serial;
+
+/**
+ * 账号令牌撤销事件
+ * <p>
+ * 本地发布的事件{@code propagated}为false，经由跨实例广播后重新发布的事件{@code propagated}为true
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Getter
+public class TokenRevokedEvent extends ApplicationEvent {
+
+    @Serial
+    private static final long serialVersionUID = 3517405818286637415L;
+
+    private final Long accountId;
+
+    private final boolean propagated;
+
+    public TokenRevokedEvent(Object source, Long accountId) {
+        this(source, accountId, false);
+    }
+
+    public TokenRevokedEvent(Object source, Long accountId, boolean propagated) {
+        super(source);
+        this.accountId = accountId;
+        this.propagated = propagated;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.basis.grpc.channel;
+
+import baby.mumu.basis.grpc.resolvers.DiscoveryClientNameResolverProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.grpc.client.GrpcChannelFactory;
+
+/**
+ * gRPC 通道注册中心配置类
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.grpc.client.GrpcChannelFactory")
+@EnableConfigurationProperties(GrpcChannelProperties.class)
+public class GrpcChannelConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GrpcChannelRegistry grpcChannelRegistry(GrpcChannelFactory grpcChannelFactory,
+                                                   GrpcChannelProperties grpcChannelProperties,
+                                                   ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                                   ObjectProvider<DiscoveryClientNameResolverProvider> discoveryClientNameResolverProvider) {
+        // 先初始化解析器提供者，确保 discovery-client 协议在创建通道前已注册
+        discoveryClientNameResolverProvider.getIfAvailable();
+        return new GrpcChannelRegistry(grpcChannelFactory, grpcChannelProperties,
+            meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new));
+    }
+}
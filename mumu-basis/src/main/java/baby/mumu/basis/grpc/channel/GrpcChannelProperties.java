@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.basis.grpc.channel;
+
+import baby.mumu.basis.grpc.resolvers.DiscoveryClientNameResolverProvider;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC 客户端通道配置
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+@ConfigurationProperties(prefix = "mumu.grpc.client")
+public class GrpcChannelProperties {
+
+    /**
+     * 空闲时发送 keepalive ping 的间隔
+     */
+    private long keepAliveTime = 30L;
+
+    private TimeUnit keepAliveTimeUnit = TimeUnit.SECONDS;
+
+    /**
+     * 等待 keepalive ping 响应的超时时间
+     */
+    private long keepAliveTimeout = 10L;
+
+    private TimeUnit keepAliveTimeoutUnit = TimeUnit.SECONDS;
+
+    /**
+     * 没有进行中的调用时是否仍发送 keepalive ping，保持连接预热
+     */
+    private boolean keepAliveWithoutCalls = true;
+
+    /**
+     * 一元调用未显式设置截止时间时使用的默认截止时间
+     */
+    private long defaultDeadline = 10L;
+
+    private TimeUnit defaultDeadlineUnit = TimeUnit.SECONDS;
+
+    /**
+     * 关闭通道时等待进行中调用完成的时间
+     */
+    private long shutdownGracePeriod = 10L;
+
+    private TimeUnit shutdownGracePeriodUnit = TimeUnit.SECONDS;
+
+    /**
+     * 服务发现通道的负载均衡策略名称，如 round_robin、pick_first
+     */
+    private String loadBalancingPolicy = DiscoveryClientNameResolverProvider.DEFAULT_LOAD_BALANCING_POLICY;
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.basis.grpc.channel;
+
+import io.grpc.*;
+import io.grpc.stub.AbstractStub;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.grpc.client.ChannelBuilderOptions;
+import org.springframework.grpc.client.GrpcChannelFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * gRPC 通道注册中心
+ * <p>
+ * 每个目标服务只创建一个通道并在注册时立即开始连接，客户端之间共享通道与存根，
+ * 服务是否可用由通道状态判断，不再在每次调用前查询服务发现
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class GrpcChannelRegistry implements DisposableBean {
+
+    private final GrpcChannelFactory grpcChannelFactory;
+    private final GrpcChannelProperties grpcChannelProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+    private final Map<StubKey, AbstractStub<?>> stubs = new ConcurrentHashMap<>();
+
+    public GrpcChannelRegistry(GrpcChannelFactory grpcChannelFactory,
+                               GrpcChannelProperties grpcChannelProperties,
+                               MeterRegistry meterRegistry) {
+        this.grpcChannelFactory = grpcChannelFactory;
+        this.grpcChannelProperties = grpcChannelProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 注册目标服务，重复注册返回同一通道，已关闭的通道会被替换为新通道
+     *
+     * @param target 通道名，对应 spring.grpc.client.channels.* 配置
+     * @return 通道
+     */
+    public ManagedChannel register(String target) {
+        ManagedChannel channel = channels.computeIfAbsent(target, this::createChannel);
+        return channel.isShutdown() ? replace(target, channel) : channel;
+    }
+
+    /**
+     * 获取目标服务通道，目标服务当前没有可用实例时返回空
+     * <p>
+     * 每次调用都重新读取通道状态，调用方不应自行持有通道
+     *
+     * @param target 通道名
+     * @return 通道
+     */
+    public Optional<ManagedChannel> channel(String target) {
+        ManagedChannel channel = register(target);
+        return channel.getState(true) == ConnectivityState.TRANSIENT_FAILURE ? Optional.empty()
+            : Optional.of(channel);
+    }
+
+    /**
+     * 获取目标服务的共享存根，同一通道同一存根类型只创建一次
+     *
+     * @param target      通道名
+     * @param stubType    存根类型
+     * @param stubFactory 存根创建方法，如 XxxServiceGrpc::newBlockingStub
+     * @return 存根
+     */
+    public <S extends AbstractStub<S>> S stub(String target, Class<S> stubType,
+                                              Function<Channel, S> stubFactory) {
+        ManagedChannel channel = register(target);
+        return stubType.cast(stubs.computeIfAbsent(new StubKey(channel, stubType),
+            stubKey -> stubFactory.apply(channel)));
+    }
+
+    private ManagedChannel replace(String target, ManagedChannel failed) {
+        ManagedChannel replaced = channels.compute(target,
+            (key, current) -> current == null || current == failed ? createChannel(key) : current);
+        // 旧通道上的存根已不可用，随通道一起丢弃
+        stubs.keySet().removeIf(stubKey -> stubKey.channel() == failed);
+        return replaced;
+    }
+
+    private ManagedChannel createChannel(String target) {
+        ChannelBuilderOptions opts = ChannelBuilderOptions.defaults()
+            .withInterceptors(List.of(
+                new DefaultDeadlineClientInterceptor(grpcChannelProperties.getDefaultDeadlineUnit()
+                    .toNanos(grpcChannelProperties.getDefaultDeadline())),
+                new MetricsClientInterceptor(target, meterRegistry)))
+            .withInterceptorsMerge(true)
+            .withShutdownGracePeriod(Duration.ofNanos(grpcChannelProperties.getShutdownGracePeriodUnit()
+                .toNanos(grpcChannelProperties.getShutdownGracePeriod())))
+            .withCustomizer((authority, builder) -> builder
+                .keepAliveTime(grpcChannelProperties.getKeepAliveTime(),
+                    grpcChannelProperties.getKeepAliveTimeUnit())
+                .keepAliveTimeout(grpcChannelProperties.getKeepAliveTimeout(),
+                    grpcChannelProperties.getKeepAliveTimeoutUnit())
+                .keepAliveWithoutCalls(grpcChannelProperties.isKeepAliveWithoutCalls()));
+        // 这里传入的是“通道名”，会去读取 spring.grpc.client.channels.<target>.* 的配置
+        ManagedChannel channel = grpcChannelFactory.createChannel(target, opts);
+        // 预热：立即解析地址并建立连接，避免首批请求承担建连开销
+        channel.getState(true);
+        return channel;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        channels.values().forEach(ManagedChannel::shutdown);
+        for (ManagedChannel channel : channels.values()) {
+            channel.awaitTermination(grpcChannelProperties.getShutdownGracePeriod(),
+                grpcChannelProperties.getShutdownGracePeriodUnit());
+        }
+    }
+
+    private record StubKey(ManagedChannel channel, Class<?> stubType) {
+
+    }
+
+    /**
+     * 为未设置截止时间的一元调用补充默认截止时间，流式调用不受影响
+     */
+    private record DefaultDeadlineClientInterceptor(long defaultDeadlineNanos) implements
+        ClientInterceptor {
+
+        @Override
+        public <Q, P> ClientCall<Q, P> interceptCall(MethodDescriptor<Q, P> method,
+                                                     CallOptions callOptions, Channel next) {
+            if (method.getType() == MethodDescriptor.MethodType.UNARY
+                && callOptions.getDeadline() == null) {
+                return next.newCall(method,
+                    callOptions.withDeadlineAfter(defaultDeadlineNanos, TimeUnit.NANOSECONDS));
+            }
+            return next.newCall(method, callOptions);
+        }
+    }
+}
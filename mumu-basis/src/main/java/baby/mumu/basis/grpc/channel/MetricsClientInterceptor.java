@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.basis.grpc.channel;
+
+import io.grpc.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按目标服务记录 gRPC 调用耗时与结果状态
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+class MetricsClientInterceptor implements ClientInterceptor {
+
+    static final String METRIC_NAME = "mumu.grpc.client.calls";
+
+    private final String target;
+    private final MeterRegistry meterRegistry;
+
+    MetricsClientInterceptor(String target, MeterRegistry meterRegistry) {
+        this.target = target;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <Q, P> ClientCall<Q, P> interceptCall(MethodDescriptor<Q, P> method,
+                                                 CallOptions callOptions, Channel next) {
+        long startNanos = System.nanoTime();
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(
+            next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<P> responseListener, Metadata headers) {
+                super.start(
+                    new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(
+                        responseListener) {
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            Timer.builder(MetricsClientInterceptor.METRIC_NAME)
+                                .tag("target", target)
+                                .tag("method", method.getFullMethodName())
+                                .tag("status", status.getCode().name())
+                                .register(meterRegistry)
+                                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                            super.onClose(status, trailers);
+                        }
+                    }, headers);
+            }
+        };
+    }
+}
@@ -16,22 +16,23 @@
 
 package baby.mumu.basis.grpc.resolvers;
 
-import io.grpc.Attributes;
-import io.grpc.EquivalentAddressGroup;
-import io.grpc.NameResolver;
-import io.grpc.StatusOr;
+import io.grpc.*;
 import org.jspecify.annotations.NonNull;
+import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 
 import java.net.InetSocketAddress;
-import java.net.SocketAddress;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * 服务发现客户端名称解析器
+ * <p>
+ * 每个服务实例对应一个地址组，由负载均衡策略在实例间分配请求
  *
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 2.1.0
@@ -42,12 +43,29 @@ public class DiscoveryClientNameResolver extends NameResolver {
     private Listener2 listener;
     private final DiscoveryClient discoveryClient;
     private final int port;
+    private final SynchronizationContext synchronizationContext;
+    private final Executor executor;
+    private final NameResolver.ConfigOrError serviceConfig;
+    private final Consumer<DiscoveryClientNameResolver> onShutdown;
+    /**
+     * 待处理的刷新请求数，解析进行中收到的刷新合并为一次
+     */
+    private final AtomicInteger pendingRefreshes = new AtomicInteger();
+    private volatile List<EquivalentAddressGroup> lastAddresses;
+    private volatile boolean shutdown;
 
     public DiscoveryClientNameResolver(String serviceName, DiscoveryClient discoveryClient,
-                                       int port) {
+                                       int port, @NonNull Args args, String loadBalancingPolicy,
+                                       Consumer<DiscoveryClientNameResolver> onShutdown) {
         this.serviceName = serviceName;
         this.discoveryClient = discoveryClient;
         this.port = port;
+        this.synchronizationContext = args.getSynchronizationContext();
+        this.executor = Optional.<Executor>ofNullable(args.getOffloadExecutor())
+            .orElse(Runnable::run);
+        this.serviceConfig = args.getServiceConfigParser().parseServiceConfig(
+            Map.of("loadBalancingConfig", List.of(Map.of(loadBalancingPolicy, Map.of()))));
+        this.onShutdown = onShutdown;
     }
 
     @Override
@@ -58,36 +76,69 @@ public class DiscoveryClientNameResolver extends NameResolver {
     @Override
     public void start(Listener2 listener) {
         this.listener = listener;
-        init();
+        refresh();
     }
 
+    /**
+     * 由 gRPC 在连接失败时或服务目录变更时触发，解析在后台执行器中进行
+     */
     @Override
     public void refresh() {
-        init();
+        if (!shutdown && pendingRefreshes.getAndIncrement() == 0) {
+            executor.execute(() -> {
+                int handled;
+                do {
+                    handled = pendingRefreshes.get();
+                    resolve();
+                } while (pendingRefreshes.addAndGet(-handled) > 0);
+            });
+        }
     }
 
-    private void init() {
-        listener.onResult(ResolutionResult.newBuilder()
-            .setAddressesOrError(StatusOr.fromValue(fetchAddresses()))
+    private void resolve() {
+        if (shutdown) {
+            return;
+        }
+        List<EquivalentAddressGroup> addresses;
+        try {
+            addresses = fetchAddresses();
+        } catch (RuntimeException e) {
+            synchronizationContext.execute(() -> listener.onError(
+                Status.UNAVAILABLE.withDescription("Failed to resolve " + serviceName).withCause(e)));
+            return;
+        }
+        if (addresses.isEmpty()) {
+            lastAddresses = null;
+            synchronizationContext.execute(() -> listener.onError(
+                Status.UNAVAILABLE.withDescription("No available instances of " + serviceName)));
+            return;
+        }
+        if (addresses.equals(lastAddresses)) {
+            return;
+        }
+        lastAddresses = addresses;
+        ResolutionResult resolutionResult = ResolutionResult.newBuilder()
+            .setAddressesOrError(StatusOr.fromValue(addresses))
             .setAttributes(Attributes.EMPTY)
-            .build());
+            .setServiceConfig(serviceConfig)
+            .build();
+        synchronizationContext.execute(() -> listener.onResult(resolutionResult));
     }
 
-    /**
-     * This method is intentionally left blank because No operation needed for this implementation.
-     */
     @Override
     public void shutdown() {
-        // No operation needed for this implementation.
+        shutdown = true;
+        onShutdown.accept(this);
     }
 
     private @NonNull List<EquivalentAddressGroup> fetchAddresses() {
-        return List.of(new EquivalentAddressGroup(Optional.ofNullable(
-                discoveryClient.getInstances(serviceName)).map(
-                serviceInstances -> serviceInstances.stream().map(
-                        serviceInstance -> (SocketAddress) new InetSocketAddress(serviceInstance.getHost(),
-                            port))
-                    .collect(Collectors.toList()))
-            .orElse(new ArrayList<>())));
+        return Optional.ofNullable(discoveryClient.getInstances(serviceName))
+            .map(serviceInstances -> serviceInstances.stream()
+                .map(ServiceInstance::getHost)
+                .distinct()
+                .sorted()
+                .map(host -> new EquivalentAddressGroup(new InetSocketAddress(host, port)))
+                .toList())
+            .orElse(List.of());
     }
 }
@@ -21,27 +21,59 @@ import io.grpc.NameResolver.Args;
 import io.grpc.NameResolverProvider;
 import org.jspecify.annotations.NonNull;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.ApplicationListener;
 
 import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 服务发现客户端名称解析器提供者
+ * <p>
+ * 服务目录发生变化时（{@link HeartbeatEvent}）刷新所有存活的解析器
  *
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 2.1.0
  */
-public class DiscoveryClientNameResolverProvider extends NameResolverProvider {
+public class DiscoveryClientNameResolverProvider extends NameResolverProvider implements
+    ApplicationListener<HeartbeatEvent> {
+
+    /**
+     * 默认负载均衡策略，按实例轮询
+     */
+    public static final String DEFAULT_LOAD_BALANCING_POLICY = "round_robin";
 
     private final DiscoveryClient discoveryClient;
+    private final String loadBalancingPolicy;
+    private final Set<DiscoveryClientNameResolver> resolvers = ConcurrentHashMap.newKeySet();
 
     public DiscoveryClientNameResolverProvider(final DiscoveryClient discoveryClient) {
+        this(discoveryClient, DiscoveryClientNameResolverProvider.DEFAULT_LOAD_BALANCING_POLICY);
+    }
+
+    /**
+     * @param discoveryClient     服务发现客户端
+     * @param loadBalancingPolicy gRPC 负载均衡策略名称，如 round_robin、pick_first
+     * @since 2.17.0
+     */
+    public DiscoveryClientNameResolverProvider(final DiscoveryClient discoveryClient,
+                                               final String loadBalancingPolicy) {
         this.discoveryClient = discoveryClient;
+        this.loadBalancingPolicy = loadBalancingPolicy;
     }
 
     @Override
     public NameResolver newNameResolver(@NonNull URI targetUri, Args args) {
-        return new DiscoveryClientNameResolver(targetUri.getHost(), discoveryClient,
-            targetUri.getPort());
+        DiscoveryClientNameResolver resolver = new DiscoveryClientNameResolver(targetUri.getHost(),
+            discoveryClient, targetUri.getPort(), args, loadBalancingPolicy, resolvers::remove);
+        resolvers.add(resolver);
+        return resolver;
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull HeartbeatEvent event) {
+        resolvers.forEach(DiscoveryClientNameResolver::refresh);
     }
 
     @Override
@@ -64,6 +64,7 @@ public enum ResponseCode implements BaseResponse {
     DIGITAL_SIGNATURE_AUTHENTICATION_FAILED("2016", 500),
     /*grpc错误3001-3999*/
     GRPC_SERVICE_NOT_FOUND("3001", 500),
+    AUTHORITY_DICTIONARY_UNAVAILABLE("3002", 503),
     /*数据转换错误4001-4999*/
     OPERATION_LOG_KAFKA_MESSAGE_CONVERSION_FAILED("4001", 500),
     /*拓展模块错误5001-5999*/
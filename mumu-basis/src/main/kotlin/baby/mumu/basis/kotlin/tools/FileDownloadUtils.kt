@@ -29,12 +29,14 @@ import org.springframework.util.Assert
 import tools.jackson.core.JsonEncoding
 import tools.jackson.datatype.javax.money.JavaxMoneyModule
 import tools.jackson.module.kotlin.jsonMapper
+import java.io.BufferedWriter
 import java.io.IOException
 import java.io.InputStream
 import java.io.OutputStreamWriter
 import java.net.URLEncoder
 import java.nio.charset.StandardCharsets
-import java.util.concurrent.StructuredTaskScope
+import java.util.concurrent.*
+import java.util.function.Function
 import java.util.stream.Stream
 
 
@@ -119,12 +121,47 @@ object FileDownloadUtils {
         }
     }
 
+    /**
+     * 每批转换的记录数
+     */
+    private const val CSV_CHUNK_SIZE = 256
+
+    /**
+     * 已提交但尚未写出的最大批次数，超过后阻塞读取形成背压
+     */
+    private const val CSV_MAX_IN_FLIGHT_CHUNKS = 8
+
+    /**
+     * 输出缓冲区大小
+     */
+    private const val CSV_BUFFER_SIZE = 64 * 1024
+
     @JvmStatic
     @API(status = API.Status.STABLE, since = "2.4.0")
     fun <T : Any> downloadCSV(
         response: HttpServletResponse,
         fileName: String,
         data: Stream<T>
+    ) = downloadCSV(response, fileName, data, Function.identity())
+
+    /**
+     * 流式导出 CSV
+     *
+     * 在当前线程按顺序读取数据流（数据库游标需在当前事务内消费），按批提交到虚拟线程并行转换，
+     * 由单一写线程按提交顺序写出，保证行序且内存占用与总行数无关
+     *
+     * @param response  HttpServletResponse
+     * @param fileName  下载的文件名
+     * @param data      源数据流，导出结束后关闭
+     * @param converter 转换为导出对象，返回 null 时跳过该条记录
+     */
+    @JvmStatic
+    @API(status = API.Status.EXPERIMENTAL, since = "2.17.0")
+    fun <S, T : Any> downloadCSV(
+        response: HttpServletResponse,
+        fileName: String,
+        data: Stream<S>,
+        converter: Function<in S, out T?>
     ) {
         try {
             Assert.isTrue(StringUtils.isNotBlank(fileName), "fileName must not be blank")
@@ -142,32 +179,49 @@ object FileDownloadUtils {
             )
 
             // 使用 OpenCSV 写入 CSV 内容
-            OutputStreamWriter(response.outputStream, StandardCharsets.UTF_8).use { writer ->
+            BufferedWriter(
+                OutputStreamWriter(response.outputStream, StandardCharsets.UTF_8),
+                CSV_BUFFER_SIZE
+            ).use { writer ->
                 val beanToCsv = StatefulBeanToCsvBuilder<T>(writer)
                     .withQuotechar(CSVWriter.NO_QUOTE_CHARACTER)
                     .withOrderedResults(true)
                     .build()
+                val chunks = ArrayBlockingQueue<Future<List<T>>>(CSV_MAX_IN_FLIGHT_CHUNKS)
+                val end: Future<List<T>> = CompletableFuture.completedFuture(emptyList())
 
-                // JDK 25：使用新的 StructuredTaskScope API
-                StructuredTaskScope.open<Void>().use { scope ->
-                    var index = 0
-                    data.forEach { record ->
-                        if (index == 0) {
-                            // 第一条在当前线程写，避免 scope 还没完全建立时就 fork
-                            beanToCsv.write(record)
-                            index = 1
-                        } else {
-                            // 之后的记录丢到虚拟线程里
-                            scope.fork<Void>(Runnable {
-                                beanToCsv.write(record)
-                            })
+                Executors.newVirtualThreadPerTaskExecutor().use { executor ->
+                    // 单一写线程按提交顺序等待每批转换结果并写出
+                    val writing = executor.submit(Runnable {
+                        while (true) {
+                            val chunk = chunks.take()
+                            if (chunk === end) {
+                                break
+                            }
+                            chunk.get().forEach { beanToCsv.write(it) }
                         }
+                    })
+                    try {
+                        data.use { stream ->
+                            val iterator = stream.iterator()
+                            var buffer = ArrayList<S>(CSV_CHUNK_SIZE)
+                            while (iterator.hasNext()) {
+                                buffer.add(iterator.next())
+                                if (buffer.size == CSV_CHUNK_SIZE || !iterator.hasNext()) {
+                                    val records = buffer
+                                    buffer = ArrayList(CSV_CHUNK_SIZE)
+                                    enqueue(chunks, executor.submit<List<T>> {
+                                        records.mapNotNull { converter.apply(it) }
+                                    }, writing)
+                                }
+                            }
+                        }
+                        enqueue(chunks, end, writing)
+                        writing.get()
+                    } finally {
+                        // 读取或写出失败时中断写线程，避免其阻塞在空队列上
+                        writing.cancel(true)
                     }
-
-                    // 等待所有子任务结束：
-                    // - 全部成功：join() 正常返回
-                    // - 任意一个失败：join() 抛 StructuredTaskScope.FailedException
-                    scope.join()
                 }
             }
         } catch (e: Exception) {
@@ -175,6 +229,22 @@ object FileDownloadUtils {
         }
     }
 
+    /**
+     * 将批次放入有界队列，队列已满时阻塞等待写线程消费；写线程提前结束时抛出其异常
+     */
+    private fun <T> enqueue(
+        chunks: BlockingQueue<Future<List<T>>>,
+        chunk: Future<List<T>>,
+        writing: Future<*>
+    ) {
+        while (!chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (writing.isDone) {
+                writing.get()
+                throw IllegalStateException("CSV writer terminated unexpectedly")
+            }
+        }
+    }
+
     @JvmStatic
     @API(status = API.Status.STABLE, since = "2.7.0")
     fun <T> downloadJson(
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.basis.domain;
+
+import baby.mumu.basis.exception.ApplicationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * 键集分页游标单元测试
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class KeysetCursorTest {
+
+    @Test
+    public void roundTrip() {
+        OffsetDateTime creationTime = OffsetDateTime.parse("2026-01-02T03:04:05.123456+08:00");
+        String cursor = KeysetCursor.encode(creationTime, 42L);
+        Optional<KeysetCursor> decoded = KeysetCursor.decode(cursor);
+        Assertions.assertTrue(decoded.isPresent());
+        Assertions.assertEquals(creationTime, decoded.get().creationTime());
+        Assertions.assertEquals(42L, decoded.get().id());
+    }
+
+    @Test
+    public void blankCursor() {
+        Assertions.assertTrue(KeysetCursor.decode(null).isEmpty());
+        Assertions.assertTrue(KeysetCursor.decode(" ").isEmpty());
+        Assertions.assertNull(KeysetCursor.encode(null, 1L));
+    }
+
+    @Test
+    public void malformedCursor() {
+        Assertions.assertThrows(ApplicationException.class, () -> KeysetCursor.decode("not-a-cursor"));
+    }
+}
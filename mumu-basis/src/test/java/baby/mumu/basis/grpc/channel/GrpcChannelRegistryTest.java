@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.basis.grpc.channel;
+
+import io.grpc.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.grpc.client.ChannelBuilderOptions;
+import org.springframework.grpc.client.GrpcChannelFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC 通道注册中心单元测试
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class GrpcChannelRegistryTest {
+
+    private static final String TARGET = "mumu-test";
+
+    private final List<StubChannel> created = new ArrayList<>();
+
+    private final GrpcChannelRegistry grpcChannelRegistry = new GrpcChannelRegistry(
+        new GrpcChannelFactory() {
+            @Override
+            public ManagedChannel createChannel(String target, ChannelBuilderOptions options) {
+                StubChannel channel = new StubChannel();
+                created.add(channel);
+                return channel;
+            }
+        }, new GrpcChannelProperties(), new SimpleMeterRegistry());
+
+    @Test
+    public void stateIsCheckedOnEveryCall() {
+        grpcChannelRegistry.register(TARGET);
+        StubChannel channel = created.getFirst();
+        Assertions.assertTrue(grpcChannelRegistry.channel(TARGET).isPresent());
+        channel.state = ConnectivityState.TRANSIENT_FAILURE;
+        Assertions.assertTrue(grpcChannelRegistry.channel(TARGET).isEmpty());
+        channel.state = ConnectivityState.READY;
+        Assertions.assertSame(channel, grpcChannelRegistry.channel(TARGET).orElseThrow());
+        Assertions.assertEquals(1, created.size());
+    }
+
+    @Test
+    public void shutdownChannelIsReplaced() {
+        ManagedChannel failed = grpcChannelRegistry.register(TARGET);
+        failed.shutdownNow();
+        ManagedChannel replaced = grpcChannelRegistry.channel(TARGET).orElseThrow();
+        Assertions.assertNotSame(failed, replaced);
+        Assertions.assertEquals(2, created.size());
+        Assertions.assertSame(replaced, grpcChannelRegistry.channel(TARGET).orElseThrow());
+    }
+
+    private static class StubChannel extends ManagedChannel {
+
+        private volatile ConnectivityState state = ConnectivityState.IDLE;
+
+        @Override
+        public ConnectivityState getState(boolean requestConnection) {
+            if (requestConnection && state == ConnectivityState.IDLE) {
+                state = ConnectivityState.READY;
+            }
+            return state;
+        }
+
+        @Override
+        public ManagedChannel shutdown() {
+            state = ConnectivityState.SHUTDOWN;
+            return this;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return state == ConnectivityState.SHUTDOWN;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return isShutdown();
+        }
+
+        @Override
+        public ManagedChannel shutdownNow() {
+            return shutdown();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+
+        @Override
+        public <Q, P> ClientCall<Q, P> newCall(MethodDescriptor<Q, P> methodDescriptor,
+                                               CallOptions callOptions) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String authority() {
+            return TARGET;
+        }
+    }
+}
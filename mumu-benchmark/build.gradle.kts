@@ -8,4 +8,20 @@ dependencies {
     implementation(libs.jmh.core)
     annotationProcessor(libs.jmh.generator.annprocess)
     implementation(libs.yitter.idgenerator)
+    implementation(project(":mumu-services:mumu-genix:genix-client"))
+    implementation(libs.grpc.stub)
+    implementation(libs.grpc.inprocess)
+    implementation(project(":mumu-services:mumu-storage:storage-infra"))
+    implementation(libs.s3)
+    implementation(project(":mumu-extension"))
+    implementation(libs.spring.data.redis)
+    implementation(libs.lettuce.core)
+    implementation(libs.spring.security.crypto)
+    implementation(project(":mumu-services:mumu-iam"))
+    implementation(project(":mumu-services:mumu-iam:iam-domain"))
+    implementation(project(":mumu-services:mumu-iam:iam-infra"))
+    implementation(libs.spring.boot.starter.data.jpa)
+    implementation(libs.hypersistence)
+    implementation(libs.redis.om.spring)
+    implementation(libs.spring.boot.starter.security.oauth2.authorization.server)
 }
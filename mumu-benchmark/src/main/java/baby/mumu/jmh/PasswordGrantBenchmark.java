@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.jmh;
+
+import baby.mumu.basis.enums.OAuth2Enum;
+import baby.mumu.basis.response.ResponseCode;
+import baby.mumu.iam.configuration.BoundedPasswordEncoder;
+import baby.mumu.iam.configuration.PasswordGrantAuthenticationConverter;
+import baby.mumu.iam.configuration.PasswordGrantAuthenticationProvider;
+import baby.mumu.iam.configuration.PasswordGrantAuthenticationToken;
+import baby.mumu.iam.configuration.PasswordHashingProperties;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContext;
+import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContextHolder;
+import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
+import org.springframework.security.oauth2.server.authorization.token.JwtGenerator;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static baby.mumu.jmh.ApplicationBenchmarkUtils.getResultFilePath;
+
+/**
+ * 密码模式登录基准测试
+ * <p>
+ * 直接调用 {@link PasswordGrantAuthenticationProvider}，令牌由真实的 {@link JwtGenerator} 签名；
+ * 账号查询与授权信息保存使用内存夹具代替数据库，每次访问计入一次往返延迟。
+ * 登录线程与普通请求线程同时运行，对比BCrypt在请求线程内执行与由 {@link BoundedPasswordEncoder} 执行时登录吞吐和普通请求的耗时。
+ * 被拒绝的登录不计为成功，登录吞吐以辅助计数器 succeeded 为准，rejected 为过载时快速拒绝的次数
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@SuppressWarnings("unused")
+// 吞吐量与平均耗时，辅助计数器只在这两种模式下输出
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+// 输出结果单位
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+// 所有线程共享同一份夹具
+@State(Scope.Benchmark)
+// 每个 benchmark fork 一次 JVM
+@Fork(1)
+// 预热2次，每次2秒
+@Warmup(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
+// 正式执行5次，每次2秒
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class PasswordGrantBenchmark {
+
+    /**
+     * BCrypt工作因子
+     */
+    @Param({"10"})
+    private int strength;
+
+    /**
+     * 模拟一次Redis或数据库往返的耗时（微秒）
+     */
+    @Param({"200"})
+    private long roundTripMicros;
+
+    /**
+     * 有界线程池等待队列长度
+     */
+    @Param({"64"})
+    private int queueCapacity;
+
+    private static final String CLIENT_ID = "mumu-client";
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "mumu-password";
+    private static final String ISSUER = "http://localhost:31100";
+    private static final byte[] OTHER_REQUEST_PAYLOAD = new byte[1024];
+
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+    private PasswordGrantAuthenticationProvider inlineProvider;
+    private PasswordGrantAuthenticationProvider boundedProvider;
+    private PasswordGrantAuthenticationToken passwordGrantAuthenticationToken;
+    private AuthorizationServerContext authorizationServerContext;
+
+    /**
+     * 每个登录线程的成功与拒绝次数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class LoginCounters {
+
+        public long succeeded;
+
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            rejected = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchAlgorithmException {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(strength);
+        PasswordHashingProperties passwordHashingProperties = new PasswordHashingProperties();
+        passwordHashingProperties.setStrength(strength);
+        passwordHashingProperties.setQueueCapacity(queueCapacity);
+        boundedPasswordEncoder = new BoundedPasswordEncoder(passwordHashingProperties);
+        UserDetails userDetails = User.withUsername(USERNAME).password(passwordEncoder.encode(PASSWORD))
+            .authorities("ROLE_admin").build();
+        // 账号查询一次往返
+        UserDetailsService userDetailsService = _ -> {
+            roundTrip();
+            return userDetails;
+        };
+        OAuth2AuthorizationService authorizationService = new RoundTripAuthorizationService();
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+            .privateKey((RSAPrivateKey) keyPair.getPrivate()).keyID(UUID.randomUUID().toString()).build();
+        JwtGenerator jwtGenerator = new JwtGenerator(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey))));
+        inlineProvider = new PasswordGrantAuthenticationProvider(authorizationService, jwtGenerator,
+            userDetailsService, passwordEncoder);
+        boundedProvider = new PasswordGrantAuthenticationProvider(authorizationService, jwtGenerator,
+            userDetailsService, boundedPasswordEncoder);
+        RegisteredClient registeredClient = RegisteredClient.withId(UUID.randomUUID().toString())
+            .clientId(CLIENT_ID)
+            .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+            .authorizationGrantType(new AuthorizationGrantType(OAuth2Enum.GRANT_TYPE_PASSWORD.getName()))
+            .build();
+        passwordGrantAuthenticationToken = new PasswordGrantAuthenticationToken(
+            new OAuth2ClientAuthenticationToken(registeredClient, ClientAuthenticationMethod.CLIENT_SECRET_BASIC,
+                null),
+            Map.of(PasswordGrantAuthenticationConverter.USERNAME, USERNAME,
+                PasswordGrantAuthenticationConverter.PASSWORD, PASSWORD));
+        AuthorizationServerSettings authorizationServerSettings = AuthorizationServerSettings.builder()
+            .issuer(ISSUER).build();
+        authorizationServerContext = new AuthorizationServerContext() {
+            @Override
+            public String getIssuer() {
+                return ISSUER;
+            }
+
+            @Override
+            public AuthorizationServerSettings getAuthorizationServerSettings() {
+                return authorizationServerSettings;
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        boundedPasswordEncoder.destroy();
+    }
+
+    @Benchmark
+    @Group("inline")
+    @GroupThreads(32)
+    public Authentication inlineLogin(LoginCounters loginCounters) {
+        return login(inlineProvider, loginCounters);
+    }
+
+    @Benchmark
+    @Group("inline")
+    @GroupThreads(4)
+    public void inlineOtherRequest(Blackhole blackhole) throws NoSuchAlgorithmException {
+        otherRequest(blackhole);
+    }
+
+    @Benchmark
+    @Group("bounded")
+    @GroupThreads(32)
+    public Authentication boundedLogin(LoginCounters loginCounters) {
+        return login(boundedProvider, loginCounters);
+    }
+
+    @Benchmark
+    @Group("bounded")
+    @GroupThreads(4)
+    public void boundedOtherRequest(Blackhole blackhole) throws NoSuchAlgorithmException {
+        otherRequest(blackhole);
+    }
+
+    private Authentication login(PasswordGrantAuthenticationProvider provider, LoginCounters loginCounters) {
+        AuthorizationServerContextHolder.setContext(authorizationServerContext);
+        try {
+            Authentication authentication = provider.authenticate(passwordGrantAuthenticationToken);
+            loginCounters.succeeded++;
+            return authentication;
+        } catch (OAuth2AuthenticationException e) {
+            // 过载时快速拒绝，单独计数
+            if (!ResponseCode.TOO_MANY_REQUESTS.getCode().equals(e.getError().getErrorCode())) {
+                throw e;
+            }
+            loginCounters.rejected++;
+            return null;
+        } finally {
+            AuthorizationServerContextHolder.resetContext();
+        }
+    }
+
+    /**
+     * 模拟与登录共享处理器的普通请求
+     */
+    private void otherRequest(Blackhole blackhole) throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        byte[] digest = new byte[0];
+        for (int i = 0; i < 16; i++) {
+            messageDigest.update(OTHER_REQUEST_PAYLOAD);
+            messageDigest.update(digest);
+            digest = messageDigest.digest();
+        }
+        blackhole.consume(digest);
+    }
+
+    private void roundTrip() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+
+    /**
+     * 授权信息保存一次往返
+     */
+    private final class RoundTripAuthorizationService implements OAuth2AuthorizationService {
+
+        @Override
+        public void save(OAuth2Authorization authorization) {
+            roundTrip();
+        }
+
+        @Override
+        public void remove(OAuth2Authorization authorization) {
+            roundTrip();
+        }
+
+        @Override
+        public OAuth2Authorization findById(String id) {
+            return null;
+        }
+
+        @Override
+        public OAuth2Authorization findByToken(String token, OAuth2TokenType tokenType) {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(PasswordGrantBenchmark.class.getSimpleName())
+            .output(getResultFilePath(PasswordGrantBenchmark.class, ResultFormatType.TEXT))
+            .result(getResultFilePath(PasswordGrantBenchmark.class, ResultFormatType.JSON))
+            .resultFormat(ResultFormatType.JSON).build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.jmh;
+
+import baby.mumu.extension.ExtensionProperties;
+import baby.mumu.extension.idempotent.request.id.RequestIdIdempotentProcessor;
+import baby.mumu.extension.idempotent.request.id.redis.RedisRequestIdIdempotentProcessor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static baby.mumu.jmh.ApplicationBenchmarkUtils.getResultFilePath;
+
+/**
+ * 请求 ID 幂等检查单次请求开销基准测试
+ * <p>
+ * 需要可访问的 redis，通过 -Dmumu.benchmark.redis.host / -Dmumu.benchmark.redis.port 指定
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@SuppressWarnings("unused")
+// 平均耗时模式
+@BenchmarkMode(Mode.AverageTime)
+// 输出结果单位
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+// 所有线程共享一个状态实例
+@State(Scope.Benchmark)
+// 每个 benchmark fork 一次 JVM
+@Fork(1)
+// 预热3次，每次1秒
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+// 正式执行5次，每次1秒
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class RequestIdIdempotentBenchmark {
+
+    private static final int BATCH_SIZE = 32;
+
+    private final String prefix = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private LettuceConnectionFactory connectionFactory;
+    private RequestIdIdempotentProcessor processor;
+    private RequestIdIdempotentProcessor localCachedProcessor;
+    private String duplicateRequestId;
+
+    @Setup
+    public void setup() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+            System.getProperty("mumu.benchmark.redis.host", "localhost"),
+            Integer.getInteger("mumu.benchmark.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        processor = new RedisRequestIdIdempotentProcessor(connectionFactory,
+            new ExtensionProperties());
+        ExtensionProperties localCached = new ExtensionProperties();
+        localCached.getIdempotent().getRequestId().getRedis().getLocalCache().setEnabled(true);
+        localCachedProcessor = new RedisRequestIdIdempotentProcessor(connectionFactory,
+            localCached);
+        duplicateRequestId = nextRequestId();
+        localCachedProcessor.tryProcess(duplicateRequestId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    /**
+     * 改造前的 EXISTS + SET 两次往返
+     */
+    @Benchmark
+    public boolean existsThenSet() {
+        String requestId = nextRequestId();
+        if (processor.processed(requestId)) {
+            return false;
+        }
+        processor.process(requestId);
+        return true;
+    }
+
+    @Benchmark
+    public boolean setIfAbsent() {
+        return processor.tryProcess(nextRequestId());
+    }
+
+    /**
+     * 重复请求由本地缓存直接拒绝
+     */
+    @Benchmark
+    public boolean localCacheRejectsDuplicate() {
+        return localCachedProcessor.tryProcess(duplicateRequestId);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Boolean> pipelinedSetIfAbsent() {
+        List<String> requestIds = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            requestIds.add(nextRequestId());
+        }
+        return processor.tryProcessAll(requestIds);
+    }
+
+    private String nextRequestId() {
+        return prefix + ':' + sequence.incrementAndGet();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(RequestIdIdempotentBenchmark.class.getSimpleName())
+            .output(getResultFilePath(RequestIdIdempotentBenchmark.class, ResultFormatType.TEXT))
+            .result(getResultFilePath(RequestIdIdempotentBenchmark.class, ResultFormatType.JSON))
+            .resultFormat(ResultFormatType.JSON).build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.jmh;
+
+import baby.mumu.iam.domain.role.Role;
+import baby.mumu.iam.infra.permission.convertor.PermissionPersistenceConvertor;
+import baby.mumu.iam.infra.permission.gatewayimpl.cache.PermissionCacheRepository;
+import baby.mumu.iam.infra.permission.gatewayimpl.cache.po.PermissionCacheablePO;
+import baby.mumu.iam.infra.permission.gatewayimpl.database.PermissionRepository;
+import baby.mumu.iam.infra.permission.gatewayimpl.database.po.PermissionPO;
+import baby.mumu.iam.infra.relations.cache.RolePermissionCacheRepository;
+import baby.mumu.iam.infra.relations.cache.RolePermissionCacheablePO;
+import baby.mumu.iam.infra.relations.database.*;
+import baby.mumu.iam.infra.role.convertor.RolePersistenceConvertor;
+import baby.mumu.iam.infra.role.gatewayimpl.database.RoleRepository;
+import baby.mumu.iam.infra.role.gatewayimpl.database.po.RolePO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+
+import static baby.mumu.jmh.ApplicationBenchmarkUtils.getResultFilePath;
+
+/**
+ * 角色权限装配基准测试
+ * <p>
+ * 直接调用 {@link RolePersistenceConvertor}，仓库与缓存替换为内存实现，夹具包含2000个权限组成的权限树、
+ * 带层级的角色树与每个角色50个随机权限授予，对比逐个角色 {@code toEntity} 与整页 {@code toEntities} 的装配耗时，
+ * cold 模式在每次调用前清空角色权限与权限缓存以覆盖回源路径
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@SuppressWarnings("unused")
+// 平均时间模式，单次装配一页角色的耗时
+@BenchmarkMode(Mode.AverageTime)
+// 输出结果单位
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+// 所有线程共享同一份夹具
+@State(Scope.Benchmark)
+// 每个 benchmark fork 一次 JVM
+@Fork(1)
+// 单线程
+@Threads(1)
+// 预热3次，每次1秒
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+// 正式执行10次，每次1秒
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class RoleHydrationBenchmark {
+
+    private static final int PERMISSION_COUNT = 2000;
+    private static final int PERMISSION_TREE_FAN_OUT = 8;
+    private static final int ROLE_TREE_FAN_OUT = 4;
+
+    /**
+     * 每页角色数
+     */
+    @Param({"20", "100"})
+    private int pageSize;
+
+    /**
+     * 每个角色拥有的权限数
+     */
+    @Param({"50"})
+    private int permissionsPerRole;
+
+    /**
+     * 缓存状态：warm 为角色权限与权限均已缓存，cold 为全部回源
+     */
+    @Param({"warm", "cold"})
+    private String cacheState;
+
+    private final Map<Long, PermissionPO> permissions = new HashMap<>();
+    private final Map<Long, List<PermissionPathPO>> permissionPathsByAncestorId = new HashMap<>();
+    private final Map<Long, List<RolePermissionPO>> rolePermissionsByRoleId = new HashMap<>();
+    private final Set<Long> roleIdsWithDescendants = new HashSet<>();
+    private final Map<Long, PermissionCacheablePO> permissionCache = new HashMap<>();
+    private final Map<Long, RolePermissionCacheablePO> rolePermissionCache = new HashMap<>();
+    private List<RolePO> rolePOs;
+    private RolePersistenceConvertor rolePersistenceConvertor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        for (long id = 1; id <= PERMISSION_COUNT; id++) {
+            PermissionPO permissionPO = new PermissionPO();
+            permissionPO.setId(id);
+            permissionPO.setCode("permission:" + id);
+            permissionPO.setName("权限" + id);
+            permissions.put(id, permissionPO);
+        }
+        // 权限闭包表：每个权限到自身及其全部祖先的路径
+        permissions.values().forEach(descendant -> {
+            long depth = 0;
+            for (long ancestorId = descendant.getId(); ancestorId >= 1; depth++) {
+                permissionPathsByAncestorId.computeIfAbsent(ancestorId, key -> new ArrayList<>())
+                    .add(new PermissionPathPO(new PermissionPathPOId(ancestorId, descendant.getId(), depth),
+                        permissions.get(ancestorId), descendant));
+                ancestorId = ancestorId == 1 ? 0 : (ancestorId - 2) / PERMISSION_TREE_FAN_OUT + 1;
+            }
+        });
+        rolePOs = new ArrayList<>(pageSize);
+        for (long roleId = 1; roleId <= pageSize; roleId++) {
+            RolePO rolePO = new RolePO();
+            rolePO.setId(roleId);
+            rolePO.setCode("role:" + roleId);
+            rolePO.setName("角色" + roleId);
+            rolePOs.add(rolePO);
+            if (roleId > 1) {
+                roleIdsWithDescendants.add((roleId - 2) / ROLE_TREE_FAN_OUT + 1);
+            }
+            long currentRoleId = roleId;
+            rolePermissionsByRoleId.put(roleId, random.longs(permissionsPerRole, 1, PERMISSION_COUNT + 1)
+                .distinct().mapToObj(permissionId -> {
+                    RolePermissionPO rolePermissionPO = new RolePermissionPO();
+                    rolePermissionPO.setId(RolePermissionPOId.builder().roleId(currentRoleId)
+                        .permissionId(permissionId).build());
+                    rolePermissionPO.setRole(rolePO);
+                    rolePermissionPO.setPermission(permissions.get(permissionId));
+                    return rolePermissionPO;
+                }).toList());
+        }
+        PermissionPathRepository permissionPathRepository = stub(PermissionPathRepository.class, Map.of(
+            "findAncestorIdsWithDescendants", args -> ids(args[0]).stream()
+                .filter(id -> permissionPathsByAncestorId.getOrDefault(id, List.of()).size() > 1).toList(),
+            "findByAncestorIdIn", args -> ids(args[0]).stream()
+                .flatMap(id -> permissionPathsByAncestorId.getOrDefault(id, List.of()).stream()).toList(),
+            "existsDescendantPermissions", args -> permissionPathsByAncestorId
+                .getOrDefault((Long) args[0], List.of()).size() > 1));
+        rolePersistenceConvertor = new RolePersistenceConvertor(
+            new PermissionPersistenceConvertor(permissionPathRepository),
+            stub(RoleRepository.class, Map.of()),
+            stub(PermissionRepository.class, Map.of(
+                "findAllById", args -> ids(args[0]).stream().map(permissions::get).filter(Objects::nonNull)
+                    .toList())),
+            stub(RolePermissionRepository.class, Map.of(
+                "findByRoleIdIn", args -> ids(args[0]).stream()
+                    .flatMap(id -> rolePermissionsByRoleId.getOrDefault(id, List.of()).stream()).toList())),
+            stub(PermissionCacheRepository.class, Map.of(
+                "findAllById", args -> ids(args[0]).stream().map(permissionCache::get).filter(Objects::nonNull)
+                    .toList(),
+                "saveAll", args -> saveAll(args[0], permissionCache, PermissionCacheablePO::getId))),
+            stub(RolePermissionCacheRepository.class, Map.of(
+                "findAllById", args -> ids(args[0]).stream().map(rolePermissionCache::get).filter(Objects::nonNull)
+                    .toList(),
+                "saveAll", args -> saveAll(args[0], rolePermissionCache, RolePermissionCacheablePO::getRoleId))),
+            permissionPathRepository,
+            stub(RolePathRepository.class, Map.of(
+                "findAncestorIdsWithDescendants", args -> ids(args[0]).stream()
+                    .filter(roleIdsWithDescendants::contains).toList(),
+                "existsDescendantRoles", args -> roleIdsWithDescendants.contains((Long) args[0]))));
+        // 预热缓存
+        rolePersistenceConvertor.toEntities(rolePOs);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCache() {
+        if ("cold".equals(cacheState)) {
+            permissionCache.clear();
+            rolePermissionCache.clear();
+        }
+    }
+
+    /**
+     * 改造前逐个角色装配
+     */
+    @Benchmark
+    public List<Role> perRole() {
+        return rolePOs.stream().flatMap(rolePO -> rolePersistenceConvertor.toEntity(rolePO).stream()).toList();
+    }
+
+    @Benchmark
+    public List<Role> batched() {
+        return rolePersistenceConvertor.toEntities(rolePOs);
+    }
+
+    private static List<Long> ids(Object ids) {
+        return StreamSupport.stream(((Iterable<?>) ids).spliterator(), false).map(Long.class::cast).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> saveAll(Object entities, Map<Long, T> cache, Function<T, Long> idFunction) {
+        List<T> saved = new ArrayList<>();
+        ((Iterable<T>) entities).forEach(entity -> {
+            cache.put(idFunction.apply(entity), entity);
+            saved.add(entity);
+        });
+        return saved;
+    }
+
+    /**
+     * 内存仓库替身，仅实现装配路径用到的方法，其余方法调用时抛出异常以免夹具悄然偏离真实调用
+     */
+    private static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        return repositoryType.cast(Proxy.newProxyInstance(RoleHydrationBenchmark.class.getClassLoader(),
+            new Class<?>[]{repositoryType}, (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        default -> repositoryType.getSimpleName();
+                    };
+                }
+                Function<Object[], Object> implementation = methods.get(method.getName());
+                if (implementation == null) {
+                    throw new UnsupportedOperationException(method.toString());
+                }
+                return implementation.apply(args);
+            }));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(RoleHydrationBenchmark.class.getSimpleName())
+            .output(getResultFilePath(RoleHydrationBenchmark.class, ResultFormatType.TEXT))
+            .result(getResultFilePath(RoleHydrationBenchmark.class, ResultFormatType.JSON))
+            .resultFormat(ResultFormatType.JSON).build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.jmh;
+
+import baby.mumu.storage.infra.file.gatewayimpl.storage.s3.S3MultipartUploader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static baby.mumu.jmh.ApplicationBenchmarkUtils.getResultFilePath;
+
+/**
+ * S3分片上传串行与流水线并行基准测试
+ * <p>
+ * 需要可访问的MinIO或其他S3兼容服务，通过 -Dmumu.benchmark.s3.endpoint / -Dmumu.benchmark.s3.access-key-id /
+ * -Dmumu.benchmark.s3.secret-access-key / -Dmumu.benchmark.s3.bucket 指定，默认连接本地MinIO，
+ * 对比原有逐片阻塞上传与 {@link S3MultipartUploader} 的单次上传耗时，每个方法固定对象键以覆盖写入，避免占满磁盘
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@SuppressWarnings("unused")
+// 平均时间模式，单次上传耗时
+@BenchmarkMode(Mode.AverageTime)
+// 输出结果单位
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+// 每个 benchmark fork 一次 JVM
+@Fork(1)
+// 预热2次，每次5秒
+@Warmup(iterations = 2, time = 5, timeUnit = TimeUnit.SECONDS)
+// 正式执行5次，每次5秒
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+public class S3MultipartUploadBenchmark {
+
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
+    /**
+     * 文件大小（MiB）
+     */
+    @Param({"64", "256"})
+    private int fileSizeMiB;
+
+    /**
+     * 流水线同时在途的分片数
+     */
+    @Param({"8"})
+    private int maxInFlightParts;
+
+    private byte[] content;
+    private String bucket;
+    private S3Client s3Client;
+    private S3MultipartUploader s3MultipartUploader;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        content = new byte[fileSizeMiB * 1024 * 1024];
+        ThreadLocalRandom.current().nextBytes(content);
+        bucket = System.getProperty("mumu.benchmark.s3.bucket", "benchmark");
+        s3Client = S3Client.builder()
+            .region(Region.of(System.getProperty("mumu.benchmark.s3.region", "us-east-1")))
+            .endpointOverride(URI.create(System.getProperty("mumu.benchmark.s3.endpoint", "http://localhost:9000")))
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(
+                System.getProperty("mumu.benchmark.s3.access-key-id", "minioadmin"),
+                System.getProperty("mumu.benchmark.s3.secret-access-key", "minioadmin"))))
+            .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+            .build();
+        try {
+            s3Client.headBucket(HeadBucketRequest.builder().bucket(bucket).build());
+        } catch (NoSuchBucketException e) {
+            s3Client.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        }
+        s3MultipartUploader = new S3MultipartUploader(s3Client, 8 * 1024 * 1024, maxInFlightParts, 3,
+            256L * 1024 * 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        s3Client.deleteObjects(DeleteObjectsRequest.builder()
+            .bucket(bucket)
+            .delete(Delete.builder().objects(
+                ObjectIdentifier.builder().key(key("serial")).build(),
+                ObjectIdentifier.builder().key(key("pipelined")).build()).build())
+            .build());
+        s3Client.close();
+    }
+
+    @Benchmark
+    public void serial() {
+        serialUpload(s3Client, bucket, key("serial"), new ByteArrayInputStream(content));
+    }
+
+    @Benchmark
+    public void pipelined() {
+        s3MultipartUploader.upload(bucket, key("pipelined"), new ByteArrayInputStream(content), content.length,
+            CONTENT_TYPE);
+    }
+
+    private String key(String method) {
+        return "s3-multipart-upload-benchmark/" + method + "-" + fileSizeMiB;
+    }
+
+    /**
+     * 原有实现：复用单个5MB缓冲区，逐片阻塞上传
+     */
+    private static void serialUpload(S3Client s3Client, String bucket, String key,
+                                     InputStream inputStream) {
+        final int partSize = 5 * 1024 * 1024;
+        String uploadId = s3Client.createMultipartUpload(
+            CreateMultipartUploadRequest.builder().bucket(bucket).key(key).contentType(CONTENT_TYPE).build())
+            .uploadId();
+        List<CompletedPart> completedParts = new ArrayList<>();
+        byte[] buffer = new byte[partSize];
+        int partNumber = 1;
+        try {
+            int bytesRead;
+            while ((bytesRead = inputStream.readNBytes(buffer, 0, partSize)) > 0) {
+                byte[] bytesToUpload = bytesRead == buffer.length ? buffer
+                    : Arrays.copyOf(buffer, bytesRead);
+                UploadPartResponse uploadPartResponse = s3Client.uploadPart(
+                    UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) bytesRead)
+                        .build(),
+                    RequestBody.fromBytes(bytesToUpload));
+                completedParts.add(CompletedPart.builder()
+                    .partNumber(partNumber)
+                    .eTag(uploadPartResponse.eTag())
+                    .build());
+                partNumber++;
+            }
+        } catch (IOException e) {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucket).key(key).uploadId(uploadId).build());
+            throw new UncheckedIOException(e);
+        }
+        s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .uploadId(uploadId)
+            .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+            .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(S3MultipartUploadBenchmark.class.getSimpleName())
+            .output(getResultFilePath(S3MultipartUploadBenchmark.class, ResultFormatType.TEXT))
+            .result(getResultFilePath(S3MultipartUploadBenchmark.class, ResultFormatType.JSON))
+            .resultFormat(ResultFormatType.JSON).build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.jmh;
+
+import baby.mumu.genix.client.api.grpc.PrimaryKeyServiceGrpc;
+import baby.mumu.genix.client.api.grpc.PrimaryKeyServiceGrpc.PrimaryKeyServiceBlockingStub;
+import baby.mumu.genix.client.api.grpc.SnowflakeBatchCmd;
+import baby.mumu.genix.client.api.grpc.SnowflakeBatchResult;
+import baby.mumu.genix.client.api.grpc.SnowflakeResult;
+import baby.mumu.genix.client.config.SnowflakeIdBuffer;
+import com.github.yitter.contract.IdGeneratorOptions;
+import com.github.yitter.idgen.YitIdHelper;
+import com.google.protobuf.Empty;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static baby.mumu.jmh.ApplicationBenchmarkUtils.getResultFilePath;
+
+/**
+ * 雪花算法ID逐次RPC与号段租用基准测试
+ * <p>
+ * 使用进程内gRPC服务模拟genix，排除网络抖动，仅比较调用方式本身的开销
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@SuppressWarnings("unused")
+// 吞吐量模式，单位时间内执行次数
+@BenchmarkMode(Mode.Throughput)
+// 输出结果单位
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+// 所有线程共享同一个服务端与号段缓冲区
+@State(Scope.Benchmark)
+// 每个 benchmark fork 一次 JVM
+@Fork(1)
+// 模拟并发持久化
+@Threads(8)
+// 预热3次，每次1秒
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+// 正式执行10次，每次1秒
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class SnowflakeLeaseBenchmark {
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private Server server;
+    private ManagedChannel channel;
+    private PrimaryKeyServiceBlockingStub blockingStub;
+    private ExecutorService refillExecutor;
+    private SnowflakeIdBuffer snowflakeIdBuffer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        YitIdHelper.setIdGenerator(new IdGeneratorOptions());
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+            .addService(new PrimaryKeyServiceGrpc.PrimaryKeyServiceImplBase() {
+                @Override
+                public void snowflake(Empty request, StreamObserver<SnowflakeResult> responseObserver) {
+                    responseObserver.onNext(SnowflakeResult.newBuilder().setId(YitIdHelper.nextId()).build());
+                    responseObserver.onCompleted();
+                }
+
+                @Override
+                public void snowflakeBatch(SnowflakeBatchCmd request,
+                                           StreamObserver<SnowflakeBatchResult> responseObserver) {
+                    SnowflakeBatchResult.Builder builder = SnowflakeBatchResult.newBuilder();
+                    for (int i = 0; i < request.getSize(); i++) {
+                        builder.addIds(YitIdHelper.nextId());
+                    }
+                    responseObserver.onNext(builder.build());
+                    responseObserver.onCompleted();
+                }
+            })
+            .build()
+            .start();
+        channel = InProcessChannelBuilder.forName(serverName).build();
+        blockingStub = PrimaryKeyServiceGrpc.newBlockingStub(channel);
+        refillExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        snowflakeIdBuffer = new SnowflakeIdBuffer(
+            size -> blockingStub.snowflakeBatch(SnowflakeBatchCmd.newBuilder().setSize(size).build())
+                .getIdsList().stream().mapToLong(Long::longValue).toArray(),
+            batchSize, batchSize / 5, refillExecutor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        refillExecutor.shutdownNow();
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public long perCallRpc() {
+        return blockingStub.snowflake(Empty.getDefaultInstance()).getId();
+    }
+
+    @Benchmark
+    public long leasedBlock() {
+        return snowflakeIdBuffer.nextId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(SnowflakeLeaseBenchmark.class.getSimpleName())
+            .output(getResultFilePath(SnowflakeLeaseBenchmark.class, ResultFormatType.TEXT))
+            .result(getResultFilePath(SnowflakeLeaseBenchmark.class, ResultFormatType.JSON))
+            .resultFormat(ResultFormatType.JSON).build();
+        new Runner(opt).run();
+    }
+}
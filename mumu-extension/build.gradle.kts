@@ -24,5 +24,6 @@ dependencies {
     implementation(libs.bucket4j.lettuce)
     implementation(libs.lettuce.core)
     implementation(libs.spring.data.redis)
+    implementation(libs.caffeine)
     testImplementation(libs.spring.test)
 }
@@ -19,16 +19,20 @@ package baby.mumu.extension.aspects;
 import baby.mumu.basis.annotations.RateLimiter;
 import baby.mumu.basis.annotations.RateLimiters;
 import baby.mumu.basis.exception.RateLimiterException;
-import baby.mumu.basis.provider.RateLimitingCustomGenerateProvider;
-import baby.mumu.basis.provider.RateLimitingCustomGenerateProvider.RateLimitingCustomGenerate;
 import baby.mumu.basis.provider.RateLimitingKeyProvider;
 import baby.mumu.extension.ExtensionProperties;
+import baby.mumu.extension.aspects.RateLimitingPlanCompiler.RateLimitingPlan;
+import baby.mumu.extension.rl.RateLimiterHybridProperties;
 import baby.mumu.extension.rl.RateLimiterStringByteArrayCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.BucketConfiguration;
-import io.github.bucket4j.ConfigurationBuilder;
 import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
 import io.github.bucket4j.redis.lettuce.Bucket4jLettuce;
 import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
 import io.lettuce.core.RedisClient;
@@ -37,22 +41,22 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationContext;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.time.Duration.*;
 
@@ -66,14 +70,23 @@ import static java.time.Duration.*;
 public class RateLimitingAspect extends AbstractAspect implements DisposableBean {
 
     private static final String UNIQ_KEY_LIGATURE = ":";
-    private final ApplicationContext applicationContext;
+    private final RateLimitingPlanCompiler planCompiler;
     private final RedisClient redisClient;
     private final StatefulRedisConnection<String, byte[]> connection;
     private final LettuceBasedProxyManager<String> proxyManager;
+    private final RateLimiterHybridProperties hybrid;
+    /**
+     * 方法限流计划缓存，注解解析、前缀摘要、标识提供者与固定的令牌桶配置每个方法只计算一次
+     */
+    private final Map<PlanKey, List<RateLimitingPlan>> plans = new ConcurrentHashMap<>();
+    /**
+     * 混合模式下的本地令牌桶，未开启混合模式时为 null
+     */
+    private final Cache<String, Bucket> localBuckets;
 
     public RateLimitingAspect(ApplicationContext applicationContext,
                               @NonNull ExtensionProperties extensionProperties) {
-        this.applicationContext = applicationContext;
+        this.planCompiler = new RateLimitingPlanCompiler(applicationContext);
         this.redisClient = RedisClient.create(extensionProperties.getRl().getRedis().getUri());
         this.connection = redisClient.connect(new RateLimiterStringByteArrayCodec());
         this.proxyManager = Bucket4jLettuce.casBasedBuilder(
@@ -81,36 +94,39 @@ public class RateLimitingAspect extends AbstractAspect implements DisposableBean
             .expirationAfterWrite(
                 ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(ofSeconds(10)))
             .build();
+        this.hybrid = extensionProperties.getRl().getHybrid();
+        this.localBuckets = hybrid.isEnabled() ? Caffeine.newBuilder()
+            .maximumSize(hybrid.getMaximumBuckets())
+            .build() : null;
     }
 
     @Around("@annotation(baby.mumu.basis.annotations.RateLimiter) || @annotation(baby.mumu.basis.annotations.RateLimiters)")
     public Object rounding(ProceedingJoinPoint joinPoint) throws Throwable {
+        PlanKey planKey = new PlanKey(joinPoint.getTarget().getClass(),
+            ((MethodSignature) joinPoint.getSignature()).getMethod());
+        List<RateLimitingPlan> methodPlans = plans.get(planKey);
+        if (methodPlans == null) {
+            methodPlans = compile(joinPoint);
+            plans.putIfAbsent(planKey, methodPlans);
+        }
+        methodPlans.forEach(this::rateLimiting);
+
+        Object[] args = joinPoint.getArgs();
+        return joinPoint.proceed(args);
+    }
+
+    private @NonNull List<RateLimitingPlan> compile(@NonNull ProceedingJoinPoint joinPoint)
+        throws NoSuchMethodException {
         List<RateLimiter> annotations = new ArrayList<>();
         Optional.ofNullable(getMethodAnnotation(joinPoint, RateLimiter.class))
             .ifPresent(annotations::add);
         Optional.ofNullable(getMethodAnnotation(joinPoint, RateLimiters.class))
             .map(rateLimiters -> Arrays.asList(rateLimiters.value())).ifPresent(annotations::addAll);
-
-        if (!annotations.isEmpty()) {
-            String defaultSignature = DigestUtils.md5Hex(joinPoint.getSignature().toString());
-            annotations.stream().distinct().collect(
-                Collectors.groupingBy(
-                    x -> RateLimitingKey.builder().keyProvider(x.keyProvider()).prefix(x.prefix())
-                        .build())).forEach((key, val) -> {
-                if (StringUtils.isBlank(key.getPrefix())) {
-                    key.setPrefix(defaultSignature);
-                }
-                rateLimiting(key, val);
-            });
-        }
-
-        Object[] args = joinPoint.getArgs();
-        return joinPoint.proceed(args);
+        return planCompiler.compile(annotations, joinPoint.getSignature().toString());
     }
 
-    private void rateLimiting(@NonNull RateLimitingKey rateLimitingKey,
-                              @NonNull List<RateLimiter> list) {
-        Bucket bucket = getBucket(rateLimitingKey, list);
+    private void rateLimiting(@NonNull RateLimitingPlan plan) {
+        Bucket bucket = getBucket(plan);
         ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
         if (!probe.isConsumed()) {
             long waitForRefillNanos = probe.getNanosToWaitForRefill();
@@ -119,64 +135,29 @@ public class RateLimitingAspect extends AbstractAspect implements DisposableBean
         }
     }
 
-    private Bucket getBucket(@NonNull RateLimitingKey rateLimitingKey,
-                             @NonNull List<RateLimiter> list) {
-        RateLimitingKeyProvider rateLimitingKeyProvider = applicationContext.getBean(
-            rateLimitingKey.getKeyProvider());
-        String uniqKey = rateLimitingKey.getPrefix() + RateLimitingAspect.UNIQ_KEY_LIGATURE
-            + rateLimitingKeyProvider.generateUniqKey();
-        ConfigurationBuilder configurationBuilder = BucketConfiguration.builder();
-
-        list.forEach(x -> {
-            BasicInformation basicInformation = getBasicInformation(x);
-            int capacity = basicInformation.capacity();
-            long period = basicInformation.period();
-            TimeUnit timeUnit = basicInformation.timeUnit();
-            // 每 period 单位时间内最高调用 capacity 次数
-            switch (timeUnit) {
-                case SECONDS:
-                    configurationBuilder
-                        .addLimit(limit -> limit.capacity(capacity)
-                            .refillIntervally(capacity, ofSeconds(period)));
-                    break;
-                case MINUTES:
-                    configurationBuilder
-                        .addLimit(limit -> limit.capacity(capacity)
-                            .refillIntervally(capacity, ofMinutes(period)));
-                    break;
-                case HOURS:
-                    configurationBuilder
-                        .addLimit(limit -> limit.capacity(capacity)
-                            .refillIntervally(capacity, ofHours(period)));
-                    break;
-                case DAYS:
-                    configurationBuilder
-                        .addLimit(limit -> limit.capacity(capacity)
-                            .refillIntervally(capacity, ofDays(period)));
-                    break;
-                default:
-                    throw new IllegalStateException("Unexpected value: " + x.timeUnit());
-            }
+    private Bucket getBucket(@NonNull RateLimitingPlan plan) {
+        String uniqKey = plan.prefix() + RateLimitingAspect.UNIQ_KEY_LIGATURE
+            + plan.keyProvider().generateUniqKey();
+        if (localBuckets == null) {
+            return proxyManager.getProxy(uniqKey, plan.configuration());
+        }
+        // 本地桶预支部分全局配额，未同步的令牌数或时间达到阈值后再与 Redis 同步
+        return localBuckets.get(uniqKey, key -> {
+            BucketConfiguration configuration = plan.configuration().get();
+            return proxyManager.builder()
+                .withOptimization(Optimizations.delaying(new DelayParameters(localTokens(configuration),
+                    Duration.ofNanos(hybrid.getSyncIntervalUnit().toNanos(hybrid.getSyncInterval())))))
+                .build(key, () -> configuration);
         });
-        return proxyManager.getProxy(uniqKey, configurationBuilder::build);
     }
 
-    private @NonNull BasicInformation getBasicInformation(@NonNull RateLimiter rateLimiter) {
-        if (rateLimiter.customGeneration()) {
-            RateLimitingCustomGenerateProvider rateLimitingCustomGenerateProvider = applicationContext.getBean(
-                rateLimiter.customGenerationProvider());
-            RateLimitingCustomGenerate generate = rateLimitingCustomGenerateProvider.generate();
-            assert generate != null;
-            return new BasicInformation(generate.capacity(),
-                generate.period(),
-                generate.timeUnit());
-        } else {
-            return new BasicInformation(rateLimiter.capacity(), rateLimiter.period(),
-                rateLimiter.timeUnit());
-        }
+    private long localTokens(@NonNull BucketConfiguration configuration) {
+        long capacity = Arrays.stream(configuration.getBandwidths())
+            .mapToLong(Bandwidth::getCapacity).min().orElse(1L);
+        return Math.max(1L, (long) (capacity * hybrid.getLocalShare()));
     }
 
-    private record BasicInformation(int capacity, long period, TimeUnit timeUnit) {
+    private record PlanKey(Class<?> targetClass, Method method) {
 
     }
 
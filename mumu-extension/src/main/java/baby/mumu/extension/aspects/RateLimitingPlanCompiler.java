@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.extension.aspects;
+
+import baby.mumu.basis.annotations.RateLimiter;
+import baby.mumu.basis.provider.RateLimitingCustomGenerateProvider;
+import baby.mumu.basis.provider.RateLimitingCustomGenerateProvider.RateLimitingCustomGenerate;
+import baby.mumu.basis.provider.RateLimitingKeyProvider;
+import baby.mumu.extension.aspects.RateLimitingAspect.RateLimitingKey;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConfigurationBuilder;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jspecify.annotations.NonNull;
+import org.springframework.context.ApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.time.Duration.*;
+
+/**
+ * 限流计划编译器
+ * <p>
+ * 按前缀与标识提供者合并限流注解，固定限流信息的令牌桶配置在编译时构建一次；
+ * 自定义生成的限流信息可能随时变化，编译时不调用生成接口，每次创建令牌桶时重新构建
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+class RateLimitingPlanCompiler {
+
+    private final ApplicationContext applicationContext;
+
+    RateLimitingPlanCompiler(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * 编译方法上的限流注解
+     *
+     * @param annotations 限流注解
+     * @param signature   方法签名，前缀为空时以其摘要作为前缀
+     * @return 限流计划
+     */
+    List<RateLimitingPlan> compile(@NonNull List<RateLimiter> annotations, String signature) {
+        if (annotations.isEmpty()) {
+            return List.of();
+        }
+        String defaultPrefix = DigestUtils.md5Hex(signature);
+        return annotations.stream().distinct().collect(
+                Collectors.groupingBy(
+                    x -> RateLimitingKey.builder().keyProvider(x.keyProvider()).prefix(x.prefix())
+                        .build())).entrySet().stream()
+            .map(entry -> {
+                RateLimitingKey key = entry.getKey();
+                List<RateLimiter> list = entry.getValue();
+                Supplier<BucketConfiguration> configuration;
+                if (list.stream().anyMatch(RateLimiter::customGeneration)) {
+                    configuration = () -> buildConfiguration(list);
+                } else {
+                    BucketConfiguration staticConfiguration = buildConfiguration(list);
+                    configuration = () -> staticConfiguration;
+                }
+                return new RateLimitingPlan(
+                    StringUtils.isBlank(key.getPrefix()) ? defaultPrefix : key.getPrefix(),
+                    applicationContext.getBean(key.getKeyProvider()), configuration);
+            }).toList();
+    }
+
+    private @NonNull BucketConfiguration buildConfiguration(@NonNull List<RateLimiter> list) {
+        ConfigurationBuilder configurationBuilder = BucketConfiguration.builder();
+
+        list.forEach(x -> {
+            BasicInformation basicInformation = getBasicInformation(x);
+            int capacity = basicInformation.capacity();
+            long period = basicInformation.period();
+            TimeUnit timeUnit = basicInformation.timeUnit();
+            // 每 period 单位时间内最高调用 capacity 次数
+            switch (timeUnit) {
+                case SECONDS:
+                    configurationBuilder
+                        .addLimit(limit -> limit.capacity(capacity)
+                            .refillIntervally(capacity, ofSeconds(period)));
+                    break;
+                case MINUTES:
+                    configurationBuilder
+                        .addLimit(limit -> limit.capacity(capacity)
+                            .refillIntervally(capacity, ofMinutes(period)));
+                    break;
+                case HOURS:
+                    configurationBuilder
+                        .addLimit(limit -> limit.capacity(capacity)
+                            .refillIntervally(capacity, ofHours(period)));
+                    break;
+                case DAYS:
+                    configurationBuilder
+                        .addLimit(limit -> limit.capacity(capacity)
+                            .refillIntervally(capacity, ofDays(period)));
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected value: " + x.timeUnit());
+            }
+        });
+        return configurationBuilder.build();
+    }
+
+    private @NonNull BasicInformation getBasicInformation(@NonNull RateLimiter rateLimiter) {
+        if (rateLimiter.customGeneration()) {
+            RateLimitingCustomGenerateProvider rateLimitingCustomGenerateProvider = applicationContext.getBean(
+                rateLimiter.customGenerationProvider());
+            RateLimitingCustomGenerate generate = rateLimitingCustomGenerateProvider.generate();
+            assert generate != null;
+            return new BasicInformation(generate.capacity(),
+                generate.period(),
+                generate.timeUnit());
+        } else {
+            return new BasicInformation(rateLimiter.capacity(), rateLimiter.period(),
+                rateLimiter.timeUnit());
+        }
+    }
+
+    private record BasicInformation(int capacity, long period, TimeUnit timeUnit) {
+
+    }
+
+    /**
+     * 限流计划
+     *
+     * @param prefix        限流标识前缀
+     * @param keyProvider   限流标识提供者
+     * @param configuration 令牌桶配置，仅在创建令牌桶时调用
+     */
+    record RateLimitingPlan(String prefix, RateLimitingKeyProvider keyProvider,
+                            Supplier<BucketConfiguration> configuration) {
+
+    }
+}
@@ -60,16 +60,17 @@ public class RequestIdFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
         String REQUEST_ID_HEADER = "X-Request-ID";
         String requestIdHeaderValue = request.getHeader(REQUEST_ID_HEADER);
-        if ((!isAllowed(request.getRequestURI(), request.getMethod(),
-            extensionProperties.getIdempotent().getAllowlist())) && (
-            StringUtils.isBlank(requestIdHeaderValue) || requestIdIdempotentProcessor.processed(
-                requestIdHeaderValue))) {
+        if (isAllowed(request.getRequestURI(), request.getMethod(),
+            extensionProperties.getIdempotent().getAllowlist())) {
+            requestIdIdempotentProcessor.process(requestIdHeaderValue);
+        } else if (StringUtils.isBlank(requestIdHeaderValue)
+            || !requestIdIdempotentProcessor.tryProcess(requestIdHeaderValue)) {
+            // 检查与记录为同一原子操作，并发的重复请求只会放行一个
             RequestIdFilter.log.error(ResponseCode.REQUEST_HAS_BEEN_PROCESSED.getMessage());
             response.setStatus(ResponseCode.REQUEST_HAS_BEEN_PROCESSED.getStatus());
             ResponseWrapper.exceptionResponse(response, ResponseCode.REQUEST_HAS_BEEN_PROCESSED);
             return;
         }
-        requestIdIdempotentProcessor.process(requestIdHeaderValue);
         // 放行
         filterChain.doFilter(request, response);
     }
@@ -16,6 +16,8 @@
 
 package baby.mumu.extension.idempotent.request.id;
 
+import java.util.List;
+
 /**
  * 请求 ID 幂等处理器
  *
@@ -27,4 +29,30 @@ public interface RequestIdIdempotentProcessor {
     boolean processed(String requestId);
 
     void process(String requestId);
+
+    /**
+     * 原子地检查并记录请求 ID
+     *
+     * @param requestId 请求 ID
+     * @return 首次出现返回 true，已处理过返回 false
+     * @since 2.17.0
+     */
+    default boolean tryProcess(String requestId) {
+        if (processed(requestId)) {
+            return false;
+        }
+        process(requestId);
+        return true;
+    }
+
+    /**
+     * 批量原子地检查并记录请求 ID，实现可将多个请求合并为一次往返
+     *
+     * @param requestIds 请求 ID 列表
+     * @return 与入参顺序一致的结果，首次出现为 true
+     * @since 2.17.0
+     */
+    default List<Boolean> tryProcessAll(List<String> requestIds) {
+        return requestIds.stream().map(this::tryProcess).toList();
+    }
 }
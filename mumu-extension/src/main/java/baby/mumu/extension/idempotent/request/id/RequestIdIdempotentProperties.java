@@ -43,5 +43,24 @@ public class RequestIdIdempotentProperties {
         private Long timeout = 5L;
 
         private TimeUnit unit = TimeUnit.MINUTES;
+
+        /**
+         * 本地前置缓存，命中时直接判定为重复请求而不访问 redis
+         *
+         * @since 2.17.0
+         */
+        @NestedConfigurationProperty
+        private LocalCache localCache = new LocalCache();
+    }
+
+    @Data
+    public static class LocalCache {
+
+        private boolean enabled;
+
+        /**
+         * 最多缓存的请求 ID 数量
+         */
+        private long maximumSize = 100_000L;
     }
 }
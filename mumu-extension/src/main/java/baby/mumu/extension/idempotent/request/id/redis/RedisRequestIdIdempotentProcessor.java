@@ -18,13 +18,23 @@ package baby.mumu.extension.idempotent.request.id.redis;
 
 import baby.mumu.extension.ExtensionProperties;
 import baby.mumu.extension.idempotent.request.id.RequestIdIdempotentProcessor;
+import baby.mumu.extension.idempotent.request.id.RequestIdIdempotentProperties.LocalCache;
 import baby.mumu.extension.idempotent.request.id.RequestIdIdempotentProperties.RedisRequestIdIdempotentProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.Assert;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * redis 请求 id 幂等处理器实现
  *
@@ -36,6 +46,10 @@ public class RedisRequestIdIdempotentProcessor implements RequestIdIdempotentPro
     private final String REQUEST_ID_PREFIX = "mumu:request:id:";
     private final ExtensionProperties extensionProperties;
     private final RedisTemplate<String, String> redisTemplate;
+    /**
+     * 本地已处理请求 ID 缓存，未开启时为 null
+     */
+    private final Cache<String, Boolean> localCache;
 
     public RedisRequestIdIdempotentProcessor(RedisConnectionFactory redisConnectionFactory,
                                              ExtensionProperties extensionProperties) {
@@ -46,6 +60,13 @@ public class RedisRequestIdIdempotentProcessor implements RequestIdIdempotentPro
         redisTemplate.setValueSerializer(new StringRedisSerializer());
         redisTemplate.setKeySerializer(new StringRedisSerializer());
         redisTemplate.afterPropertiesSet();
+        RedisRequestIdIdempotentProperties redis = extensionProperties.getIdempotent().getRequestId()
+            .getRedis();
+        LocalCache localCacheProperties = redis.getLocalCache();
+        this.localCache = localCacheProperties.isEnabled() ? Caffeine.newBuilder()
+            .maximumSize(localCacheProperties.getMaximumSize())
+            .expireAfterWrite(redis.getTimeout(), redis.getUnit())
+            .build() : null;
     }
 
     @Override
@@ -65,4 +86,74 @@ public class RedisRequestIdIdempotentProcessor implements RequestIdIdempotentPro
                 .set(REQUEST_ID_PREFIX.concat(requestId), requestId, redis.getTimeout(), redis.getUnit());
         }
     }
+
+    /**
+     * 使用 SET NX EX 一次往返完成检查与记录，并发的重复请求只有一个能够成功
+     */
+    @Override
+    public boolean tryProcess(String requestId) {
+        if (StringUtils.isBlank(requestId)) {
+            return false;
+        }
+        if (seenLocally(requestId)) {
+            return false;
+        }
+        RedisRequestIdIdempotentProperties redis = extensionProperties.getIdempotent().getRequestId()
+            .getRedis();
+        boolean firstSeen = Boolean.TRUE.equals(redisTemplate.opsForValue()
+            .setIfAbsent(REQUEST_ID_PREFIX.concat(requestId), requestId, redis.getTimeout(),
+                redis.getUnit()));
+        rememberLocally(requestId);
+        return firstSeen;
+    }
+
+    /**
+     * 通过 pipeline 将一批 SET NX EX 合并为一次往返
+     */
+    @Override
+    public List<Boolean> tryProcessAll(List<String> requestIds) {
+        List<Boolean> results = new ArrayList<>(requestIds.size());
+        List<String> pending = new ArrayList<>(requestIds.size());
+        for (String requestId : requestIds) {
+            boolean skip = StringUtils.isBlank(requestId) || seenLocally(requestId);
+            results.add(skip ? Boolean.FALSE : null);
+            if (!skip) {
+                pending.add(requestId);
+            }
+        }
+        if (pending.isEmpty()) {
+            return results;
+        }
+        RedisRequestIdIdempotentProperties redis = extensionProperties.getIdempotent().getRequestId()
+            .getRedis();
+        Expiration expiration = Expiration.from(redis.getTimeout(), redis.getUnit());
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String requestId : pending) {
+                connection.stringCommands().set(
+                    REQUEST_ID_PREFIX.concat(requestId).getBytes(StandardCharsets.UTF_8),
+                    requestId.getBytes(StandardCharsets.UTF_8), expiration, SetOption.ifAbsent());
+            }
+            return null;
+        });
+        int replyIndex = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                String requestId = pending.get(replyIndex);
+                // 同一批次内的重复 ID 只有第一个能够写入成功
+                results.set(i, Boolean.TRUE.equals(replies.get(replyIndex++)));
+                rememberLocally(requestId);
+            }
+        }
+        return results;
+    }
+
+    private boolean seenLocally(String requestId) {
+        return localCache != null && localCache.getIfPresent(requestId) != null;
+    }
+
+    private void rememberLocally(String requestId) {
+        if (localCache != null) {
+            localCache.put(requestId, Boolean.TRUE);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.extension.rl;
+
+import lombok.Data;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流本地与Redis混合模式配置
+ * <p>
+ * 开启后每个限流标识在本地保留一个令牌桶，按比例预支全局配额，达到阈值或超时后再与 Redis 同步
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+public class RateLimiterHybridProperties {
+
+    private boolean enabled;
+
+    /**
+     * 本地可预支的令牌占全局容量的比例，最少为 1 个令牌
+     */
+    private double localShare = 0.1D;
+
+    /**
+     * 本地未同步的最长时间
+     */
+    private long syncInterval = 100L;
+
+    private TimeUnit syncIntervalUnit = TimeUnit.MILLISECONDS;
+
+    /**
+     * 本地最多保留的令牌桶数量
+     */
+    private long maximumBuckets = 10_000L;
+}
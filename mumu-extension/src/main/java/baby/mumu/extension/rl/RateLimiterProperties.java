@@ -32,4 +32,7 @@ public class RateLimiterProperties {
 
     @NestedConfigurationProperty
     private RateLimiterRedisProperties redis = new RateLimiterRedisProperties();
+
+    @NestedConfigurationProperty
+    private RateLimiterHybridProperties hybrid = new RateLimiterHybridProperties();
 }
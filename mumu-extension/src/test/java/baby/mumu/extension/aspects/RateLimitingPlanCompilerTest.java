@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.extension.aspects;
+
+import baby.mumu.basis.annotations.RateLimiter;
+import baby.mumu.basis.annotations.RateLimiters;
+import baby.mumu.basis.provider.RateLimitingCustomGenerateProvider;
+import baby.mumu.basis.provider.RateLimitingKeyProvider;
+import baby.mumu.extension.aspects.RateLimitingPlanCompiler.RateLimitingPlan;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 限流计划编译器单元测试
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class RateLimitingPlanCompilerTest {
+
+    private static final String SIGNATURE = "String RateLimitingPlanCompilerTest.limited()";
+    private final CountingGenerateProvider generateProvider = new CountingGenerateProvider();
+    private final FixedKeyProvider keyProvider = new FixedKeyProvider();
+    private RateLimitingPlanCompiler compiler;
+
+    @BeforeEach
+    public void setUp() {
+        StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton("countingGenerateProvider", generateProvider);
+        applicationContext.getBeanFactory().registerSingleton("fixedKeyProvider", keyProvider);
+        applicationContext.refresh();
+        compiler = new RateLimitingPlanCompiler(applicationContext);
+    }
+
+    @Test
+    public void staticConfigurationIsBuiltOnce() {
+        List<RateLimitingPlan> plans = compiler.compile(
+            RateLimitingPlanCompilerTest.annotations("fixed"), RateLimitingPlanCompilerTest.SIGNATURE);
+        Assertions.assertEquals(1, plans.size());
+        RateLimitingPlan plan = plans.getFirst();
+        Assertions.assertEquals(DigestUtils.md5Hex(RateLimitingPlanCompilerTest.SIGNATURE), plan.prefix());
+        Assertions.assertSame(keyProvider, plan.keyProvider());
+        Assertions.assertSame(plan.configuration().get(), plan.configuration().get());
+        Assertions.assertEquals(Set.of(10L), RateLimitingPlanCompilerTest.capacities(plan.configuration().get()));
+    }
+
+    @Test
+    public void customGenerationIsBuiltLazily() {
+        List<RateLimitingPlan> plans = compiler.compile(
+            RateLimitingPlanCompilerTest.annotations("custom"), RateLimitingPlanCompilerTest.SIGNATURE);
+        Assertions.assertEquals(0, generateProvider.calls.get());
+        RateLimitingPlan plan = plans.getFirst();
+        Assertions.assertEquals(Set.of(1L), RateLimitingPlanCompilerTest.capacities(plan.configuration().get()));
+        Assertions.assertEquals(Set.of(2L), RateLimitingPlanCompilerTest.capacities(plan.configuration().get()));
+        Assertions.assertEquals(2, generateProvider.calls.get());
+    }
+
+    @Test
+    public void annotationsAreGroupedByPrefixAndKeyProvider() {
+        List<RateLimitingPlan> plans = compiler.compile(
+            RateLimitingPlanCompilerTest.annotations("grouped"), RateLimitingPlanCompilerTest.SIGNATURE);
+        Assertions.assertEquals(2, plans.size());
+        RateLimitingPlan shared = plans.stream().filter(plan -> "shared".equals(plan.prefix())).findFirst()
+            .orElseThrow();
+        Assertions.assertEquals(Set.of(5L, 100L),
+            RateLimitingPlanCompilerTest.capacities(shared.configuration().get()));
+        Assertions.assertTrue(plans.stream()
+            .anyMatch(plan -> DigestUtils.md5Hex(RateLimitingPlanCompilerTest.SIGNATURE).equals(plan.prefix())));
+    }
+
+    @Test
+    public void noAnnotationsCompileToNoPlans() {
+        Assertions.assertTrue(compiler.compile(List.of(), RateLimitingPlanCompilerTest.SIGNATURE).isEmpty());
+    }
+
+    private static List<RateLimiter> annotations(String methodName) {
+        try {
+            RateLimiters rateLimiters = Annotated.class.getDeclaredMethod(methodName)
+                .getAnnotation(RateLimiters.class);
+            return rateLimiters != null ? Arrays.asList(rateLimiters.value())
+                : List.of(Annotated.class.getDeclaredMethod(methodName).getAnnotation(RateLimiter.class));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Set<Long> capacities(BucketConfiguration configuration) {
+        return Arrays.stream(configuration.getBandwidths()).map(Bandwidth::getCapacity)
+            .collect(Collectors.toSet());
+    }
+
+    private static final class Annotated {
+
+        @RateLimiter(capacity = 10, keyProvider = FixedKeyProvider.class)
+        void fixed() {
+        }
+
+        @RateLimiter(customGeneration = true, customGenerationProvider = CountingGenerateProvider.class,
+            keyProvider = FixedKeyProvider.class)
+        void custom() {
+        }
+
+        @RateLimiters({
+            @RateLimiter(capacity = 5, prefix = "shared", keyProvider = FixedKeyProvider.class),
+            @RateLimiter(capacity = 100, period = 1, timeUnit = TimeUnit.MINUTES, prefix = "shared",
+                keyProvider = FixedKeyProvider.class),
+            @RateLimiter(capacity = 3, keyProvider = FixedKeyProvider.class)
+        })
+        void grouped() {
+        }
+    }
+
+    private static final class FixedKeyProvider implements RateLimitingKeyProvider {
+
+        @Override
+        public String generateUniqKey() {
+            return "fixed";
+        }
+    }
+
+    private static final class CountingGenerateProvider implements RateLimitingCustomGenerateProvider {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public RateLimitingCustomGenerate generate() {
+            return new RateLimitingCustomGenerate(calls.incrementAndGet(), 1, TimeUnit.SECONDS);
+        }
+    }
+}
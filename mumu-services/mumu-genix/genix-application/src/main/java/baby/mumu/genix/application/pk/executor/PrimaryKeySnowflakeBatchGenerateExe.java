@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.genix.application.pk.executor;
+
+import baby.mumu.genix.domain.pk.gateway.PrimaryKeyGateway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 雪花算法主键批量生成
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class PrimaryKeySnowflakeBatchGenerateExe {
+
+    /**
+     * 单次最大租用数量
+     */
+    private static final int MAX_BATCH_SIZE = 5000;
+    private final PrimaryKeyGateway primaryKeyGateway;
+
+    @Autowired
+    public PrimaryKeySnowflakeBatchGenerateExe(PrimaryKeyGateway primaryKeyGateway) {
+        this.primaryKeyGateway = primaryKeyGateway;
+    }
+
+    public long[] execute(int size) {
+        return primaryKeyGateway.snowflake(
+            Math.clamp(size, 1, PrimaryKeySnowflakeBatchGenerateExe.MAX_BATCH_SIZE));
+    }
+}
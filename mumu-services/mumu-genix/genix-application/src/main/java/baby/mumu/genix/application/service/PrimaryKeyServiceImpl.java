@@ -18,9 +18,12 @@ package baby.mumu.genix.application.service;
 
 import baby.mumu.basis.annotations.RateLimiter;
 import baby.mumu.extension.provider.RateLimitingGrpcIpKeyProviderImpl;
+import baby.mumu.genix.application.pk.executor.PrimaryKeySnowflakeBatchGenerateExe;
 import baby.mumu.genix.application.pk.executor.PrimaryKeySnowflakeGenerateExe;
 import baby.mumu.genix.client.api.PrimaryKeyService;
 import baby.mumu.genix.client.api.grpc.PrimaryKeyServiceGrpc.PrimaryKeyServiceImplBase;
+import baby.mumu.genix.client.api.grpc.SnowflakeBatchCmd;
+import baby.mumu.genix.client.api.grpc.SnowflakeBatchResult;
 import baby.mumu.genix.client.api.grpc.SnowflakeResult;
 import baby.mumu.genix.client.dto.PrimaryKeySnowflakeDTO;
 import com.google.protobuf.Empty;
@@ -43,10 +46,13 @@ import org.springframework.stereotype.Service;
 public class PrimaryKeyServiceImpl extends PrimaryKeyServiceImplBase implements PrimaryKeyService {
 
     private final PrimaryKeySnowflakeGenerateExe primaryKeySnowflakeGenerateExe;
+    private final PrimaryKeySnowflakeBatchGenerateExe primaryKeySnowflakeBatchGenerateExe;
 
     @Autowired
-    public PrimaryKeyServiceImpl(PrimaryKeySnowflakeGenerateExe primaryKeySnowflakeGenerateExe) {
+    public PrimaryKeyServiceImpl(PrimaryKeySnowflakeGenerateExe primaryKeySnowflakeGenerateExe,
+                                 PrimaryKeySnowflakeBatchGenerateExe primaryKeySnowflakeBatchGenerateExe) {
         this.primaryKeySnowflakeGenerateExe = primaryKeySnowflakeGenerateExe;
+        this.primaryKeySnowflakeBatchGenerateExe = primaryKeySnowflakeBatchGenerateExe;
     }
 
     @Override
@@ -65,4 +71,16 @@ public class PrimaryKeyServiceImpl extends PrimaryKeyServiceImplBase implements
         responseObserver.onNext(snowflakeResult);
         responseObserver.onCompleted();
     }
+
+    @Override
+    @RateLimiter(keyProvider = RateLimitingGrpcIpKeyProviderImpl.class)
+    public void snowflakeBatch(@NonNull SnowflakeBatchCmd request,
+                               @NonNull StreamObserver<SnowflakeBatchResult> responseObserver) {
+        SnowflakeBatchResult.Builder builder = SnowflakeBatchResult.newBuilder();
+        for (long id : primaryKeySnowflakeBatchGenerateExe.execute(request.getSize())) {
+            builder.addIds(id);
+        }
+        responseObserver.onNext(builder.build());
+        responseObserver.onCompleted();
+    }
 }
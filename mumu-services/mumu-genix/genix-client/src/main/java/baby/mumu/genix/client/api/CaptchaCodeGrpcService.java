@@ -17,6 +17,7 @@
 package baby.mumu.genix.client.api;
 
 import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.genix.client.api.grpc.CaptchaCodeGeneratedGrpcCmd;
 import baby.mumu.genix.client.api.grpc.CaptchaCodeGeneratedGrpcDTO;
 import baby.mumu.genix.client.api.grpc.CaptchaCodeServiceGrpc;
@@ -26,14 +27,8 @@ import baby.mumu.genix.client.api.grpc.CaptchaCodeVerifyGrpcCmd;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.BoolValue;
 import com.google.protobuf.Int64Value;
-import io.grpc.ManagedChannel;
 import io.micrometer.observation.annotation.Observed;
 import org.jspecify.annotations.NonNull;
-import org.springframework.beans.factory.DisposableBean;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.GrpcChannelFactory;
-
-import java.util.Optional;
 
 import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
 
@@ -44,129 +39,97 @@ import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
  * @since 1.0.1
  */
 @Observed(name = "CaptchaCodeGrpcService")
-public class CaptchaCodeGrpcService extends GenixGrpcService implements DisposableBean {
-
-    private ManagedChannel channel;
+public class CaptchaCodeGrpcService extends GenixGrpcService {
 
     public CaptchaCodeGrpcService(
-        DiscoveryClient discoveryClient,
-        GrpcChannelFactory grpcChannelFactory) {
-        super(discoveryClient, grpcChannelFactory);
-    }
-
-    @Override
-    public void destroy() {
-        Optional.ofNullable(channel).ifPresent(ManagedChannel::shutdown);
+        GrpcChannelRegistry grpcChannelRegistry) {
+        super(grpcChannelRegistry);
     }
 
     public CaptchaCodeGeneratedGrpcDTO generate(
         CaptchaCodeGeneratedGrpcCmd captchaCodeGeneratedGrpcCmd) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return generateFromGrpc(captchaCodeGeneratedGrpcCmd);
-            })
+        return getManagedChannel()
+            .map(_ -> generateFromGrpc(captchaCodeGeneratedGrpcCmd))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     public ListenableFuture<CaptchaCodeGeneratedGrpcDTO> syncGenerate(
         CaptchaCodeGeneratedGrpcCmd captchaCodeGeneratedGrpcCmd) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return syncGenerateFromGrpc(captchaCodeGeneratedGrpcCmd);
-            })
+        return getManagedChannel()
+            .map(_ -> syncGenerateFromGrpc(captchaCodeGeneratedGrpcCmd))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     public BoolValue verify(
         CaptchaCodeVerifyGrpcCmd captchaCodeVerifyGrpcCmd) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return verifyFromGrpc(captchaCodeVerifyGrpcCmd);
-            })
+        return getManagedChannel()
+            .map(_ -> verifyFromGrpc(captchaCodeVerifyGrpcCmd))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     @SuppressWarnings("unused")
     public ListenableFuture<BoolValue> syncVerify(
         CaptchaCodeVerifyGrpcCmd captchaCodeVerifyGrpcCmd) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return syncVerifyFromGrpc(captchaCodeVerifyGrpcCmd);
-            })
+        return getManagedChannel()
+            .map(_ -> syncVerifyFromGrpc(captchaCodeVerifyGrpcCmd))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     public void delete(Int64Value captchaCodeId) {
-        Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .ifPresentOrElse(ch -> {
-                channel = ch;
-                deleteFromGrpc(captchaCodeId);
-            }, () -> {
+        getManagedChannel()
+            .ifPresentOrElse(_ -> deleteFromGrpc(captchaCodeId), () -> {
                 throw new ApplicationException(GRPC_SERVICE_NOT_FOUND);
             });
     }
 
     @SuppressWarnings("unused")
     public void syncDelete(Int64Value captchaCodeId) {
-        Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .ifPresentOrElse(ch -> {
-                channel = ch;
-                syncDeleteFromGrpc(captchaCodeId);
-            }, () -> {
+        getManagedChannel()
+            .ifPresentOrElse(_ -> syncDeleteFromGrpc(captchaCodeId), () -> {
                 throw new ApplicationException(GRPC_SERVICE_NOT_FOUND);
             });
     }
 
     private CaptchaCodeGeneratedGrpcDTO generateFromGrpc(
         CaptchaCodeGeneratedGrpcCmd captchaCodeGeneratedGrpcCmd) {
-        CaptchaCodeServiceBlockingStub captchaCodeServiceBlockingStub = CaptchaCodeServiceGrpc.newBlockingStub(
-            channel);
+        CaptchaCodeServiceBlockingStub captchaCodeServiceBlockingStub = stub(CaptchaCodeServiceBlockingStub.class,
+            CaptchaCodeServiceGrpc::newBlockingStub);
         return captchaCodeServiceBlockingStub.generate(captchaCodeGeneratedGrpcCmd);
     }
 
     private @NonNull ListenableFuture<CaptchaCodeGeneratedGrpcDTO> syncGenerateFromGrpc(
         CaptchaCodeGeneratedGrpcCmd captchaCodeGeneratedGrpcCmd) {
-        CaptchaCodeServiceFutureStub captchaCodeServiceFutureStub = CaptchaCodeServiceGrpc.newFutureStub(
-            channel);
+        CaptchaCodeServiceFutureStub captchaCodeServiceFutureStub = stub(CaptchaCodeServiceFutureStub.class,
+            CaptchaCodeServiceGrpc::newFutureStub);
         return captchaCodeServiceFutureStub.generate(
             captchaCodeGeneratedGrpcCmd);
     }
 
     private BoolValue verifyFromGrpc(
         CaptchaCodeVerifyGrpcCmd captchaCodeVerifyGrpcCmd) {
-        CaptchaCodeServiceBlockingStub captchaCodeServiceBlockingStub = CaptchaCodeServiceGrpc.newBlockingStub(
-            channel);
+        CaptchaCodeServiceBlockingStub captchaCodeServiceBlockingStub = stub(CaptchaCodeServiceBlockingStub.class,
+            CaptchaCodeServiceGrpc::newBlockingStub);
         return captchaCodeServiceBlockingStub.verify(captchaCodeVerifyGrpcCmd);
     }
 
     private @NonNull ListenableFuture<BoolValue> syncVerifyFromGrpc(
         CaptchaCodeVerifyGrpcCmd captchaCodeVerifyGrpcCmd) {
-        CaptchaCodeServiceFutureStub captchaCodeServiceFutureStub = CaptchaCodeServiceGrpc.newFutureStub(
-            channel);
+        CaptchaCodeServiceFutureStub captchaCodeServiceFutureStub = stub(CaptchaCodeServiceFutureStub.class,
+            CaptchaCodeServiceGrpc::newFutureStub);
         return captchaCodeServiceFutureStub.verify(
             captchaCodeVerifyGrpcCmd);
     }
 
     private void deleteFromGrpc(Int64Value captchaCodeId) {
-        CaptchaCodeServiceBlockingStub captchaCodeServiceBlockingStub = CaptchaCodeServiceGrpc.newBlockingStub(
-            channel);
+        CaptchaCodeServiceBlockingStub captchaCodeServiceBlockingStub = stub(CaptchaCodeServiceBlockingStub.class,
+            CaptchaCodeServiceGrpc::newBlockingStub);
         // noinspection ResultOfMethodCallIgnored
         captchaCodeServiceBlockingStub.delete(captchaCodeId);
     }
 
     private void syncDeleteFromGrpc(Int64Value captchaCodeId) {
-        CaptchaCodeServiceFutureStub captchaCodeServiceFutureStub = CaptchaCodeServiceGrpc.newFutureStub(
-            channel);
+        CaptchaCodeServiceFutureStub captchaCodeServiceFutureStub = stub(CaptchaCodeServiceFutureStub.class,
+            CaptchaCodeServiceGrpc::newFutureStub);
         // noinspection ResultOfMethodCallIgnored
         captchaCodeServiceFutureStub.delete(captchaCodeId);
     }
@@ -17,13 +17,13 @@
 package baby.mumu.genix.client.api;
 
 import baby.mumu.basis.enums.ServiceEnum;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
+import io.grpc.Channel;
 import io.grpc.ManagedChannel;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.ChannelBuilderOptions;
-import org.springframework.grpc.client.GrpcChannelFactory;
+import io.grpc.stub.AbstractStub;
 
-import java.time.Duration;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 多功能生成器grpc服务
@@ -34,30 +34,24 @@ import java.util.Optional;
 class GenixGrpcService {
 
     public static final String GRPC_GENIX = ServiceEnum.GENIX.getName();
-    private final DiscoveryClient discoveryClient;
-    private final GrpcChannelFactory grpcChannelFactory;
+    private final GrpcChannelRegistry grpcChannelRegistry;
 
-    public GenixGrpcService(DiscoveryClient discoveryClient,
-                            GrpcChannelFactory grpcChannelFactory) {
-        this.discoveryClient = discoveryClient;
-        this.grpcChannelFactory = grpcChannelFactory;
+    public GenixGrpcService(GrpcChannelRegistry grpcChannelRegistry) {
+        this.grpcChannelRegistry = grpcChannelRegistry;
+        // 启动时即创建共享通道并开始建连
+        grpcChannelRegistry.register(GenixGrpcService.GRPC_GENIX);
     }
 
     protected Optional<ManagedChannel> getManagedChannel() {
-        if (!serviceAvailable()) {
-            return Optional.empty();
-        }
-        ChannelBuilderOptions opts = ChannelBuilderOptions.defaults()
-            .withInterceptorsMerge(true)
-            .withShutdownGracePeriod(Duration.ofSeconds(10));
-
-        // 这里传入的是“通道名”，会去读取 spring.grpc.client.channels.genix.* 的配置
-        ManagedChannel ch = grpcChannelFactory.createChannel(GenixGrpcService.GRPC_GENIX, opts);
-        return Optional.of(ch);
+        return grpcChannelRegistry.channel(GenixGrpcService.GRPC_GENIX);
     }
 
-    protected boolean serviceAvailable() {
-        return !discoveryClient.getInstances(GenixGrpcService.GRPC_GENIX).isEmpty();
+    protected <S extends AbstractStub<S>> S stub(Class<S> stubType,
+                                                 Function<Channel, S> stubFactory) {
+        return grpcChannelRegistry.stub(GenixGrpcService.GRPC_GENIX, stubType, stubFactory);
     }
 
+    protected boolean serviceAvailable() {
+        return getManagedChannel().isPresent();
+    }
 }
@@ -16,20 +16,22 @@
 
 package baby.mumu.genix.client.api;
 
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.genix.client.api.grpc.PrimaryKeyServiceGrpc;
 import baby.mumu.genix.client.api.grpc.PrimaryKeyServiceGrpc.PrimaryKeyServiceBlockingStub;
+import baby.mumu.genix.client.api.grpc.SnowflakeBatchCmd;
+import baby.mumu.genix.client.config.SnowflakeIdBuffer;
+import baby.mumu.genix.client.config.SnowflakeIdBufferProperties;
 import com.github.yitter.contract.IdGeneratorOptions;
 import com.github.yitter.idgen.YitIdHelper;
 import com.google.protobuf.Empty;
-import io.grpc.ManagedChannel;
 import io.micrometer.observation.annotation.Observed;
 import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.GrpcChannelFactory;
 
-import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * 主键生成对外提供grpc调用实例
@@ -41,39 +43,67 @@ import java.util.Optional;
 public class PrimaryKeyGrpcService extends GenixGrpcService implements DisposableBean,
     InitializingBean {
 
-    private ManagedChannel channel;
+    private final SnowflakeIdBufferProperties snowflakeIdBufferProperties;
+    private final ExecutorService refillExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private SnowflakeIdBuffer snowflakeIdBuffer;
 
     public PrimaryKeyGrpcService(
-        DiscoveryClient discoveryClient,
-        GrpcChannelFactory grpcChannelFactory) {
-        super(discoveryClient, grpcChannelFactory);
+        GrpcChannelRegistry grpcChannelRegistry,
+        SnowflakeIdBufferProperties snowflakeIdBufferProperties) {
+        super(grpcChannelRegistry);
+        this.snowflakeIdBufferProperties = snowflakeIdBufferProperties;
     }
 
     @Override
     public void afterPropertiesSet() {
         IdGeneratorOptions options = new IdGeneratorOptions();
         YitIdHelper.setIdGenerator(options);
+        if (snowflakeIdBufferProperties.isEnabled()) {
+            snowflakeIdBuffer = new SnowflakeIdBuffer(this::snowflakeBatch,
+                snowflakeIdBufferProperties.getBatchSize(),
+                snowflakeIdBufferProperties.getPrefetchThreshold(), refillExecutor);
+        }
     }
 
     @Override
     public void destroy() {
-        Optional.ofNullable(channel).ifPresent(ManagedChannel::shutdown);
+        refillExecutor.shutdownNow();
     }
 
     public Long snowflake() {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return snowflakeFromGrpc();
-            })
+        if (snowflakeIdBuffer != null) {
+            return snowflakeIdBuffer.nextId();
+        }
+        return getManagedChannel()
+            .map(_ -> snowflakeFromGrpc())
             .orElseGet(YitIdHelper::nextId);
     }
 
     private @NonNull Long snowflakeFromGrpc() {
-        PrimaryKeyServiceBlockingStub primaryKeyServiceBlockingStub = PrimaryKeyServiceGrpc.newBlockingStub(
-            channel);
+        PrimaryKeyServiceBlockingStub primaryKeyServiceBlockingStub = stub(PrimaryKeyServiceBlockingStub.class,
+            PrimaryKeyServiceGrpc::newBlockingStub);
         return primaryKeyServiceBlockingStub.snowflake(
             Empty.newBuilder().build()).getId();
     }
+
+    /**
+     * 批量租用雪花算法ID
+     *
+     * @param size 租用数量
+     * @return ID号段，服务不可用时为空数组
+     * @since 2.17.0
+     */
+    public long[] snowflakeBatch(int size) {
+        return getManagedChannel()
+            .map(_ -> snowflakeBatchFromGrpc(size))
+            .orElseGet(() -> new long[0]);
+    }
+
+    private long[] snowflakeBatchFromGrpc(int size) {
+        PrimaryKeyServiceBlockingStub primaryKeyServiceBlockingStub = stub(PrimaryKeyServiceBlockingStub.class,
+            PrimaryKeyServiceGrpc::newBlockingStub);
+        return primaryKeyServiceBlockingStub.snowflakeBatch(
+                SnowflakeBatchCmd.newBuilder().setSize(size).build()).getIdsList().stream()
+            .mapToLong(Long::longValue).toArray();
+    }
 }
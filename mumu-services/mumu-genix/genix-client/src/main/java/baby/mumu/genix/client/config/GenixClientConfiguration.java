@@ -16,15 +16,17 @@
 
 package baby.mumu.genix.client.config;
 
+import baby.mumu.basis.grpc.channel.GrpcChannelProperties;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.basis.grpc.resolvers.DiscoveryClientNameResolverProvider;
 import baby.mumu.genix.client.api.CaptchaCodeGrpcService;
 import baby.mumu.genix.client.api.PrimaryKeyGrpcService;
 import io.grpc.NameResolverRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.grpc.client.GrpcChannelFactory;
 
 /**
  * 多功能生成器服务客户端配置
@@ -33,28 +35,29 @@ import org.springframework.grpc.client.GrpcChannelFactory;
  * @since 1.0.0
  */
 @Configuration
+@EnableConfigurationProperties(SnowflakeIdBufferProperties.class)
 public class GenixClientConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
     public DiscoveryClientNameResolverProvider discoveryClientNameResolverProvider(
-        DiscoveryClient discoveryClient) {
+        DiscoveryClient discoveryClient, GrpcChannelProperties grpcChannelProperties) {
         DiscoveryClientNameResolverProvider discoveryClientNameResolverProvider = new DiscoveryClientNameResolverProvider(
-            discoveryClient);
+            discoveryClient, grpcChannelProperties.getLoadBalancingPolicy());
         NameResolverRegistry.getDefaultRegistry().register(discoveryClientNameResolverProvider);
         return discoveryClientNameResolverProvider;
     }
 
     @Bean
-    public PrimaryKeyGrpcService primaryKeyGrpcService(DiscoveryClient discoveryClient,
-                                                       GrpcChannelFactory grpcChannelFactory) {
-        return new PrimaryKeyGrpcService(discoveryClient, grpcChannelFactory);
+    public PrimaryKeyGrpcService primaryKeyGrpcService(GrpcChannelRegistry grpcChannelRegistry,
+                                                       SnowflakeIdBufferProperties snowflakeIdBufferProperties) {
+        return new PrimaryKeyGrpcService(grpcChannelRegistry,
+            snowflakeIdBufferProperties);
     }
 
     @Bean
-    public CaptchaCodeGrpcService captchaCodeGrpcService(DiscoveryClient discoveryClient,
-                                                         GrpcChannelFactory grpcChannelFactory) {
-        return new CaptchaCodeGrpcService(discoveryClient, grpcChannelFactory);
+    public CaptchaCodeGrpcService captchaCodeGrpcService(GrpcChannelRegistry grpcChannelRegistry) {
+        return new CaptchaCodeGrpcService(grpcChannelRegistry);
     }
 
     @Bean
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.genix.client.config;
+
+import com.github.yitter.idgen.YitIdHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * 雪花算法ID号段缓冲区
+ * <p>
+ * 一次租用一整段ID，本地无锁分配；剩余数量低于预取阈值时后台预取下一段，
+ * 仅在租用失败时回退到本地{@link YitIdHelper}
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class SnowflakeIdBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(SnowflakeIdBuffer.class);
+    private final IntFunction<long[]> leaser;
+    private final int batchSize;
+    private final int prefetchThreshold;
+    private final Executor refillExecutor;
+    private final AtomicReference<Segment> current = new AtomicReference<>(Segment.EMPTY);
+    private final ConcurrentLinkedQueue<Segment> prefetched = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    /**
+     * @param leaser            号段租用函数，入参为租用数量
+     * @param batchSize         每次租用数量
+     * @param prefetchThreshold 预取阈值
+     * @param refillExecutor    后台预取执行器
+     */
+    public SnowflakeIdBuffer(IntFunction<long[]> leaser, int batchSize, int prefetchThreshold,
+                             Executor refillExecutor) {
+        this.leaser = leaser;
+        this.batchSize = batchSize;
+        this.prefetchThreshold = prefetchThreshold;
+        this.refillExecutor = refillExecutor;
+    }
+
+    /**
+     * 获取下一个ID
+     *
+     * @return ID
+     */
+    public long nextId() {
+        while (true) {
+            Segment segment = current.get();
+            int index = segment.cursor.getAndIncrement();
+            if (index < segment.ids.length) {
+                if (segment.ids.length - index <= prefetchThreshold) {
+                    prefetch();
+                }
+                return segment.ids[index];
+            }
+            Segment next = prefetched.poll();
+            if (next == null) {
+                // 预取未就绪，同步租用
+                next = lease();
+                if (next == null) {
+                    return YitIdHelper.nextId();
+                }
+            }
+            if (!current.compareAndSet(segment, next)) {
+                // 其他线程已切换号段，归还本次取得的号段
+                prefetched.offer(next);
+            }
+        }
+    }
+
+    private void prefetch() {
+        if (prefetched.isEmpty() && refilling.compareAndSet(false, true)) {
+            try {
+                refillExecutor.execute(() -> {
+                    try {
+                        Segment segment = lease();
+                        if (segment != null) {
+                            prefetched.offer(segment);
+                        }
+                    } finally {
+                        refilling.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                refilling.set(false);
+            }
+        }
+    }
+
+    private Segment lease() {
+        try {
+            long[] ids = leaser.apply(batchSize);
+            return ids == null || ids.length == 0 ? null : new Segment(ids);
+        } catch (RuntimeException e) {
+            SnowflakeIdBuffer.log.warn("Snowflake id lease failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class Segment {
+
+        private static final Segment EMPTY = new Segment(new long[0]);
+        private final long[] ids;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Segment(long[] ids) {
+            this.ids = ids;
+        }
+    }
+}
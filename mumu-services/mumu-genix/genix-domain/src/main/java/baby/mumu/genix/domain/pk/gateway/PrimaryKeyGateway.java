@@ -30,4 +30,13 @@ public interface PrimaryKeyGateway {
      * @return 主键
      */
     long snowflake();
+
+    /**
+     * 基于雪花算法批量生成主键
+     *
+     * @param size 生成数量
+     * @return 主键
+     * @since 2.17.0
+     */
+    long[] snowflake(int size);
 }
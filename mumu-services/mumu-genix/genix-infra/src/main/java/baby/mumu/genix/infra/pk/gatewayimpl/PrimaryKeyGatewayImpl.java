@@ -44,4 +44,13 @@ public class PrimaryKeyGatewayImpl implements PrimaryKeyGateway {
     public long snowflake() {
         return snowflakeId.generate();
     }
+
+    @Override
+    public long[] snowflake(int size) {
+        long[] ids = new long[Math.max(size, 0)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = snowflakeId.generate();
+        }
+        return ids;
+    }
 }
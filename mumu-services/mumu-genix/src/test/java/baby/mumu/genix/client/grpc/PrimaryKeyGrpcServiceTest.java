@@ -26,6 +26,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Arrays;
+
 /**
  * 主键生成grpc接口单元测试
  *
@@ -51,4 +53,12 @@ public class PrimaryKeyGrpcServiceTest {
         PrimaryKeyGrpcServiceTest.log.info("snowflake : {}", snowflake);
         Assertions.assertNotNull(snowflake);
     }
+
+    @Test
+    public void snowflakeBatch() {
+        long[] snowflakes = primaryKeyGrpcService.snowflakeBatch(100);
+        PrimaryKeyGrpcServiceTest.log.info("snowflake batch size : {}", snowflakes.length);
+        Assertions.assertEquals(100, snowflakes.length);
+        Assertions.assertEquals(100, Arrays.stream(snowflakes).distinct().count());
+    }
 }
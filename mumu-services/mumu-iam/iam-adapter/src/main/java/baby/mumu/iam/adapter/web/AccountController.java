@@ -319,8 +319,9 @@ public class AccountController {
     @RateLimiter
     @API(status = Status.STABLE, since = "2.6.0")
     public ResponseWrapper<List<AccountNearbyDTO>> nearby(
-        @PathVariable @Min(1) double radiusInMeters) {
-        return ResponseWrapper.success(accountService.nearby(radiusInMeters));
+        @PathVariable @Min(1) double radiusInMeters,
+        @ParameterObject @ModelAttribute @Validated AccountNearbyCmd accountNearbyCmd) {
+        return ResponseWrapper.success(accountService.nearby(radiusInMeters, accountNearbyCmd));
     }
 
     @Operation(summary = "当前账号设置默认地址",
@@ -198,6 +198,18 @@ public class PermissionController {
         permissionService.addDescendant(permissionAddDescendantCmd);
     }
 
+    @Operation(summary = "批量导入权限树", description = "一次性导入多条权限直系路径，后代权限连同其子树挂接到祖先权限下。",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+            description = "权限树批量导入命令对象",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = PermissionImportTreeCmd.class))))
+    @PutMapping("/importTree")
+    @RateLimiter
+    @API(status = Status.STABLE, since = "2.17.0")
+    public void importTree(@RequestBody @Validated PermissionImportTreeCmd permissionImportTreeCmd) {
+        permissionService.importTree(permissionImportTreeCmd);
+    }
+
     @Operation(summary = "获取所有根权限", description = "分页获取权限树中的根权限列表。")
     @GetMapping("/findRoot")
     @RateLimiter
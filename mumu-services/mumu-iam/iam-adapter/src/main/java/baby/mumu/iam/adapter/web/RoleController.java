@@ -171,6 +171,18 @@ public class RoleController {
         roleService.addDescendant(roleAddDescendantCmd);
     }
 
+    @Operation(summary = "批量导入角色树", description = "一次性导入多条角色直系路径，后代角色连同其子树挂接到祖先角色下。",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+            description = "角色树批量导入命令对象",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = RoleImportTreeCmd.class))))
+    @PutMapping("/importTree")
+    @RateLimiter
+    @API(status = Status.STABLE, since = "2.17.0")
+    public void importTree(@RequestBody @Validated RoleImportTreeCmd roleImportTreeCmd) {
+        roleService.importTree(roleImportTreeCmd);
+    }
+
     @Operation(summary = "获取所有根角色")
     @GetMapping("/findRoot")
     @RateLimiter
@@ -25,6 +25,7 @@ import baby.mumu.iam.client.cmds.*;
 import baby.mumu.iam.client.dto.*;
 import baby.mumu.iam.domain.account.Account;
 import baby.mumu.iam.domain.account.AccountAddress;
+import baby.mumu.iam.domain.account.AccountNearby;
 import baby.mumu.iam.domain.account.AccountSystemSettings;
 import baby.mumu.iam.domain.account.gateway.AccountGateway;
 import org.apache.commons.collections4.CollectionUtils;
@@ -242,10 +243,10 @@ public class AccountAssemblerConvertor {
                             .collect(Collectors.toList())).orElse(new ArrayList<>())).build());
     }
 
-    @API(status = Status.STABLE, since = "2.6.0")
+    @API(status = Status.STABLE, since = "2.17.0")
     public Optional<AccountNearbyDTO> toAccountNearbyDTO(
-        Account account) {
-        return Optional.ofNullable(account).map(AccountAssemblerMapper.INSTANCE::toAccountNearbyDTO);
+        AccountNearby accountNearby) {
+        return Optional.ofNullable(accountNearby).map(AccountAssemblerMapper.INSTANCE::toAccountNearbyDTO);
     }
 
     @API(status = Status.STABLE, since = "2.13.0")
@@ -30,6 +30,7 @@ import baby.mumu.iam.client.dto.AccountCurrentLoginDTO.AccountRoleDTO;
 import baby.mumu.iam.client.dto.AccountCurrentLoginDTO.AccountSystemSettingDTO;
 import baby.mumu.iam.domain.account.Account;
 import baby.mumu.iam.domain.account.AccountAddress;
+import baby.mumu.iam.domain.account.AccountNearby;
 import baby.mumu.iam.domain.account.AccountSystemSettings;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
@@ -117,8 +118,8 @@ public interface AccountAssemblerMapper extends GrpcMapper, DataTransferObjectMa
     AccountSystemSettingsGrpcDTO toAccountSystemSettingsGrpcDTO(
         AccountSystemSettingDTO accountSystemSettingDTO);
 
-    @API(status = Status.STABLE, since = "2.6.0")
-    AccountNearbyDTO toAccountNearbyDTO(Account account);
+    @API(status = Status.STABLE, since = "2.17.0")
+    AccountNearbyDTO toAccountNearbyDTO(AccountNearby accountNearby);
 
     @API(status = Status.STABLE, since = "2.13.0")
     AccountUpdatedDataDTO toAccountUpdatedDataDTO(Account account);
@@ -16,6 +16,7 @@
 
 package baby.mumu.iam.application.account.executor;
 
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.iam.client.cmds.AccountFindAllCmd;
 import baby.mumu.iam.client.dto.AccountFindAllDTO;
 import baby.mumu.iam.domain.account.Account;
@@ -54,11 +55,19 @@ public class AccountFindAllCmdExe {
     public Page<AccountFindAllDTO> execute(@NonNull AccountFindAllCmd accountFindAllCmd) {
         Account account = accountAssemblerConvertor.toEntity(accountFindAllCmd)
             .orElseGet(Account::new);
-        Page<Account> accounts = accountGateway.findAll(account,
-            accountFindAllCmd.getCurrent(), accountFindAllCmd.getPageSize());
+        Page<Account> accounts = KeysetCursor.decode(accountFindAllCmd.getCursor())
+            .map(cursor -> accountGateway.findAll(account, cursor, accountFindAllCmd.getPageSize()))
+            .orElseGet(() -> accountGateway.findAll(account,
+                accountFindAllCmd.getCurrent(), accountFindAllCmd.getPageSize()));
         List<AccountFindAllDTO> accountFindAllDTOS = accounts.getContent().stream()
             .map(accountAssemblerConvertor::toAccountFindAllDTO)
-            .filter(Optional::isPresent).map(Optional::get).toList();
+            .filter(Optional::isPresent).map(Optional::get)
+            .map(accountFindAllDTO -> {
+                accountFindAllDTO.setCursor(KeysetCursor.encode(accountFindAllDTO.getCreationTime(),
+                    accountFindAllDTO.getId()));
+                return accountFindAllDTO;
+            })
+            .toList();
         return new PageImpl<>(accountFindAllDTOS, accounts.getPageable(),
             accounts.getTotalElements());
     }
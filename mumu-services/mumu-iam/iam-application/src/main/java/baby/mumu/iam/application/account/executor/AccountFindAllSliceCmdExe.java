@@ -16,6 +16,7 @@
 
 package baby.mumu.iam.application.account.executor;
 
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.iam.client.cmds.AccountFindAllSliceCmd;
 import baby.mumu.iam.client.dto.AccountFindAllSliceDTO;
 import baby.mumu.iam.domain.account.Account;
@@ -54,11 +55,20 @@ public class AccountFindAllSliceCmdExe {
     public Slice<AccountFindAllSliceDTO> execute(
         @NonNull AccountFindAllSliceCmd accountFindAllSliceCmd) {
         Account account = accountAssemblerConvertor.toEntity(accountFindAllSliceCmd).orElseGet(Account::new);
-        Slice<Account> accounts = accountGateway.findAllSlice(account,
-            accountFindAllSliceCmd.getCurrent(), accountFindAllSliceCmd.getPageSize());
+        Slice<Account> accounts = KeysetCursor.decode(accountFindAllSliceCmd.getCursor())
+            .map(cursor -> accountGateway.findAllSlice(account, cursor,
+                accountFindAllSliceCmd.getPageSize()))
+            .orElseGet(() -> accountGateway.findAllSlice(account,
+                accountFindAllSliceCmd.getCurrent(), accountFindAllSliceCmd.getPageSize()));
         List<AccountFindAllSliceDTO> accountFindAllSliceDTOS = accounts.getContent().stream()
             .map(accountAssemblerConvertor::toAccountFindAllSliceDTO)
-            .filter(Optional::isPresent).map(Optional::get).toList();
+            .filter(Optional::isPresent).map(Optional::get)
+            .map(accountFindAllSliceDTO -> {
+                accountFindAllSliceDTO.setCursor(KeysetCursor.encode(accountFindAllSliceDTO.getCreationTime(),
+                    accountFindAllSliceDTO.getId()));
+                return accountFindAllSliceDTO;
+            })
+            .toList();
         return new SliceImpl<>(accountFindAllSliceDTOS, accounts.getPageable(),
             accounts.hasNext());
     }
@@ -16,10 +16,12 @@
 
 package baby.mumu.iam.application.account.executor;
 
+import baby.mumu.iam.client.cmds.AccountNearbyCmd;
 import baby.mumu.iam.client.dto.AccountNearbyDTO;
 import baby.mumu.iam.domain.account.gateway.AccountGateway;
 import baby.mumu.iam.application.account.convertor.AccountAssemblerConvertor;
 import io.micrometer.observation.annotation.Observed;
+import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -46,10 +48,11 @@ public class AccountNearbyCmdExe {
         this.accountAssemblerConvertor = accountAssemblerConvertor;
     }
 
-    public List<AccountNearbyDTO> execute(double radiusInMeters) {
-        return accountGateway.nearby(radiusInMeters).stream()
-            .flatMap(account -> accountAssemblerConvertor.toAccountNearbyDTO(account).stream()).collect(
-                Collectors.toList());
+    public List<AccountNearbyDTO> execute(double radiusInMeters, @NonNull AccountNearbyCmd accountNearbyCmd) {
+        return accountGateway.nearby(radiusInMeters, accountNearbyCmd.getCursor(),
+                accountNearbyCmd.getPageSize()).stream()
+            .flatMap(accountNearby -> accountAssemblerConvertor.toAccountNearbyDTO(accountNearby).stream())
+            .collect(Collectors.toList());
     }
 }
 
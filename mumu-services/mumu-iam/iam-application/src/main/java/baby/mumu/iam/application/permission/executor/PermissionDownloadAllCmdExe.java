@@ -45,10 +45,8 @@ public class PermissionDownloadAllCmdExe {
     }
 
     public void execute(HttpServletResponse response) {
-        FileDownloadUtils.downloadCSV(response, "permissions",
-            permissionGateway.findAll()
-                .flatMap(
-                    permission -> permissionAssemblerConvertor.toPermissionDownloadAllDTO(permission).stream()));
+        FileDownloadUtils.downloadCSV(response, "permissions", permissionGateway.findAll(),
+            permission -> permissionAssemblerConvertor.toPermissionDownloadAllDTO(permission).orElse(null));
     }
 }
 
@@ -16,6 +16,7 @@
 
 package baby.mumu.iam.application.permission.executor;
 
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.iam.client.cmds.PermissionFindAllCmd;
 import baby.mumu.iam.client.dto.PermissionFindAllDTO;
 import baby.mumu.iam.domain.permission.Permission;
@@ -54,10 +55,18 @@ public class PermissionFindAllCmdExe {
         Assert.notNull(permissionFindAllCmd, "PermissionFindAllCmd cannot be null");
         Permission permission = permissionAssemblerConvertor.toEntity(permissionFindAllCmd)
             .orElseGet(Permission::new);
-        Page<Permission> permissions = permissionGateway.findAll(permission,
-            permissionFindAllCmd.getCurrent(), permissionFindAllCmd.getPageSize());
+        Page<Permission> permissions = KeysetCursor.decode(permissionFindAllCmd.getCursor())
+            .map(cursor -> permissionGateway.findAll(permission, cursor, permissionFindAllCmd.getPageSize()))
+            .orElseGet(() -> permissionGateway.findAll(permission,
+                permissionFindAllCmd.getCurrent(), permissionFindAllCmd.getPageSize()));
         List<PermissionFindAllDTO> permissionFindAllDTOList = permissionAssemblerConvertor.toPermissionFindAllDTOS(
-            permissions.getContent());
+                permissions.getContent()).stream()
+            .map(permissionFindAllDTO -> {
+                permissionFindAllDTO.setCursor(KeysetCursor.encode(permissionFindAllDTO.getCreationTime(),
+                    permissionFindAllDTO.getId()));
+                return permissionFindAllDTO;
+            })
+            .toList();
         return new PageImpl<>(permissionFindAllDTOList, permissions.getPageable(),
             permissions.getTotalElements());
     }
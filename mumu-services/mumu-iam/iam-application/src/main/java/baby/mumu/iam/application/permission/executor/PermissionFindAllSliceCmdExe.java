@@ -16,6 +16,7 @@
 
 package baby.mumu.iam.application.permission.executor;
 
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.iam.client.cmds.PermissionFindAllSliceCmd;
 import baby.mumu.iam.client.dto.PermissionFindAllSliceDTO;
 import baby.mumu.iam.domain.permission.Permission;
@@ -56,12 +57,21 @@ public class PermissionFindAllSliceCmdExe {
         Assert.notNull(permissionFindAllSliceCmd, "PermissionFindAllSliceCmd cannot be null");
         Permission permission = permissionAssemblerConvertor.toEntity(permissionFindAllSliceCmd)
             .orElseGet(Permission::new);
-        Slice<Permission> permissions = permissionGateway.findAllSlice(permission,
-            permissionFindAllSliceCmd.getCurrent(), permissionFindAllSliceCmd.getPageSize());
+        Slice<Permission> permissions = KeysetCursor.decode(permissionFindAllSliceCmd.getCursor())
+            .map(cursor -> permissionGateway.findAllSlice(permission, cursor,
+                permissionFindAllSliceCmd.getPageSize()))
+            .orElseGet(() -> permissionGateway.findAllSlice(permission,
+                permissionFindAllSliceCmd.getCurrent(), permissionFindAllSliceCmd.getPageSize()));
         List<PermissionFindAllSliceDTO> permissionFindAllSliceDTOList = permissions.getContent()
             .stream()
             .map(permissionAssemblerConvertor::toPermissionFindAllSliceDTO)
-            .filter(Optional::isPresent).map(Optional::get).toList();
+            .filter(Optional::isPresent).map(Optional::get)
+            .map(permissionFindAllSliceDTO -> {
+                permissionFindAllSliceDTO.setCursor(KeysetCursor.encode(permissionFindAllSliceDTO.getCreationTime(),
+                    permissionFindAllSliceDTO.getId()));
+                return permissionFindAllSliceDTO;
+            })
+            .toList();
         return new SliceImpl<>(permissionFindAllSliceDTOList, permissions.getPageable(),
             permissions.hasNext());
     }
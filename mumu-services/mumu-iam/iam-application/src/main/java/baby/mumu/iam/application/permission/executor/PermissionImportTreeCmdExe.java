@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.application.permission.executor;
+
+import baby.mumu.iam.client.cmds.PermissionAddDescendantCmd;
+import baby.mumu.iam.client.cmds.PermissionImportTreeCmd;
+import baby.mumu.iam.domain.permission.gateway.PermissionGateway;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 批量导入权限树指令执行器
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+@Observed(name = "PermissionImportTreeCmdExe")
+public class PermissionImportTreeCmdExe {
+
+    private final PermissionGateway permissionGateway;
+
+    @Autowired
+    public PermissionImportTreeCmdExe(PermissionGateway permissionGateway) {
+        this.permissionGateway = permissionGateway;
+    }
+
+    public void execute(PermissionImportTreeCmd permissionImportTreeCmd) {
+        Optional.ofNullable(permissionImportTreeCmd).map(PermissionImportTreeCmd::getPaths)
+            .ifPresent(paths -> permissionGateway.importTree(paths.stream()
+                .collect(Collectors.groupingBy(PermissionAddDescendantCmd::getAncestorId, LinkedHashMap::new,
+                    Collectors.mapping(PermissionAddDescendantCmd::getDescendantId,
+                        Collectors.toCollection(LinkedHashSet::new))))));
+    }
+}
@@ -16,6 +16,7 @@
 
 package baby.mumu.iam.application.role.executor;
 
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.iam.client.cmds.RoleFindAllCmd;
 import baby.mumu.iam.client.dto.RoleFindAllDTO;
 import baby.mumu.iam.domain.role.Role;
@@ -53,11 +54,19 @@ public class RoleFindAllCmdExe {
     public Page<RoleFindAllDTO> execute(@NonNull RoleFindAllCmd roleFindAllCmd) {
         Role role = roleAssemblerConvertor.toEntity(roleFindAllCmd)
             .orElseGet(Role::new);
-        Page<Role> roles = roleGateway.findAll(role,
-            roleFindAllCmd.getCurrent(), roleFindAllCmd.getPageSize());
+        Page<Role> roles = KeysetCursor.decode(roleFindAllCmd.getCursor())
+            .map(cursor -> roleGateway.findAll(role, cursor, roleFindAllCmd.getPageSize()))
+            .orElseGet(() -> roleGateway.findAll(role,
+                roleFindAllCmd.getCurrent(), roleFindAllCmd.getPageSize()));
         List<RoleFindAllDTO> roleFindAllDTOList = roles.getContent().stream()
             .map(roleAssemblerConvertor::toRoleFindAllDTO)
-            .filter(Optional::isPresent).map(Optional::get).toList();
+            .filter(Optional::isPresent).map(Optional::get)
+            .map(roleFindAllDTO -> {
+                roleFindAllDTO.setCursor(KeysetCursor.encode(roleFindAllDTO.getCreationTime(),
+                    roleFindAllDTO.getId()));
+                return roleFindAllDTO;
+            })
+            .toList();
         return new PageImpl<>(roleFindAllDTOList, roles.getPageable(),
             roles.getTotalElements());
     }
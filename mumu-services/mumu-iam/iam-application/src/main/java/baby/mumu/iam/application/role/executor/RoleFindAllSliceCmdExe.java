@@ -16,6 +16,7 @@
 
 package baby.mumu.iam.application.role.executor;
 
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.iam.client.cmds.RoleFindAllSliceCmd;
 import baby.mumu.iam.client.dto.RoleFindAllSliceDTO;
 import baby.mumu.iam.domain.role.Role;
@@ -52,11 +53,19 @@ public class RoleFindAllSliceCmdExe {
 
     public Slice<RoleFindAllSliceDTO> execute(@NonNull RoleFindAllSliceCmd roleFindAllSliceCmd) {
         Role role = roleAssemblerConvertor.toEntity(roleFindAllSliceCmd).orElseGet(Role::new);
-        Slice<Role> roles = roleGateway.findAllSlice(role,
-            roleFindAllSliceCmd.getCurrent(), roleFindAllSliceCmd.getPageSize());
+        Slice<Role> roles = KeysetCursor.decode(roleFindAllSliceCmd.getCursor())
+            .map(cursor -> roleGateway.findAllSlice(role, cursor, roleFindAllSliceCmd.getPageSize()))
+            .orElseGet(() -> roleGateway.findAllSlice(role,
+                roleFindAllSliceCmd.getCurrent(), roleFindAllSliceCmd.getPageSize()));
         List<RoleFindAllSliceDTO> roleFindAllSliceDTOS = roles.getContent().stream()
             .map(roleAssemblerConvertor::toRoleFindAllSliceDTO)
-            .filter(Optional::isPresent).map(Optional::get).toList();
+            .filter(Optional::isPresent).map(Optional::get)
+            .map(roleFindAllSliceDTO -> {
+                roleFindAllSliceDTO.setCursor(KeysetCursor.encode(roleFindAllSliceDTO.getCreationTime(),
+                    roleFindAllSliceDTO.getId()));
+                return roleFindAllSliceDTO;
+            })
+            .toList();
         return new SliceImpl<>(roleFindAllSliceDTOS, roles.getPageable(),
             roles.hasNext());
     }
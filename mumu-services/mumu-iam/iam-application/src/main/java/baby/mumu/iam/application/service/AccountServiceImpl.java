@@ -353,8 +353,8 @@ public class AccountServiceImpl extends AccountServiceImplBase implements Accoun
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public List<AccountNearbyDTO> nearby(double radiusInMeters) {
-        return accountNearbyCmdExe.execute(radiusInMeters);
+    public List<AccountNearbyDTO> nearby(double radiusInMeters, AccountNearbyCmd accountNearbyCmd) {
+        return accountNearbyCmdExe.execute(radiusInMeters, accountNearbyCmd);
     }
 
     /**
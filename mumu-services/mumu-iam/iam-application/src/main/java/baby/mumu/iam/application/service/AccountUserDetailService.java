@@ -18,11 +18,13 @@ package baby.mumu.iam.application.service;
 
 import baby.mumu.basis.kotlin.tools.EmailUtils;
 import baby.mumu.basis.response.ResponseCode;
+import baby.mumu.iam.domain.account.Account;
 import baby.mumu.iam.domain.account.gateway.AccountGateway;
 import io.micrometer.observation.annotation.Observed;
 import org.apache.commons.lang3.StringUtils;
 import org.jspecify.annotations.NonNull;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
@@ -38,7 +40,7 @@ import java.util.function.Supplier;
  * @since 1.0.0
  */
 @Observed(name = "AccountUserDetailService")
-public class AccountUserDetailService implements UserDetailsService {
+public class AccountUserDetailService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AccountGateway accountGateway;
 
@@ -56,11 +58,20 @@ public class AccountUserDetailService implements UserDetailsService {
                 StringUtils.EMPTY);
             return new OAuth2AuthenticationException(error);
         };
-        return EmailUtils.isValidEmailFormat(usernameOrEmail) ? accountGateway.findAccountByEmail(
+        // 认证只需要账号基本信息与有效权限快照，无需展开角色与权限层级
+        return EmailUtils.isValidEmailFormat(usernameOrEmail) ? accountGateway.findAuthenticationAccountByEmail(
             usernameOrEmail).orElseThrow(usernameNotFoundExceptionSupplier)
-            : accountGateway.findAccountByUsername(usernameOrEmail)
+            : accountGateway.findAuthenticationAccountByUsername(usernameOrEmail)
             .orElseThrow(usernameNotFoundExceptionSupplier);
     }
-}
-
 
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // 登录验证通过后哈希参数与当前配置不一致时由认证提供者调用
+        if (user instanceof Account account) {
+            accountGateway.upgradePassword(account.getId(), newPassword);
+            account.setPassword(newPassword);
+        }
+        return user;
+    }
+}
@@ -68,6 +68,7 @@ public class PermissionServiceImpl extends PermissionServiceImplBase implements
     private final PermissionArchivedFindAllSliceCmdExe permissionArchivedFindAllSliceCmdExe;
     private final PermissionAssemblerConvertor permissionAssemblerConvertor;
     private final PermissionAddDescendantCmdExe permissionAddDescendantCmdExe;
+    private final PermissionImportTreeCmdExe permissionImportTreeCmdExe;
     private final PermissionFindRootCmdExe permissionFindRootCmdExe;
     private final PermissionFindDirectCmdExe permissionFindDirectCmdExe;
     private final PermissionDeletePathCmdExe permissionDeletePathCmdExe;
@@ -98,7 +99,8 @@ public class PermissionServiceImpl extends PermissionServiceImplBase implements
                                  PermissionDownloadAllCmdExe permissionDownloadAllCmdExe,
                                  PermissionFindByCodeCmdExe permissionFindByCodeCmdExe,
                                  PermissionIncludePathDownloadAllCmdExe permissionIncludePathDownloadAllCmdExe,
-                                 PermissionFindAllAncestorPathStringsCmdExe permissionFindAllAncestorPathStringsCmdExe, PermissionMovePathCmdExe permissionMovePathCmdExe) {
+                                 PermissionFindAllAncestorPathStringsCmdExe permissionFindAllAncestorPathStringsCmdExe, PermissionMovePathCmdExe permissionMovePathCmdExe,
+                                 PermissionImportTreeCmdExe permissionImportTreeCmdExe) {
         this.permissionAddCmdExe = permissionAddCmdExe;
         this.permissionDeleteByIdCmdExe = permissionDeleteByIdCmdExe;
         this.permissionUpdateCmdExe = permissionUpdateCmdExe;
@@ -120,6 +122,7 @@ public class PermissionServiceImpl extends PermissionServiceImplBase implements
         this.permissionIncludePathDownloadAllCmdExe = permissionIncludePathDownloadAllCmdExe;
         this.permissionFindAllAncestorPathStringsCmdExe = permissionFindAllAncestorPathStringsCmdExe;
         this.permissionMovePathCmdExe = permissionMovePathCmdExe;
+        this.permissionImportTreeCmdExe = permissionImportTreeCmdExe;
     }
 
     /**
@@ -284,6 +287,15 @@ public class PermissionServiceImpl extends PermissionServiceImplBase implements
         permissionAddDescendantCmdExe.execute(permissionAddDescendantCmd);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void importTree(PermissionImportTreeCmd permissionImportTreeCmd) {
+        permissionImportTreeCmdExe.execute(permissionImportTreeCmd);
+    }
+
     /**
      * {@inheritDoc}
      */
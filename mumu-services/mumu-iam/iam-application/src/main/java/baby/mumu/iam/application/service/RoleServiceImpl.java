@@ -67,6 +67,7 @@ public class RoleServiceImpl extends RoleServiceImplBase implements RoleService
     private final RoleAssemblerConvertor roleAssemblerConvertor;
     private final RoleFindByIdCmdExe roleFindByIdCmdExe;
     private final RoleAddDescendantCmdExe roleAddDescendantCmdExe;
+    private final RoleImportTreeCmdExe roleImportTreeCmdExe;
     private final RoleFindRootCmdExe roleFindRootCmdExe;
     private final RoleFindDirectCmdExe roleFindDirectCmdExe;
     private final RoleDeletePathCmdExe roleDeletePathCmdExe;
@@ -85,7 +86,8 @@ public class RoleServiceImpl extends RoleServiceImplBase implements RoleService
                            RoleFindByIdCmdExe roleFindByIdCmdExe, RoleAddDescendantCmdExe roleAddDescendantCmdExe,
                            RoleFindRootCmdExe roleFindRootCmdExe, RoleFindDirectCmdExe roleFindDirectCmdExe,
                            RoleDeletePathCmdExe roleDeletePathCmdExe, RoleDeleteByCodeCmdExe roleDeleteByCodeCmdExe,
-                           RoleFindByCodeCmdExe roleFindByCodeCmdExe) {
+                           RoleFindByCodeCmdExe roleFindByCodeCmdExe,
+                           RoleImportTreeCmdExe roleImportTreeCmdExe) {
         this.roleAddCmdExe = roleAddCmdExe;
         this.roleDeleteByIdCmdExe = roleDeleteByIdCmdExe;
         this.roleUpdateCmdExe = roleUpdateCmdExe;
@@ -103,6 +105,7 @@ public class RoleServiceImpl extends RoleServiceImplBase implements RoleService
         this.roleDeletePathCmdExe = roleDeletePathCmdExe;
         this.roleDeleteByCodeCmdExe = roleDeleteByCodeCmdExe;
         this.roleFindByCodeCmdExe = roleFindByCodeCmdExe;
+        this.roleImportTreeCmdExe = roleImportTreeCmdExe;
     }
 
     /**
@@ -244,6 +247,15 @@ public class RoleServiceImpl extends RoleServiceImplBase implements RoleService
         roleAddDescendantCmdExe.execute(roleAddDescendantCmd);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void importTree(RoleImportTreeCmd roleImportTreeCmd) {
+        roleImportTreeCmdExe.execute(roleImportTreeCmd);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,20 +17,35 @@
 package baby.mumu.iam.application.service;
 
 import baby.mumu.basis.annotations.RateLimiter;
+import baby.mumu.basis.event.TokenRevokedEvent;
 import baby.mumu.extension.provider.RateLimitingGrpcIpKeyProviderImpl;
+import baby.mumu.iam.application.token.executor.AuthorityDictionaryFindByVersionCmdExe;
 import baby.mumu.iam.application.token.executor.TokenValidityCmdExe;
 import baby.mumu.iam.client.api.TokenService;
+import baby.mumu.iam.client.api.grpc.AuthorityDictionaryGrpcCmd;
+import baby.mumu.iam.client.api.grpc.AuthorityDictionaryGrpcDTO;
+import baby.mumu.iam.client.api.grpc.TokenRevocationGrpcDTO;
+import baby.mumu.iam.client.api.grpc.TokenRevocationSubscribeGrpcCmd;
 import baby.mumu.iam.client.api.grpc.TokenServiceGrpc.TokenServiceImplBase;
 import baby.mumu.iam.client.api.grpc.TokenValidityGrpcCmd;
 import baby.mumu.iam.client.api.grpc.TokenValidityGrpcDTO;
 import baby.mumu.iam.client.cmds.TokenValidityCmd;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.micrometer.observation.annotation.Observed;
 import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.grpc.server.service.GrpcService;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * token service实现类 *
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
@@ -39,14 +54,21 @@ import org.springframework.stereotype.Service;
 @Service
 @GrpcService
 @Observed(name = "TokenServiceImpl")
-public class TokenServiceImpl extends TokenServiceImplBase implements TokenService {
-
+public class TokenServiceImpl extends TokenServiceImplBase implements TokenService, DisposableBean {
 
+    private static final Logger log = LoggerFactory.getLogger(TokenServiceImpl.class);
     private final TokenValidityCmdExe tokenValidityCmdExe;
+    private final AuthorityDictionaryFindByVersionCmdExe authorityDictionaryFindByVersionCmdExe;
+    /**
+     * 令牌撤销流订阅者
+     */
+    private final Set<StreamObserver<TokenRevocationGrpcDTO>> revocationSubscribers = ConcurrentHashMap.newKeySet();
 
     @Autowired
-    public TokenServiceImpl(TokenValidityCmdExe tokenValidityCmdExe) {
+    public TokenServiceImpl(TokenValidityCmdExe tokenValidityCmdExe,
+                            AuthorityDictionaryFindByVersionCmdExe authorityDictionaryFindByVersionCmdExe) {
         this.tokenValidityCmdExe = tokenValidityCmdExe;
+        this.authorityDictionaryFindByVersionCmdExe = authorityDictionaryFindByVersionCmdExe;
     }
 
     @Override
@@ -65,6 +87,68 @@ public class TokenServiceImpl extends TokenServiceImplBase implements TokenServi
                 .build());
         responseObserver.onCompleted();
     }
-}
 
+    @Override
+    public void revocations(@NonNull TokenRevocationSubscribeGrpcCmd request,
+                            @NonNull StreamObserver<TokenRevocationGrpcDTO> responseObserver) {
+        if (responseObserver instanceof ServerCallStreamObserver<TokenRevocationGrpcDTO> serverCallStreamObserver) {
+            serverCallStreamObserver.setOnCancelHandler(() -> revocationSubscribers.remove(responseObserver));
+        }
+        // 先确认订阅再加入订阅者集合，保证确认先于撤销事件送达
+        responseObserver.onNext(TokenRevocationGrpcDTO.newBuilder().setSubscribed(true).build());
+        revocationSubscribers.add(responseObserver);
+        TokenServiceImpl.log.info("Token revocation subscriber {} connected", request.getSubscriber());
+    }
+
+    @Override
+    public void authorityDictionary(@NonNull AuthorityDictionaryGrpcCmd request,
+                                    @NonNull StreamObserver<AuthorityDictionaryGrpcDTO> responseObserver) {
+        AuthorityDictionaryGrpcDTO.Builder builder = AuthorityDictionaryGrpcDTO.newBuilder()
+            .setVersion(request.getVersion());
+        Optional<Long> version = request.getCurrent() ? authorityDictionaryFindByVersionCmdExe.currentVersion()
+            : Optional.of(request.getVersion());
+        version.ifPresent(versionNotNull -> authorityDictionaryFindByVersionCmdExe.execute(versionNotNull)
+            .ifPresent(codes -> builder.setVersion(versionNotNull).setFound(true).addAllCodes(codes)));
+        responseObserver.onNext(builder.build());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * 向所有订阅者推送已跨实例传播的令牌撤销事件
+     *
+     * @param event 令牌撤销事件
+     */
+    @EventListener
+    public void onTokenRevoked(@NonNull TokenRevokedEvent event) {
+        if (!event.isPropagated() || event.getAccountId() == null || revocationSubscribers.isEmpty()) {
+            return;
+        }
+        TokenRevocationGrpcDTO tokenRevocationGrpcDTO = TokenRevocationGrpcDTO.newBuilder()
+            .setAccountId(event.getAccountId()).build();
+        revocationSubscribers.removeIf(subscriber -> {
+            try {
+                // StreamObserver非线程安全，同一订阅者的推送需串行
+                synchronized (subscriber) {
+                    subscriber.onNext(tokenRevocationGrpcDTO);
+                }
+                return false;
+            } catch (RuntimeException e) {
+                return true;
+            }
+        });
+    }
 
+    @Override
+    public void destroy() {
+        // 正常结束所有订阅，客户端会重新订阅至其他实例
+        revocationSubscribers.forEach(subscriber -> {
+            try {
+                synchronized (subscriber) {
+                    subscriber.onCompleted();
+                }
+            } catch (RuntimeException ignore) {
+            }
+        });
+        revocationSubscribers.clear();
+    }
+}
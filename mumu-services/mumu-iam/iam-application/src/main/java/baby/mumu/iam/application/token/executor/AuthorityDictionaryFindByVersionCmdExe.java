@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.application.token.executor;
+
+import baby.mumu.iam.domain.token.gateway.TokenGateway;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 根据版本号获取权限字典指令执行器
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+@Observed(name = "AuthorityDictionaryFindByVersionCmdExe")
+public class AuthorityDictionaryFindByVersionCmdExe {
+
+    private final TokenGateway tokenGateway;
+
+    @Autowired
+    public AuthorityDictionaryFindByVersionCmdExe(TokenGateway tokenGateway) {
+        this.tokenGateway = tokenGateway;
+    }
+
+    public Optional<List<String>> execute(long version) {
+        return tokenGateway.findAuthorityDictionary(version);
+    }
+
+    public Optional<Long> currentVersion() {
+        return tokenGateway.findCurrentAuthorityDictionaryVersion();
+    }
+}
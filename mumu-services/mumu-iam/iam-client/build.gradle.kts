@@ -22,4 +22,5 @@ dependencies {
     api(libs.protobuf.java)
     implementation(libs.micrometer.tracing)
     implementation(libs.opencsv)
+    implementation(libs.caffeine)
 }
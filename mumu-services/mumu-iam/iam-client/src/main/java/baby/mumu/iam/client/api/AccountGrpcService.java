@@ -17,21 +17,16 @@
 package baby.mumu.iam.client.api;
 
 import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.iam.client.api.grpc.AccountCurrentLoginGrpcDTO;
 import baby.mumu.iam.client.api.grpc.AccountServiceGrpc;
 import baby.mumu.iam.client.api.grpc.AccountServiceGrpc.AccountServiceBlockingStub;
 import baby.mumu.iam.client.api.grpc.AccountServiceGrpc.AccountServiceFutureStub;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.Empty;
-import io.grpc.ManagedChannel;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.jspecify.annotations.NonNull;
-import org.springframework.beans.factory.DisposableBean;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.GrpcChannelFactory;
-
-import java.util.Optional;
 
 import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
 
@@ -41,52 +36,37 @@ import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 1.0.0
  */
-public class AccountGrpcService extends IAMGrpcService implements DisposableBean {
-
-    private ManagedChannel channel;
+public class AccountGrpcService extends IAMGrpcService {
 
     public AccountGrpcService(
-        DiscoveryClient discoveryClient, GrpcChannelFactory grpcChannelFactory) {
-        super(discoveryClient, grpcChannelFactory);
-    }
-
-    @Override
-    public void destroy() {
-        Optional.ofNullable(channel).ifPresent(ManagedChannel::shutdown);
+        GrpcChannelRegistry grpcChannelRegistry) {
+        super(grpcChannelRegistry);
     }
 
     @API(status = Status.STABLE, since = "2.2.0")
     public AccountCurrentLoginGrpcDTO queryCurrentLoginAccount() {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return queryCurrentLoginAccountFromGrpc();
-            })
+        return getManagedChannel()
+            .map(_ -> queryCurrentLoginAccountFromGrpc())
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     @API(status = Status.STABLE, since = "2.2.0")
     public ListenableFuture<AccountCurrentLoginGrpcDTO> syncQueryCurrentLoginAccount() {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return syncQueryCurrentLoginAccountFromGrpc();
-            })
+        return getManagedChannel()
+            .map(_ -> syncQueryCurrentLoginAccountFromGrpc())
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     private AccountCurrentLoginGrpcDTO queryCurrentLoginAccountFromGrpc() {
-        AccountServiceBlockingStub accountServiceBlockingStub = AccountServiceGrpc.newBlockingStub(
-            channel);
+        AccountServiceBlockingStub accountServiceBlockingStub = stub(AccountServiceBlockingStub.class,
+            AccountServiceGrpc::newBlockingStub);
         return accountServiceBlockingStub
             .queryCurrentLoginAccount(Empty.getDefaultInstance());
     }
 
     private @NonNull ListenableFuture<AccountCurrentLoginGrpcDTO> syncQueryCurrentLoginAccountFromGrpc() {
-        AccountServiceFutureStub accountServiceFutureStub = AccountServiceGrpc.newFutureStub(
-            channel);
+        AccountServiceFutureStub accountServiceFutureStub = stub(AccountServiceFutureStub.class,
+            AccountServiceGrpc::newFutureStub);
         return accountServiceFutureStub
             .queryCurrentLoginAccount(Empty.getDefaultInstance());
     }
@@ -182,10 +182,11 @@ public interface AccountService {
     /**
      * 附近的账号
      *
-     * @param radiusInMeters 半径（米）
+     * @param radiusInMeters   半径（米）
+     * @param accountNearbyCmd 附近的账号指令
      * @return 附近的账号
      */
-    List<AccountNearbyDTO> nearby(double radiusInMeters);
+    List<AccountNearbyDTO> nearby(double radiusInMeters, AccountNearbyCmd accountNearbyCmd);
 
     /**
      * 设置默认地址
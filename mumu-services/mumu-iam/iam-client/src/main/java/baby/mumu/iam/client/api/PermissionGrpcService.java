@@ -17,6 +17,7 @@
 package baby.mumu.iam.client.api;
 
 import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.iam.client.api.grpc.PageOfPermissionFindAllGrpcDTO;
 import baby.mumu.iam.client.api.grpc.PermissionFindAllGrpcCmd;
 import baby.mumu.iam.client.api.grpc.PermissionFindByIdGrpcDTO;
@@ -25,15 +26,9 @@ import baby.mumu.iam.client.api.grpc.PermissionServiceGrpc.PermissionServiceBloc
 import baby.mumu.iam.client.api.grpc.PermissionServiceGrpc.PermissionServiceFutureStub;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.Int64Value;
-import io.grpc.ManagedChannel;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.jspecify.annotations.NonNull;
-import org.springframework.beans.factory.DisposableBean;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.GrpcChannelFactory;
-
-import java.util.Optional;
 
 import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
 
@@ -43,96 +38,71 @@ import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 1.0.0
  */
-public class PermissionGrpcService extends IAMGrpcService implements
-    DisposableBean {
-
-    private ManagedChannel channel;
+public class PermissionGrpcService extends IAMGrpcService {
 
     public PermissionGrpcService(
-        DiscoveryClient discoveryClient,
-        GrpcChannelFactory grpcChannelFactory) {
-        super(discoveryClient, grpcChannelFactory);
-    }
-
-    @Override
-    public void destroy() {
-        Optional.ofNullable(channel).ifPresent(ManagedChannel::shutdown);
+        GrpcChannelRegistry grpcChannelRegistry) {
+        super(grpcChannelRegistry);
     }
 
     @API(status = Status.STABLE, since = "1.0.0")
     public PageOfPermissionFindAllGrpcDTO findAll(PermissionFindAllGrpcCmd permissionFindAllGrpcCmd) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return findAllFromGrpc(permissionFindAllGrpcCmd);
-            })
+        return getManagedChannel()
+            .map(_ -> findAllFromGrpc(permissionFindAllGrpcCmd))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     @API(status = Status.STABLE, since = "1.0.0")
     public ListenableFuture<PageOfPermissionFindAllGrpcDTO> syncFindAll(
         PermissionFindAllGrpcCmd permissionFindAllGrpcCmd) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return syncFindAllFromGrpc(permissionFindAllGrpcCmd);
-            })
+        return getManagedChannel()
+            .map(_ -> syncFindAllFromGrpc(permissionFindAllGrpcCmd))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     @API(status = Status.STABLE, since = "2.3.0")
     public PermissionFindByIdGrpcDTO findById(Int64Value id) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return findByIdFromGrpc(id);
-            })
+        return getManagedChannel()
+            .map(_ -> findByIdFromGrpc(id))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     @API(status = Status.STABLE, since = "2.3.0")
     public ListenableFuture<PermissionFindByIdGrpcDTO> syncFindById(
         Int64Value id) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return syncFindByIdFromGrpc(id);
-            })
+        return getManagedChannel()
+            .map(_ -> syncFindByIdFromGrpc(id))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     private PageOfPermissionFindAllGrpcDTO findAllFromGrpc(
         PermissionFindAllGrpcCmd permissionFindAllGrpcCmd) {
-        PermissionServiceBlockingStub permissionServiceBlockingStub = PermissionServiceGrpc.newBlockingStub(
-            channel);
+        PermissionServiceBlockingStub permissionServiceBlockingStub = stub(PermissionServiceBlockingStub.class,
+            PermissionServiceGrpc::newBlockingStub);
         return permissionServiceBlockingStub
             .findAll(permissionFindAllGrpcCmd);
     }
 
     private @NonNull ListenableFuture<PageOfPermissionFindAllGrpcDTO> syncFindAllFromGrpc(
         PermissionFindAllGrpcCmd permissionFindAllGrpcCmd) {
-        PermissionServiceFutureStub permissionServiceFutureStub = PermissionServiceGrpc.newFutureStub(
-            channel);
+        PermissionServiceFutureStub permissionServiceFutureStub = stub(PermissionServiceFutureStub.class,
+            PermissionServiceGrpc::newFutureStub);
         return permissionServiceFutureStub
             .findAll(permissionFindAllGrpcCmd);
     }
 
     private PermissionFindByIdGrpcDTO findByIdFromGrpc(
         Int64Value id) {
-        PermissionServiceBlockingStub permissionServiceBlockingStub = PermissionServiceGrpc.newBlockingStub(
-            channel);
+        PermissionServiceBlockingStub permissionServiceBlockingStub = stub(PermissionServiceBlockingStub.class,
+            PermissionServiceGrpc::newBlockingStub);
         return permissionServiceBlockingStub
             .findById(id);
     }
 
     private @NonNull ListenableFuture<PermissionFindByIdGrpcDTO> syncFindByIdFromGrpc(
         Int64Value id) {
-        PermissionServiceFutureStub permissionServiceFutureStub = PermissionServiceGrpc.newFutureStub(
-            channel);
+        PermissionServiceFutureStub permissionServiceFutureStub = stub(PermissionServiceFutureStub.class,
+            PermissionServiceGrpc::newFutureStub);
         return permissionServiceFutureStub
             .findById(id);
     }
@@ -135,6 +135,14 @@ public interface PermissionService {
      */
     void addDescendant(PermissionAddDescendantCmd permissionAddDescendantCmd);
 
+    /**
+     * 批量导入权限树
+     *
+     * @param permissionImportTreeCmd 批量导入权限树指令
+     * @since 2.17.0
+     */
+    void importTree(PermissionImportTreeCmd permissionImportTreeCmd);
+
     /**
      * 获取所有根权限
      *
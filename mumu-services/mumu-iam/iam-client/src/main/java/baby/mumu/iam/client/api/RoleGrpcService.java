@@ -17,6 +17,7 @@
 package baby.mumu.iam.client.api;
 
 import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.iam.client.api.grpc.PageOfRoleFindAllGrpcDTO;
 import baby.mumu.iam.client.api.grpc.RoleFindAllGrpcCmd;
 import baby.mumu.iam.client.api.grpc.RoleFindByIdGrpcDTO;
@@ -25,15 +26,9 @@ import baby.mumu.iam.client.api.grpc.RoleServiceGrpc.RoleServiceBlockingStub;
 import baby.mumu.iam.client.api.grpc.RoleServiceGrpc.RoleServiceFutureStub;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.Int64Value;
-import io.grpc.ManagedChannel;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.jspecify.annotations.NonNull;
-import org.springframework.beans.factory.DisposableBean;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.GrpcChannelFactory;
-
-import java.util.Optional;
 
 import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
 
@@ -43,93 +38,71 @@ import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 1.0.0
  */
-public class RoleGrpcService extends IAMGrpcService implements DisposableBean {
-
-    private ManagedChannel channel;
+public class RoleGrpcService extends IAMGrpcService {
 
     public RoleGrpcService(
-        DiscoveryClient discoveryClient,
-        GrpcChannelFactory grpcChannelFactory) {
-        super(discoveryClient, grpcChannelFactory);
-    }
-
-    @Override
-    public void destroy() {
-        Optional.ofNullable(channel).ifPresent(ManagedChannel::shutdown);
+        GrpcChannelRegistry grpcChannelRegistry) {
+        super(grpcChannelRegistry);
     }
 
     @API(status = Status.STABLE, since = "1.0.0")
     public PageOfRoleFindAllGrpcDTO findAll(RoleFindAllGrpcCmd roleFindAllGrpcCmd) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return findAllFromGrpc(roleFindAllGrpcCmd);
-            })
+        return getManagedChannel()
+            .map(_ -> findAllFromGrpc(roleFindAllGrpcCmd))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     @API(status = Status.STABLE, since = "1.0.0")
     public ListenableFuture<PageOfRoleFindAllGrpcDTO> syncFindAll(
         RoleFindAllGrpcCmd roleFindAllGrpcCmd) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return syncFindAllFromGrpc(roleFindAllGrpcCmd);
-            })
+        return getManagedChannel()
+            .map(_ -> syncFindAllFromGrpc(roleFindAllGrpcCmd))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     @API(status = Status.STABLE, since = "2.4.0")
     public RoleFindByIdGrpcDTO findById(Int64Value roleId) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return findByIdFromGrpc(roleId);
-            })
+        return getManagedChannel()
+            .map(_ -> findByIdFromGrpc(roleId))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     @API(status = Status.STABLE, since = "2.4.0")
     public ListenableFuture<RoleFindByIdGrpcDTO> syncFindById(
         Int64Value roleId) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return syncFindByIdFromGrpc(roleId);
-            })
+        return getManagedChannel()
+            .map(_ -> syncFindByIdFromGrpc(roleId))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     private PageOfRoleFindAllGrpcDTO findAllFromGrpc(
         RoleFindAllGrpcCmd roleFindAllGrpcCmd) {
-        RoleServiceBlockingStub roleServiceBlockingStub = RoleServiceGrpc.newBlockingStub(channel);
+        RoleServiceBlockingStub roleServiceBlockingStub = stub(RoleServiceBlockingStub.class,
+            RoleServiceGrpc::newBlockingStub);
         return roleServiceBlockingStub
             .findAll(roleFindAllGrpcCmd);
     }
 
     private @NonNull ListenableFuture<PageOfRoleFindAllGrpcDTO> syncFindAllFromGrpc(
         RoleFindAllGrpcCmd roleFindAllGrpcCmd) {
-        RoleServiceFutureStub roleServiceFutureStub = RoleServiceGrpc.newFutureStub(
-            channel);
+        RoleServiceFutureStub roleServiceFutureStub = stub(RoleServiceFutureStub.class,
+            RoleServiceGrpc::newFutureStub);
         return roleServiceFutureStub
             .findAll(roleFindAllGrpcCmd);
     }
 
     private RoleFindByIdGrpcDTO findByIdFromGrpc(
         Int64Value roleId) {
-        RoleServiceBlockingStub roleServiceBlockingStub = RoleServiceGrpc.newBlockingStub(channel);
+        RoleServiceBlockingStub roleServiceBlockingStub = stub(RoleServiceBlockingStub.class,
+            RoleServiceGrpc::newBlockingStub);
         return roleServiceBlockingStub
             .findById(roleId);
     }
 
     private @NonNull ListenableFuture<RoleFindByIdGrpcDTO> syncFindByIdFromGrpc(
         Int64Value roleId) {
-        RoleServiceFutureStub roleServiceFutureStub = RoleServiceGrpc.newFutureStub(
-            channel);
+        RoleServiceFutureStub roleServiceFutureStub = stub(RoleServiceFutureStub.class,
+            RoleServiceGrpc::newFutureStub);
         return roleServiceFutureStub
             .findById(roleId);
     }
@@ -114,6 +114,14 @@ public interface RoleService {
      */
     void addDescendant(RoleAddDescendantCmd roleAddDescendantCmd);
 
+    /**
+     * 批量导入角色树
+     *
+     * @param roleImportTreeCmd 批量导入角色树指令
+     * @since 2.17.0
+     */
+    void importTree(RoleImportTreeCmd roleImportTreeCmd);
+
     /**
      * 获取所有根角色
      *
@@ -17,19 +17,19 @@
 package baby.mumu.iam.client.api;
 
 import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
+import baby.mumu.iam.client.api.grpc.AuthorityDictionaryGrpcCmd;
+import baby.mumu.iam.client.api.grpc.AuthorityDictionaryGrpcDTO;
+import baby.mumu.iam.client.api.grpc.TokenRevocationGrpcDTO;
+import baby.mumu.iam.client.api.grpc.TokenRevocationSubscribeGrpcCmd;
 import baby.mumu.iam.client.api.grpc.TokenServiceGrpc;
 import baby.mumu.iam.client.api.grpc.TokenServiceGrpc.TokenServiceBlockingStub;
 import baby.mumu.iam.client.api.grpc.TokenValidityGrpcCmd;
 import baby.mumu.iam.client.api.grpc.TokenValidityGrpcDTO;
-import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.jspecify.annotations.Nullable;
-import org.springframework.beans.factory.DisposableBean;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.GrpcChannelFactory;
-
-import java.util.Optional;
 
 import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
 
@@ -39,36 +39,58 @@ import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 1.0.0
  */
-public class TokenGrpcService extends IAMGrpcService implements DisposableBean {
-
-    private ManagedChannel channel;
+public class TokenGrpcService extends IAMGrpcService {
 
     public TokenGrpcService(
-        DiscoveryClient discoveryClient,
-        GrpcChannelFactory grpcChannelFactory) {
-        super(discoveryClient, grpcChannelFactory);
-    }
-
-    @Override
-    public void destroy() {
-        Optional.ofNullable(channel).ifPresent(ManagedChannel::shutdown);
+        GrpcChannelRegistry grpcChannelRegistry) {
+        super(grpcChannelRegistry);
     }
 
     @API(status = Status.STABLE, since = "1.0.0")
     public TokenValidityGrpcDTO validity(TokenValidityGrpcCmd tokenValidityGrpcCmd) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return validityFromGrpc(tokenValidityGrpcCmd);
-            })
+        return getManagedChannel()
+            .map(_ -> validityFromGrpc(tokenValidityGrpcCmd))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
     private @Nullable TokenValidityGrpcDTO validityFromGrpc(
         TokenValidityGrpcCmd tokenValidityGrpcCmd) {
-        TokenServiceBlockingStub tokenServiceBlockingStub = TokenServiceGrpc.newBlockingStub(channel);
+        TokenServiceBlockingStub tokenServiceBlockingStub = stub(TokenServiceBlockingStub.class,
+            TokenServiceGrpc::newBlockingStub);
         return tokenServiceBlockingStub.validity(tokenValidityGrpcCmd);
     }
 
+    /**
+     * 订阅令牌撤销流
+     *
+     * @param tokenRevocationSubscribeGrpcCmd 订阅参数
+     * @param responseObserver                撤销事件观察者
+     * @since 2.17.0
+     */
+    @API(status = Status.EXPERIMENTAL, since = "2.17.0")
+    public void revocations(TokenRevocationSubscribeGrpcCmd tokenRevocationSubscribeGrpcCmd,
+                            StreamObserver<TokenRevocationGrpcDTO> responseObserver) {
+        if (!serviceAvailable()) {
+            throw new ApplicationException(GRPC_SERVICE_NOT_FOUND);
+        }
+        stub(TokenServiceGrpc.TokenServiceStub.class,
+            TokenServiceGrpc::newStub)
+            .revocations(tokenRevocationSubscribeGrpcCmd, responseObserver);
+    }
+
+    /**
+     * 获取指定版本的权限字典
+     *
+     * @param authorityDictionaryGrpcCmd 查询参数
+     * @return 权限字典
+     * @since 2.17.0
+     */
+    @API(status = Status.EXPERIMENTAL, since = "2.17.0")
+    public AuthorityDictionaryGrpcDTO authorityDictionary(AuthorityDictionaryGrpcCmd authorityDictionaryGrpcCmd) {
+        if (!serviceAvailable()) {
+            throw new ApplicationException(GRPC_SERVICE_NOT_FOUND);
+        }
+        return stub(TokenServiceBlockingStub.class, TokenServiceGrpc::newBlockingStub)
+            .authorityDictionary(authorityDictionaryGrpcCmd);
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.cmds;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * 附近的账号指令
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+public class AccountNearbyCmd {
+
+    /**
+     * 游标，传入后从该记录之后继续查询
+     */
+    @Schema(description = "游标（上一页最后一条记录的cursor）", requiredMode = RequiredMode.NOT_REQUIRED)
+    private String cursor;
+
+    @Schema(description = "每页数量", requiredMode = RequiredMode.NOT_REQUIRED)
+    @Min(value = 1, message = "{page.size.validation.min.size}")
+    @Max(value = 100)
+    private Integer pageSize = 20;
+}
@@ -49,6 +49,12 @@ public class RoleFindAllCmd {
     @Schema(description = "权限ID集合", requiredMode = RequiredMode.NOT_REQUIRED)
     private List<Long> permissionIds;
 
+    /**
+     * 游标，传入后从该记录之后继续查询并忽略当前页
+     */
+    @Schema(description = "游标（上一页最后一条记录的cursor），传入后忽略当前页", requiredMode = RequiredMode.NOT_REQUIRED)
+    private String cursor;
+
     @Schema(description = "当前页", requiredMode = RequiredMode.NOT_REQUIRED)
     @Min(value = 1, message = "{current.validation.min.size}")
     private Integer current = 1;
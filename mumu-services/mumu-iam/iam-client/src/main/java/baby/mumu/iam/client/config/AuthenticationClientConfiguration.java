@@ -16,6 +16,8 @@
 
 package baby.mumu.iam.client.config;
 
+import baby.mumu.basis.grpc.channel.GrpcChannelProperties;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.basis.grpc.resolvers.DiscoveryClientNameResolverProvider;
 import baby.mumu.iam.client.api.AccountGrpcService;
 import baby.mumu.iam.client.api.PermissionGrpcService;
@@ -23,10 +25,11 @@ import baby.mumu.iam.client.api.RoleGrpcService;
 import baby.mumu.iam.client.api.TokenGrpcService;
 import io.grpc.NameResolverRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.grpc.client.GrpcChannelFactory;
+import org.springframework.core.env.Environment;
 
 /**
  * api配置类
@@ -35,40 +38,51 @@ import org.springframework.grpc.client.GrpcChannelFactory;
  * @since 1.0.0
  */
 @Configuration
+@EnableConfigurationProperties({TokenValidityCacheProperties.class, CompactAuthoritiesProperties.class})
 public class AuthenticationClientConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
     public DiscoveryClientNameResolverProvider discoveryClientNameResolverProvider(
-        DiscoveryClient discoveryClient) {
+        DiscoveryClient discoveryClient, GrpcChannelProperties grpcChannelProperties) {
         DiscoveryClientNameResolverProvider discoveryClientNameResolverProvider = new DiscoveryClientNameResolverProvider(
-            discoveryClient);
+            discoveryClient, grpcChannelProperties.getLoadBalancingPolicy());
         NameResolverRegistry.getDefaultRegistry().register(discoveryClientNameResolverProvider);
         return discoveryClientNameResolverProvider;
     }
 
     @Bean
-    public TokenGrpcService tokenGrpcService(DiscoveryClient discoveryClient,
-                                             GrpcChannelFactory grpcChannelFactory) {
-        return new TokenGrpcService(discoveryClient, grpcChannelFactory);
+    public TokenGrpcService tokenGrpcService(GrpcChannelRegistry grpcChannelRegistry) {
+        return new TokenGrpcService(grpcChannelRegistry);
     }
 
     @Bean
-    public AccountGrpcService accountGrpcService(DiscoveryClient discoveryClient,
-                                                 GrpcChannelFactory grpcChannelFactory) {
-        return new AccountGrpcService(discoveryClient, grpcChannelFactory);
+    public TokenValidityCache tokenValidityCache(TokenGrpcService tokenGrpcService,
+                                                 TokenValidityCacheProperties tokenValidityCacheProperties,
+                                                 Environment environment) {
+        return new TokenValidityCache(tokenGrpcService, tokenValidityCacheProperties,
+            environment.getProperty("spring.application.name", ""));
     }
 
     @Bean
-    public PermissionGrpcService permissionGrpcService(DiscoveryClient discoveryClient,
-                                                       GrpcChannelFactory grpcChannelFactory) {
-        return new PermissionGrpcService(discoveryClient, grpcChannelFactory);
+    public AuthorityDictionaryCache authorityDictionaryCache(TokenGrpcService tokenGrpcService,
+                                                             CompactAuthoritiesProperties compactAuthoritiesProperties) {
+        return new AuthorityDictionaryCache(tokenGrpcService, compactAuthoritiesProperties);
     }
 
     @Bean
-    public RoleGrpcService roleGrpcService(DiscoveryClient discoveryClient,
-                                           GrpcChannelFactory grpcChannelFactory) {
-        return new RoleGrpcService(discoveryClient, grpcChannelFactory);
+    public AccountGrpcService accountGrpcService(GrpcChannelRegistry grpcChannelRegistry) {
+        return new AccountGrpcService(grpcChannelRegistry);
+    }
+
+    @Bean
+    public PermissionGrpcService permissionGrpcService(GrpcChannelRegistry grpcChannelRegistry) {
+        return new PermissionGrpcService(grpcChannelRegistry);
+    }
+
+    @Bean
+    public RoleGrpcService roleGrpcService(GrpcChannelRegistry grpcChannelRegistry) {
+        return new RoleGrpcService(grpcChannelRegistry);
     }
 
     @Bean
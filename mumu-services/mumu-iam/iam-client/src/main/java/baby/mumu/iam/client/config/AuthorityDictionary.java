@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 权限字典
+ * <p>
+ * 为每个权限编码分配固定的位序号，令牌中的权限以位图表示；字典版本号由权限编码集合计算，只有编码集合变化时才产生新版本，
+ * 旧版本字典在保留期内可按版本号查询
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public final class AuthorityDictionary {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private final long version;
+    private final List<String> codes;
+    private final Map<String, Integer> indexes;
+    /**
+     * 按权限前缀预先生成的授权对象与索引，解码与鉴权时不再拼接字符串
+     */
+    private final Map<String, PrefixedView> prefixedViews = new ConcurrentHashMap<>();
+
+    public AuthorityDictionary(long version, List<String> codes) {
+        this.version = version;
+        this.codes = List.copyOf(codes);
+        this.indexes = AuthorityDictionary.indexes(this.codes, "");
+    }
+
+    /**
+     * 根据权限编码集合计算字典版本号，编码集合不变时版本号不变
+     *
+     * @param codes 按位序号排列的权限编码
+     * @return 版本号
+     */
+    public static long versionOf(@NonNull List<String> codes) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            for (String code : codes) {
+                messageDigest.update(code.getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) '\n');
+            }
+            return ByteBuffer.wrap(messageDigest.digest()).getLong() & Long.MAX_VALUE;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<String> getCodes() {
+        return codes;
+    }
+
+    /**
+     * 编码权限，字典内的权限写入位图，字典外的权限（如角色）原样保留
+     *
+     * @param authorities 权限编码
+     * @return 编码结果
+     */
+    public EncodedAuthorities encode(Collection<String> authorities) {
+        BitSet bits = new BitSet(codes.size());
+        List<String> remainder = new ArrayList<>();
+        for (String authority : authorities) {
+            Integer index = indexes.get(authority);
+            if (index != null) {
+                bits.set(index);
+            } else {
+                remainder.add(authority);
+            }
+        }
+        return new EncodedAuthorities(AuthorityDictionary.ENCODER.encodeToString(bits.toByteArray()), remainder);
+    }
+
+    /**
+     * 解码位图权限
+     *
+     * @param bitset          位图
+     * @param remainder       字典外的权限编码
+     * @param authorityPrefix 权限前缀，角色权限不添加前缀
+     * @return 位图权限集合
+     */
+    public BitSetGrantedAuthorities decode(String bitset, Collection<String> remainder, String authorityPrefix) {
+        BitSet bits = BitSet.valueOf(AuthorityDictionary.DECODER.decode(bitset));
+        // 丢弃超出字典范围的位
+        if (bits.length() > codes.size()) {
+            bits.clear(codes.size(), bits.length());
+        }
+        return new BitSetGrantedAuthorities(view(authorityPrefix), bits, remainder, authorityPrefix);
+    }
+
+    PrefixedView view(String authorityPrefix) {
+        return prefixedViews.computeIfAbsent(authorityPrefix, prefix -> new PrefixedView(
+            codes.stream().map(code -> (GrantedAuthority) new SimpleGrantedAuthority(prefix.concat(code)))
+                .toArray(GrantedAuthority[]::new),
+            AuthorityDictionary.indexes(codes, prefix)));
+    }
+
+    private static Map<String, Integer> indexes(List<String> codes, String prefix) {
+        Map<String, Integer> indexes = HashMap.newHashMap(codes.size());
+        for (int i = 0; i < codes.size(); i++) {
+            indexes.put(prefix.concat(codes.get(i)), i);
+        }
+        return indexes;
+    }
+
+    /**
+     * 权限编码结果
+     *
+     * @param bitset    Base64URL编码的权限位图
+     * @param remainder 字典外的权限编码
+     */
+    public record EncodedAuthorities(String bitset, List<String> remainder) {
+    }
+
+    record PrefixedView(GrantedAuthority[] authorities, Map<String, Integer> indexes) {
+    }
+}
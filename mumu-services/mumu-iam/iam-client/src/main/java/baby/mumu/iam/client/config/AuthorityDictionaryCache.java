@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import baby.mumu.basis.enums.TokenClaimsEnum;
+import baby.mumu.iam.client.api.TokenGrpcService;
+import baby.mumu.iam.client.api.grpc.AuthorityDictionaryGrpcCmd;
+import baby.mumu.iam.client.api.grpc.AuthorityDictionaryGrpcDTO;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.StringUtils;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * 权限字典本地缓存
+ * <p>
+ * 按版本号缓存从IAM获取的权限字典，远程加载在后台线程执行且同一版本并发请求只会加载一次，
+ * 开启位图编码时启动后即预加载当前字典；字典无法加载时拒绝位图编码的令牌
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class AuthorityDictionaryCache implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorityDictionaryCache.class);
+    private final TokenGrpcService tokenGrpcService;
+    private final CompactAuthoritiesProperties compactAuthoritiesProperties;
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AsyncLoadingCache<Long, AuthorityDictionary> cache;
+
+    public AuthorityDictionaryCache(TokenGrpcService tokenGrpcService,
+                                    @NonNull CompactAuthoritiesProperties compactAuthoritiesProperties) {
+        this.tokenGrpcService = tokenGrpcService;
+        this.compactAuthoritiesProperties = compactAuthoritiesProperties;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(compactAuthoritiesProperties.getDictionaryCacheSize())
+            .executor(loadExecutor)
+            .buildAsync(this::load);
+    }
+
+    /**
+     * 解析令牌中位图编码的权限
+     *
+     * @param jwt             令牌
+     * @param authorityPrefix 权限前缀
+     * @return 位图权限集合，令牌未使用位图编码时为空
+     * @throws AuthorityDictionaryUnavailableException 令牌使用位图编码但字典无法加载
+     */
+    public Optional<BitSetGrantedAuthorities> authorities(@NonNull Jwt jwt, String authorityPrefix) {
+        String bitset = jwt.getClaimAsString(TokenClaimsEnum.AUTHORITY_BITSET.getClaimName());
+        String version = jwt.getClaimAsString(TokenClaimsEnum.AUTHORITY_DICTIONARY_VERSION.getClaimName());
+        if (StringUtils.isBlank(bitset) || StringUtils.isBlank(version)) {
+            return Optional.empty();
+        }
+        List<String> remainder = Optional.ofNullable(
+            jwt.getClaimAsStringList(TokenClaimsEnum.AUTHORITIES.getClaimName())).orElse(List.of());
+        // 明文权限只包含字典外的部分，不能作为字典缺失时的降级结果
+        return Optional.of(require(Long.parseLong(version)).decode(bitset, remainder, authorityPrefix));
+    }
+
+    /**
+     * 获取指定版本的权限字典，请求线程最多等待配置的加载超时时间
+     *
+     * @param version 版本号
+     * @return 权限字典
+     * @throws AuthorityDictionaryUnavailableException 字典不存在、加载失败或超时
+     */
+    public AuthorityDictionary require(long version) {
+        try {
+            return Optional.ofNullable(cache.get(version).get(compactAuthoritiesProperties.getDictionaryLoadTimeout(),
+                    compactAuthoritiesProperties.getDictionaryLoadTimeoutUnit()))
+                .orElseThrow(() -> new AuthorityDictionaryUnavailableException(version, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthorityDictionaryUnavailableException(version, e);
+        } catch (ExecutionException | TimeoutException e) {
+            AuthorityDictionaryCache.log.warn("Failed to load authority dictionary version {}", version, e);
+            throw new AuthorityDictionaryUnavailableException(version, e);
+        }
+    }
+
+    /**
+     * 启动后在后台预加载当前字典，避免首批请求等待远程加载
+     *
+     * @param event 应用就绪事件
+     */
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationReadyEvent event) {
+        if (!compactAuthoritiesProperties.isEnabled()) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            AuthorityDictionaryGrpcDTO authorityDictionaryGrpcDTO = tokenGrpcService.authorityDictionary(
+                AuthorityDictionaryGrpcCmd.newBuilder().setCurrent(true).build());
+            if (authorityDictionaryGrpcDTO.getFound()) {
+                cache.put(authorityDictionaryGrpcDTO.getVersion(), CompletableFuture.completedFuture(
+                    new AuthorityDictionary(authorityDictionaryGrpcDTO.getVersion(),
+                        authorityDictionaryGrpcDTO.getCodesList())));
+            }
+        }, loadExecutor).exceptionally(throwable -> {
+            AuthorityDictionaryCache.log.warn("Failed to preload current authority dictionary", throwable);
+            return null;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        loadExecutor.shutdownNow();
+    }
+
+    private AuthorityDictionary load(Long version) {
+        AuthorityDictionaryGrpcDTO authorityDictionaryGrpcDTO = tokenGrpcService.authorityDictionary(
+            AuthorityDictionaryGrpcCmd.newBuilder().setVersion(version).build());
+        // 返回null时不缓存，字典补建后可再次加载
+        return authorityDictionaryGrpcDTO.getFound() ? new AuthorityDictionary(
+            authorityDictionaryGrpcDTO.getVersion(), authorityDictionaryGrpcDTO.getCodesList()) : null;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+import java.io.Serial;
+
+/**
+ * 权限字典不可用异常
+ * <p>
+ * 位图编码的令牌无法在没有字典的情况下还原权限，此时拒绝认证而不是退回到不完整的明文权限
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class AuthorityDictionaryUnavailableException extends AuthenticationServiceException {
+
+    @Serial
+    private static final long serialVersionUID = -3318745297514412263L;
+
+    public AuthorityDictionaryUnavailableException(long version, Throwable cause) {
+        super("Authority dictionary version " + version + " is unavailable", cause);
+    }
+}
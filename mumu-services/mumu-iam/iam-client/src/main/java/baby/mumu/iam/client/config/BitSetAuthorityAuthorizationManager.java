@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import baby.mumu.basis.constants.CommonConstants;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.util.Arrays;
+
+/**
+ * 位图权限鉴权
+ * <p>
+ * 认证对象的权限为位图集合时逐个位测试所需权限，否则回退到{@link AuthorityAuthorizationManager}
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public final class BitSetAuthorityAuthorizationManager {
+
+    private BitSetAuthorityAuthorizationManager() {
+    }
+
+    public static <T> AuthorizationManager<T> hasAnyAuthority(String... authorities) {
+        AuthorityAuthorizationManager<T> delegate = AuthorityAuthorizationManager.hasAnyAuthority(authorities);
+        return (authentication, object) -> {
+            Authentication authenticated = authentication.get();
+            if (authenticated != null && authenticated.isAuthenticated()
+                && authenticated.getAuthorities() instanceof BitSetGrantedAuthorities bitSetGrantedAuthorities) {
+                return new AuthorizationDecision(
+                    Arrays.stream(authorities).anyMatch(bitSetGrantedAuthorities::containsAuthority));
+            }
+            return delegate.authorize(authentication, object);
+        };
+    }
+
+    public static <T> AuthorizationManager<T> hasAnyRole(String... roles) {
+        return BitSetAuthorityAuthorizationManager.hasAnyAuthority(
+            Arrays.stream(roles).map(CommonConstants.ROLE_PREFIX::concat).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import baby.mumu.basis.constants.CommonConstants;
+import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.*;
+
+/**
+ * 基于权限位图的授权集合
+ * <p>
+ * 判断是否拥有某权限只需一次哈希查找与一次位测试，遍历时复用字典预先生成的授权对象
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public final class BitSetGrantedAuthorities extends AbstractSet<GrantedAuthority> {
+
+    private final AuthorityDictionary.PrefixedView view;
+    private final BitSet bits;
+    private final Set<String> remainder;
+    private final List<GrantedAuthority> remainderAuthorities;
+
+    BitSetGrantedAuthorities(AuthorityDictionary.PrefixedView view, BitSet bits,
+                             @NonNull Collection<String> remainder, String authorityPrefix) {
+        this.view = view;
+        this.bits = bits;
+        this.remainder = HashSet.newHashSet(remainder.size());
+        this.remainderAuthorities = new ArrayList<>(remainder.size());
+        for (String code : remainder) {
+            String authority = code.startsWith(CommonConstants.ROLE_PREFIX) ? code : authorityPrefix.concat(code);
+            if (this.remainder.add(authority)) {
+                this.remainderAuthorities.add(new SimpleGrantedAuthority(authority));
+            }
+        }
+    }
+
+    /**
+     * 是否拥有指定权限
+     *
+     * @param authority 权限（含前缀）
+     * @return 是否拥有
+     */
+    public boolean containsAuthority(String authority) {
+        if (authority == null) {
+            return false;
+        }
+        Integer index = view.indexes().get(authority);
+        return index != null ? bits.get(index) : remainder.contains(authority);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof GrantedAuthority grantedAuthority && containsAuthority(grantedAuthority.getAuthority());
+    }
+
+    @Override
+    public @NonNull Iterator<GrantedAuthority> iterator() {
+        return new Iterator<>() {
+            private int next = bits.nextSetBit(0);
+            private final Iterator<GrantedAuthority> remainderIterator = remainderAuthorities.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0 || remainderIterator.hasNext();
+            }
+
+            @Override
+            public GrantedAuthority next() {
+                if (next >= 0) {
+                    GrantedAuthority grantedAuthority = view.authorities()[next];
+                    next = bits.nextSetBit(next + 1);
+                    return grantedAuthority;
+                }
+                return remainderIterator.next();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return bits.cardinality() + remainderAuthorities.size();
+    }
+}
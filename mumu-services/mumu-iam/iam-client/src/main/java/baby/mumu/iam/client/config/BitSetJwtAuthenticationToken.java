@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 权限由位图集合承载的jwt认证令牌
+ * <p>
+ * 父类会将权限复制为列表，此处直接返回位图集合，以便鉴权时进行位测试
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class BitSetJwtAuthenticationToken extends JwtAuthenticationToken {
+
+    @Serial
+    private static final long serialVersionUID = 2480712935246311048L;
+
+    private final BitSetGrantedAuthorities bitSetGrantedAuthorities;
+
+    public BitSetJwtAuthenticationToken(Jwt jwt, BitSetGrantedAuthorities bitSetGrantedAuthorities) {
+        super(jwt, List.of(), jwt.getSubject());
+        this.bitSetGrantedAuthorities = bitSetGrantedAuthorities;
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return bitSetGrantedAuthorities;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌权限位图编码配置
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+@ConfigurationProperties("mumu.iam.compact-authorities")
+public class CompactAuthoritiesProperties {
+
+    /**
+     * 是否在签发令牌时使用权限位图编码，资源服务器开启后会在启动时预加载当前字典
+     */
+    private boolean enabled = false;
+
+    /**
+     * 资源服务器本地缓存的权限字典版本数
+     */
+    private long dictionaryCacheSize = 16L;
+
+    /**
+     * 权限字典保留时间，应不短于令牌（含刷新令牌）的最长有效期
+     */
+    private Long dictionaryRetention = 30L;
+
+    /**
+     * 权限字典保留时间单位
+     */
+    private TimeUnit dictionaryRetentionUnit = TimeUnit.DAYS;
+
+    /**
+     * 请求线程等待字典加载的最长时间，超时后拒绝该请求
+     */
+    private long dictionaryLoadTimeout = 3L;
+
+    /**
+     * 请求线程等待字典加载的最长时间单位
+     */
+    private TimeUnit dictionaryLoadTimeoutUnit = TimeUnit.SECONDS;
+}
@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * 自定义JwtGrantedAuthoritiesConverter
@@ -57,6 +58,8 @@ public class IAMJwtGrantedAuthoritiesConverter implements
 
     private String authoritiesClaimName;
 
+    private AuthorityDictionaryCache authorityDictionaryCache;
+
     /**
      * Extract {@link GrantedAuthority}s from the given {@link Jwt}.
      *
@@ -65,6 +68,14 @@ public class IAMJwtGrantedAuthoritiesConverter implements
      */
     @Override
     public Collection<GrantedAuthority> convert(@NonNull Jwt jwt) {
+        // 位图编码的令牌直接返回位图集合
+        if (this.authorityDictionaryCache != null) {
+            Optional<BitSetGrantedAuthorities> bitSetGrantedAuthorities = this.authorityDictionaryCache.authorities(
+                jwt, this.authorityPrefix);
+            if (bitSetGrantedAuthorities.isPresent()) {
+                return bitSetGrantedAuthorities.get();
+            }
+        }
         Collection<GrantedAuthority> grantedAuthorities = new ArrayList<>();
         for (String authority : getAuthorities(jwt)) {
             if (authority.startsWith(CommonConstants.ROLE_PREFIX)) {
@@ -116,6 +127,16 @@ public class IAMJwtGrantedAuthoritiesConverter implements
         this.authoritiesClaimName = authoritiesClaimName;
     }
 
+    /**
+     * Sets the authority dictionary cache used to decode bitset encoded authorities.
+     *
+     * @param authorityDictionaryCache The authority dictionary cache
+     * @since 2.17.0
+     */
+    public void setAuthorityDictionaryCache(AuthorityDictionaryCache authorityDictionaryCache) {
+        this.authorityDictionaryCache = authorityDictionaryCache;
+    }
+
     private String getAuthoritiesClaimName(Jwt jwt) {
         if (this.authoritiesClaimName != null) {
             return this.authoritiesClaimName;
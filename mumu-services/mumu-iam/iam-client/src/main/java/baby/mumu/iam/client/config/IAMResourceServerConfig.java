@@ -27,6 +27,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -56,16 +57,20 @@ import static org.springframework.security.config.Customizer.withDefaults;
 public class IAMResourceServerConfig {
 
     private final ResourcePoliciesProperties resourcePoliciesProperties;
+    private final AuthorityDictionaryCache authorityDictionaryCache;
 
     @Autowired
-    public IAMResourceServerConfig(ResourcePoliciesProperties resourcePoliciesProperties) {
+    public IAMResourceServerConfig(ResourcePoliciesProperties resourcePoliciesProperties,
+                                   AuthorityDictionaryCache authorityDictionaryCache) {
         this.resourcePoliciesProperties = resourcePoliciesProperties;
+        this.authorityDictionaryCache = authorityDictionaryCache;
     }
 
     @Bean
     public SecurityFilterChain resourceServerSecurityFilterChain(HttpSecurity http,
                                                                  JwtDecoder jwtDecoder,
-                                                                 TokenGrpcService tokenGrpcService) {
+                                                                 TokenGrpcService tokenGrpcService,
+                                                                 TokenValidityCache tokenValidityCache) {
         // noinspection DuplicatedCode
         ArrayList<String> csrfIgnoreUrls = new ArrayList<>();
         if (CollectionUtils.isNotEmpty(resourcePoliciesProperties.getHttp())) {
@@ -77,16 +82,17 @@ public class IAMResourceServerConfig {
                         AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizedUrl authorizedUrl = authorize
                             .requestMatchers(HttpMethod.valueOf(httpPolicy.getHttpMethod()),
                                 httpPolicy.getMatcher());
+                        // 权限为位图集合时鉴权只需位测试
                         if (StringUtils.isNotBlank(httpPolicy.getRole())) {
-                            authorizedUrl.hasRole(httpPolicy.getRole());
+                            authorizedUrl.access(BitSetAuthorityAuthorizationManager.hasAnyRole(httpPolicy.getRole()));
                         } else if (CollectionUtils.isNotEmpty(httpPolicy.getAnyRole())) {
-                            authorizedUrl.hasAnyRole(
-                                httpPolicy.getAnyRole().stream().distinct().toArray(String[]::new));
+                            authorizedUrl.access(BitSetAuthorityAuthorizationManager.hasAnyRole(
+                                httpPolicy.getAnyRole().stream().distinct().toArray(String[]::new)));
                         } else if (StringUtils.isNotBlank(httpPolicy.getAuthority())) {
                             Assert.isTrue(!httpPolicy.getAuthority().startsWith(CommonConstants.AUTHORITY_PREFIX),
                                 "Permission configuration cannot be empty and cannot start with SCOPE_");
-                            authorizedUrl.hasAuthority(
-                                CommonConstants.AUTHORITY_PREFIX.concat(httpPolicy.getAuthority()));
+                            authorizedUrl.access(BitSetAuthorityAuthorizationManager.hasAnyAuthority(
+                                CommonConstants.AUTHORITY_PREFIX.concat(httpPolicy.getAuthority())));
                         } else if (CollectionUtils.isNotEmpty(httpPolicy.getAnyAuthority())) {
                             List<String> anyAuthority = httpPolicy.getAnyAuthority();
                             anyAuthority.stream().filter(
@@ -95,9 +101,9 @@ public class IAMResourceServerConfig {
                                 throw new IllegalArgumentException(
                                     "Permission configuration cannot be empty and cannot start with SCOPE_");
                             });
-                            authorizedUrl.hasAnyAuthority(
+                            authorizedUrl.access(BitSetAuthorityAuthorizationManager.hasAnyAuthority(
                                 anyAuthority.stream().distinct().map(CommonConstants.AUTHORITY_PREFIX::concat)
-                                    .toArray(String[]::new));
+                                    .toArray(String[]::new)));
                         } else if (httpPolicy.isPermitAll()) {
                             authorizedUrl.permitAll();
                         } else if (httpPolicy.isDenyAll()) {
@@ -112,16 +118,22 @@ public class IAMResourceServerConfig {
         http.authorizeHttpRequests(
             (authorize) -> authorize.anyRequest()
                 .denyAll());
+        // 位图编码的令牌在字典不可用时抛出认证异常并由认证入口拒绝，不退回到不完整的明文权限
         http.oauth2ResourceServer(
                 resourceServerConfigurer -> resourceServerConfigurer.jwt(
-                    jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
+                    jwt -> jwt.jwtAuthenticationConverter(source -> authorityDictionaryCache.authorities(source,
+                            CommonConstants.AUTHORITY_PREFIX)
+                        .<AbstractAuthenticationToken>map(
+                            bitSetGrantedAuthorities -> new BitSetJwtAuthenticationToken(source, bitSetGrantedAuthorities))
+                        .orElseGet(() -> jwtAuthenticationConverter().convert(source))))
             )
             .csrf(csrf -> csrf.csrfTokenRepository(
                     CookieCsrfTokenRepository.withHttpOnlyFalse())
                 .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler())
                 .ignoringRequestMatchers(csrfIgnoreUrls.toArray(new String[0])));
         http.addFilterBefore(
-            new JwtAuthenticationTokenFilter(jwtDecoder, tokenGrpcService),
+            new JwtAuthenticationTokenFilter(jwtDecoder, tokenGrpcService, tokenValidityCache,
+                authorityDictionaryCache),
             UsernamePasswordAuthenticationFilter.class);
         http.exceptionHandling(exceptionHandling -> exceptionHandling
             .accessDeniedHandler(iamAccessDeniedHandler()));
@@ -132,6 +144,7 @@ public class IAMResourceServerConfig {
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
         IAMJwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new IAMJwtGrantedAuthoritiesConverter();
         grantedAuthoritiesConverter.setAuthoritiesClaimName(TokenClaimsEnum.AUTHORITIES.getClaimName());
+        grantedAuthoritiesConverter.setAuthorityDictionaryCache(authorityDictionaryCache);
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
         jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(grantedAuthoritiesConverter);
         return jwtAuthenticationConverter;
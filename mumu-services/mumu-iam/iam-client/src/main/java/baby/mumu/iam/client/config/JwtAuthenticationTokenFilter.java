@@ -42,7 +42,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -58,12 +57,18 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
     private static final String TOKEN_START = "Bearer ";
     JwtDecoder jwtDecoder;
     TokenGrpcService tokenGrpcService;
+    TokenValidityCache tokenValidityCache;
+    AuthorityDictionaryCache authorityDictionaryCache;
     private static final Logger log = LoggerFactory.getLogger(
         JwtAuthenticationTokenFilter.class);
 
-    public JwtAuthenticationTokenFilter(JwtDecoder jwtDecoder, TokenGrpcService tokenGrpcService) {
+    public JwtAuthenticationTokenFilter(JwtDecoder jwtDecoder, TokenGrpcService tokenGrpcService,
+                                        TokenValidityCache tokenValidityCache,
+                                        AuthorityDictionaryCache authorityDictionaryCache) {
         this.jwtDecoder = jwtDecoder;
         this.tokenGrpcService = tokenGrpcService;
+        this.tokenValidityCache = tokenValidityCache;
+        this.authorityDictionaryCache = authorityDictionaryCache;
     }
 
     @Override
@@ -80,14 +85,6 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
         if (StringUtils.isNotBlank(authHeader) && authHeader.startsWith(
             JwtAuthenticationTokenFilter.TOKEN_START)) {
             String authToken = authHeader.substring(JwtAuthenticationTokenFilter.TOKEN_START.length());
-            // 判断redis中是否存在token
-            if (!tokenGrpcService.validity(TokenValidityGrpcCmd.newBuilder().setToken(authToken).build())
-                .getValidity()) {
-                JwtAuthenticationTokenFilter.log.error(ResponseCode.INVALID_TOKEN.getMessage());
-                response.setStatus(ResponseCode.UNAUTHORIZED.getStatus());
-                ResponseWrapper.exceptionResponse(response, ResponseCode.INVALID_TOKEN);
-                return;
-            }
             // 判断token是否合法
             Jwt jwt;
             try {
@@ -98,13 +95,33 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
                 ResponseWrapper.exceptionResponse(response, ResponseCode.INVALID_TOKEN);
                 return;
             }
-            List<String> authorities = jwt.getClaimAsStringList(
-                TokenClaimsEnum.AUTHORITIES.getClaimName());
+            // 判断redis中是否存在token，优先命中本地有效性缓存
+            if (!tokenValidityCache.validity(jwt, () -> tokenGrpcService.validity(
+                TokenValidityGrpcCmd.newBuilder().setToken(authToken).build()).getValidity())) {
+                JwtAuthenticationTokenFilter.log.error(ResponseCode.INVALID_TOKEN.getMessage());
+                response.setStatus(ResponseCode.UNAUTHORIZED.getStatus());
+                ResponseWrapper.exceptionResponse(response, ResponseCode.INVALID_TOKEN);
+                return;
+            }
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                JwtAuthenticationToken authenticationToken =
-                    new JwtAuthenticationToken(jwt, Optional.ofNullable(authorities).map(authoritySet ->
+                // 位图编码的令牌直接以位图集合承载权限，否则逐个构建权限对象
+                Optional<BitSetGrantedAuthorities> bitSetGrantedAuthorities;
+                try {
+                    bitSetGrantedAuthorities = authorityDictionaryCache.authorities(jwt, StringUtils.EMPTY);
+                } catch (AuthorityDictionaryUnavailableException e) {
+                    // 字典不可用时无法还原完整权限，拒绝请求而不是以残缺的明文权限放行
+                    JwtAuthenticationTokenFilter.log.error(e.getMessage());
+                    response.setStatus(ResponseCode.AUTHORITY_DICTIONARY_UNAVAILABLE.getStatus());
+                    ResponseWrapper.exceptionResponse(response, ResponseCode.AUTHORITY_DICTIONARY_UNAVAILABLE);
+                    return;
+                }
+                JwtAuthenticationToken authenticationToken = bitSetGrantedAuthorities
+                    .<JwtAuthenticationToken>map(authorities -> new BitSetJwtAuthenticationToken(jwt, authorities))
+                    .orElseGet(() -> new JwtAuthenticationToken(jwt, Optional.ofNullable(
+                            jwt.getClaimAsStringList(TokenClaimsEnum.AUTHORITIES.getClaimName()))
+                        .map(authoritySet ->
                             authoritySet.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toSet()))
-                        .orElse(new HashSet<>()));
+                        .orElse(new HashSet<>())));
                 // 重新设置回账号对象
                 authenticationToken.setDetails(
                     new WebAuthenticationDetailsSource().buildDetails(applicationHttpServletRequestWrapper));
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import baby.mumu.basis.enums.TokenClaimsEnum;
+import baby.mumu.iam.client.api.TokenGrpcService;
+import baby.mumu.iam.client.api.grpc.TokenRevocationGrpcDTO;
+import baby.mumu.iam.client.api.grpc.TokenRevocationSubscribeGrpcCmd;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.grpc.stub.StreamObserver;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 令牌有效性本地缓存
+ * <p>
+ * 缓存IAM确认有效的令牌，过期时间取令牌exp与最大陈旧时间的较小值；
+ * 通过订阅IAM的令牌撤销流按账号ID失效缓存，收到订阅确认前与撤销流断开期间不使用缓存，全部回退到远程校验
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class TokenValidityCache implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenValidityCache.class);
+    private final BiConsumer<TokenRevocationSubscribeGrpcCmd, StreamObserver<TokenRevocationGrpcDTO>> revocations;
+    private final TokenValidityCacheProperties tokenValidityCacheProperties;
+    private final String subscriber;
+    private final Cache<String, CachedValidity> cache;
+    private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofVirtual().name("token-revocation-reconnect").factory());
+    /**
+     * 撤销版本号，每收到一次撤销事件或撤销流断开自增，用于丢弃校验期间发生撤销的结果
+     */
+    private final AtomicLong revocationVersion = new AtomicLong();
+    /**
+     * 是否已收到订阅确认
+     */
+    private volatile boolean subscribed;
+    private volatile boolean destroyed;
+
+    public TokenValidityCache(TokenGrpcService tokenGrpcService,
+                              TokenValidityCacheProperties tokenValidityCacheProperties,
+                              String subscriber) {
+        this(tokenGrpcService::revocations, tokenValidityCacheProperties, subscriber);
+    }
+
+    TokenValidityCache(
+        BiConsumer<TokenRevocationSubscribeGrpcCmd, StreamObserver<TokenRevocationGrpcDTO>> revocations,
+        TokenValidityCacheProperties tokenValidityCacheProperties, String subscriber) {
+        this.revocations = revocations;
+        this.tokenValidityCacheProperties = tokenValidityCacheProperties;
+        this.subscriber = subscriber;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(tokenValidityCacheProperties.getMaximumSize())
+            .expireAfter(new Expiry<String, CachedValidity>() {
+                @Override
+                public long expireAfterCreate(@NonNull String key, @NonNull CachedValidity value,
+                                              long currentTime) {
+                    return value.ttlNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(@NonNull String key, @NonNull CachedValidity value,
+                                              long currentTime, long currentDuration) {
+                    return value.ttlNanos();
+                }
+
+                @Override
+                public long expireAfterRead(@NonNull String key, @NonNull CachedValidity value,
+                                            long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    /**
+     * 校验令牌有效性，命中缓存时不再发起远程调用
+     *
+     * @param jwt            已解码的令牌
+     * @param remoteValidity 远程校验
+     * @return 是否有效
+     */
+    public boolean validity(@NonNull Jwt jwt, @NonNull BooleanSupplier remoteValidity) {
+        if (!tokenValidityCacheProperties.isEnabled() || !subscribed) {
+            return remoteValidity.getAsBoolean();
+        }
+        String key = StringUtils.defaultIfBlank(jwt.getId(), jwt.getTokenValue());
+        if (cache.getIfPresent(key) != null) {
+            return true;
+        }
+        long version = revocationVersion.get();
+        boolean validity = remoteValidity.getAsBoolean();
+        long ttlNanos = ttlNanos(jwt);
+        // 校验期间发生过撤销则不缓存本次结果
+        if (validity && ttlNanos > 0 && subscribed && version == revocationVersion.get()) {
+            cache.put(key, new CachedValidity(accountId(jwt), ttlNanos));
+        }
+        return validity;
+    }
+
+    /**
+     * 失效指定账号的全部缓存令牌
+     *
+     * @param accountId 账号ID
+     */
+    public void revoke(long accountId) {
+        revocationVersion.incrementAndGet();
+        cache.asMap().values().removeIf(cachedValidity -> cachedValidity.accountId() == accountId);
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationReadyEvent event) {
+        if (tokenValidityCacheProperties.isEnabled()) {
+            subscribe();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+        subscribed = false;
+        reconnectExecutor.shutdownNow();
+        cache.invalidateAll();
+    }
+
+    private void subscribe() {
+        if (destroyed) {
+            return;
+        }
+        try {
+            // 调用返回时服务端未必已登记订阅者，收到订阅确认后才启用缓存
+            revocations.accept(
+                TokenRevocationSubscribeGrpcCmd.newBuilder().setSubscriber(subscriber).build(),
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(TokenRevocationGrpcDTO value) {
+                        if (value.getSubscribed()) {
+                            subscribed = !destroyed;
+                        } else {
+                            revoke(value.getAccountId());
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        TokenValidityCache.log.warn("Token revocation stream broken: {}", t.getMessage());
+                        disconnect();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        disconnect();
+                    }
+                });
+        } catch (RuntimeException e) {
+            TokenValidityCache.log.warn("Token revocation stream subscribe failed: {}", e.getMessage());
+            disconnect();
+        }
+    }
+
+    /**
+     * 撤销流断开后无法得知期间的撤销事件，清空缓存并延迟重连
+     */
+    private void disconnect() {
+        subscribed = false;
+        revocationVersion.incrementAndGet();
+        cache.invalidateAll();
+        if (!destroyed) {
+            reconnectExecutor.schedule(this::subscribe, tokenValidityCacheProperties.getReconnectDelay(),
+                tokenValidityCacheProperties.getReconnectDelayUnit());
+        }
+    }
+
+    private long ttlNanos(@NonNull Jwt jwt) {
+        long maxStalenessNanos = tokenValidityCacheProperties.getMaxStalenessUnit()
+            .toNanos(tokenValidityCacheProperties.getMaxStaleness());
+        return Optional.ofNullable(jwt.getExpiresAt())
+            .map(expiresAt -> Math.min(maxStalenessNanos, Duration.between(Instant.now(), expiresAt).toNanos()))
+            .orElse(maxStalenessNanos);
+    }
+
+    private long accountId(@NonNull Jwt jwt) {
+        return NumberUtils.toLong(jwt.getClaimAsString(TokenClaimsEnum.ACCOUNT_ID.getClaimName()), -1L);
+    }
+
+    private record CachedValidity(long accountId, long ttlNanos) {
+    }
+}
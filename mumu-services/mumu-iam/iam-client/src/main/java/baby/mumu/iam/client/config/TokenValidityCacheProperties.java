@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌有效性本地缓存配置
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+@ConfigurationProperties("mumu.resource.token-validity-cache")
+public class TokenValidityCacheProperties {
+
+    /**
+     * 是否开启
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存令牌数
+     */
+    private long maximumSize = 10000L;
+
+    /**
+     * 最大陈旧时间，撤销推送丢失时令牌最迟在该时间后重新校验
+     */
+    private Long maxStaleness = 30L;
+
+    /**
+     * 最大陈旧时间单位
+     */
+    private TimeUnit maxStalenessUnit = TimeUnit.SECONDS;
+
+    /**
+     * 撤销流断开后的重连间隔
+     */
+    private Long reconnectDelay = 5L;
+
+    /**
+     * 重连间隔单位
+     */
+    private TimeUnit reconnectDelayUnit = TimeUnit.SECONDS;
+}
@@ -41,6 +41,11 @@ public class AccountFindAllDTO extends BaseDataTransferObject {
     @Serial
     private static final long serialVersionUID = -4857345408872981507L;
 
+    /**
+     * 游标，作为下一页查询的cursor传入即可从该记录之后继续查询
+     */
+    private String cursor;
+
     /**
      * 账号id
      */
@@ -35,6 +35,11 @@ public class AccountNearbyDTO extends BaseDataTransferObject {
     @Serial
     private static final long serialVersionUID = -5128372525687244372L;
 
+    /**
+     * 账号ID
+     */
+    private Long accountId;
+
     /**
      * 账号名
      */
@@ -65,6 +70,16 @@ public class AccountNearbyDTO extends BaseDataTransferObject {
      */
     private String nickName;
 
+    /**
+     * 与当前账号默认地址的距离（米）
+     */
+    private Double distance;
+
+    /**
+     * 游标，作为下一页查询的cursor传入即可从该记录之后继续查询
+     */
+    private String cursor;
+
     @Data
     public static class AccountAvatarDTO {
 
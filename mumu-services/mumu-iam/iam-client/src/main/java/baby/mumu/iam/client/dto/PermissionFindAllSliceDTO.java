@@ -34,6 +34,11 @@ public class PermissionFindAllSliceDTO extends BaseDataTransferObject {
     @Serial
     private static final long serialVersionUID = 2553928271064966162L;
 
+    /**
+     * 游标，作为下一页查询的cursor传入即可从该记录之后继续查询
+     */
+    private String cursor;
+
     private Long id;
 
     @Size(max = 50, message = "{permission.code.validation.size}")
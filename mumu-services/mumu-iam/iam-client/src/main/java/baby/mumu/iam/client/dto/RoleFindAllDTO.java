@@ -34,6 +34,11 @@ public class RoleFindAllDTO extends BaseDataTransferObject {
     @Serial
     private static final long serialVersionUID = 7516717955832644542L;
 
+    /**
+     * 游标，作为下一页查询的cursor传入即可从该记录之后继续查询
+     */
+    private String cursor;
+
     private Long id;
 
     private String name;
@@ -34,6 +34,10 @@ public class RoleFindAllSliceDTO extends BaseDataTransferObject {
     @Serial
     private static final long serialVersionUID = 354147586039980402L;
 
+    /**
+     * 游标，作为下一页查询的cursor传入即可从该记录之后继续查询
+     */
+    private String cursor;
 
     private Long id;
 
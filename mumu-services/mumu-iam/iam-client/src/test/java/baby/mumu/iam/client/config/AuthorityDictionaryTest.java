@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import baby.mumu.iam.client.config.AuthorityDictionary.EncodedAuthorities;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 权限字典单元测试
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class AuthorityDictionaryTest {
+
+    private static final List<String> CODES = List.of("account:read", "account:write", "role:read", "role:write");
+
+    @Test
+    public void roundTrip() {
+        AuthorityDictionary authorityDictionary = new AuthorityDictionary(1L, AuthorityDictionaryTest.CODES);
+        EncodedAuthorities encodedAuthorities = authorityDictionary.encode(
+            List.of("account:write", "role:read", "ROLE_admin", "file:read"));
+        Assertions.assertEquals(List.of("ROLE_admin", "file:read"), encodedAuthorities.remainder());
+        BitSetGrantedAuthorities authorities = authorityDictionary.decode(encodedAuthorities.bitset(),
+            encodedAuthorities.remainder(), "");
+        Assertions.assertEquals(Set.of("account:write", "role:read", "ROLE_admin", "file:read"),
+            authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+        Assertions.assertEquals(4, authorities.size());
+        Assertions.assertTrue(authorities.containsAuthority("role:read"));
+        Assertions.assertFalse(authorities.containsAuthority("account:read"));
+        Assertions.assertFalse(authorities.containsAuthority(null));
+    }
+
+    @Test
+    public void roundTripWithPrefix() {
+        AuthorityDictionary authorityDictionary = new AuthorityDictionary(1L, AuthorityDictionaryTest.CODES);
+        EncodedAuthorities encodedAuthorities = authorityDictionary.encode(
+            List.of("account:read", "ROLE_admin", "file:read"));
+        BitSetGrantedAuthorities authorities = authorityDictionary.decode(encodedAuthorities.bitset(),
+            encodedAuthorities.remainder(), "SCOPE_");
+        Assertions.assertTrue(authorities.containsAuthority("SCOPE_account:read"));
+        Assertions.assertTrue(authorities.containsAuthority("SCOPE_file:read"));
+        Assertions.assertTrue(authorities.containsAuthority("ROLE_admin"));
+        Assertions.assertFalse(authorities.containsAuthority("account:read"));
+        Assertions.assertFalse(authorities.containsAuthority("SCOPE_role:write"));
+    }
+
+    @Test
+    public void emptyAuthorities() {
+        AuthorityDictionary authorityDictionary = new AuthorityDictionary(1L, AuthorityDictionaryTest.CODES);
+        EncodedAuthorities encodedAuthorities = authorityDictionary.encode(List.of());
+        Assertions.assertTrue(authorityDictionary.decode(encodedAuthorities.bitset(),
+            encodedAuthorities.remainder(), "").isEmpty());
+    }
+
+    @Test
+    public void bitsBeyondDictionaryAreDropped() {
+        EncodedAuthorities encodedAuthorities = new AuthorityDictionary(1L, AuthorityDictionaryTest.CODES)
+            .encode(List.of("account:read", "role:write"));
+        BitSetGrantedAuthorities authorities = new AuthorityDictionary(2L, List.of("account:read", "account:write"))
+            .decode(encodedAuthorities.bitset(), List.of(), "");
+        Assertions.assertEquals(1, authorities.size());
+        Assertions.assertTrue(authorities.containsAuthority("account:read"));
+    }
+
+    @Test
+    public void versionFollowsCodeSet() {
+        long version = AuthorityDictionary.versionOf(AuthorityDictionaryTest.CODES);
+        Assertions.assertEquals(version, AuthorityDictionary.versionOf(List.copyOf(AuthorityDictionaryTest.CODES)));
+        Assertions.assertTrue(version >= 0);
+        Assertions.assertNotEquals(version, AuthorityDictionary.versionOf(
+            List.of("account:read", "account:write", "role:read")));
+        Assertions.assertNotEquals(AuthorityDictionary.versionOf(List.of("ab", "c")),
+            AuthorityDictionary.versionOf(List.of("a", "bc")));
+    }
+}
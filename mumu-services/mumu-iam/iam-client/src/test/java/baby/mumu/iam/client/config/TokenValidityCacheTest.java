@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.client.config;
+
+import baby.mumu.basis.enums.TokenClaimsEnum;
+import baby.mumu.iam.client.api.grpc.TokenRevocationGrpcDTO;
+import baby.mumu.iam.client.api.grpc.TokenRevocationSubscribeGrpcCmd;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 令牌有效性本地缓存单元测试
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class TokenValidityCacheTest {
+
+    private final FakeRevocations revocations = new FakeRevocations();
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private TokenValidityCache tokenValidityCache;
+
+    @AfterEach
+    public void destroy() {
+        if (tokenValidityCache != null) {
+            tokenValidityCache.destroy();
+        }
+    }
+
+    @Test
+    public void notCachedUntilSubscriptionAcknowledged() {
+        start();
+        Assertions.assertEquals(1, revocations.attempts.get());
+        validity(1L);
+        validity(1L);
+        Assertions.assertEquals(2, remoteCalls.get());
+        revocations.acknowledge();
+        validity(1L);
+        validity(1L);
+        Assertions.assertEquals(3, remoteCalls.get());
+    }
+
+    @Test
+    public void failedSubscribeIsRetried() {
+        revocations.failures.set(2);
+        start();
+        TokenValidityCacheTest.await(() -> revocations.attempts.get() == 3);
+        validity(1L);
+        validity(1L);
+        Assertions.assertEquals(2, remoteCalls.get());
+        revocations.acknowledge();
+        validity(1L);
+        validity(1L);
+        Assertions.assertEquals(3, remoteCalls.get());
+    }
+
+    @Test
+    public void revocationEvictsAccount() {
+        start();
+        revocations.acknowledge();
+        validity(1L);
+        validity(2L);
+        revocations.current().onNext(TokenRevocationGrpcDTO.newBuilder().setAccountId(1L).build());
+        validity(1L);
+        validity(2L);
+        Assertions.assertEquals(3, remoteCalls.get());
+    }
+
+    @Test
+    public void brokenStreamDisablesCacheAndReconnects() {
+        start();
+        revocations.acknowledge();
+        validity(1L);
+        revocations.current().onError(Status.UNAVAILABLE.asRuntimeException());
+        validity(1L);
+        Assertions.assertEquals(2, remoteCalls.get());
+        TokenValidityCacheTest.await(() -> revocations.attempts.get() == 2);
+        validity(1L);
+        Assertions.assertEquals(3, remoteCalls.get());
+        revocations.acknowledge();
+        validity(1L);
+        validity(1L);
+        Assertions.assertEquals(4, remoteCalls.get());
+    }
+
+    private void start() {
+        TokenValidityCacheProperties tokenValidityCacheProperties = new TokenValidityCacheProperties();
+        tokenValidityCacheProperties.setReconnectDelay(10L);
+        tokenValidityCacheProperties.setReconnectDelayUnit(TimeUnit.MILLISECONDS);
+        tokenValidityCache = new TokenValidityCache(revocations, tokenValidityCacheProperties, "test");
+        tokenValidityCache.onApplicationEvent(
+            new ApplicationReadyEvent(new SpringApplication(), new String[0], null, Duration.ZERO));
+    }
+
+    private void validity(long accountId) {
+        Jwt jwt = Jwt.withTokenValue("token-" + accountId)
+            .header("alg", "none")
+            .jti("jti-" + accountId)
+            .claim(TokenClaimsEnum.ACCOUNT_ID.getClaimName(), String.valueOf(accountId))
+            .expiresAt(Instant.now().plusSeconds(600))
+            .build();
+        Assertions.assertTrue(tokenValidityCache.validity(jwt, () -> {
+            remoteCalls.incrementAndGet();
+            return true;
+        }));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static final class FakeRevocations
+        implements BiConsumer<TokenRevocationSubscribeGrpcCmd, StreamObserver<TokenRevocationGrpcDTO>> {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final List<StreamObserver<TokenRevocationGrpcDTO>> observers = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void accept(TokenRevocationSubscribeGrpcCmd tokenRevocationSubscribeGrpcCmd,
+                           StreamObserver<TokenRevocationGrpcDTO> responseObserver) {
+            attempts.incrementAndGet();
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("iam unavailable");
+            }
+            observers.add(responseObserver);
+        }
+
+        private StreamObserver<TokenRevocationGrpcDTO> current() {
+            return observers.getLast();
+        }
+
+        private void acknowledge() {
+            current().onNext(TokenRevocationGrpcDTO.newBuilder().setSubscribed(true).build());
+        }
+    }
+}
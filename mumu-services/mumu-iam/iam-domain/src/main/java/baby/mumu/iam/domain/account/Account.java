@@ -187,9 +187,38 @@ public class Account extends BasisDomainModel implements UserDetails {
      */
     private boolean emailVerified;
 
+    /**
+     * 有效权限快照
+     * <p>按字典序排列的权限编码，存在时直接作为账号权限，无需再展开角色与权限层级</p>
+     */
+    private List<String> effectiveAuthorities;
+
     @Override
     @JsonIgnore
     public Collection<Permission> getAuthorities() {
+        if (this.effectiveAuthorities != null) {
+            return this.effectiveAuthorities.stream()
+                .map(code -> Permission.builder().code(code).build())
+                .collect(Collectors.toList());
+        }
+        return this.resolveAuthorities();
+    }
+
+    /**
+     * 根据角色与权限层级计算有效权限快照
+     *
+     * @return 按字典序排列且去重的权限编码
+     */
+    public List<String> computeEffectiveAuthorities() {
+        return this.resolveAuthorities().stream()
+            .map(Permission::getCode)
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .toList();
+    }
+
+    private Collection<Permission> resolveAuthorities() {
         return Stream.concat(
                 Optional.ofNullable(this.roles).orElse(Collections.emptyList()).stream(),
                 this.descendantRoles.stream()
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.domain.account;
+
+import baby.mumu.basis.domain.BasisDomainModel;
+import baby.mumu.basis.enums.LanguageEnum;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.io.Serial;
+
+/**
+ * 附近的账号领域模型
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+@RequiredArgsConstructor
+@SuperBuilder(toBuilder = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AccountNearby extends BasisDomainModel {
+
+    @Serial
+    private static final long serialVersionUID = -3346215390478185212L;
+
+    /**
+     * 账号ID
+     */
+    private Long accountId;
+
+    /**
+     * 账号名
+     */
+    private String username;
+
+    /**
+     * 昵称
+     */
+    private String nickName;
+
+    /**
+     * 个性签名
+     */
+    private String bio;
+
+    /**
+     * 时区
+     */
+    private String timezone;
+
+    /**
+     * 语言偏好
+     */
+    private LanguageEnum language;
+
+    /**
+     * 头像
+     */
+    private AccountAvatar avatar;
+
+    /**
+     * 与当前账号默认地址的距离（米）
+     */
+    private Double distance;
+
+    /**
+     * 游标，作为下一页查询的cursor传入即可从该记录之后继续查询
+     */
+    private String cursor;
+}
@@ -16,8 +16,10 @@
 
 package baby.mumu.iam.domain.account.gateway;
 
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.iam.domain.account.Account;
 import baby.mumu.iam.domain.account.AccountAddress;
+import baby.mumu.iam.domain.account.AccountNearby;
 import baby.mumu.iam.domain.account.AccountSystemSettings;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
@@ -57,6 +59,22 @@ public interface AccountGateway {
      */
     Optional<Account> findAccountByEmail(String email);
 
+    /**
+     * 根据用户名查找认证使用的账号，权限取自有效权限快照
+     *
+     * @param username 用户名
+     * @return 账号信息
+     */
+    Optional<Account> findAuthenticationAccountByUsername(String username);
+
+    /**
+     * 根据邮箱查找认证使用的账号，权限取自有效权限快照
+     *
+     * @param email 邮箱
+     * @return 账号信息
+     */
+    Optional<Account> findAuthenticationAccountByEmail(String email);
+
     /**
      * 根据id更新账号信息
      *
@@ -121,6 +139,42 @@ public interface AccountGateway {
      */
     List<Account> findAllAccountByRoleId(Long roleId);
 
+    /**
+     * 角色是否已分配给任意账号
+     *
+     * @param roleId 角色ID
+     * @return 是否存在
+     */
+    boolean existsByRoleId(Long roleId);
+
+    /**
+     * 分页查询拥有指定角色的账号名
+     *
+     * @param roleId   角色ID
+     * @param current  页码
+     * @param pageSize 每页数量
+     * @return 账号名
+     */
+    Slice<String> findUsernamesByRoleId(Long roleId, int current, int pageSize);
+
+    /**
+     * 统计拥有指定角色的账号数量
+     *
+     * @param roleId 角色ID
+     * @return 账号数量
+     */
+    long countByRoleId(Long roleId);
+
+    /**
+     * 分页查询拥有指定角色的账号ID
+     *
+     * @param roleId   角色ID
+     * @param current  页码
+     * @param pageSize 每页数量
+     * @return 账号ID
+     */
+    Slice<Long> findIdsByRoleId(Long roleId, int current, int pageSize);
+
     /**
      * 当前登录账号密码是否正确
      *
@@ -137,6 +191,14 @@ public interface AccountGateway {
      */
     void changePassword(String originalPassword, String newPassword);
 
+    /**
+     * 以新的哈希参数重新保存已验证的密码
+     *
+     * @param accountId       账号id
+     * @param encodedPassword 重新哈希后的密码
+     */
+    void upgradePassword(Long accountId, String encodedPassword);
+
     /**
      * 根据id归档账号
      *
@@ -266,6 +328,17 @@ public interface AccountGateway {
      */
     Page<Account> findAll(Account account, int current, int pageSize);
 
+    /**
+     * 键集分页查询账号（查询总数），从游标之后开始查询，查询耗时与页深度无关
+     *
+     * @param account  查询条件
+     * @param cursor   上一页最后一条记录的游标
+     * @param pageSize 当前页数量
+     * @return 查询结果
+     * @since 2.17.0
+     */
+    Page<Account> findAll(Account account, KeysetCursor cursor, int pageSize);
+
     /**
      * 分页获取账号(不查询总数)
      *
@@ -277,12 +350,25 @@ public interface AccountGateway {
     Slice<Account> findAllSlice(Account account, int current, int pageSize);
 
     /**
-     * 附近的账号
+     * 键集切片分页查询账号（不查询总数），从游标之后开始查询，查询耗时与页深度无关
+     *
+     * @param account  查询条件
+     * @param cursor   上一页最后一条记录的游标
+     * @param pageSize 当前页数量
+     * @return 查询结果
+     * @since 2.17.0
+     */
+    Slice<Account> findAllSlice(Account account, KeysetCursor cursor, int pageSize);
+
+    /**
+     * 按距离由近及远分页查询附近的账号
      *
      * @param radiusInMeters 半径（米）
-     * @return 附近的账号
+     * @param cursor         上一页最后一条记录的游标，为空时从最近的账号开始
+     * @param pageSize       每页数量
+     * @return 附近的账号，每条记录携带自身的游标
      */
-    List<Account> nearby(double radiusInMeters);
+    List<AccountNearby> nearby(double radiusInMeters, String cursor, int pageSize);
 
     /**
      * 设置默认地址
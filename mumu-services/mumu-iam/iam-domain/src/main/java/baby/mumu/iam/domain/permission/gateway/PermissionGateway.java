@@ -16,13 +16,16 @@
 
 package baby.mumu.iam.domain.permission.gateway;
 
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.iam.domain.permission.Permission;
 import baby.mumu.iam.domain.permission.PermissionRelation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -66,6 +69,17 @@ public interface PermissionGateway {
      */
     Page<Permission> findAll(Permission permission, int current, int pageSize);
 
+    /**
+     * 键集分页查询权限（查询总数），从游标之后开始查询，查询耗时与页深度无关
+     *
+     * @param permission 查询条件
+     * @param cursor     上一页最后一条记录的游标
+     * @param pageSize   当前页数量
+     * @return 查询结果
+     * @since 2.17.0
+     */
+    Page<Permission> findAll(Permission permission, KeysetCursor cursor, int pageSize);
+
     /**
      * 切片分页查询权限（不查询总数）
      *
@@ -76,6 +90,17 @@ public interface PermissionGateway {
      */
     Slice<Permission> findAllSlice(Permission permission, int current, int pageSize);
 
+    /**
+     * 键集切片分页查询权限（不查询总数），从游标之后开始查询，查询耗时与页深度无关
+     *
+     * @param permission 查询条件
+     * @param cursor     上一页最后一条记录的游标
+     * @param pageSize   当前页数量
+     * @return 查询结果
+     * @since 2.17.0
+     */
+    Slice<Permission> findAllSlice(Permission permission, KeysetCursor cursor, int pageSize);
+
     /**
      * 切片分页查询已归档的权限（不查询总数）
      *
@@ -127,6 +152,14 @@ public interface PermissionGateway {
      */
     void addDescendant(Long ancestorId, Long descendantId);
 
+    /**
+     * 批量导入权限树
+     *
+     * @param descendantIds 祖先权限ID与其直系后代权限ID集合
+     * @since 2.17.0
+     */
+    void importTree(Map<Long, Set<Long>> descendantIds);
+
     /**
      * 获取所有根权限
      *
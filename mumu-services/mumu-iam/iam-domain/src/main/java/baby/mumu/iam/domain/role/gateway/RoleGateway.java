@@ -16,12 +16,15 @@
 
 package baby.mumu.iam.domain.role.gateway;
 
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.iam.domain.role.Role;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 角色领域网关
@@ -71,6 +74,17 @@ public interface RoleGateway {
      */
     Page<Role> findAll(Role role, int current, int pageSize);
 
+    /**
+     * 键集分页查询角色（查询总数），从游标之后开始查询，查询耗时与页深度无关
+     *
+     * @param role     查询条件
+     * @param cursor   上一页最后一条记录的游标
+     * @param pageSize 当前页数量
+     * @return 查询结果
+     * @since 2.17.0
+     */
+    Page<Role> findAll(Role role, KeysetCursor cursor, int pageSize);
+
     /**
      * 切片分页查询角色（不查询总数）
      *
@@ -81,6 +95,17 @@ public interface RoleGateway {
      */
     Slice<Role> findAllSlice(Role role, int current, int pageSize);
 
+    /**
+     * 键集切片分页查询角色（不查询总数），从游标之后开始查询，查询耗时与页深度无关
+     *
+     * @param role     查询条件
+     * @param cursor   上一页最后一条记录的游标
+     * @param pageSize 当前页数量
+     * @return 查询结果
+     * @since 2.17.0
+     */
+    Slice<Role> findAllSlice(Role role, KeysetCursor cursor, int pageSize);
+
     /**
      * 切片分页查询已归档的角色（不查询总数）
      *
@@ -109,6 +134,42 @@ public interface RoleGateway {
      */
     List<Role> findAllContainPermission(Long permissionId);
 
+    /**
+     * 权限是否已授予任意角色
+     *
+     * @param permissionId 权限ID
+     * @return 是否存在
+     */
+    boolean existsByPermissionId(Long permissionId);
+
+    /**
+     * 分页查询拥有指定权限的角色编码
+     *
+     * @param permissionId 权限ID
+     * @param current      页码
+     * @param pageSize     每页数量
+     * @return 角色编码
+     */
+    Slice<String> findCodesByPermissionId(Long permissionId, int current, int pageSize);
+
+    /**
+     * 统计拥有指定权限的角色数量
+     *
+     * @param permissionId 权限ID
+     * @return 角色数量
+     */
+    long countByPermissionId(Long permissionId);
+
+    /**
+     * 分页查询拥有指定权限的角色ID
+     *
+     * @param permissionId 权限ID
+     * @param current      页码
+     * @param pageSize     每页数量
+     * @return 角色ID
+     */
+    Slice<Long> findIdsByPermissionId(Long permissionId, int current, int pageSize);
+
     /**
      * 根据id归档
      *
@@ -131,6 +192,14 @@ public interface RoleGateway {
      */
     void addDescendant(Long ancestorId, Long descendantId);
 
+    /**
+     * 批量导入角色树
+     *
+     * @param descendantIds 祖先角色ID与其直系后代角色ID集合
+     * @since 2.17.0
+     */
+    void importTree(Map<Long, Set<Long>> descendantIds);
+
     /**
      * 获取所有根角色
      *
@@ -16,6 +16,9 @@
 
 package baby.mumu.iam.domain.token.gateway;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * token领域网关
  *
@@ -25,4 +28,19 @@ package baby.mumu.iam.domain.token.gateway;
 public interface TokenGateway {
 
     boolean validity(String token);
+
+    /**
+     * 根据版本号获取权限字典
+     *
+     * @param version 权限字典版本号
+     * @return 按位序号排列的权限编码
+     */
+    Optional<List<String>> findAuthorityDictionary(long version);
+
+    /**
+     * 获取当前正在签发的权限字典版本号
+     *
+     * @return 权限字典版本号，字典不可用时为空
+     */
+    Optional<Long> findCurrentAuthorityDictionaryVersion();
 }
@@ -20,8 +20,11 @@ dependencies {
     implementation(libs.hypersistence)
     implementation(libs.postgresql)
     implementation(libs.redis.om.spring)
+    implementation(libs.spring.data.redis)
     implementation(libs.spring.boot.starter.data.mongodb)
     annotationProcessor(libs.redis.om.spring)
     annotationProcessor(libs.hibernate.processor)
     implementation(libs.jobrunr)
+    implementation(libs.caffeine)
+    implementation(libs.micrometer.core)
 }
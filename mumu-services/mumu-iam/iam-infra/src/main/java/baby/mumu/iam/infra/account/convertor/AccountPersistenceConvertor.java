@@ -20,6 +20,7 @@ import baby.mumu.basis.enums.DigitalPreferenceEnum;
 import baby.mumu.iam.domain.account.Account;
 import baby.mumu.iam.domain.account.AccountAddress;
 import baby.mumu.iam.domain.account.AccountAvatar;
+import baby.mumu.iam.domain.account.AccountNearby;
 import baby.mumu.iam.domain.account.AccountSystemSettings;
 import baby.mumu.iam.domain.role.Role;
 import baby.mumu.iam.infra.account.gatewayimpl.cache.po.AccountCacheablePO;
@@ -31,8 +32,12 @@ import baby.mumu.iam.infra.account.gatewayimpl.document.AccountAvatarDocumentRep
 import baby.mumu.iam.infra.account.gatewayimpl.document.AccountSystemSettingsDocumentRepository;
 import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountAddressDocumentPO;
 import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountAvatarDocumentPO;
+import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountNearbyDocumentPO;
 import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountSystemSettingsDocumentPO;
 import baby.mumu.iam.infra.account.mapper.AccountPersistenceMapper;
+import baby.mumu.iam.infra.relations.cache.AccountAuthorityCacheRepository;
+import baby.mumu.iam.infra.relations.cache.AccountAuthorityCacheablePO;
+import baby.mumu.iam.infra.relations.cache.AccountAuthorityVersions;
 import baby.mumu.iam.infra.relations.cache.AccountRoleCacheRepository;
 import baby.mumu.iam.infra.relations.cache.AccountRoleCacheablePO;
 import baby.mumu.iam.infra.relations.database.*;
@@ -40,6 +45,7 @@ import baby.mumu.iam.infra.role.convertor.RolePersistenceConvertor;
 import baby.mumu.iam.infra.role.gatewayimpl.cache.RoleCacheRepository;
 import baby.mumu.iam.infra.role.gatewayimpl.cache.po.RoleCacheablePO;
 import baby.mumu.iam.infra.role.gatewayimpl.database.RoleRepository;
+import baby.mumu.iam.infra.singleflight.SingleFlightCacheLoader;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
@@ -49,7 +55,9 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.stream.Collectors;
 
 /**
@@ -71,6 +79,9 @@ public class AccountPersistenceConvertor {
     private final AccountRoleCacheRepository accountRoleCacheRepository;
     private final RolePathRepository rolePathRepository;
     private final AccountAvatarDocumentRepository accountAvatarDocumentRepository;
+    private final AccountAuthorityCacheRepository accountAuthorityCacheRepository;
+    private final AccountAuthorityVersions accountAuthorityVersions;
+    private final SingleFlightCacheLoader singleFlightCacheLoader;
 
     @Autowired
     public AccountPersistenceConvertor(RolePersistenceConvertor rolePersistenceConvertor, AccountRepository accountRepository,
@@ -81,7 +92,10 @@ public class AccountPersistenceConvertor {
                             AccountSystemSettingsDocumentRepository accountSystemSettingsDocumentRepository,
                             AccountRoleCacheRepository accountRoleCacheRepository,
                             RolePathRepository rolePathRepository,
-                            AccountAvatarDocumentRepository accountAvatarDocumentRepository) {
+                            AccountAvatarDocumentRepository accountAvatarDocumentRepository,
+                            AccountAuthorityCacheRepository accountAuthorityCacheRepository,
+                            AccountAuthorityVersions accountAuthorityVersions,
+                            SingleFlightCacheLoader singleFlightCacheLoader) {
         this.rolePersistenceConvertor = rolePersistenceConvertor;
         this.accountRepository = accountRepository;
         this.roleRepository = roleRepository;
@@ -92,6 +106,9 @@ public class AccountPersistenceConvertor {
         this.accountRoleCacheRepository = accountRoleCacheRepository;
         this.rolePathRepository = rolePathRepository;
         this.accountAvatarDocumentRepository = accountAvatarDocumentRepository;
+        this.accountAuthorityCacheRepository = accountAuthorityCacheRepository;
+        this.accountAuthorityVersions = accountAuthorityVersions;
+        this.singleFlightCacheLoader = singleFlightCacheLoader;
     }
 
     @API(status = Status.STABLE, since = "1.0.0")
@@ -251,17 +268,66 @@ public class AccountPersistenceConvertor {
             });
     }
 
+    /**
+     * 转换为认证使用的账号，权限取自有效权限快照而非逐层展开角色与权限
+     *
+     * @param accountCacheablePO 账号缓存对象
+     * @return 账号
+     */
+    @API(status = Status.STABLE, since = "2.17.0")
+    public Optional<Account> toAuthenticationEntity(AccountCacheablePO accountCacheablePO) {
+        return Optional.ofNullable(accountCacheablePO).map(AccountPersistenceMapper.INSTANCE::toEntity)
+            .map(this::initializeAuthenticationAccount);
+    }
+
+    private @NonNull Account initializeAuthenticationAccount(@NonNull Account account) {
+        account.setEffectiveAuthorities(getEffectiveAuthorities(account));
+        setDigitalPreference(account);
+        return account;
+    }
+
+    /**
+     * 获取账号有效权限快照，快照缺失或版本落后时重新展开角色与权限并回填
+     *
+     * @param account 账号
+     * @return 按字典序排列的有效权限编码
+     */
+    private @NonNull List<String> getEffectiveAuthorities(@NonNull Account account) {
+        // 先读取版本号再计算，计算期间发生的变更会使回填的快照在下次读取时失效
+        OptionalLong version = accountAuthorityVersions.current(account.getId());
+        if (version.isEmpty()) {
+            // redis不可用时直接计算，不因快照缺失阻断认证
+            return computeEffectiveAuthorities(account);
+        }
+        return accountAuthorityCacheRepository.findById(account.getId())
+            .filter(accountAuthorityCacheablePO -> Objects.equals(accountAuthorityCacheablePO.getVersion(),
+                version.getAsLong()))
+            .map(AccountAuthorityCacheablePO::getAuthorities)
+            .orElseGet(() -> {
+                List<String> authorities = computeEffectiveAuthorities(account);
+                accountAuthorityCacheRepository.save(
+                    new AccountAuthorityCacheablePO(account.getId(), version.getAsLong(), authorities));
+                return authorities;
+            });
+    }
+
+    private @NonNull List<String> computeEffectiveAuthorities(@NonNull Account account) {
+        setRolesWithIds(account, getRoleIds(account.getId()));
+        return account.computeEffectiveAuthorities();
+    }
+
     private @NonNull List<Long> getRoleIds(Long account) {
-        return accountRoleCacheRepository.findById(account)
-            .map(AccountRoleCacheablePO::getRoleIds).orElseGet(() -> {
+        return singleFlightCacheLoader.load("account-role:" + account,
+            () -> accountRoleCacheRepository.findById(account).map(AccountRoleCacheablePO::getRoleIds),
+            () -> {
                 List<Long> roleIds = accountRoleRepository.findByAccountId(account)
                     .stream()
                     .map(AccountRolePO::getId).map(AccountRolePOId::getRoleId)
                     .collect(Collectors.toList());
                 accountRoleCacheRepository.save(
                     new AccountRoleCacheablePO(account, roleIds));
-                return roleIds;
-            });
+                return Optional.of(roleIds);
+            }).orElseGet(ArrayList::new);
     }
 
     @API(status = Status.STABLE, since = "1.0.0")
@@ -286,6 +352,13 @@ public class AccountPersistenceConvertor {
         return Optional.ofNullable(accountArchivedPO).map(AccountPersistenceMapper.INSTANCE::toAccountPO);
     }
 
+    @API(status = Status.STABLE, since = "2.17.0")
+    public Optional<AccountNearby> toAccountNearby(
+        AccountNearbyDocumentPO accountNearbyDocumentPO) {
+        return Optional.ofNullable(accountNearbyDocumentPO)
+            .map(AccountPersistenceMapper.INSTANCE::toAccountNearby);
+    }
+
     @API(status = Status.STABLE, since = "2.0.0")
     public Optional<AccountAddressDocumentPO> toAccountAddressDocumentPO(
         AccountAddress accountAddress) {
@@ -17,8 +17,10 @@
 package baby.mumu.iam.infra.account.gatewayimpl;
 
 import baby.mumu.basis.annotations.DangerousOperation;
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.basis.enums.AccountAvatarSourceEnum;
 import baby.mumu.basis.event.OfflineSuccessEvent;
+import baby.mumu.basis.event.TokenRevokedEvent;
 import baby.mumu.basis.exception.AccountAlreadyExistsException;
 import baby.mumu.basis.exception.ApplicationException;
 import baby.mumu.basis.kotlin.tools.SecurityContextUtils;
@@ -28,22 +30,31 @@ import baby.mumu.extension.ExtensionProperties;
 import baby.mumu.extension.GlobalProperties;
 import baby.mumu.iam.domain.account.Account;
 import baby.mumu.iam.domain.account.AccountAddress;
+import baby.mumu.iam.domain.account.AccountNearby;
 import baby.mumu.iam.domain.account.AccountSystemSettings;
 import baby.mumu.iam.domain.account.gateway.AccountGateway;
 import baby.mumu.iam.domain.role.Role;
 import baby.mumu.iam.infra.account.convertor.AccountPersistenceConvertor;
 import baby.mumu.iam.infra.account.gatewayimpl.cache.AccountCacheRepository;
+import baby.mumu.iam.infra.account.gatewayimpl.cache.po.AccountCacheablePO;
 import baby.mumu.iam.infra.account.gatewayimpl.database.AccountArchivedRepository;
 import baby.mumu.iam.infra.account.gatewayimpl.database.AccountRepository;
 import baby.mumu.iam.infra.account.gatewayimpl.database.po.AccountArchivedPO;
 import baby.mumu.iam.infra.account.gatewayimpl.database.po.AccountPO;
 import baby.mumu.iam.infra.account.gatewayimpl.document.AccountAddressDocumentRepository;
 import baby.mumu.iam.infra.account.gatewayimpl.document.AccountAvatarDocumentRepository;
+import baby.mumu.iam.infra.account.gatewayimpl.document.AccountNearbyDocumentRepository;
+import baby.mumu.iam.infra.account.gatewayimpl.document.AccountNearbyReadModel;
 import baby.mumu.iam.infra.account.gatewayimpl.document.AccountSystemSettingsDocumentRepository;
+import baby.mumu.iam.infra.account.gatewayimpl.document.NearbyCursor;
 import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountAddressDocumentPO;
 import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountAvatarDocumentPO;
+import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountNearbyDocumentPO;
+import baby.mumu.iam.infra.invalidation.CacheInvalidationOutbox;
+import baby.mumu.iam.infra.relations.cache.AccountAuthorityCacheRepository;
 import baby.mumu.iam.infra.relations.cache.AccountRoleCacheRepository;
 import baby.mumu.iam.infra.relations.database.AccountRoleRepository;
+import baby.mumu.iam.infra.singleflight.SingleFlightCacheLoader;
 import baby.mumu.iam.infra.token.gatewayimpl.cache.OidcIdTokenCacheRepository;
 import baby.mumu.iam.infra.token.gatewayimpl.cache.PasswordTokenCacheRepository;
 import baby.mumu.log.client.api.OperationLogGrpcService;
@@ -58,9 +69,11 @@ import org.apiguardian.api.API.Status;
 import org.javamoney.moneta.Money;
 import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.scheduling.JobScheduler;
+import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.data.geo.GeoResult;
 import org.springframework.security.authentication.event.LogoutSuccessEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -100,8 +113,13 @@ public class AccountGatewayImpl implements AccountGateway {
     private final OidcIdTokenCacheRepository oidcIdTokenCacheRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
     private final AccountRoleCacheRepository accountRoleCacheRepository;
+    private final AccountAuthorityCacheRepository accountAuthorityCacheRepository;
     private final AccountAvatarDocumentRepository accountAvatarDocumentRepository;
     private final FileGrpcService fileGrpcService;
+    private final SingleFlightCacheLoader singleFlightCacheLoader;
+    private final CacheInvalidationOutbox cacheInvalidationOutbox;
+    private final AccountNearbyReadModel accountNearbyReadModel;
+    private final AccountNearbyDocumentRepository accountNearbyDocumentRepository;
 
     @Autowired
     public AccountGatewayImpl(AccountRepository accountRepository,
@@ -119,7 +137,12 @@ public class AccountGatewayImpl implements AccountGateway {
                               ApplicationEventPublisher applicationEventPublisher,
                               AccountRoleCacheRepository accountRoleCacheRepository,
                               AccountAvatarDocumentRepository accountAvatarDocumentRepository,
-                              FileGrpcService fileGrpcService) {
+                              FileGrpcService fileGrpcService,
+                              AccountAuthorityCacheRepository accountAuthorityCacheRepository,
+                              SingleFlightCacheLoader singleFlightCacheLoader,
+                              CacheInvalidationOutbox cacheInvalidationOutbox,
+                              AccountNearbyReadModel accountNearbyReadModel,
+                              AccountNearbyDocumentRepository accountNearbyDocumentRepository) {
         this.accountRepository = accountRepository;
         this.passwordTokenCacheRepository = passwordTokenCacheRepository;
         this.passwordEncoder = passwordEncoder;
@@ -137,6 +160,11 @@ public class AccountGatewayImpl implements AccountGateway {
         this.accountRoleCacheRepository = accountRoleCacheRepository;
         this.accountAvatarDocumentRepository = accountAvatarDocumentRepository;
         this.fileGrpcService = fileGrpcService;
+        this.accountAuthorityCacheRepository = accountAuthorityCacheRepository;
+        this.singleFlightCacheLoader = singleFlightCacheLoader;
+        this.cacheInvalidationOutbox = cacheInvalidationOutbox;
+        this.accountNearbyReadModel = accountNearbyReadModel;
+        this.accountNearbyDocumentRepository = accountNearbyDocumentRepository;
     }
 
     /**
@@ -178,8 +206,8 @@ public class AccountGatewayImpl implements AccountGateway {
             .flatMap(accountPersistenceConvertor::toAccountAvatarDocumentPO)
             .ifPresent(accountAvatarDocumentRepository::save);
         accountRoleRepository.persistAll(accountPersistenceConvertor.toAccountRolePOS(account));
-        accountCacheRepository.deleteById(persisted.getId());
-        accountRoleCacheRepository.deleteById(persisted.getId());
+        accountNearbyReadModel.refresh(persisted.getId());
+        evictAccountCaches(persisted.getId());
         operationLogGrpcService.syncSubmit(OperationLogSubmitGrpcCmd.newBuilder()
             .setContent("User registration")
             .setBizNo(account.getUsername())
@@ -195,17 +223,9 @@ public class AccountGatewayImpl implements AccountGateway {
     @API(status = Status.STABLE, since = "1.0.0")
     @Transactional(rollbackFor = Exception.class)
     public Optional<Account> findAccountByUsername(String username) {
-        Optional<Account> cachedAccount = accountCacheRepository.findByUsername(username)
-            .flatMap(accountPersistenceConvertor::toEntity);
-        if (cachedAccount.isPresent()) {
-            return cachedAccount;
-        }
-        Optional<Account> dbAccount = accountRepository.findByUsername(username)
-            .flatMap(accountPersistenceConvertor::toEntity);
-        dbAccount.flatMap(accountPersistenceConvertor::toAccountCacheablePO)
-            .ifPresent(accountCacheRepository::save);
-        return dbAccount;
-
+        return singleFlightCacheLoader.load("account:username:" + username,
+            () -> accountCacheRepository.findByUsername(username).flatMap(accountPersistenceConvertor::toEntity),
+            () -> cacheAccount(accountRepository.findByUsername(username).flatMap(accountPersistenceConvertor::toEntity)));
     }
 
     /**
@@ -215,16 +235,33 @@ public class AccountGatewayImpl implements AccountGateway {
     @API(status = Status.STABLE, since = "1.0.0")
     @Transactional(rollbackFor = Exception.class)
     public Optional<Account> findAccountByEmail(String email) {
-        Optional<Account> cached = accountCacheRepository.findByEmail(email)
-            .flatMap(accountPersistenceConvertor::toEntity);
-        if (cached.isPresent()) {
-            return cached;
-        }
-        Optional<Account> dbAccount = accountRepository.findByEmail(email)
-            .flatMap(accountPersistenceConvertor::toEntity);
-        dbAccount.flatMap(accountPersistenceConvertor::toAccountCacheablePO)
-            .ifPresent(accountCacheRepository::save);
-        return dbAccount;
+        return singleFlightCacheLoader.load("account:email:" + email,
+            () -> accountCacheRepository.findByEmail(email).flatMap(accountPersistenceConvertor::toEntity),
+            () -> cacheAccount(accountRepository.findByEmail(email).flatMap(accountPersistenceConvertor::toEntity)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    @Transactional(rollbackFor = Exception.class)
+    public Optional<Account> findAuthenticationAccountByUsername(String username) {
+        return singleFlightCacheLoader.load("account:username:" + username,
+            () -> accountCacheRepository.findByUsername(username).flatMap(accountPersistenceConvertor::toAuthenticationEntity),
+            () -> cacheAuthenticationAccount(accountRepository.findByUsername(username)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    @Transactional(rollbackFor = Exception.class)
+    public Optional<Account> findAuthenticationAccountByEmail(String email) {
+        return singleFlightCacheLoader.load("account:email:" + email,
+            () -> accountCacheRepository.findByEmail(email).flatMap(accountPersistenceConvertor::toAuthenticationEntity),
+            () -> cacheAuthenticationAccount(accountRepository.findByEmail(email)));
     }
 
     /**
@@ -243,8 +280,8 @@ public class AccountGatewayImpl implements AccountGateway {
         AccountPO accountPO = accountPersistenceConvertor.toAccountPO(account)
             .orElseThrow(() -> new ApplicationException(ResponseCode.INVALID_ACCOUNT_FORMAT));
         AccountPO merged = accountRepository.merge(accountPO);
-        accountCacheRepository.deleteById(loginAccountId);
-        accountRoleCacheRepository.deleteById(loginAccountId);
+        accountNearbyReadModel.refresh(loginAccountId);
+        evictAccountCaches(loginAccountId);
         return accountPersistenceConvertor.toEntity(merged);
     }
 
@@ -266,7 +303,7 @@ public class AccountGatewayImpl implements AccountGateway {
         if (accountPO.isPresent()) {
             accountRoleRepository.deleteByAccountId(accountId);
             accountRoleRepository.persistAll(accountPersistenceConvertor.toAccountRolePOS(account));
-            accountRoleCacheRepository.deleteById(accountId);
+            evictAccountAuthorities(accountId);
         }
     }
 
@@ -282,8 +319,8 @@ public class AccountGatewayImpl implements AccountGateway {
         accountPO.setEnabled(false);
         accountRepository.merge(accountPO);
         passwordTokenCacheRepository.deleteById(accountId);
-        accountCacheRepository.deleteById(accountId);
-        accountRoleCacheRepository.deleteById(accountId);
+        applicationEventPublisher.publishEvent(new TokenRevokedEvent(this, accountId));
+        evictAccountCaches(accountId);
     }
 
     /**
@@ -298,19 +335,10 @@ public class AccountGatewayImpl implements AccountGateway {
             return Optional.empty();
         }
         Long accountId = optionalAccountId.get();
-        // 优先查缓存
-        Optional<Account> cachedAccount = accountCacheRepository.findById(accountId)
-            .flatMap(accountPersistenceConvertor::toEntity);
-        if (cachedAccount.isPresent()) {
-            return cachedAccount;
-        }
-        // 缓存未命中，查数据库
-        Optional<Account> dbAccount = accountRepository.findById(accountId)
-            .flatMap(accountPersistenceConvertor::toEntity);
-        // 写入缓存
-        dbAccount.flatMap(accountPersistenceConvertor::toAccountCacheablePO)
-            .ifPresent(accountCacheRepository::save);
-        return dbAccount;
+        // 优先查缓存，未命中时合并回源查数据库并写入缓存
+        return singleFlightCacheLoader.load("account:id:" + accountId,
+            () -> accountCacheRepository.findById(accountId).flatMap(accountPersistenceConvertor::toEntity),
+            () -> cacheAccount(accountRepository.findById(accountId).flatMap(accountPersistenceConvertor::toEntity)));
     }
 
     /**
@@ -337,8 +365,7 @@ public class AccountGatewayImpl implements AccountGateway {
         }
         accountPO.setPassword(passwordEncoder.encode(initialPassword));
         accountRepository.merge(accountPO);
-        accountCacheRepository.deleteById(accountId);
-        accountRoleCacheRepository.deleteById(accountId);
+        evictAccountCaches(accountId);
     }
 
     /**
@@ -378,6 +405,7 @@ public class AccountGatewayImpl implements AccountGateway {
 
         // 删除账号地址信息
         accountAddressDocumentRepository.deleteByAccountId(accountId);
+        accountNearbyReadModel.refresh(accountId);
         // 删除账号系统设置信息
         accountSystemSettingsDocumentRepository.deleteByAccountId(accountId);
 
@@ -398,8 +426,8 @@ public class AccountGatewayImpl implements AccountGateway {
         accountRoleRepository.deleteByAccountId(accountId);
         // 删除缓存
         passwordTokenCacheRepository.deleteById(accountId);
-        accountCacheRepository.deleteById(accountId);
-        accountRoleCacheRepository.deleteById(accountId);
+        applicationEventPublisher.publishEvent(new TokenRevokedEvent(this, accountId));
+        evictAccountCaches(accountId);
     }
 
     /**
@@ -416,6 +444,50 @@ public class AccountGatewayImpl implements AccountGateway {
                 .collect(Collectors.toList())).orElse(new ArrayList<>());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public boolean existsByRoleId(Long roleId) {
+        return roleId != null && accountRoleRepository.existsByIdRoleId(roleId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public Slice<String> findUsernamesByRoleId(Long roleId, int current, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(current - 1, pageSize);
+        if (roleId == null) {
+            return new SliceImpl<>(List.of(), pageRequest, false);
+        }
+        return accountRoleRepository.findUsernamesByRoleId(roleId, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public long countByRoleId(Long roleId) {
+        return roleId == null ? 0L : accountRoleRepository.countByIdRoleId(roleId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public Slice<Long> findIdsByRoleId(Long roleId, int current, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(current - 1, pageSize);
+        if (roleId == null) {
+            return new SliceImpl<>(List.of(), pageRequest, false);
+        }
+        return accountRoleRepository.findAccountIdsByRoleId(roleId, pageRequest);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -446,8 +518,24 @@ public class AccountGatewayImpl implements AccountGateway {
         }
         accountPO.setPassword(passwordEncoder.encode(newPassword));
         accountRepository.merge(accountPO);
-        accountCacheRepository.deleteById(accountId);
-        accountRoleCacheRepository.deleteById(accountId);
+        evictAccountCaches(accountId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    @API(status = Status.STABLE, since = "2.17.0")
+    public void upgradePassword(Long accountId, String encodedPassword) {
+        if (accountId == null || StringUtils.isBlank(encodedPassword)) {
+            return;
+        }
+        accountRepository.findById(accountId).ifPresent(accountPO -> {
+            accountPO.setPassword(encodedPassword);
+            accountRepository.merge(accountPO);
+            cacheInvalidationOutbox.deleteById(accountCacheRepository, accountId);
+        });
     }
 
     /**
@@ -473,8 +561,8 @@ public class AccountGatewayImpl implements AccountGateway {
         accountArchivedRepository.persist(archivedPO);
         // 删除主表和缓存
         accountRepository.deleteById(accountId);
-        accountCacheRepository.deleteById(accountId);
-        accountRoleCacheRepository.deleteById(accountId);
+        accountNearbyReadModel.refresh(accountId);
+        evictAccountCaches(accountId);
         // 安排归档后的延迟清理任务
         GlobalProperties global = extensionProperties.getGlobal();
         Instant triggerTime = Instant.now()
@@ -509,6 +597,7 @@ public class AccountGatewayImpl implements AccountGateway {
         accountPO.setArchived(false);
         accountArchivedRepository.deleteById(accountId);
         accountRepository.persist(accountPO);
+        accountNearbyReadModel.refresh(accountId);
     }
 
     /**
@@ -524,8 +613,8 @@ public class AccountGatewayImpl implements AccountGateway {
                     accountAddressPO -> accountRepository.findById(accountId).ifPresent(_ -> {
                         accountAddressPO.setAccountId(accountId);
                         accountAddressDocumentRepository.save(accountAddressPO);
-                        accountCacheRepository.deleteById(accountId);
-                        accountRoleCacheRepository.deleteById(accountId);
+                        accountNearbyReadModel.refresh(accountId);
+                        evictAccountCaches(accountId);
                     })));
     }
 
@@ -535,15 +624,12 @@ public class AccountGatewayImpl implements AccountGateway {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Optional<Account> getAccountBasicInfoById(Long accountId) {
-        // noinspection DuplicatedCode
-        return Optional.ofNullable(accountId).flatMap(accountCacheRepository::findById)
-            .flatMap(accountPersistenceConvertor::toEntity).or(() -> {
-                Optional<Account> account = accountRepository.findById(accountId)
-                    .flatMap(accountPersistenceConvertor::toBasicInfoEntity);
-                account.flatMap(accountPersistenceConvertor::toAccountCacheablePO)
-                    .ifPresent(accountCacheRepository::save);
-                return account;
-            });
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        return singleFlightCacheLoader.load("account:id:" + accountId,
+            () -> accountCacheRepository.findById(accountId).flatMap(accountPersistenceConvertor::toEntity),
+            () -> cacheAccount(accountRepository.findById(accountId).flatMap(accountPersistenceConvertor::toBasicInfoEntity)));
     }
 
     /**
@@ -551,15 +637,12 @@ public class AccountGatewayImpl implements AccountGateway {
      */
     @Override
     public Optional<Account> findById(Long accountId) {
-        // noinspection DuplicatedCode
-        return Optional.ofNullable(accountId).flatMap(accountCacheRepository::findById)
-            .flatMap(accountPersistenceConvertor::toEntity).or(() -> {
-                Optional<Account> account = accountRepository.findById(accountId)
-                    .flatMap(accountPersistenceConvertor::toEntity);
-                account.flatMap(accountPersistenceConvertor::toAccountCacheablePO)
-                    .ifPresent(accountCacheRepository::save);
-                return account;
-            });
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        return singleFlightCacheLoader.load("account:id:" + accountId,
+            () -> accountCacheRepository.findById(accountId).flatMap(accountPersistenceConvertor::toEntity),
+            () -> cacheAccount(accountRepository.findById(accountId).flatMap(accountPersistenceConvertor::toEntity)));
     }
 
     /**
@@ -627,7 +710,7 @@ public class AccountGatewayImpl implements AccountGateway {
                 accountPersistenceConvertor::resetAccountSystemSettingsDocumentPO)
             .ifPresent(accountSystemSettingsMongodbPO -> {
                 accountSystemSettingsDocumentRepository.save(accountSystemSettingsMongodbPO);
-                accountCacheRepository.deleteById(accountSystemSettingsMongodbPO.getAccountId());
+                cacheInvalidationOutbox.deleteById(accountCacheRepository, accountSystemSettingsMongodbPO.getAccountId());
             });
     }
 
@@ -645,7 +728,7 @@ public class AccountGatewayImpl implements AccountGateway {
             .flatMap(_ -> accountPersistenceConvertor.toAccountSystemSettingsDocumentPO(
                 accountSystemSettings)).ifPresent(accountSystemSettingsMongodbPO -> {
                 accountSystemSettingsDocumentRepository.save(accountSystemSettingsMongodbPO);
-                accountCacheRepository.deleteById(accountSystemSettingsMongodbPO.getAccountId());
+                cacheInvalidationOutbox.deleteById(accountCacheRepository, accountSystemSettingsMongodbPO.getAccountId());
             });
     }
 
@@ -663,7 +746,8 @@ public class AccountGatewayImpl implements AccountGateway {
             .flatMap(_ -> accountPersistenceConvertor.toAccountAddressDocumentPO(
                 accountAddress)).ifPresent(accountAddressMongodbPO -> {
                 accountAddressDocumentRepository.save(accountAddressMongodbPO);
-                accountCacheRepository.deleteById(accountAddressMongodbPO.getAccountId());
+                accountNearbyReadModel.refresh(accountAddressMongodbPO.getAccountId());
+                cacheInvalidationOutbox.deleteById(accountCacheRepository, accountAddressMongodbPO.getAccountId());
             });
     }
 
@@ -683,7 +767,7 @@ public class AccountGatewayImpl implements AccountGateway {
                     accountSystemSettingsMongodbPO -> {
                         accountSystemSettingsMongodbPO.setAccountId(accountId);
                         accountSystemSettingsDocumentRepository.save(accountSystemSettingsMongodbPO);
-                        accountCacheRepository.deleteById(accountSystemSettingsMongodbPO.getAccountId());
+                        cacheInvalidationOutbox.deleteById(accountCacheRepository, accountSystemSettingsMongodbPO.getAccountId());
                     }));
     }
 
@@ -700,9 +784,9 @@ public class AccountGatewayImpl implements AccountGateway {
         Long accountId = optionalAccountId.get();
         // 清除缓存
         passwordTokenCacheRepository.deleteById(accountId);
+        applicationEventPublisher.publishEvent(new TokenRevokedEvent(this, accountId));
         oidcIdTokenCacheRepository.deleteById(accountId);
-        accountCacheRepository.deleteById(accountId);
-        accountRoleCacheRepository.deleteById(accountId);
+        evictAccountCaches(accountId);
         // 发布登出成功事件
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null) {
@@ -733,9 +817,9 @@ public class AccountGatewayImpl implements AccountGateway {
                         new OfflineSuccessEvent(
                             this, passwordTokenCacheablePO.getTokenValue())));
             passwordTokenCacheRepository.deleteById(accountIdNotNull);
+            applicationEventPublisher.publishEvent(new TokenRevokedEvent(this, accountIdNotNull));
             oidcIdTokenCacheRepository.deleteById(accountIdNotNull);
-            accountCacheRepository.deleteById(accountIdNotNull);
-            accountRoleCacheRepository.deleteById(accountIdNotNull);
+            evictAccountCaches(accountIdNotNull);
             SecurityContextUtils.getLoginAccountName().ifPresent(
                 accountName -> operationLogGrpcService.syncSubmit(OperationLogSubmitGrpcCmd.newBuilder()
                     .setContent("User offline")
@@ -763,6 +847,26 @@ public class AccountGatewayImpl implements AccountGateway {
             .toList(), pageRequest, accountPOS.getTotalElements());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    @Transactional(rollbackFor = Exception.class)
+    public Page<Account> findAll(Account account, @NonNull KeysetCursor cursor, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        AccountPO accountPO = accountPersistenceConvertor.toAccountPO(account).orElseGet(AccountPO::new);
+        List<Long> roleIds = Optional.ofNullable(account).flatMap(accountEntity -> Optional.ofNullable(
+                accountEntity.getRoles()))
+            .map(roles -> roles.stream().map(Role::getId).collect(
+                Collectors.toList())).orElse(null);
+        Slice<AccountPO> accountPOS = accountRepository.findAllSliceAfter(accountPO, roleIds,
+            cursor.creationTime(), cursor.id(), pageRequest);
+        return new PageImpl<>(accountPOS.getContent().stream()
+            .flatMap(accountPOInPage -> accountPersistenceConvertor.toEntity(accountPOInPage).stream())
+            .toList(), pageRequest, accountRepository.countAll(accountPO, roleIds));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -781,30 +885,40 @@ public class AccountGatewayImpl implements AccountGateway {
             .toList(), pageRequest, accountPOS.hasNext());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    @Transactional(rollbackFor = Exception.class)
+    public Slice<Account> findAllSlice(Account account, @NonNull KeysetCursor cursor, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        Slice<AccountPO> accountPOS = accountRepository.findAllSliceAfter(
+            accountPersistenceConvertor.toAccountPO(account).orElseGet(AccountPO::new),
+            Optional.ofNullable(account).flatMap(accountEntity -> Optional.ofNullable(
+                    accountEntity.getRoles()))
+                .map(roles -> roles.stream().map(Role::getId).collect(
+                    Collectors.toList())).orElse(null), cursor.creationTime(), cursor.id(), pageRequest);
+        return new SliceImpl<>(accountPOS.getContent().stream()
+            .flatMap(accountPO -> accountPersistenceConvertor.toEntity(accountPO).stream())
+            .toList(), pageRequest, accountPOS.hasNext());
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public List<Account> nearby(double radiusInMeters) {
-        return SecurityContextUtils.getLoginAccountId().flatMap(accountId ->
-                accountAddressDocumentRepository.findByAccountId(accountId).stream()
-                    .filter(AccountAddressDocumentPO::isDefaultAddress).findAny()
-            ).filter(accountAddressMongodbPO -> accountAddressMongodbPO.getLocation() != null)
-            .map(accountAddressMongodbPO -> {
-                List<AccountAddressDocumentPO> byLocationWithin = accountAddressDocumentRepository.findByLocationWithin(
-                    accountAddressMongodbPO.getLocation().getX(),
-                    accountAddressMongodbPO.getLocation().getY(), radiusInMeters / 6378137);
-                return accountRepository.findAllById(byLocationWithin.stream().filter(
-                        accountAddressMongodbPOProbablyTheCurrentUser -> !Objects.equals(
-                            accountAddressMongodbPO.getAccountId(),
-                            accountAddressMongodbPOProbablyTheCurrentUser.getAccountId())).collect(
-                        Collectors.toMap(AccountAddressDocumentPO::getAccountId,
-                            AccountAddressDocumentPO::getAccountId,
-                            (existing, _) -> existing)).values()).stream()
-                    .flatMap(accountPO -> accountPersistenceConvertor.toBasicInfoEntity(accountPO).stream())
-                    .collect(Collectors.toList());
-            }).orElse(new ArrayList<>());
+    @API(status = Status.STABLE, since = "2.17.0")
+    public List<AccountNearby> nearby(double radiusInMeters, String cursor, int pageSize) {
+        Optional<NearbyCursor> nearbyCursor = NearbyCursor.decode(cursor);
+        return SecurityContextUtils.getLoginAccountId()
+            .flatMap(accountId -> accountNearbyDocumentRepository.findById(accountId)
+                .or(() -> accountNearbyReadModel.rebuild(accountId)))
+            // 从上一页最后一条记录之后继续，并排除自身
+            .map(origin -> toAccountNearbyList(accountNearbyDocumentRepository.findNearby(origin.getLocation(),
+                origin.getAccountId(), radiusInMeters, nearbyCursor.orElse(null), pageSize)))
+            .orElse(new ArrayList<>());
     }
 
     /**
@@ -828,7 +942,8 @@ public class AccountGatewayImpl implements AccountGateway {
             ).ifPresent(accountAddressMongodbPO -> {
                 accountAddressMongodbPO.setDefaultAddress(true);
                 accountAddressDocumentRepository.save(accountAddressMongodbPO);
-                accountCacheRepository.deleteById(accountAddressMongodbPO.getAccountId());
+                accountNearbyReadModel.refresh(accountAddressMongodbPO.getAccountId());
+                cacheInvalidationOutbox.deleteById(accountCacheRepository, accountAddressMongodbPO.getAccountId());
             });
     }
 
@@ -855,7 +970,7 @@ public class AccountGatewayImpl implements AccountGateway {
             ).ifPresent(accountSystemSettingsMongodbPO -> {
                 accountSystemSettingsMongodbPO.setDefaultSystemSettings(true);
                 accountSystemSettingsDocumentRepository.save(accountSystemSettingsMongodbPO);
-                accountCacheRepository.deleteById(accountSystemSettingsMongodbPO.getAccountId());
+                cacheInvalidationOutbox.deleteById(accountCacheRepository, accountSystemSettingsMongodbPO.getAccountId());
             });
     }
 
@@ -872,7 +987,7 @@ public class AccountGatewayImpl implements AccountGateway {
                 .filter(accountAddressMongodbPO -> !accountAddressMongodbPO.isDefaultAddress())
                 .ifPresent(accountAddressMongodbPO -> {
                     accountAddressDocumentRepository.deleteById(addressId);
-                    accountCacheRepository.deleteById(accountAddressMongodbPO.getAccountId());
+                    cacheInvalidationOutbox.deleteById(accountCacheRepository, accountAddressMongodbPO.getAccountId());
                 });
         }
     }
@@ -894,8 +1009,60 @@ public class AccountGatewayImpl implements AccountGateway {
                 .ifPresent(
                     accountSystemSettingsMongodbPO -> {
                         accountSystemSettingsDocumentRepository.deleteById(systemSettingsId);
-                        accountCacheRepository.deleteById(accountSystemSettingsMongodbPO.getAccountId());
+                        cacheInvalidationOutbox.deleteById(accountCacheRepository, accountSystemSettingsMongodbPO.getAccountId());
                     });
         }
     }
+
+    /**
+     * 提交后失效账号信息、账号角色与有效权限快照缓存
+     *
+     * @param accountId 账号ID
+     */
+    private void evictAccountCaches(Long accountId) {
+        cacheInvalidationOutbox.deleteById(accountCacheRepository, accountId);
+        evictAccountAuthorities(accountId);
+    }
+
+    /**
+     * 提交后失效账号角色与有效权限快照缓存
+     *
+     * @param accountId 账号ID
+     */
+    private void evictAccountAuthorities(Long accountId) {
+        cacheInvalidationOutbox.deleteById(accountRoleCacheRepository, accountId);
+        cacheInvalidationOutbox.deleteById(accountAuthorityCacheRepository, accountId);
+    }
+
+    private @NonNull List<AccountNearby> toAccountNearbyList(
+        @NonNull List<GeoResult<AccountNearbyDocumentPO>> geoResults) {
+        List<AccountNearby> accountNearbyList = new ArrayList<>();
+        for (GeoResult<AccountNearbyDocumentPO> geoResult : geoResults) {
+            double distance = geoResult.getDistance().getValue();
+            String rowCursor = new NearbyCursor(distance, geoResult.getContent().getAccountId()).encode();
+            accountPersistenceConvertor.toAccountNearby(geoResult.getContent()).ifPresent(accountNearby -> {
+                accountNearby.setDistance(distance);
+                accountNearby.setCursor(rowCursor);
+                accountNearbyList.add(accountNearby);
+            });
+        }
+        return accountNearbyList;
+    }
+
+    /**
+     * 认证路径未命中时按完整账号回填共享缓存，再从缓存对象派生认证使用的账号，
+     * 避免缺少地址、头像与系统设置的账号进入缓存后被资料查询读取
+     */
+    private Optional<Account> cacheAuthenticationAccount(@NonNull Optional<AccountPO> accountPO) {
+        Optional<AccountCacheablePO> accountCacheablePO = accountPO.flatMap(accountPersistenceConvertor::toEntity)
+            .flatMap(accountPersistenceConvertor::toAccountCacheablePO);
+        accountCacheablePO.ifPresent(accountCacheRepository::save);
+        return accountCacheablePO.flatMap(accountPersistenceConvertor::toAuthenticationEntity);
+    }
+
+    private Optional<Account> cacheAccount(@NonNull Optional<Account> account) {
+        account.flatMap(accountPersistenceConvertor::toAccountCacheablePO)
+            .ifPresent(accountCacheRepository::save);
+        return account;
+    }
 }
@@ -16,7 +16,9 @@
 
 package baby.mumu.iam.infra.account.gatewayimpl.cache;
 
+import baby.mumu.basis.enums.CacheLevelEnum;
 import baby.mumu.iam.infra.account.gatewayimpl.cache.po.AccountCacheablePO;
+import baby.mumu.iam.infra.nearcache.NearCached;
 import com.redis.om.spring.repository.RedisDocumentRepository;
 
 import java.util.Optional;
@@ -27,6 +29,7 @@ import java.util.Optional;
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 2.2.0
  */
+@NearCached(level = CacheLevelEnum.MEDIUM)
 public interface AccountCacheRepository extends
     RedisDocumentRepository<AccountCacheablePO, Long> {
 
@@ -27,6 +27,7 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.Optional;
 
@@ -91,16 +92,41 @@ public interface AccountRepository extends BaseJpaRepository<AccountPO, Long>,
      * @return 查询结果
      */
     @Query("""
-        select distinct r from AccountPO r left join AccountRolePO ra on r.id =ra.id.roleId
+        select r from AccountPO r
             where (:#{#accountPO.id} is null or r.id = :#{#accountPO.id})
             and (:#{#accountPO.username} is null or r.username like %:#{#accountPO.username}%)
             and (:#{#accountPO.phone} is null or r.phone like %:#{#accountPO.phone}%)
-            and (:#{#roleIds} is null or ra.id.roleId in :#{#roleIds})
-            and (:#{#accountPO.email} is null or r.email like %:#{#accountPO.email}%) order by r.creationTime desc
+            and (:#{#roleIds} is null or exists (select 1 from AccountRolePO ra where ra.id.accountId = r.id and ra.id.roleId in :#{#roleIds}))
+            and (:#{#accountPO.email} is null or r.email like %:#{#accountPO.email}%) order by r.creationTime desc, r.id desc
         """)
     Slice<AccountPO> findAllSlice(@Param("accountPO") AccountPO accountPO,
                                   @Param("roleIds") Collection<Long> roleIds, Pageable pageable);
 
+    /**
+     * 键集切片分页查询账号（不查询总数），从游标之后开始查询
+     *
+     * @param accountPO    查询条件
+     * @param roleIds      角色ID集合
+     * @param creationTime 游标创建时间
+     * @param id           游标ID
+     * @param pageable     分页条件
+     * @return 查询结果
+     * @since 2.17.0
+     */
+    @Query("""
+        select r from AccountPO r
+            where (r.creationTime, r.id) < (:creationTime, :id)
+            and (:#{#accountPO.id} is null or r.id = :#{#accountPO.id})
+            and (:#{#accountPO.username} is null or r.username like %:#{#accountPO.username}%)
+            and (:#{#accountPO.phone} is null or r.phone like %:#{#accountPO.phone}%)
+            and (:#{#roleIds} is null or exists (select 1 from AccountRolePO ra where ra.id.accountId = r.id and ra.id.roleId in :#{#roleIds}))
+            and (:#{#accountPO.email} is null or r.email like %:#{#accountPO.email}%) order by r.creationTime desc, r.id desc
+        """)
+    Slice<AccountPO> findAllSliceAfter(@Param("accountPO") AccountPO accountPO,
+                                       @Param("roleIds") Collection<Long> roleIds,
+                                       @Param("creationTime") OffsetDateTime creationTime,
+                                       @Param("id") Long id, Pageable pageable);
+
     /**
      * 分页查询账号（查询总数）
      *
@@ -110,13 +136,31 @@ public interface AccountRepository extends BaseJpaRepository<AccountPO, Long>,
      * @return 查询结果
      */
     @Query("""
-        select distinct r from AccountPO r left join AccountRolePO ra on r.id =ra.id.roleId
+        select r from AccountPO r
             where (:#{#accountPO.id} is null or r.id = :#{#accountPO.id})
             and (:#{#accountPO.username} is null or r.username like %:#{#accountPO.username}%)
             and (:#{#accountPO.phone} is null or r.phone like %:#{#accountPO.phone}%)
-            and (:#{#roleIds} is null or ra.id.roleId in :#{#roleIds})
-            and (:#{#accountPO.email} is null or r.email like %:#{#accountPO.email}%) order by r.creationTime desc
+            and (:#{#roleIds} is null or exists (select 1 from AccountRolePO ra where ra.id.accountId = r.id and ra.id.roleId in :#{#roleIds}))
+            and (:#{#accountPO.email} is null or r.email like %:#{#accountPO.email}%) order by r.creationTime desc, r.id desc
         """)
     Page<AccountPO> findAllPage(@Param("accountPO") AccountPO accountPO,
                                 @Param("roleIds") Collection<Long> roleIds, Pageable pageable);
+
+    /**
+     * 统计符合条件的账号数量
+     *
+     * @param accountPO 查询条件
+     * @param roleIds   角色ID集合
+     * @return 账号数量
+     * @since 2.17.0
+     */
+    @Query("""
+        select count(r) from AccountPO r
+            where (:#{#accountPO.id} is null or r.id = :#{#accountPO.id})
+            and (:#{#accountPO.username} is null or r.username like %:#{#accountPO.username}%)
+            and (:#{#accountPO.phone} is null or r.phone like %:#{#accountPO.phone}%)
+            and (:#{#roleIds} is null or exists (select 1 from AccountRolePO ra where ra.id.accountId = r.id and ra.id.roleId in :#{#roleIds}))
+            and (:#{#accountPO.email} is null or r.email like %:#{#accountPO.email}%)
+        """)
+    long countAll(@Param("accountPO") AccountPO accountPO, @Param("roleIds") Collection<Long> roleIds);
 }
@@ -21,6 +21,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 账号地址
@@ -35,6 +36,14 @@ public interface AccountAddressDocumentRepository extends
 
     List<AccountAddressDocumentPO> findByAccountId(Long accountId);
 
+    /**
+     * 流式查询所有默认地址
+     *
+     * @return 默认地址
+     * @since 2.17.0
+     */
+    Stream<AccountAddressDocumentPO> findByDefaultAddressTrue();
+
     @Query("""
         { 'location': { $geoWithin: { $centerSphere: [ [ ?0, ?1 ], ?2 ] } } }
         """)
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.account.gatewayimpl.document;
+
+import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountNearbyDocumentPO;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * 附近的账号读模型
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public interface AccountNearbyDocumentRepository extends
+    MongoRepository<AccountNearbyDocumentPO, Long>, AccountNearbyDocumentRepositoryCustom {
+}
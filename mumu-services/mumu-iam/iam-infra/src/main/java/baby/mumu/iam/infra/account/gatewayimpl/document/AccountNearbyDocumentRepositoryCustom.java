@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package baby.mumu.iam.infra.account.gatewayimpl.document;
+
+import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountNearbyDocumentPO;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.List;
+
+/**
+ * 附近的账号读模型自定义查询
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public interface AccountNearbyDocumentRepositoryCustom {
+
+    /**
+     * 按（距离，账号ID）顺序查询中心点指定半径内排在游标之后的账号
+     *
+     * @param location          中心点
+     * @param excludedAccountId 需要排除的账号ID
+     * @param radiusInMeters    半径（米，包含边界）
+     * @param after             游标，为空时从最近的账号开始
+     * @param pageSize          每页数量
+     * @return 携带距离（米）的查询结果
+     */
+    List<GeoResult<AccountNearbyDocumentPO>> findNearby(GeoJsonPoint location, Long excludedAccountId,
+                                                        double radiusInMeters, NearbyCursor after, int pageSize);
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package baby.mumu.iam.infra.account.gatewayimpl.document;
+
+import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountNearbyDocumentPO;
+import org.bson.Document;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 附近的账号读模型自定义查询实现
+ * <p>
+ * $geoNear 只按距离排序，同距离记录的先后不确定，因此同距离的记录单独按账号ID排序查询：
+ * 先补齐游标所在距离上账号ID更大的记录，再查询更远的记录，若结果被每页数量截断则按账号ID重新取出最后一组同距离记录。
+ * GeoJSON 查询使用 {@link Metrics#NEUTRAL}，距离以米为单位原样传递，避免单位换算导致游标边界无法精确匹配
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class AccountNearbyDocumentRepositoryCustomImpl implements AccountNearbyDocumentRepositoryCustom {
+
+    private static final String ID_FIELD = "_id";
+    private static final String DISTANCE_FIELD = "distance";
+    private static final Comparator<GeoResult<AccountNearbyDocumentPO>> ORDER = Comparator.comparing(
+        AccountNearbyDocumentRepositoryCustomImpl::toCursor, NearbyCursor.ORDER);
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public AccountNearbyDocumentRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GeoResult<AccountNearbyDocumentPO>> findNearby(GeoJsonPoint location, Long excludedAccountId,
+                                                               double radiusInMeters, NearbyCursor after,
+                                                               int pageSize) {
+        List<GeoResult<AccountNearbyDocumentPO>> page = new ArrayList<>();
+        if (pageSize <= 0 || (after != null && after.distance() > radiusInMeters)) {
+            return page;
+        }
+        if (after != null) {
+            page.addAll(findTied(location, excludedAccountId, after.distance(), after.accountId(), pageSize));
+        }
+        int limit = pageSize - page.size();
+        if (limit > 0) {
+            List<GeoResult<AccountNearbyDocumentPO>> farther = new ArrayList<>(
+                findFarther(location, excludedAccountId, after == null ? null : after.distance(), radiusInMeters,
+                    limit));
+            if (farther.size() == limit) {
+                double lastDistance = farther.getLast().getDistance().getValue();
+                int truncated = (int) farther.stream()
+                    .filter(geoResult -> Double.compare(geoResult.getDistance().getValue(), lastDistance) == 0)
+                    .count();
+                farther.removeIf(geoResult -> Double.compare(geoResult.getDistance().getValue(), lastDistance) == 0);
+                farther.addAll(findTied(location, excludedAccountId, lastDistance, null, truncated));
+            }
+            page.addAll(farther);
+        }
+        page.sort(AccountNearbyDocumentRepositoryCustomImpl.ORDER);
+        return page;
+    }
+
+    /**
+     * 按账号ID顺序查询与中心点距离恰好为指定值的记录
+     *
+     * @param location          中心点
+     * @param excludedAccountId 需要排除的账号ID
+     * @param distance          距离（米）
+     * @param afterAccountId    只返回账号ID大于该值的记录，为空时不限制
+     * @param limit             最大数量
+     * @return 查询结果
+     */
+    List<GeoResult<AccountNearbyDocumentPO>> findTied(GeoJsonPoint location, Long excludedAccountId,
+                                                      double distance, Long afterAccountId, int limit) {
+        Criteria criteria = Criteria.where(AccountNearbyDocumentRepositoryCustomImpl.ID_FIELD).ne(excludedAccountId);
+        if (afterAccountId != null) {
+            criteria = criteria.gt(afterAccountId);
+        }
+        NearQuery nearQuery = NearQuery.near(location).spherical(true)
+            .minDistance(new Distance(distance, Metrics.NEUTRAL))
+            .maxDistance(new Distance(distance, Metrics.NEUTRAL))
+            .query(new Query(criteria));
+        return aggregate(List.of(
+            Aggregation.geoNear(nearQuery, AccountNearbyDocumentRepositoryCustomImpl.DISTANCE_FIELD),
+            Aggregation.sort(Sort.Direction.ASC, AccountNearbyDocumentRepositoryCustomImpl.ID_FIELD),
+            Aggregation.limit(limit)));
+    }
+
+    /**
+     * 按距离由近及远查询距离大于指定值的记录，同距离记录的先后不确定
+     *
+     * @param location          中心点
+     * @param excludedAccountId 需要排除的账号ID
+     * @param afterDistance     只返回距离大于该值的记录，为空时从中心点开始
+     * @param radiusInMeters    半径（米，包含边界）
+     * @param limit             最大数量
+     * @return 查询结果
+     */
+    List<GeoResult<AccountNearbyDocumentPO>> findFarther(GeoJsonPoint location, Long excludedAccountId,
+                                                         Double afterDistance, double radiusInMeters, int limit) {
+        NearQuery nearQuery = NearQuery.near(location).spherical(true)
+            .minDistance(new Distance(afterDistance == null ? 0D : afterDistance, Metrics.NEUTRAL))
+            .maxDistance(new Distance(radiusInMeters, Metrics.NEUTRAL))
+            .query(new Query(
+                Criteria.where(AccountNearbyDocumentRepositoryCustomImpl.ID_FIELD).ne(excludedAccountId)));
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(Aggregation.geoNear(nearQuery, AccountNearbyDocumentRepositoryCustomImpl.DISTANCE_FIELD));
+        if (afterDistance != null) {
+            // minDistance 包含边界，游标所在距离的记录已由按账号ID排序的查询返回
+            operations.add(Aggregation.match(
+                Criteria.where(AccountNearbyDocumentRepositoryCustomImpl.DISTANCE_FIELD).gt(afterDistance)));
+        }
+        operations.add(Aggregation.limit(limit));
+        return aggregate(operations);
+    }
+
+    private @NonNull List<GeoResult<AccountNearbyDocumentPO>> aggregate(List<AggregationOperation> operations) {
+        return mongoTemplate.aggregate(Aggregation.newAggregation(operations), AccountNearbyDocumentPO.class,
+                Document.class).getMappedResults().stream()
+            .map(document -> new GeoResult<>(
+                mongoTemplate.getConverter().read(AccountNearbyDocumentPO.class, document),
+                new Distance(document.get(AccountNearbyDocumentRepositoryCustomImpl.DISTANCE_FIELD, Number.class)
+                    .doubleValue(), Metrics.NEUTRAL)))
+            .toList();
+    }
+
+    private static @NonNull NearbyCursor toCursor(@NonNull GeoResult<AccountNearbyDocumentPO> geoResult) {
+        return new NearbyCursor(geoResult.getDistance().getValue(), geoResult.getContent().getAccountId());
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.account.gatewayimpl.document;
+
+import baby.mumu.iam.infra.account.gatewayimpl.database.AccountRepository;
+import baby.mumu.iam.infra.account.gatewayimpl.database.po.AccountPO;
+import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountAddressDocumentPO;
+import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountNearbyDocumentPO;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * 附近的账号读模型维护
+ * <p>
+ * 账号资料、默认地址或头像变更后由网关调用 {@link #refresh(Long)} 登记待重建的账号，事务提交后再根据已提交的数据重建，
+ * 回滚时丢弃；应用就绪后在后台线程按默认地址比对缺失的记录并补齐，中断的回填会在下次启动时继续
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class AccountNearbyReadModel implements DisposableBean {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final Logger log = LoggerFactory.getLogger(AccountNearbyReadModel.class);
+    private final AccountNearbyDocumentRepository accountNearbyDocumentRepository;
+    private final AccountRepository accountRepository;
+    private final AccountAddressDocumentRepository accountAddressDocumentRepository;
+    private final AccountAvatarDocumentRepository accountAvatarDocumentRepository;
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("mumu-iam-nearby-backfill").daemon(true).factory());
+
+    @Autowired
+    public AccountNearbyReadModel(AccountNearbyDocumentRepository accountNearbyDocumentRepository,
+                                  AccountRepository accountRepository,
+                                  AccountAddressDocumentRepository accountAddressDocumentRepository,
+                                  AccountAvatarDocumentRepository accountAvatarDocumentRepository) {
+        this.accountNearbyDocumentRepository = accountNearbyDocumentRepository;
+        this.accountRepository = accountRepository;
+        this.accountAddressDocumentRepository = accountAddressDocumentRepository;
+        this.accountAvatarDocumentRepository = accountAvatarDocumentRepository;
+    }
+
+    /**
+     * 登记待重建的账号，事务提交后重建，无事务时立即重建
+     * <p>
+     * 账号已删除、已归档或默认地址没有定位时重建结果为删除对应记录
+     *
+     * @param accountId 账号ID
+     */
+    public void refresh(Long accountId) {
+        if (accountId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild(accountId);
+            return;
+        }
+        pending().add(accountId);
+    }
+
+    /**
+     * 根据账号当前资料、默认地址与头像立即重建读模型，账号不存在或默认地址没有定位时删除对应记录
+     *
+     * @param accountId 账号ID
+     * @return 重建后的读模型
+     */
+    public Optional<AccountNearbyDocumentPO> rebuild(Long accountId) {
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        Optional<AccountNearbyDocumentPO> accountNearbyDocumentPO = accountRepository.findById(accountId)
+            .flatMap(accountPO -> accountAddressDocumentRepository.findByAccountId(accountId).stream()
+                .filter(AccountAddressDocumentPO::isDefaultAddress)
+                .map(AccountAddressDocumentPO::getLocation)
+                .filter(Objects::nonNull)
+                .findAny()
+                .map(location -> toAccountNearbyDocumentPO(accountPO, location)));
+        accountNearbyDocumentPO.ifPresentOrElse(accountNearbyDocumentRepository::save,
+            () -> accountNearbyDocumentRepository.deleteById(accountId));
+        return accountNearbyDocumentPO;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> pending() {
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Set<Long> accountIds = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, accountIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accountIds.forEach(accountId -> {
+                    try {
+                        rebuild(accountId);
+                    } catch (RuntimeException e) {
+                        // 重建失败不影响已提交的事务，缺失的记录由下次启动时的回填补齐
+                        AccountNearbyReadModel.log.warn("Failed to rebuild nearby read model of account {}",
+                            accountId, e);
+                    }
+                });
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AccountNearbyReadModel.this);
+            }
+        });
+        return accountIds;
+    }
+
+    /**
+     * 应用就绪后在后台线程回填缺失的读模型
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            backfillExecutor.execute(this::backfillMissing);
+        } catch (RejectedExecutionException e) {
+            AccountNearbyReadModel.log.warn("Nearby read model backfill rejected", e);
+        }
+    }
+
+    /**
+     * 按默认地址分批比对，只重建读模型中缺失的账号；按账号ID幂等写入，多个实例同时回填也不会产生重复数据
+     */
+    private void backfillMissing() {
+        List<Long> batch = new ArrayList<>(AccountNearbyReadModel.BACKFILL_BATCH_SIZE);
+        try (Stream<AccountAddressDocumentPO> defaultAddresses = accountAddressDocumentRepository.findByDefaultAddressTrue()) {
+            defaultAddresses.filter(accountAddressDocumentPO -> accountAddressDocumentPO.getLocation() != null)
+                .map(AccountAddressDocumentPO::getAccountId)
+                .filter(Objects::nonNull)
+                .forEach(accountId -> {
+                    batch.add(accountId);
+                    if (batch.size() >= AccountNearbyReadModel.BACKFILL_BATCH_SIZE) {
+                        rebuildMissing(batch);
+                        batch.clear();
+                    }
+                });
+            rebuildMissing(batch);
+        } catch (RuntimeException e) {
+            AccountNearbyReadModel.log.warn("Nearby read model backfill interrupted", e);
+        }
+    }
+
+    private void rebuildMissing(@NonNull List<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new LinkedHashSet<>(accountIds);
+        Set<Long> existing = new HashSet<>();
+        accountNearbyDocumentRepository.findAllById(missing)
+            .forEach(accountNearbyDocumentPO -> existing.add(accountNearbyDocumentPO.getAccountId()));
+        missing.removeAll(existing);
+        missing.forEach(this::rebuild);
+    }
+
+    private @NonNull AccountNearbyDocumentPO toAccountNearbyDocumentPO(@NonNull AccountPO accountPO,
+                                                                        GeoJsonPoint location) {
+        AccountNearbyDocumentPO accountNearbyDocumentPO = new AccountNearbyDocumentPO();
+        accountNearbyDocumentPO.setAccountId(accountPO.getId());
+        accountNearbyDocumentPO.setLocation(location);
+        accountNearbyDocumentPO.setUsername(accountPO.getUsername());
+        accountNearbyDocumentPO.setNickName(accountPO.getNickName());
+        accountNearbyDocumentPO.setBio(accountPO.getBio());
+        accountNearbyDocumentPO.setTimezone(accountPO.getTimezone());
+        accountNearbyDocumentPO.setLanguage(accountPO.getLanguage());
+        accountAvatarDocumentRepository.findByAccountId(accountPO.getId()).ifPresent(accountAvatarDocumentPO -> {
+            AccountNearbyDocumentPO.Avatar avatar = new AccountNearbyDocumentPO.Avatar();
+            avatar.setId(accountAvatarDocumentPO.getId());
+            avatar.setSource(accountAvatarDocumentPO.getSource());
+            avatar.setFileId(accountAvatarDocumentPO.getFileId());
+            avatar.setUrl(accountAvatarDocumentPO.getUrl());
+            accountNearbyDocumentPO.setAvatar(avatar);
+        });
+        return accountNearbyDocumentPO;
+    }
+
+    @Override
+    public void destroy() {
+        backfillExecutor.shutdownNow();
+    }
+}
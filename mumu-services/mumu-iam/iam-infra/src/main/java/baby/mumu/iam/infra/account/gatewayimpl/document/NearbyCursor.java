@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.account.gatewayimpl.document;
+
+import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.response.ResponseCode;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * 附近的账号游标
+ * <p>
+ * 附近的账号按（距离，账号ID）排序，游标记录上一页最后一条记录的距离与账号ID，下一页只返回排在其后的记录，
+ * 距离相同的账号按账号ID先后返回，既不重复也不遗漏，游标长度与同距离账号的数量无关
+ *
+ * @param distance  距离（米），与 $geoNear 返回的距离一致，不做单位换算
+ * @param accountId 账号ID
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public record NearbyCursor(double distance, long accountId) {
+
+    /**
+     * 附近的账号排序规则：先按距离，距离相同时按账号ID
+     */
+    public static final Comparator<NearbyCursor> ORDER = Comparator.comparingDouble(NearbyCursor::distance)
+        .thenComparingLong(NearbyCursor::accountId);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 判断指定记录是否排在游标之后
+     *
+     * @param distance  距离（米）
+     * @param accountId 账号ID
+     * @return 排在游标之后时返回true
+     */
+    public boolean precedes(double distance, long accountId) {
+        return NearbyCursor.ORDER.compare(this, new NearbyCursor(distance, accountId)) < 0;
+    }
+
+    /**
+     * 编码为不透明游标
+     *
+     * @return 游标
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((distance + SEPARATOR + accountId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标
+     * @return 游标为空时返回空
+     * @throws ApplicationException 游标格式不合法
+     */
+    public static Optional<NearbyCursor> decode(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return Optional.empty();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.indexOf(SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == decoded.length() - 1) {
+                throw new ApplicationException(ResponseCode.PARAMS_IS_INVALID);
+            }
+            double distance = Double.parseDouble(decoded.substring(0, separatorIndex));
+            if (!Double.isFinite(distance) || distance < 0) {
+                throw new ApplicationException(ResponseCode.PARAMS_IS_INVALID);
+            }
+            return Optional.of(new NearbyCursor(distance, Long.parseLong(decoded.substring(separatorIndex + 1))));
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationException(ResponseCode.PARAMS_IS_INVALID, e);
+        }
+    }
+}
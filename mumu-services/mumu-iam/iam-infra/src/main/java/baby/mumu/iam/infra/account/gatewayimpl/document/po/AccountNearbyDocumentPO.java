@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.account.gatewayimpl.document.po;
+
+import baby.mumu.basis.enums.AccountAvatarSourceEnum;
+import baby.mumu.basis.enums.LanguageEnum;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 附近的账号读模型存储对象
+ * <p>
+ * 每个设置了带定位默认地址的账号对应一条记录，冗余展示所需的账号资料，附近的账号查询只需一次 $geoNear
+ * 即可得到按距离排序的展示数据，无需再回查账号、地址与头像
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+@NoArgsConstructor
+@Document("mumu-account-nearby")
+public class AccountNearbyDocumentPO {
+
+    /**
+     * 账号ID
+     */
+    @Id
+    private Long accountId;
+
+    /**
+     * 默认地址定位（WGS84坐标系）
+     */
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint location;
+
+    /**
+     * 账号名
+     */
+    private String username;
+
+    /**
+     * 昵称
+     */
+    private String nickName;
+
+    /**
+     * 个性签名
+     */
+    private String bio;
+
+    /**
+     * 时区
+     */
+    private String timezone;
+
+    /**
+     * 语言偏好
+     */
+    private LanguageEnum language;
+
+    /**
+     * 头像
+     */
+    private Avatar avatar;
+
+    @Data
+    @NoArgsConstructor
+    public static class Avatar {
+
+        /**
+         * 唯一主键
+         */
+        private String id;
+
+        /**
+         * 头像来源
+         */
+        private AccountAvatarSourceEnum source;
+
+        /**
+         * 上传头像时的文件ID，填写URL或第三方时可为空
+         */
+        private String fileId;
+
+        /**
+         * 账号上传的URL地址
+         */
+        private String url;
+    }
+}
@@ -21,12 +21,14 @@ import baby.mumu.basis.mappers.GeoMapper;
 import baby.mumu.iam.domain.account.Account;
 import baby.mumu.iam.domain.account.AccountAddress;
 import baby.mumu.iam.domain.account.AccountAvatar;
+import baby.mumu.iam.domain.account.AccountNearby;
 import baby.mumu.iam.domain.account.AccountSystemSettings;
 import baby.mumu.iam.infra.account.gatewayimpl.cache.po.AccountCacheablePO;
 import baby.mumu.iam.infra.account.gatewayimpl.database.po.AccountArchivedPO;
 import baby.mumu.iam.infra.account.gatewayimpl.database.po.AccountPO;
 import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountAddressDocumentPO;
 import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountAvatarDocumentPO;
+import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountNearbyDocumentPO;
 import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountSystemSettingsDocumentPO;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
@@ -59,6 +61,9 @@ public interface AccountPersistenceMapper extends BaseMapper, GeoMapper {
     @API(status = Status.STABLE, since = "2.10.0")
     AccountAvatar toAccountAvatar(AccountAvatarDocumentPO accountAvatarDocumentPO);
 
+    @API(status = Status.STABLE, since = "2.17.0")
+    AccountNearby toAccountNearby(AccountNearbyDocumentPO accountNearbyDocumentPO);
+
     @API(status = Status.STABLE, since = "2.0.0")
     AccountAddressDocumentPO toAccountAddressDocumentPO(AccountAddress accountAddress);
 
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.invalidation;
+
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 缓存失效发件箱
+ * <p>
+ * 事务内只登记待删除的缓存ID并按缓存仓库去重，事务提交后批量删除，回滚时丢弃；
+ * 须查询缓存才能确定的ID登记为解析器，提交后解析并与同一仓库的其余ID合并删除；
+ * 删除失败的批次按指数退避重试，避免redis延迟拉长数据库事务与行锁的持有时间
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class CacheInvalidationOutbox implements DisposableBean {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long INITIAL_BACKOFF_MILLIS = 200L;
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationOutbox.class);
+    private final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("mumu-iam-cache-invalidation").daemon(true).factory());
+
+    /**
+     * 登记待删除的缓存，无事务时立即删除
+     *
+     * @param repository 缓存仓库
+     * @param id         缓存ID
+     */
+    public <ID> void deleteById(CrudRepository<?, ID> repository, ID id) {
+        if (id != null) {
+            deleteAllById(repository, Set.of(id));
+        }
+    }
+
+    /**
+     * 批量登记待删除的缓存，无事务时立即删除
+     *
+     * @param repository 缓存仓库
+     * @param ids        缓存ID集合
+     */
+    public <ID> void deleteAllById(CrudRepository<?, ID> repository, Iterable<? extends ID> ids) {
+        if (ids == null) {
+            return;
+        }
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        Pending pending = transactional ? pending() : new Pending();
+        CacheInvalidationOutbox.addAll(pending.batch, repository, ids);
+        if (!transactional) {
+            flush(pending.batch, 1);
+        }
+    }
+
+    /**
+     * 登记提交后才能解析出ID的待删除缓存，无事务时立即解析并删除
+     * <p>
+     * 解析器在事务提交后执行，解析结果与同一仓库已登记的ID合并为一次批量删除，解析失败时随删除一同重试
+     *
+     * @param repository  缓存仓库
+     * @param idsResolver 缓存ID解析器
+     */
+    public <ID> void deleteAllResolved(CrudRepository<?, ID> repository,
+                                       Supplier<? extends Iterable<? extends ID>> idsResolver) {
+        if (idsResolver == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending().resolvers.add(new Resolver(repository, idsResolver));
+            return;
+        }
+        Pending pending = new Pending();
+        pending.resolvers.add(new Resolver(repository, idsResolver));
+        resolveAndFlush(pending, 1);
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Pending batch = new Pending();
+        TransactionSynchronizationManager.bindResource(this, batch);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                resolveAndFlush(batch, 1);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationOutbox.this);
+            }
+        });
+        return batch;
+    }
+
+    private void resolveAndFlush(@NonNull Pending pending, int attempt) {
+        List<Resolver> failed = new ArrayList<>();
+        pending.resolvers.forEach(resolver -> {
+            try {
+                CacheInvalidationOutbox.addAll(pending.batch, resolver.repository(), resolver.idsResolver().get());
+            } catch (RuntimeException e) {
+                CacheInvalidationOutbox.log.warn("Failed to resolve cache ids of {} (attempt {})",
+                    resolver.repository(), attempt, e);
+                failed.add(resolver);
+            }
+        });
+        flush(pending.batch, attempt);
+        if (failed.isEmpty()) {
+            return;
+        }
+        if (attempt >= CacheInvalidationOutbox.MAX_ATTEMPTS) {
+            CacheInvalidationOutbox.log.error("Give up resolving cache ids after {} attempts: {}", attempt,
+                failed.stream().map(Resolver::repository).toList());
+            return;
+        }
+        Pending retry = new Pending();
+        retry.resolvers.addAll(failed);
+        try {
+            retryExecutor.schedule(() -> resolveAndFlush(retry, attempt + 1),
+                CacheInvalidationOutbox.INITIAL_BACKOFF_MILLIS << (attempt - 1), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            CacheInvalidationOutbox.log.error("Cache id resolution retry rejected", e);
+        }
+    }
+
+    private static void addAll(@NonNull Map<CrudRepository<?, ?>, Set<Object>> batch,
+                               CrudRepository<?, ?> repository, Iterable<?> ids) {
+        if (ids == null) {
+            return;
+        }
+        Set<Object> pendingIds = batch.computeIfAbsent(repository, key -> new LinkedHashSet<>());
+        ids.forEach(id -> {
+            if (id != null) {
+                pendingIds.add(id);
+            }
+        });
+    }
+
+    private void flush(@NonNull Map<CrudRepository<?, ?>, Set<Object>> batch, int attempt) {
+        Map<CrudRepository<?, ?>, Set<Object>> failed = new IdentityHashMap<>();
+        batch.forEach((repository, ids) -> {
+            if (ids.isEmpty()) {
+                return;
+            }
+            try {
+                CacheInvalidationOutbox.deleteAll(repository, ids);
+            } catch (RuntimeException e) {
+                CacheInvalidationOutbox.log.warn("Failed to invalidate cache {} (attempt {}): {}", repository, attempt,
+                    ids, e);
+                failed.put(repository, ids);
+            }
+        });
+        if (failed.isEmpty()) {
+            return;
+        }
+        if (attempt >= CacheInvalidationOutbox.MAX_ATTEMPTS) {
+            // 重试耗尽后依赖缓存有效期收敛
+            CacheInvalidationOutbox.log.error("Give up invalidating cache after {} attempts: {}", attempt, failed);
+            return;
+        }
+        try {
+            retryExecutor.schedule(() -> flush(failed, attempt + 1),
+                CacheInvalidationOutbox.INITIAL_BACKOFF_MILLIS << (attempt - 1), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            CacheInvalidationOutbox.log.error("Cache invalidation retry rejected: {}", failed, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void deleteAll(CrudRepository<?, ?> repository, Set<Object> ids) {
+        ((CrudRepository<?, Object>) repository).deleteAllById(ids);
+    }
+
+    /**
+     * 事务内登记的待删除ID与ID解析器
+     */
+    private static final class Pending {
+
+        private final Map<CrudRepository<?, ?>, Set<Object>> batch = new IdentityHashMap<>();
+        private final List<Resolver> resolvers = new ArrayList<>();
+    }
+
+    /**
+     * 缓存ID解析器
+     *
+     * @param repository  缓存仓库
+     * @param idsResolver 提交后执行的ID解析
+     */
+    private record Resolver(CrudRepository<?, ?> repository, Supplier<? extends Iterable<?>> idsResolver) {
+    }
+
+    @Override
+    public void destroy() {
+        retryExecutor.shutdown();
+    }
+}
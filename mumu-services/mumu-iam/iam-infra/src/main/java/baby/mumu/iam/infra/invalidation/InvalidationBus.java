@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package baby.mumu.iam.infra.invalidation;
+
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 跨实例失效通知总线
+ * <p>
+ * 所有IAM实例内的本地缓存、本地索引与事件中继共用一个redis监听容器与连接；
+ * 消息格式为：来源实例|内容，订阅方可选择是否接收本实例发出的消息
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class InvalidationBus implements InitializingBean, DisposableBean {
+
+    private static final String SEPARATOR = "|";
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+    private final String origin = UUID.randomUUID().toString();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    public InvalidationBus(RedisConnectionFactory redisConnectionFactory,
+                           StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = new RedisMessageListenerContainer();
+        this.redisMessageListenerContainer.setConnectionFactory(redisConnectionFactory);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        redisMessageListenerContainer.afterPropertiesSet();
+        redisMessageListenerContainer.start();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        redisMessageListenerContainer.destroy();
+    }
+
+    /**
+     * 订阅频道
+     *
+     * @param channel    频道
+     * @param includeOwn 是否接收本实例发出的消息
+     * @param listener   消息内容监听器
+     */
+    public void subscribe(String channel, boolean includeOwn, Consumer<String> listener) {
+        redisMessageListenerContainer.addMessageListener((message, _) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separatorIndex = body.indexOf(InvalidationBus.SEPARATOR);
+            if (separatorIndex < 0) {
+                InvalidationBus.log.warn("Ignore illegal message on {}: {}", channel, body);
+                return;
+            }
+            if (!includeOwn && origin.equals(body.substring(0, separatorIndex))) {
+                return;
+            }
+            try {
+                listener.accept(body.substring(separatorIndex + 1));
+            } catch (RuntimeException e) {
+                InvalidationBus.log.warn("Failed to handle message on {}: {}", channel, body, e);
+            }
+        }, new ChannelTopic(channel));
+    }
+
+    /**
+     * 向所有实例广播消息，失败时记录日志并返回false，由调用方依赖有效期收敛
+     *
+     * @param channel 频道
+     * @param payload 消息内容
+     * @return 是否发送成功
+     */
+    public boolean publish(String channel, @NonNull String payload) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, origin + InvalidationBus.SEPARATOR + payload);
+            return true;
+        } catch (RuntimeException e) {
+            InvalidationBus.log.warn("Failed to broadcast message on {}: {}", channel, payload, e);
+            return false;
+        }
+    }
+}
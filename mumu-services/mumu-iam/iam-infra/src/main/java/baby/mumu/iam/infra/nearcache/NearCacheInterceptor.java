@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.nearcache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.jspecify.annotations.NonNull;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.annotation.Id;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 近端缓存拦截器
+ * <p>
+ * 按ID读取优先命中进程内缓存，未命中时读取redis并回填；按唯一属性读取时记录属性到ID的映射，
+ * 命中后校验属性仍然一致。写入与删除在redis操作完成后失效本地条目并通知其他实例。
+ * 命中的条目临近过期时按剩余有效期与回源耗时概率性地提前刷新，避免热点条目同时过期后集中回源
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class NearCacheInterceptor implements MethodInterceptor {
+
+    private static final String FIND_BY = "findBy";
+    private static final String ID = "id";
+    private static final double EARLY_REFRESH_BETA = 1.0D;
+    private static final ClassValue<String> ID_PROPERTIES = new ClassValue<>() {
+        @Override
+        protected String computeValue(@NonNull Class<?> type) {
+            return FieldUtils.getFieldsListWithAnnotation(type, Id.class).stream()
+                .findFirst()
+                .map(Field::getName)
+                .orElse(NearCacheInterceptor.ID);
+        }
+    };
+    private final String name;
+    private final Cache<String, Object> entries;
+    private final Cache<String, String> secondaryKeys;
+    private final AtomicLong generation = new AtomicLong();
+    private final ObjectProvider<NearCacheInvalidationRelay> relayProvider;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private volatile Timer remoteTimer;
+    private volatile long remoteNanos;
+
+    public NearCacheInterceptor(String name, @NonNull NearCached nearCached,
+                                ObjectProvider<NearCacheInvalidationRelay> relayProvider,
+                                ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.name = name;
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(nearCached.maximumSize())
+            .expireAfterWrite(nearCached.level().getNearCacheTtl())
+            .recordStats()
+            .build();
+        this.secondaryKeys = Caffeine.newBuilder()
+            .maximumSize(nearCached.maximumSize())
+            .expireAfterWrite(nearCached.level().getNearCacheTtl())
+            .build();
+        this.relayProvider = relayProvider;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        String methodName = invocation.getMethod().getName();
+        Object[] arguments = invocation.getArguments();
+        return switch (methodName) {
+            case "findById" -> findById(invocation, arguments[0]);
+            case "findAllById" -> findAllById(invocation, (Iterable<?>) arguments[0]);
+            case "save", "delete" -> {
+                Object result = invocation.proceed();
+                evict(idOf(arguments[0]));
+                yield result;
+            }
+            case "deleteById" -> {
+                Object result = invocation.proceed();
+                evict(arguments[0]);
+                yield result;
+            }
+            case "saveAll" -> {
+                Object result = invocation.proceed();
+                ((Iterable<?>) arguments[0]).forEach(entity -> evict(idOf(entity)));
+                yield result;
+            }
+            case "deleteAllById" -> {
+                Object result = invocation.proceed();
+                ((Iterable<?>) arguments[0]).forEach(this::evict);
+                yield result;
+            }
+            default -> {
+                if (methodName.startsWith(NearCacheInterceptor.FIND_BY) && arguments.length == 1
+                    && arguments[0] != null && Optional.class.equals(invocation.getMethod().getReturnType())) {
+                    yield findByUniqueProperty(invocation, methodName, arguments[0]);
+                }
+                Object result = invocation.proceed();
+                // 其余写操作无法确定受影响的ID，清空本地缓存
+                if (StringUtils.startsWithAny(methodName, "delete", "save", "update")) {
+                    clear();
+                }
+                yield result;
+            }
+        };
+    }
+
+    private Object findById(MethodInvocation invocation, Object id) throws Throwable {
+        if (id == null) {
+            return invocation.proceed();
+        }
+        String key = String.valueOf(id);
+        Object cached = entries.getIfPresent(key);
+        if (cached != null && !shouldRefreshEarly(key)) {
+            return Optional.of(cached);
+        }
+        long expected = generation.get();
+        Object result = remote(invocation);
+        if (result instanceof Optional<?> optional && optional.isPresent()) {
+            put(expected, key, optional.get());
+        }
+        return result;
+    }
+
+    private Object findAllById(MethodInvocation invocation, Iterable<?> ids) throws Throwable {
+        List<Object> found = new ArrayList<>();
+        List<Object> missed = new ArrayList<>();
+        for (Object id : ids) {
+            Object cached = id == null ? null : entries.getIfPresent(String.valueOf(id));
+            if (cached != null) {
+                found.add(cached);
+            } else {
+                missed.add(id);
+            }
+        }
+        if (missed.isEmpty()) {
+            return found;
+        }
+        long expected = generation.get();
+        ((ProxyMethodInvocation) invocation).setArguments(missed);
+        Object result = remote(invocation);
+        if (result instanceof Iterable<?> loaded) {
+            for (Object entity : loaded) {
+                put(expected, String.valueOf(idOf(entity)), entity);
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    private Object findByUniqueProperty(MethodInvocation invocation, @NonNull String methodName,
+                                        Object value) throws Throwable {
+        String property = StringUtils.uncapitalize(methodName.substring(NearCacheInterceptor.FIND_BY.length()));
+        String secondaryKey = methodName + ':' + value;
+        String id = secondaryKeys.getIfPresent(secondaryKey);
+        if (id != null) {
+            Object cached = entries.getIfPresent(id);
+            // 属性可能已被修改，命中后需确认与查询条件一致
+            if (cached != null && Objects.equals(propertyOf(cached, property), value) && !shouldRefreshEarly(id)) {
+                return Optional.of(cached);
+            }
+        }
+        long expected = generation.get();
+        Object result = remote(invocation);
+        if (result instanceof Optional<?> optional && optional.isPresent()) {
+            String key = String.valueOf(idOf(optional.get()));
+            put(expected, key, optional.get());
+            secondaryKeys.put(secondaryKey, key);
+        }
+        return result;
+    }
+
+    private Object remote(MethodInvocation invocation) throws Throwable {
+        Timer timer = remoteTimer();
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            // 平滑记录回源耗时，作为提前刷新的时间窗口
+            remoteNanos = remoteNanos == 0L ? elapsed : (remoteNanos * 7L + elapsed) / 8L;
+            if (timer != null) {
+                timer.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * 判断命中的条目是否需要提前刷新
+     * <p>
+     * 剩余有效期不超过 回源耗时 × β × -ln(随机数) 时刷新，越临近过期概率越高，
+     * 并发请求中通常只有少数请求提前回源，其余请求继续使用本地条目
+     *
+     * @param key 缓存键
+     * @return 是否提前刷新
+     */
+    private boolean shouldRefreshEarly(String key) {
+        long delta = remoteNanos;
+        if (delta == 0L) {
+            return false;
+        }
+        return entries.policy().expireAfterWrite().flatMap(expiration -> {
+            OptionalLong age = expiration.ageOf(key, TimeUnit.NANOSECONDS);
+            return age.isPresent()
+                ? Optional.of(expiration.getExpiresAfter(TimeUnit.NANOSECONDS) - age.getAsLong())
+                : Optional.empty();
+        }).map(remaining -> delta * NearCacheInterceptor.EARLY_REFRESH_BETA
+            * -Math.log(ThreadLocalRandom.current().nextDouble()) >= remaining).orElse(false);
+    }
+
+    private void put(long expected, String key, Object entity) {
+        // 读取redis期间发生失效时不回填，避免旧值覆盖
+        if (generation.get() == expected) {
+            entries.put(key, entity);
+        }
+    }
+
+    private void evict(Object id) {
+        if (id == null) {
+            return;
+        }
+        invalidateLocally(String.valueOf(id));
+        relayProvider.ifAvailable(relay -> relay.publish(name, String.valueOf(id)));
+    }
+
+    private void clear() {
+        clearLocally();
+        relayProvider.ifAvailable(relay -> relay.publishClear(name));
+    }
+
+    /**
+     * 失效本地缓存条目
+     *
+     * @param id 缓存ID
+     */
+    void invalidateLocally(String id) {
+        generation.incrementAndGet();
+        entries.invalidate(id);
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    void clearLocally() {
+        generation.incrementAndGet();
+        entries.invalidateAll();
+        secondaryKeys.invalidateAll();
+    }
+
+    private Timer remoteTimer() {
+        Timer timer = remoteTimer;
+        if (timer == null) {
+            MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+            if (meterRegistry == null) {
+                return null;
+            }
+            CaffeineCacheMetrics.monitor(meterRegistry, entries, name, "tier", "near");
+            timer = Timer.builder("mumu.iam.near-cache.remote")
+                .description("Redis read latency on near cache misses")
+                .tag("cache", name)
+                .register(meterRegistry);
+            remoteTimer = timer;
+        }
+        return timer;
+    }
+
+    private static Object idOf(Object entity) {
+        // 关系缓存以accountId、roleId等作为主键，按@Id注解确定ID属性
+        return entity == null ? null : propertyOf(entity, NearCacheInterceptor.ID_PROPERTIES.get(entity.getClass()));
+    }
+
+    private static Object propertyOf(Object entity, String property) {
+        if (entity == null) {
+            return null;
+        }
+        BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        return beanWrapper.isReadableProperty(property) ? beanWrapper.getPropertyValue(property) : null;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.nearcache;
+
+import baby.mumu.iam.infra.invalidation.InvalidationBus;
+import org.apache.commons.lang3.StringUtils;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 近端缓存失效跨实例中继
+ * <p>
+ * 消息格式为：缓存名称|缓存ID，缓存ID为*时清空整个近端缓存，经由 {@link InvalidationBus} 广播且忽略本实例发出的消息
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class NearCacheInvalidationRelay implements InitializingBean {
+
+    private static final String CHANNEL = "mumu:iam:near-cache";
+    private static final String SEPARATOR = "|";
+    private static final String ALL = "*";
+    private static final Logger log = LoggerFactory.getLogger(NearCacheInvalidationRelay.class);
+    private final InvalidationBus invalidationBus;
+    private final NearCacheRepositoryPostProcessor nearCacheRepositoryPostProcessor;
+
+    @Autowired
+    public NearCacheInvalidationRelay(InvalidationBus invalidationBus,
+                                      NearCacheRepositoryPostProcessor nearCacheRepositoryPostProcessor) {
+        this.invalidationBus = invalidationBus;
+        this.nearCacheRepositoryPostProcessor = nearCacheRepositoryPostProcessor;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        invalidationBus.subscribe(NearCacheInvalidationRelay.CHANNEL, false, this::onMessage);
+    }
+
+    /**
+     * 通知其他实例失效缓存条目
+     *
+     * @param name 缓存名称
+     * @param id   缓存ID
+     */
+    public void publish(String name, String id) {
+        // 通知失败时依赖近端缓存的短有效期收敛
+        invalidationBus.publish(NearCacheInvalidationRelay.CHANNEL,
+            String.join(NearCacheInvalidationRelay.SEPARATOR, name, id));
+    }
+
+    /**
+     * 通知其他实例清空缓存
+     *
+     * @param name 缓存名称
+     */
+    public void publishClear(String name) {
+        publish(name, NearCacheInvalidationRelay.ALL);
+    }
+
+    private void onMessage(@NonNull String body) {
+        String[] parts = StringUtils.split(body, NearCacheInvalidationRelay.SEPARATOR, 2);
+        if (parts.length != 2) {
+            NearCacheInvalidationRelay.log.warn("Ignore illegal near cache message: {}", body);
+            return;
+        }
+        if (NearCacheInvalidationRelay.ALL.equals(parts[1])) {
+            nearCacheRepositoryPostProcessor.clearLocally(parts[0]);
+        } else {
+            nearCacheRepositoryPostProcessor.invalidateLocally(parts[0], parts[1]);
+        }
+    }
+}
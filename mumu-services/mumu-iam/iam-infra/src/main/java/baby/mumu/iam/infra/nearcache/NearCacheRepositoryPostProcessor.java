@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.nearcache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.NonNull;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 为标注了{@link NearCached}的redis缓存仓库织入近端缓存
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class NearCacheRepositoryPostProcessor implements BeanPostProcessor {
+
+    private final Map<String, NearCacheInterceptor> interceptors = new ConcurrentHashMap<>();
+    private final ObjectProvider<NearCacheInvalidationRelay> relayProvider;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public NearCacheRepositoryPostProcessor(ObjectProvider<NearCacheInvalidationRelay> relayProvider,
+                                            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.relayProvider = relayProvider;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        for (Class<?> repositoryInterface : ClassUtils.getAllInterfacesForClassAsSet(bean.getClass())) {
+            NearCached nearCached = repositoryInterface.getAnnotation(NearCached.class);
+            if (nearCached == null) {
+                continue;
+            }
+            String name = repositoryInterface.getSimpleName();
+            NearCacheInterceptor interceptor = new NearCacheInterceptor(name, nearCached, relayProvider,
+                meterRegistryProvider);
+            interceptors.put(name, interceptor);
+            // 仓库本身即为代理时直接前置拦截器，避免二次代理
+            if (bean instanceof Advised advised && !advised.isFrozen()) {
+                advised.addAdvice(0, interceptor);
+                return bean;
+            }
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.addAdvice(interceptor);
+            return proxyFactory.getProxy(bean.getClass().getClassLoader());
+        }
+        return bean;
+    }
+
+    /**
+     * 失效本地缓存条目
+     *
+     * @param name 缓存名称
+     * @param id   缓存ID
+     */
+    void invalidateLocally(String name, String id) {
+        Optional.ofNullable(interceptors.get(name)).ifPresent(interceptor -> interceptor.invalidateLocally(id));
+    }
+
+    /**
+     * 清空本地缓存
+     *
+     * @param name 缓存名称
+     */
+    void clearLocally(String name) {
+        Optional.ofNullable(interceptors.get(name)).ifPresent(NearCacheInterceptor::clearLocally);
+    }
+}
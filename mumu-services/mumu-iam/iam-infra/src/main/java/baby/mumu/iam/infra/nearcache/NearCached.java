@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.nearcache;
+
+import baby.mumu.basis.enums.CacheLevelEnum;
+
+import java.lang.annotation.*;
+
+/**
+ * 在redis缓存仓库前增加进程内近端缓存
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface NearCached {
+
+    /**
+     * 缓存等级，决定近端缓存有效期
+     */
+    CacheLevelEnum level();
+
+    /**
+     * 近端缓存最大条目数
+     */
+    long maximumSize() default 10_000L;
+}
@@ -77,6 +77,23 @@ public class PermissionPersistenceConvertor {
         return Optional.ofNullable(PermissionPersistenceMapper.INSTANCE.toEntity(permissionCacheablePO)).flatMap(this::hasDescendant);
     }
 
+    /**
+     * 批量转换缓存中的权限，是否存在后代权限通过一次查询批量判定
+     *
+     * @param permissionCacheablePOList 缓存权限列表
+     * @return 权限列表
+     * @since 2.17.0
+     */
+    @API(status = Status.STABLE, since = "2.17.0")
+    public List<Permission> toEntitiesFromCacheablePO(List<PermissionCacheablePO> permissionCacheablePOList) {
+        List<Permission> permissions = Optional.ofNullable(permissionCacheablePOList).orElse(new ArrayList<>())
+            .stream()
+            .flatMap(permissionCacheablePO -> Optional.ofNullable(
+                PermissionPersistenceMapper.INSTANCE.toEntity(permissionCacheablePO)).stream())
+            .collect(Collectors.toCollection(ArrayList::new));
+        return this.hasDescendant(permissions);
+    }
+
     @API(status = Status.STABLE, since = "2.2.0")
     public Optional<PermissionCacheablePO> toPermissionCacheablePO(Permission permission) {
         return Optional.ofNullable(PermissionPersistenceMapper.INSTANCE.toPermissionCacheablePO(permission));
@@ -17,32 +17,42 @@
 package baby.mumu.iam.infra.permission.gatewayimpl;
 
 import baby.mumu.basis.annotations.DangerousOperation;
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.kotlin.tools.SecurityContextUtils;
 import baby.mumu.basis.response.ResponseCode;
 import baby.mumu.extension.ExtensionProperties;
 import baby.mumu.extension.GlobalProperties;
 import baby.mumu.iam.domain.permission.Permission;
 import baby.mumu.iam.domain.permission.PermissionRelation;
 import baby.mumu.iam.domain.permission.gateway.PermissionGateway;
-import baby.mumu.iam.domain.role.Role;
 import baby.mumu.iam.domain.role.gateway.RoleGateway;
+import baby.mumu.iam.infra.invalidation.CacheInvalidationOutbox;
 import baby.mumu.iam.infra.permission.convertor.PermissionPersistenceConvertor;
 import baby.mumu.iam.infra.permission.gatewayimpl.cache.PermissionCacheRepository;
 import baby.mumu.iam.infra.permission.gatewayimpl.database.PermissionArchivedRepository;
 import baby.mumu.iam.infra.permission.gatewayimpl.database.PermissionRepository;
 import baby.mumu.iam.infra.permission.gatewayimpl.database.po.PermissionArchivedPO;
 import baby.mumu.iam.infra.permission.gatewayimpl.database.po.PermissionPO;
+import baby.mumu.iam.infra.relations.cache.AccountAuthorityVersions;
+import baby.mumu.iam.infra.relations.cache.AuthorityVersionCounter;
 import baby.mumu.iam.infra.relations.cache.RolePermissionCacheRepository;
+import baby.mumu.iam.infra.relations.cache.RolePermissionCacheablePO;
 import baby.mumu.iam.infra.relations.database.PermissionPathPO;
 import baby.mumu.iam.infra.relations.database.PermissionPathPOId;
 import baby.mumu.iam.infra.relations.database.PermissionPathRepository;
+import baby.mumu.iam.infra.relations.index.HierarchyIndex;
+import baby.mumu.iam.infra.relations.index.HierarchyIndexes;
+import baby.mumu.iam.infra.singleflight.SingleFlightCacheLoader;
 import io.micrometer.observation.annotation.Observed;
-import org.apache.commons.collections4.CollectionUtils;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.scheduling.JobScheduler;
+import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Component;
@@ -51,6 +61,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Gatherers;
 import java.util.stream.Stream;
 
 /**
@@ -63,6 +74,15 @@ import java.util.stream.Stream;
 @Observed(name = "PermissionGatewayImpl")
 public class PermissionGatewayImpl implements PermissionGateway {
 
+    /**
+     * 流式读取时每批转换的记录数，批内一次性查询是否存在后代权限
+     */
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    /**
+     * 仍被使用而无法删除或归档时，错误信息中列出的使用方数量上限
+     */
+    private static final int IN_USE_SAMPLE_SIZE = 20;
 
     private final PermissionRepository permissionRepository;
     private final RoleGateway roleGateway;
@@ -73,6 +93,12 @@ public class PermissionGatewayImpl implements PermissionGateway {
     private final PermissionPathRepository permissionPathRepository;
     private final RolePermissionCacheRepository rolePermissionCacheRepository;
     private final PermissionPersistenceConvertor permissionPersistenceConvertor;
+    private final EntityManager entityManager;
+    private final AuthorityVersionCounter authorityVersionCounter;
+    private final AccountAuthorityVersions accountAuthorityVersions;
+    private final HierarchyIndexes hierarchyIndexes;
+    private final SingleFlightCacheLoader singleFlightCacheLoader;
+    private final CacheInvalidationOutbox cacheInvalidationOutbox;
 
     @Autowired
     public PermissionGatewayImpl(PermissionRepository permissionRepository,
@@ -82,7 +108,13 @@ public class PermissionGatewayImpl implements PermissionGateway {
                                  PermissionCacheRepository permissionCacheRepository,
                                  PermissionPathRepository permissionPathRepository,
                                  RolePermissionCacheRepository rolePermissionCacheRepository,
-                                 PermissionPersistenceConvertor permissionPersistenceConvertor) {
+                                 PermissionPersistenceConvertor permissionPersistenceConvertor,
+                                 EntityManager entityManager,
+                                 AuthorityVersionCounter authorityVersionCounter,
+                                 AccountAuthorityVersions accountAuthorityVersions,
+                                 HierarchyIndexes hierarchyIndexes,
+                                 SingleFlightCacheLoader singleFlightCacheLoader,
+                                 CacheInvalidationOutbox cacheInvalidationOutbox) {
         this.permissionRepository = permissionRepository;
         this.roleGateway = roleGateway;
         this.permissionArchivedRepository = permissionArchivedRepository;
@@ -92,6 +124,12 @@ public class PermissionGatewayImpl implements PermissionGateway {
         this.permissionPathRepository = permissionPathRepository;
         this.rolePermissionCacheRepository = rolePermissionCacheRepository;
         this.permissionPersistenceConvertor = permissionPersistenceConvertor;
+        this.entityManager = entityManager;
+        this.authorityVersionCounter = authorityVersionCounter;
+        this.accountAuthorityVersions = accountAuthorityVersions;
+        this.hierarchyIndexes = hierarchyIndexes;
+        this.singleFlightCacheLoader = singleFlightCacheLoader;
+        this.cacheInvalidationOutbox = cacheInvalidationOutbox;
     }
 
     /**
@@ -113,7 +151,9 @@ public class PermissionGatewayImpl implements PermissionGateway {
             new PermissionPathPO(
                 new PermissionPathPOId(persisted.getId(), persisted.getId(), 0L),
                 permissionPO, permissionPO));
-        permissionCacheRepository.deleteById(persisted.getId());
+        hierarchyIndexes.invalidatePermissions();
+        cacheInvalidationOutbox.deleteById(permissionCacheRepository, persisted.getId());
+        authorityVersionCounter.increment();
         return persisted.getId();
     }
 
@@ -127,16 +167,22 @@ public class PermissionGatewayImpl implements PermissionGateway {
     public void deleteById(Long id) {
         Optional.ofNullable(id).ifPresent(permissionId -> {
             if (permissionRepository.existsById(permissionId)) {
-                List<Role> roles = roleGateway.findAllContainPermission(permissionId);
-                if (CollectionUtils.isNotEmpty(roles)) {
+                if (roleGateway.existsByPermissionId(permissionId)) {
                     throw new ApplicationException(ResponseCode.PERMISSION_IS_IN_USE_AND_CANNOT_BE_REMOVED,
-                        roles.stream().map(Role::getCode).toList());
+                        roleGateway.findCodesByPermissionId(permissionId, 1, PermissionGatewayImpl.IN_USE_SAMPLE_SIZE)
+                            .getContent());
                 }
+                accountAuthorityVersions.incrementByPermissionIds(List.of(permissionId));
                 permissionRepository.deleteById(permissionId);
                 permissionPathRepository.deleteAllPathsByPermissionId(permissionId);
+                hierarchyIndexes.invalidatePermissions();
                 permissionArchivedRepository.deleteById(permissionId);
-                permissionCacheRepository.deleteById(permissionId);
-                rolePermissionCacheRepository.deleteByPermissionIdsContaining(permissionId);
+                cacheInvalidationOutbox.deleteById(permissionCacheRepository, permissionId);
+                // 提交后按权限解析缓存中的角色并批量删除，不在事务内访问redis
+                cacheInvalidationOutbox.deleteAllResolved(rolePermissionCacheRepository,
+                    () -> rolePermissionCacheRepository.findByPermissionIdsContaining(permissionId).stream()
+                        .map(RolePermissionCacheablePO::getRoleId).toList());
+                authorityVersionCounter.increment();
             } else {
                 throw new ApplicationException(ResponseCode.PERMISSION_DOES_NOT_EXIST);
             }
@@ -161,7 +207,9 @@ public class PermissionGatewayImpl implements PermissionGateway {
         }
 
         PermissionPO merged = permissionRepository.merge(permissionPO);
-        permissionCacheRepository.deleteById(permissionPO.getId());
+        cacheInvalidationOutbox.deleteById(permissionCacheRepository, permissionPO.getId());
+        accountAuthorityVersions.incrementByPermissionIds(List.of(permissionPO.getId()));
+        authorityVersionCounter.increment();
         return permissionPersistenceConvertor.toEntity(merged);
     }
 
@@ -179,6 +227,21 @@ public class PermissionGatewayImpl implements PermissionGateway {
         return new PageImpl<>(permissions, pageRequest, repositoryAll.getTotalElements());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public Page<Permission> findAll(Permission permission, @NonNull KeysetCursor cursor, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        PermissionPO permissionPO = permissionPersistenceConvertor.toPermissionPO(permission)
+            .orElseGet(PermissionPO::new);
+        Slice<PermissionPO> permissionPOSlice = permissionRepository.findAllSliceAfter(permissionPO,
+            cursor.creationTime(), cursor.id(), pageRequest);
+        List<Permission> permissions = permissionPersistenceConvertor.toEntities(permissionPOSlice.getContent());
+        return new PageImpl<>(permissions, pageRequest, permissionRepository.countAll(permissionPO));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -192,6 +255,20 @@ public class PermissionGatewayImpl implements PermissionGateway {
         return new SliceImpl<>(permissions, pageRequest, permissionPOSlice.hasNext());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public Slice<Permission> findAllSlice(Permission permission, @NonNull KeysetCursor cursor, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        Slice<PermissionPO> permissionPOSlice = permissionRepository.findAllSliceAfter(
+            permissionPersistenceConvertor.toPermissionPO(permission).orElseGet(PermissionPO::new),
+            cursor.creationTime(), cursor.id(), pageRequest);
+        List<Permission> permissions = permissionPersistenceConvertor.toEntities(permissionPOSlice.getContent());
+        return new SliceImpl<>(permissions, pageRequest, permissionPOSlice.hasNext());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -227,16 +304,18 @@ public class PermissionGatewayImpl implements PermissionGateway {
      */
     @Override
     public Optional<Permission> findById(Long id) {
-        return Optional.ofNullable(id).flatMap(permissionCacheRepository::findById).flatMap(
-            permissionPersistenceConvertor::toEntity).or(() ->
-            permissionRepository.findById(id)
+        if (id == null) {
+            return Optional.empty();
+        }
+        return singleFlightCacheLoader.load("permission:id:" + id,
+            () -> permissionCacheRepository.findById(id).flatMap(permissionPersistenceConvertor::toEntity),
+            () -> permissionRepository.findById(id)
                 .flatMap(permissionPersistenceConvertor::toEntity)
                 .map(permission -> {
                     permissionPersistenceConvertor.toPermissionCacheablePO(permission)
                         .ifPresent(permissionCacheRepository::save);
                     return permission;
-                })
-        );
+                }));
     }
 
     /**
@@ -246,18 +325,19 @@ public class PermissionGatewayImpl implements PermissionGateway {
     @Transactional(rollbackFor = Exception.class)
     @DangerousOperation("根据ID归档ID为%0的权限")
     public void archiveById(Long id) {
-        List<Role> authorities = roleGateway.findAllContainPermission(id);
-        if (CollectionUtils.isNotEmpty(authorities)) {
+        if (roleGateway.existsByPermissionId(id)) {
             throw new ApplicationException(ResponseCode.PERMISSION_IS_IN_USE_AND_CANNOT_BE_ARCHIVE,
-                authorities.stream().map(Role::getCode).toList());
+                roleGateway.findCodesByPermissionId(id, 1, PermissionGatewayImpl.IN_USE_SAMPLE_SIZE).getContent());
         }
         // noinspection DuplicatedCode
         Optional.ofNullable(id).flatMap(permissionRepository::findById)
             .flatMap(permissionPersistenceConvertor::toPermissionArchivedPO).ifPresent(permissionArchivedPO -> {
                 permissionArchivedPO.setArchived(true);
+                accountAuthorityVersions.incrementByPermissionIds(List.of(permissionArchivedPO.getId()));
                 permissionArchivedRepository.persist(permissionArchivedPO);
                 permissionRepository.deleteById(permissionArchivedPO.getId());
-                permissionCacheRepository.deleteById(permissionArchivedPO.getId());
+                cacheInvalidationOutbox.deleteById(permissionCacheRepository, permissionArchivedPO.getId());
+                authorityVersionCounter.increment();
                 GlobalProperties global = extensionProperties.getGlobal();
                 jobScheduler.schedule(Instant.now()
                         .plus(global.getArchiveDeletionPeriod(), global.getArchiveDeletionPeriodUnit()),
@@ -270,11 +350,13 @@ public class PermissionGatewayImpl implements PermissionGateway {
     @Transactional(rollbackFor = Exception.class)
     public void deleteArchivedDataJob(Long id) {
         Optional.ofNullable(id)
-            .filter(permissionId -> roleGateway.findAllContainPermission(permissionId).isEmpty())
+            .filter(permissionId -> !roleGateway.existsByPermissionId(permissionId))
             .ifPresent(permissionId -> {
+                accountAuthorityVersions.incrementByPermissionIds(List.of(permissionId));
                 permissionArchivedRepository.deleteById(permissionId);
                 permissionPathRepository.deleteAllPathsByPermissionId(permissionId);
-                permissionCacheRepository.deleteById(permissionId);
+                hierarchyIndexes.invalidatePermissions();
+                cacheInvalidationOutbox.deleteById(permissionCacheRepository, permissionId);
             });
     }
 
@@ -289,7 +371,9 @@ public class PermissionGatewayImpl implements PermissionGateway {
                 permissionPO.setArchived(false);
                 permissionArchivedRepository.deleteById(permissionPO.getId());
                 permissionRepository.persist(permissionPO);
-                permissionCacheRepository.deleteById(permissionPO.getId());
+                cacheInvalidationOutbox.deleteById(permissionCacheRepository, permissionPO.getId());
+                accountAuthorityVersions.incrementByPermissionIds(List.of(permissionPO.getId()));
+                authorityVersionCounter.increment();
             });
     }
 
@@ -299,55 +383,53 @@ public class PermissionGatewayImpl implements PermissionGateway {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void addDescendant(Long ancestorId, Long descendantId) {
-        Optional<PermissionPO> ancestorPermissionPOOptional = permissionRepository.findById(ancestorId);
-        Optional<PermissionPO> descendantPermissionPOOptional = permissionRepository.findById(
-            descendantId);
-        if (ancestorPermissionPOOptional.isPresent() && descendantPermissionPOOptional.isPresent()) {
-            // 后代权限
-            PermissionPO descendantPermissionPO = descendantPermissionPOOptional.get();
-            // 为节点添加从所有祖先到自身的路径
-            List<PermissionPathPO> ancestorAuthorities = permissionPathRepository.findByDescendantId(
-                ancestorId);
-            // 成环检测
-            Set<Long> ancestorIds = ancestorAuthorities.stream()
-                .map(permissionPathPO -> permissionPathPO.getId().getAncestorId())
-                .collect(
-                    Collectors.toSet());
-            if (ancestorIds.contains(descendantId)) {
-                throw new ApplicationException(ResponseCode.PERMISSION_CYCLE);
-            }
-            if (permissionPathRepository.existsById(
-                new PermissionPathPOId(ancestorId, descendantId, 1L))) {
-                throw new ApplicationException(ResponseCode.PERMISSION_PATH_ALREADY_EXISTS);
-            }
-            List<PermissionPathPO> permissionPathPOS = ancestorAuthorities.stream()
-                .map(ancestorPermission -> new PermissionPathPO(
-                    new PermissionPathPOId(ancestorPermission.getId().getAncestorId(), descendantId,
-                        ancestorPermission.getId().getDepth() + 1),
-                    ancestorPermission.getAncestor(), descendantPermissionPO))
-                .filter(
-                    permissionPathPO -> !permissionPathRepository.existsById(permissionPathPO.getId())
-                )
-                .collect(
-                    Collectors.toList());
-            permissionPathRepository.persistAll(permissionPathPOS);
-            permissionCacheRepository.deleteById(ancestorId);
-            permissionCacheRepository.deleteById(descendantId);
+        if (permissionRepository.existsById(ancestorId) && permissionRepository.existsById(descendantId)) {
+            accountAuthorityVersions.incrementByPermissionIds(List.of(ancestorId));
+            attach(ancestorId, descendantId);
+            cacheInvalidationOutbox.deleteById(permissionCacheRepository, ancestorId);
+            cacheInvalidationOutbox.deleteById(permissionCacheRepository, descendantId);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void importTree(Map<Long, Set<Long>> descendantIds) {
+        if (MapUtils.isEmpty(descendantIds)) {
+            return;
+        }
+        Set<Long> permissionIds = new HashSet<>(descendantIds.keySet());
+        descendantIds.values().forEach(permissionIds::addAll);
+        if (permissionRepository.countByIdIn(permissionIds) != permissionIds.size()) {
+            throw new ApplicationException(ResponseCode.PERMISSION_DOES_NOT_EXIST);
+        }
+        accountAuthorityVersions.incrementByPermissionIds(descendantIds.keySet());
+        Long operatorId = operatorId();
+        // 挂接语句按子树整体生成路径，与挂接顺序无关，成环统一在全部挂接完成后检测并回滚
+        descendantIds.forEach((ancestorId, ids) -> ids.forEach(
+            descendantId -> permissionPathRepository.attachSubtree(ancestorId, descendantId, operatorId)));
+        hierarchyIndexes.invalidatePermissions();
+        if (permissionPathRepository.existsCycle(permissionIds)) {
+            throw new ApplicationException(ResponseCode.PERMISSION_CYCLE);
+        }
+        cacheInvalidationOutbox.deleteAllById(permissionCacheRepository, permissionIds);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Page<Permission> findRootPermissions(int current, int pageSize) {
         PageRequest pageRequest = PageRequest.of(current - 1, pageSize);
-        Page<PermissionPathPO> repositoryAll = permissionPathRepository.findRootPermissions(
-            pageRequest);
-        List<Permission> authorities = repositoryAll.getContent().stream().flatMap(
-                permissionPathPO -> findById(permissionPathPO.getId().getAncestorId()).stream())
+        HierarchyIndex hierarchyIndex = hierarchyIndexes.permissions();
+        List<Permission> authorities = Arrays.stream(
+                hierarchyIndex.roots(pageRequest.getOffset(), pageRequest.getPageSize()))
+            .boxed()
+            .flatMap(permissionId -> findById(permissionId).stream())
             .collect(Collectors.toList());
-        return new PageImpl<>(authorities, pageRequest, repositoryAll.getTotalElements());
+        return new PageImpl<>(authorities, pageRequest, hierarchyIndex.rootCount());
     }
 
     /**
@@ -356,13 +438,16 @@ public class PermissionGatewayImpl implements PermissionGateway {
     @Override
     public Page<Permission> findDirectPermissions(Long ancestorId, int current, int pageSize) {
         PageRequest pageRequest = PageRequest.of(current - 1, pageSize);
-        Page<PermissionPathPO> repositoryAll = permissionPathRepository.findDirectPermissions(
-            ancestorId,
-            pageRequest);
-        List<Permission> authorities = repositoryAll.getContent().stream().flatMap(
-                permissionPathPO -> findById(permissionPathPO.getId().getDescendantId()).stream())
+        if (ancestorId == null) {
+            return new PageImpl<>(Collections.emptyList(), pageRequest, 0);
+        }
+        HierarchyIndex hierarchyIndex = hierarchyIndexes.permissions();
+        List<Permission> authorities = Arrays.stream(
+                hierarchyIndex.children(ancestorId, pageRequest.getOffset(), pageRequest.getPageSize()))
+            .boxed()
+            .flatMap(permissionId -> findById(permissionId).stream())
             .collect(Collectors.toList());
-        return new PageImpl<>(authorities, pageRequest, repositoryAll.getTotalElements());
+        return new PageImpl<>(authorities, pageRequest, hierarchyIndex.childCount(ancestorId));
     }
 
     /**
@@ -374,10 +459,10 @@ public class PermissionGatewayImpl implements PermissionGateway {
         if (permissionPathRepository.existsDescendantPermissions(descendantId)) {
             throw new ApplicationException(ResponseCode.DESCENDANT_PERMISSION_HAS_DESCENDANT_PERMISSION);
         }
-        permissionPathRepository.deleteById(new PermissionPathPOId(ancestorId, descendantId, 1L));
-        permissionPathRepository.deleteUnreachableData();
-        permissionCacheRepository.deleteById(ancestorId);
-        permissionCacheRepository.deleteById(descendantId);
+        accountAuthorityVersions.incrementByPermissionIds(List.of(ancestorId));
+        detach(ancestorId, descendantId);
+        cacheInvalidationOutbox.deleteById(permissionCacheRepository, ancestorId);
+        cacheInvalidationOutbox.deleteById(permissionCacheRepository, descendantId);
     }
 
     /**
@@ -386,8 +471,52 @@ public class PermissionGatewayImpl implements PermissionGateway {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void move(Long originalAncestorId, Long targetAncestorId, Long descendantId) {
-        deletePath(originalAncestorId, descendantId);
-        addDescendant(targetAncestorId, descendantId);
+        if (!permissionRepository.existsById(targetAncestorId)) {
+            throw new ApplicationException(ResponseCode.PERMISSION_DOES_NOT_EXIST);
+        }
+        accountAuthorityVersions.incrementByPermissionIds(List.of(originalAncestorId, targetAncestorId));
+        detach(originalAncestorId, descendantId);
+        attach(targetAncestorId, descendantId);
+        cacheInvalidationOutbox.deleteAllById(permissionCacheRepository, List.of(originalAncestorId, targetAncestorId, descendantId));
+    }
+
+    /**
+     * 将后代权限连同其子树挂接到祖先权限下
+     *
+     * @param ancestorId   祖先权限ID
+     * @param descendantId 后代权限ID
+     */
+    private void attach(Long ancestorId, Long descendantId) {
+        // 成环检测：后代权限（含自身）已是祖先权限的祖先
+        if (permissionPathRepository.existsPath(descendantId, ancestorId)) {
+            throw new ApplicationException(ResponseCode.PERMISSION_CYCLE);
+        }
+        if (permissionPathRepository.existsById(
+            new PermissionPathPOId(ancestorId, descendantId, 1L))) {
+            throw new ApplicationException(ResponseCode.PERMISSION_PATH_ALREADY_EXISTS);
+        }
+        permissionPathRepository.attachSubtree(ancestorId, descendantId, operatorId());
+        hierarchyIndexes.invalidatePermissions();
+    }
+
+    /**
+     * 断开祖先权限与后代权限之间的直系路径，仅重建受影响子树的间接路径
+     *
+     * @param ancestorId   祖先权限ID
+     * @param descendantId 后代权限ID
+     */
+    private void detach(Long ancestorId, Long descendantId) {
+        if (!permissionPathRepository.existsById(
+            new PermissionPathPOId(ancestorId, descendantId, 1L))) {
+            return;
+        }
+        permissionPathRepository.detachSubtree(ancestorId, descendantId);
+        permissionPathRepository.reconnectSubtree(ancestorId, descendantId, operatorId());
+        hierarchyIndexes.invalidatePermissions();
+    }
+
+    private Long operatorId() {
+        return SecurityContextUtils.getLoginAccountId().orElse(0L);
     }
 
     /**
@@ -411,7 +540,7 @@ public class PermissionGatewayImpl implements PermissionGateway {
     @Override
     @Transactional(readOnly = true)
     public Stream<Permission> findAll() {
-        return permissionPersistenceConvertor.toEntities(permissionRepository.findAll().toList()).stream();
+        return streamAll();
     }
 
     /**
@@ -420,7 +549,24 @@ public class PermissionGatewayImpl implements PermissionGateway {
     @Override
     @Transactional(readOnly = true)
     public Stream<Permission> findAllIncludePath() {
-        return permissionPersistenceConvertor.toEntities(permissionRepository.findAll().toList()).stream();
+        return streamAll();
+    }
+
+    /**
+     * 基于数据库游标分批读取全部权限，需在调用方事务内消费并关闭
+     *
+     * @return 权限流
+     */
+    private Stream<Permission> streamAll() {
+        return permissionRepository.findAll()
+            .gather(Gatherers.windowFixed(PermissionGatewayImpl.STREAM_CHUNK_SIZE))
+            .flatMap(permissionPOList -> {
+                List<Permission> permissions = permissionPersistenceConvertor.toEntities(
+                    permissionPOList);
+                // 转换完成后脱离持久化上下文，避免一级缓存随导出量增长
+                permissionPOList.forEach(entityManager::detach);
+                return permissions.stream();
+            });
     }
 
     /**
@@ -443,7 +589,8 @@ public class PermissionGatewayImpl implements PermissionGateway {
      */
     @Override
     public List<String> findAllAncestorPathStrings(Long descendantId) {
-        return Optional.ofNullable(descendantId).map(permissionPathRepository::findAllAncestorPathStrings).orElse(new ArrayList<>());
+        return Optional.ofNullable(descendantId).map(hierarchyIndexes.permissions()::ancestorPaths)
+            .orElse(new ArrayList<>());
     }
 
     /**
@@ -16,6 +16,8 @@
 
 package baby.mumu.iam.infra.permission.gatewayimpl.cache;
 
+import baby.mumu.basis.enums.CacheLevelEnum;
+import baby.mumu.iam.infra.nearcache.NearCached;
 import baby.mumu.iam.infra.permission.gatewayimpl.cache.po.PermissionCacheablePO;
 import com.redis.om.spring.repository.RedisDocumentRepository;
 
@@ -27,6 +29,7 @@ import java.util.Optional;
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 2.2.0
  */
+@NearCached(level = CacheLevelEnum.LOW)
 public interface PermissionCacheRepository extends
     RedisDocumentRepository<PermissionCacheablePO, Long> {
 
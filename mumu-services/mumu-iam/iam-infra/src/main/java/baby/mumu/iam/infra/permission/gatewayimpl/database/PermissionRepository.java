@@ -31,6 +31,8 @@ import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -65,6 +67,15 @@ public interface PermissionRepository extends BaseJpaRepository<PermissionPO, Lo
     boolean existsByCode(
         @Size(max = 50, message = "{permission.code.validation.size}") @NotNull String code);
 
+    /**
+     * 统计指定id集合中存在的权限数量
+     *
+     * @param ids 权限id集合
+     * @return 存在的数量
+     * @since 2.17.0
+     */
+    long countByIdIn(Collection<Long> ids);
+
 
     /**
      * 切片分页查询权限（不查询总数）
@@ -79,11 +90,34 @@ public interface PermissionRepository extends BaseJpaRepository<PermissionPO, Lo
                   and (:#{#permissionPO.name} is null or a.name like %:#{#permissionPO.name}%)
                   and (:#{#permissionPO.code} is null or a.code like %:#{#permissionPO.code}%)
                   and (:#{#permissionPO.description} is null or a.description like %:#{#permissionPO.description}%)
-                  order by a.creationTime desc
+                  order by a.creationTime desc, a.id desc
             """)
     Slice<PermissionPO> findAllSlice(@Param("permissionPO") PermissionPO permissionPO,
                                      Pageable pageable);
 
+    /**
+     * 键集切片分页查询权限（不查询总数），从游标之后开始查询
+     *
+     * @param permissionPO 查询条件
+     * @param creationTime 游标创建时间
+     * @param id           游标ID
+     * @param pageable     分页条件
+     * @return 查询结果
+     * @since 2.17.0
+     */
+    @Query(
+        """
+            select a from PermissionPO a where (a.creationTime, a.id) < (:creationTime, :id)
+                  and (:#{#permissionPO.id} is null or a.id = :#{#permissionPO.id})
+                  and (:#{#permissionPO.name} is null or a.name like %:#{#permissionPO.name}%)
+                  and (:#{#permissionPO.code} is null or a.code like %:#{#permissionPO.code}%)
+                  and (:#{#permissionPO.description} is null or a.description like %:#{#permissionPO.description}%)
+                  order by a.creationTime desc, a.id desc
+            """)
+    Slice<PermissionPO> findAllSliceAfter(@Param("permissionPO") PermissionPO permissionPO,
+                                          @Param("creationTime") OffsetDateTime creationTime,
+                                          @Param("id") Long id, Pageable pageable);
+
     /**
      * 分页查询权限（查询总数）
      *
@@ -97,11 +131,27 @@ public interface PermissionRepository extends BaseJpaRepository<PermissionPO, Lo
                   and (:#{#permissionPO.name} is null or a.name like %:#{#permissionPO.name}%)
                   and (:#{#permissionPO.code} is null or a.code like %:#{#permissionPO.code}%)
                   and (:#{#permissionPO.description} is null or a.description like %:#{#permissionPO.description}%)
-                  order by a.creationTime desc
+                  order by a.creationTime desc, a.id desc
             """)
     Page<PermissionPO> findAllPage(@Param("permissionPO") PermissionPO permissionPO,
                                    Pageable pageable);
 
+    /**
+     * 统计符合条件的权限数量
+     *
+     * @param permissionPO 查询条件
+     * @return 权限数量
+     * @since 2.17.0
+     */
+    @Query(
+        """
+            select count(a) from PermissionPO a where (:#{#permissionPO.id} is null or a.id = :#{#permissionPO.id})
+                  and (:#{#permissionPO.name} is null or a.name like %:#{#permissionPO.name}%)
+                  and (:#{#permissionPO.code} is null or a.code like %:#{#permissionPO.code}%)
+                  and (:#{#permissionPO.description} is null or a.description like %:#{#permissionPO.description}%)
+            """)
+    long countAll(@Param("permissionPO") PermissionPO permissionPO);
+
     List<PermissionPO> findAllByCodeIn(List<String> codes);
 
     Optional<PermissionPO> findByCode(String code);
@@ -109,4 +159,12 @@ public interface PermissionRepository extends BaseJpaRepository<PermissionPO, Lo
     @QueryHints(value = @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"))
     @Query(value = "select p from PermissionPO p")
     Stream<PermissionPO> findAll();
+
+    /**
+     * 查询全部权限编码
+     *
+     * @return 按字典序排列的权限编码
+     */
+    @Query(value = "select p.code from PermissionPO p order by p.code")
+    List<String> findAllCodes();
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.relations.cache;
+
+import baby.mumu.basis.enums.CacheLevelEnum;
+import baby.mumu.basis.po.jpa.JpaCacheableBasisDefaultPersistentObject;
+import com.redis.om.spring.annotations.Document;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.redis.core.TimeToLive;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * 账号有效权限快照缓存
+ * <p>
+ * 存储账号经角色、后代角色、权限、后代权限展开后的有序权限编码，附带计算时的权限版本号
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+@Document(value = "mumu:iam:account-authority")
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountAuthorityCacheablePO extends JpaCacheableBasisDefaultPersistentObject {
+
+    @Serial
+    private static final long serialVersionUID = -3620418946071533512L;
+
+    public AccountAuthorityCacheablePO(Long accountId, Long version, List<String> authorities) {
+        this.accountId = accountId;
+        this.version = version;
+        this.authorities = authorities;
+    }
+
+    @Id
+    private Long accountId;
+
+    /**
+     * 计算快照时的权限版本号
+     */
+    private Long version;
+
+    /**
+     * 按字典序排列的有效权限编码
+     */
+    private List<String> authorities;
+
+    /**
+     * 存活时间
+     * <p>低等级别变化数据：默认缓存时间为6小时</p>
+     */
+    @TimeToLive
+    private Long ttl = CacheLevelEnum.LOW.getSecondTtl();
+}
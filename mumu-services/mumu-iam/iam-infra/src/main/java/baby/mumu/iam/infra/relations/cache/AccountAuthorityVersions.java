@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.relations.cache;
+
+import baby.mumu.iam.infra.relations.database.AccountRoleRepository;
+import org.apache.commons.collections4.CollectionUtils;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * 账号权限版本号
+ * <p>
+ * 每个账号一个版本号，角色授权、角色路径、权限路径或权限编码变化时只递增持有受影响角色的账号，
+ * 其余账号的有效权限快照不受影响。受影响账号在变更前按角色路径与权限路径闭包解析，
+ * 版本号在事务提交后以管道批量递增
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class AccountAuthorityVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountAuthorityVersions.class);
+    private static final String KEY_PREFIX = "mumu:iam:authority-version:";
+    /**
+     * 版本号有效期须长于有效权限快照的有效期（6小时加抖动），避免版本号过期归零后与旧快照的版本号重合
+     */
+    private static final Duration TTL = Duration.ofHours(7);
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AccountRoleRepository accountRoleRepository;
+
+    @Autowired
+    public AccountAuthorityVersions(StringRedisTemplate stringRedisTemplate,
+                                    AccountRoleRepository accountRoleRepository) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.accountRoleRepository = accountRoleRepository;
+    }
+
+    /**
+     * 获取账号当前权限版本号
+     *
+     * @param accountId 账号ID
+     * @return 权限版本号，redis不可用时为空，此时调用方应直接计算有效权限且不回填快照
+     */
+    public OptionalLong current(Long accountId) {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(AccountAuthorityVersions.KEY_PREFIX + accountId);
+            return OptionalLong.of(version == null ? 0L : Long.parseLong(version));
+        } catch (RuntimeException e) {
+            AccountAuthorityVersions.log.warn("Failed to read authority version of account {}", accountId, e);
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * 递增持有指定角色或其祖先角色的账号的权限版本号
+     * <p>
+     * 须在变更角色路径之前调用，以便按变更前的闭包解析受影响账号
+     *
+     * @param roleIds 发生变化的角色ID集合
+     */
+    public void incrementByRoleIds(Collection<Long> roleIds) {
+        if (CollectionUtils.isNotEmpty(roleIds)) {
+            increment(accountRoleRepository.findAccountIdsByInheritedRoleIds(roleIds));
+        }
+    }
+
+    /**
+     * 递增通过角色继承到指定权限的账号的权限版本号，包括授予了其祖先权限的角色及这些角色的祖先角色
+     * <p>
+     * 须在变更权限路径之前调用，以便按变更前的闭包解析受影响账号
+     *
+     * @param permissionIds 发生变化的权限ID集合
+     */
+    public void incrementByPermissionIds(Collection<Long> permissionIds) {
+        if (CollectionUtils.isNotEmpty(permissionIds)) {
+            increment(accountRoleRepository.findAccountIdsByInheritedPermissionIds(permissionIds));
+        }
+    }
+
+    private void increment(Collection<Long> accountIds) {
+        if (CollectionUtils.isEmpty(accountIds)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flush(accountIds);
+            return;
+        }
+        pending().addAll(accountIds);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> pending() {
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Set<Long> batch = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, batch);
+        // 推迟到提交后递增，避免并发读取以新版本号缓存未提交前的权限
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                flush(batch);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AccountAuthorityVersions.this);
+            }
+        });
+        return batch;
+    }
+
+    private void flush(@NonNull Collection<Long> accountIds) {
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+                accountIds.forEach(accountId -> {
+                    String key = AccountAuthorityVersions.KEY_PREFIX + accountId;
+                    stringRedisConnection.incr(key);
+                    stringRedisConnection.expire(key, AccountAuthorityVersions.TTL.toSeconds());
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // 递增失败时依赖有效权限快照的有效期收敛
+            AccountAuthorityVersions.log.error("Failed to increment authority versions of accounts {}", accountIds, e);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package baby.mumu.iam.infra.relations.cache;
 
+import baby.mumu.basis.enums.CacheLevelEnum;
+import baby.mumu.iam.infra.nearcache.NearCached;
 import com.redis.om.spring.repository.RedisDocumentRepository;
 
 /**
@@ -24,6 +26,7 @@ import com.redis.om.spring.repository.RedisDocumentRepository;
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 2.2.0
  */
+@NearCached(level = CacheLevelEnum.LOW)
 public interface AccountRoleCacheRepository extends
     RedisDocumentRepository<AccountRoleCacheablePO, Long> {
 
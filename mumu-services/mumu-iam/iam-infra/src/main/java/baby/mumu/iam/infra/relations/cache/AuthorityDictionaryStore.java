@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.relations.cache;
+
+import baby.mumu.iam.client.config.AuthorityDictionary;
+import baby.mumu.iam.client.config.CompactAuthoritiesProperties;
+import baby.mumu.iam.infra.permission.gatewayimpl.database.PermissionRepository;
+import org.apache.commons.lang3.StringUtils;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * 权限字典存储
+ * <p>
+ * 字典版本号由全部权限编码计算，角色授权或路径变化不会产生新字典；权限编码版本号变化或无法读取时重新读取编码集合，
+ * 编码集合不变则沿用当前字典并续期，保留期内可按版本号查询以解码旧令牌
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class AuthorityDictionaryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorityDictionaryStore.class);
+    private static final String KEY_PREFIX = "mumu:iam:authority-dictionary:";
+    private static final String DELIMITER = "\n";
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AuthorityVersionCounter authorityVersionCounter;
+    private final PermissionRepository permissionRepository;
+    private final CompactAuthoritiesProperties compactAuthoritiesProperties;
+    private volatile Snapshot current;
+
+    @Autowired
+    public AuthorityDictionaryStore(StringRedisTemplate stringRedisTemplate,
+                                    AuthorityVersionCounter authorityVersionCounter,
+                                    PermissionRepository permissionRepository,
+                                    CompactAuthoritiesProperties compactAuthoritiesProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.authorityVersionCounter = authorityVersionCounter;
+        this.permissionRepository = permissionRepository;
+        this.compactAuthoritiesProperties = compactAuthoritiesProperties;
+    }
+
+    /**
+     * 获取当前权限编码集合对应的字典
+     *
+     * @return 权限字典，字典无法写入redis时为空，此时令牌应写入完整的权限列表
+     */
+    public Optional<AuthorityDictionary> current() {
+        OptionalLong authorityVersion = authorityVersionCounter.current();
+        Snapshot snapshot = this.current;
+        if (snapshot != null && authorityVersion.isPresent()
+            && snapshot.authorityVersion() == authorityVersion.getAsLong()) {
+            return Optional.of(snapshot.authorityDictionary());
+        }
+        List<String> codes = permissionRepository.findAllCodes();
+        long version = AuthorityDictionary.versionOf(codes);
+        AuthorityDictionary authorityDictionary =
+            snapshot != null && snapshot.authorityDictionary().getVersion() == version
+                ? snapshot.authorityDictionary() : new AuthorityDictionary(version, codes);
+        try {
+            String key = AuthorityDictionaryStore.KEY_PREFIX + version;
+            Duration retention = Duration.of(compactAuthoritiesProperties.getDictionaryRetention(),
+                compactAuthoritiesProperties.getDictionaryRetentionUnit().toChronoUnit());
+            // 同一编码集合只写入一份字典，已存在时续期，保证仍在签发的字典不会过期
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key,
+                String.join(AuthorityDictionaryStore.DELIMITER, codes), retention))) {
+                stringRedisTemplate.expire(key, retention);
+            }
+        } catch (RuntimeException e) {
+            AuthorityDictionaryStore.log.warn("Failed to publish authority dictionary version {}", version, e);
+            return Optional.empty();
+        }
+        if (authorityVersion.isPresent()) {
+            this.current = new Snapshot(authorityVersion.getAsLong(), authorityDictionary);
+        }
+        return Optional.of(authorityDictionary);
+    }
+
+    /**
+     * 根据版本号获取字典
+     *
+     * @param version 版本号
+     * @return 权限字典
+     */
+    public Optional<AuthorityDictionary> find(long version) {
+        Snapshot snapshot = this.current;
+        if (snapshot != null && snapshot.authorityDictionary().getVersion() == version) {
+            return Optional.of(snapshot.authorityDictionary());
+        }
+        return Optional.ofNullable(stringRedisTemplate.opsForValue().get(AuthorityDictionaryStore.KEY_PREFIX + version))
+            .map(codes -> new AuthorityDictionary(version, toCodes(codes)));
+    }
+
+    private static @NonNull List<String> toCodes(String codes) {
+        return StringUtils.isEmpty(codes) ? List.of()
+            : Arrays.asList(StringUtils.split(codes, AuthorityDictionaryStore.DELIMITER));
+    }
+
+    /**
+     * 当前字典及其对应的权限版本号
+     *
+     * @param authorityVersion    读取编码集合时的权限编码版本号
+     * @param authorityDictionary 权限字典
+     */
+    private record Snapshot(long authorityVersion, AuthorityDictionary authorityDictionary) {
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.relations.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.OptionalLong;
+
+/**
+ * 权限编码版本号
+ * <p>
+ * 权限新增、删除、归档、恢复或修改时递增，权限字典据此重新读取编码集合；
+ * 账号有效权限快照按账号单独版本化，见{@link AccountAuthorityVersions}
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class AuthorityVersionCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorityVersionCounter.class);
+    private static final String KEY = "mumu:iam:authority-version";
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    public AuthorityVersionCounter(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * 获取当前权限编码版本号
+     *
+     * @return 权限编码版本号，redis不可用时为空
+     */
+    public OptionalLong current() {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(AuthorityVersionCounter.KEY);
+            return OptionalLong.of(version == null ? 0L : Long.parseLong(version));
+        } catch (RuntimeException e) {
+            AuthorityVersionCounter.log.warn("Failed to read authority version", e);
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * 递增权限编码版本号，使各实例的权限字典重新读取编码集合
+     * <p>
+     * 事务内调用时推迟到提交后执行且每个事务只递增一次，避免并发读取以新版本号缓存未提交前的编码集合
+     */
+    public void increment() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stringRedisTemplate.opsForValue().increment(AuthorityVersionCounter.KEY);
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stringRedisTemplate.opsForValue().increment(AuthorityVersionCounter.KEY);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AuthorityVersionCounter.this);
+            }
+        });
+    }
+}
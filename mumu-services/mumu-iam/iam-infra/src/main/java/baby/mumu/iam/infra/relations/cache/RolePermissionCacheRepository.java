@@ -16,16 +16,28 @@
 
 package baby.mumu.iam.infra.relations.cache;
 
+import baby.mumu.basis.enums.CacheLevelEnum;
+import baby.mumu.iam.infra.nearcache.NearCached;
 import com.redis.om.spring.repository.RedisDocumentRepository;
 
+import java.util.List;
+
 /**
  * 角色权限关系缓存
  *
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 2.2.0
  */
+@NearCached(level = CacheLevelEnum.LOW)
 public interface RolePermissionCacheRepository extends
     RedisDocumentRepository<RolePermissionCacheablePO, Long> {
 
-    void deleteByPermissionIdsContaining(Long permissionId);
+    /**
+     * 查询包含指定权限的角色权限关系缓存
+     *
+     * @param permissionId 权限ID
+     * @return 角色权限关系缓存
+     * @since 2.17.0
+     */
+    List<RolePermissionCacheablePO> findByPermissionIdsContaining(Long permissionId);
 }
@@ -17,8 +17,13 @@
 package baby.mumu.iam.infra.relations.database;
 
 import io.hypersistence.utils.spring.repository.BaseJpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -36,4 +41,69 @@ public interface AccountRoleRepository extends
     List<AccountRolePO> findByRoleId(Long roleId);
 
     void deleteByAccountId(Long accountId);
+
+    /**
+     * 角色是否已分配给任意账号
+     *
+     * @param roleId 角色ID
+     * @return 是否存在
+     */
+    boolean existsByIdRoleId(Long roleId);
+
+    /**
+     * 分页查询拥有指定角色的账号名
+     *
+     * @param roleId   角色ID
+     * @param pageable 分页参数
+     * @return 账号名
+     */
+    @Query("select a.username from AccountRolePO ar join ar.account a where ar.id.roleId = :roleId order by ar.id.accountId")
+    Slice<String> findUsernamesByRoleId(@Param("roleId") Long roleId, Pageable pageable);
+
+    /**
+     * 统计拥有指定角色的账号数量，只扫描(role_id, account_id)索引
+     *
+     * @param roleId 角色ID
+     * @return 账号数量
+     */
+    long countByIdRoleId(Long roleId);
+
+    /**
+     * 分页查询拥有指定角色的账号ID，只扫描(role_id, account_id)索引
+     *
+     * @param roleId   角色ID
+     * @param pageable 分页参数
+     * @return 账号ID
+     */
+    @Query("select ar.id.accountId from AccountRolePO ar where ar.id.roleId = :roleId order by ar.id.accountId")
+    Slice<Long> findAccountIdsByRoleId(@Param("roleId") Long roleId, Pageable pageable);
+
+    /**
+     * 查询持有指定角色或其祖先角色的账号ID
+     *
+     * @param roleIds 角色ID集合
+     * @return 账号ID
+     * @since 2.17.0
+     */
+    @Query("""
+        select distinct ar.id.accountId from AccountRolePO ar
+        where ar.id.roleId in (select rp.id.ancestorId from RolePathPO rp where rp.id.descendantId in :roleIds)
+        """)
+    List<Long> findAccountIdsByInheritedRoleIds(@Param("roleIds") Collection<Long> roleIds);
+
+    /**
+     * 查询通过角色继承到指定权限的账号ID，即持有授予了这些权限或其祖先权限的角色，或持有这些角色的祖先角色
+     *
+     * @param permissionIds 权限ID集合
+     * @return 账号ID
+     * @since 2.17.0
+     */
+    @Query("""
+        select distinct ar.id.accountId from AccountRolePO ar
+        where ar.id.roleId in (
+            select rp.id.ancestorId from RolePathPO rp where rp.id.descendantId in (
+                select rpm.id.roleId from RolePermissionPO rpm where rpm.id.permissionId in (
+                    select pp.id.ancestorId from PermissionPathPO pp where pp.id.descendantId in :permissionIds)))
+        """)
+    List<Long> findAccountIdsByInheritedPermissionIds(@Param("permissionIds") Collection<Long> permissionIds);
 }
@@ -17,8 +17,6 @@
 package baby.mumu.iam.infra.relations.database;
 
 import io.hypersistence.utils.spring.repository.BaseJpaRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -54,27 +52,6 @@ public interface PermissionPathRepository extends
     @Query("delete from PermissionPathPO a where a.descendant.id=:permissionId or a.ancestor.id=:permissionId")
     void deleteAllPathsByPermissionId(@Param("permissionId") Long permissionId);
 
-    /**
-     * 获取所有根权限
-     *
-     * @return 根权限
-     */
-    @Query("""
-          select a from PermissionPathPO a where a.id.depth = 0 and not exists
-             (select 1 from PermissionPathPO b where b.descendant.id = a.ancestor.id and b.id.depth > 0)
-        """)
-    Page<PermissionPathPO> findRootPermissions(Pageable pageable);
-
-    /**
-     * 获取直系后代权限
-     *
-     * @param ancestorId 祖先权限ID
-     * @return 直系后代权限
-     */
-    @Query("select a from PermissionPathPO a where a.id.depth = 1 and a.ancestor.id = :ancestorId")
-    Page<PermissionPathPO> findDirectPermissions(@Param("ancestorId") Long ancestorId,
-                                                 Pageable pageable);
-
     /**
      * 获取所有后代权限（不包含祖先自身）
      *
@@ -110,49 +87,118 @@ public interface PermissionPathRepository extends
 
 
     /**
-     * 删除所有不可达节点
+     * 获取所有节点ID（深度为0的自身路径）
+     *
+     * @return 节点ID
+     * @since 2.17.0
+     */
+    @Query("select a.id.ancestorId from PermissionPathPO a where a.id.depth = 0")
+    List<Long> findAllNodeIds();
+
+    /**
+     * 获取所有直系路径
+     *
+     * @return 直系路径
+     * @since 2.17.0
      */
-    @Modifying
     @Query("""
-        DELETE FROM PermissionPathPO pp1
-        WHERE pp1.id.depth > 1
-        AND NOT EXISTS (
-            SELECT 1
-            FROM PermissionPathPO pp2
-            JOIN PermissionPathPO pp3
-                ON pp2.descendant.id = pp3.ancestor.id
-            WHERE pp2.ancestor.id = pp1.ancestor.id
-            AND pp3.descendant.id = pp1.descendant.id
-            AND pp2.id.depth = 1
-            AND pp3.id.depth = 1
-        )
-        AND pp1.ancestor.id != pp1.descendant.id
+        select new baby.mumu.iam.infra.relations.database.PathEdge(a.id.ancestorId, a.id.descendantId)
+        from PermissionPathPO a where a.id.depth = 1
         """)
-    void deleteUnreachableData();
+    List<PathEdge> findAllDirectEdges();
 
     /**
-     * 获取指定后代节点的所有祖先路径
+     * 指定祖先与后代之间是否存在任意深度的路径
+     *
+     * @param ancestorId   祖先权限ID
+     * @param descendantId 后代权限ID
+     * @return 是否存在
+     * @since 2.17.0
      */
+    @Query("SELECT COUNT(*) > 0 FROM PermissionPathPO WHERE ancestor.id = :ancestorId AND descendant.id = :descendantId")
+    boolean existsPath(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+
+    /**
+     * 指定权限中是否存在成环路径
+     *
+     * @param ids 权限ID集合
+     * @return 是否存在
+     * @since 2.17.0
+     */
+    @Query("""
+        SELECT COUNT(*) > 0 FROM PermissionPathPO
+        WHERE ancestor.id IN :ids AND ancestor.id = descendant.id AND id.depth > 0
+        """)
+    boolean existsCycle(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 将后代及其整棵子树挂接到祖先及祖先的所有祖先之下
+     * <p>
+     * 依赖每个节点深度为0的自身路径，一条语句生成祖先集合与子树集合的笛卡尔积路径
+     *
+     * @param ancestorId   祖先权限ID
+     * @param descendantId 后代权限ID
+     * @param operatorId   操作人ID
+     * @since 2.17.0
+     */
+    @Modifying
+    @SuppressWarnings("SqlDialectInspection")
+    @Query(value = """
+        INSERT INTO mumu_permission_paths (ancestor_id, descendant_id, depth, founder, modifier)
+        SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1, :operatorId, :operatorId
+        FROM mumu_permission_paths a
+        JOIN mumu_permission_paths d ON d.ancestor_id = :descendantId
+        WHERE a.descendant_id = :ancestorId
+        ON CONFLICT (ancestor_id, descendant_id, depth) DO NOTHING
+        """, nativeQuery = true)
+    void attachSubtree(@Param("ancestorId") Long ancestorId,
+                       @Param("descendantId") Long descendantId,
+                       @Param("operatorId") Long operatorId);
+
+    /**
+     * 删除祖先与后代之间的直系路径，以及祖先集合到子树集合之间的所有间接路径
+     * <p>
+     * 仅作用于受影响的祖先集合与子树集合，其余直系路径保持不变，经其他路径可达的间接路径由
+     * {@link #reconnectSubtree(Long, Long, Long)}重新生成
+     *
+     * @param ancestorId   祖先权限ID
+     * @param descendantId 后代权限ID
+     * @since 2.17.0
+     */
+    @Modifying
+    @SuppressWarnings("SqlDialectInspection")
+    @Query(value = """
+        DELETE FROM mumu_permission_paths p
+        WHERE p.ancestor_id IN (SELECT a.ancestor_id FROM mumu_permission_paths a WHERE a.descendant_id = :ancestorId)
+          AND p.descendant_id IN (SELECT d.descendant_id FROM mumu_permission_paths d WHERE d.ancestor_id = :descendantId)
+          AND (p.depth > 1 OR (p.ancestor_id = :ancestorId AND p.descendant_id = :descendantId))
+        """, nativeQuery = true)
+    void detachSubtree(@Param("ancestorId") Long ancestorId,
+                       @Param("descendantId") Long descendantId);
+
+    /**
+     * 根据子树剩余的入边重新生成祖先集合到子树集合之间的间接路径
+     *
+     * @param ancestorId   原祖先权限ID
+     * @param descendantId 后代权限ID
+     * @param operatorId   操作人ID
+     * @since 2.17.0
+     */
+    @Modifying
     @SuppressWarnings("SqlDialectInspection")
     @Query(value = """
-        WITH RECURSIVE edges AS (
-          SELECT ancestor_id AS parent_id, descendant_id AS child_id
-          FROM mumu_permission_paths
-          WHERE depth = 1
-        ),
-        paths AS (
-          SELECT e.parent_id, e.child_id, ARRAY[e.parent_id, e.child_id] AS path
-          FROM edges e
-          WHERE e.child_id = :descId
-          UNION ALL
-          SELECT e.parent_id, p.child_id, ARRAY_PREPEND(e.parent_id, p.path)
-          FROM paths p
-          JOIN edges e ON e.child_id = p.parent_id
-          WHERE NOT (e.parent_id = ANY(p.path))
-        )
-        SELECT array_to_string(path, '|')
-        FROM paths
-        WHERE parent_id NOT IN (SELECT child_id FROM edges)
+        INSERT INTO mumu_permission_paths (ancestor_id, descendant_id, depth, founder, modifier)
+        SELECT x.ancestor_id, y.descendant_id, x.depth + 1 + y.depth, :operatorId, :operatorId
+        FROM mumu_permission_paths e
+        JOIN mumu_permission_paths x ON x.descendant_id = e.ancestor_id
+        JOIN mumu_permission_paths y ON y.ancestor_id = e.descendant_id
+        WHERE e.depth = 1
+          AND e.descendant_id IN (SELECT s.descendant_id FROM mumu_permission_paths s WHERE s.ancestor_id = :descendantId)
+          AND e.ancestor_id NOT IN (SELECT s.descendant_id FROM mumu_permission_paths s WHERE s.ancestor_id = :descendantId)
+          AND x.ancestor_id IN (SELECT a.ancestor_id FROM mumu_permission_paths a WHERE a.descendant_id = :ancestorId)
+        ON CONFLICT (ancestor_id, descendant_id, depth) DO NOTHING
         """, nativeQuery = true)
-    List<String> findAllAncestorPathStrings(@Param("descId") Long descId);
+    void reconnectSubtree(@Param("ancestorId") Long ancestorId,
+                          @Param("descendantId") Long descendantId,
+                          @Param("operatorId") Long operatorId);
 }
@@ -17,8 +17,6 @@
 package baby.mumu.iam.infra.relations.database;
 
 import io.hypersistence.utils.spring.repository.BaseJpaRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -54,27 +52,6 @@ public interface RolePathRepository extends
     @Query("delete from RolePathPO a where a.descendant.id=:roleId or a.ancestor.id=:roleId")
     void deleteAllPathsByRoleId(@Param("roleId") Long roleId);
 
-    /**
-     * 获取所有根角色
-     *
-     * @return 根角色
-     */
-    @Query("""
-          select a from RolePathPO a where a.id.depth = 0 and not exists
-             (select 1 from RolePathPO b where b.descendant.id = a.ancestor.id and b.id.depth > 0)
-        """)
-    Page<RolePathPO> findRootRoles(Pageable pageable);
-
-    /**
-     * 获取直系后代角色
-     *
-     * @param ancestorId 祖先角色ID
-     * @return 直系后代角色
-     */
-    @Query("select a from RolePathPO a where a.id.depth = 1 and a.ancestor.id = :ancestorId")
-    Page<RolePathPO> findDirectRoles(@Param("ancestorId") Long ancestorId,
-                                     Pageable pageable);
-
     /**
      * 获取所有后代角色（不包含祖先自身）
      *
@@ -110,23 +87,118 @@ public interface RolePathRepository extends
 
 
     /**
-     * 删除所有不可达节点
+     * 获取所有节点ID（深度为0的自身路径）
+     *
+     * @return 节点ID
+     * @since 2.17.0
+     */
+    @Query("select a.id.ancestorId from RolePathPO a where a.id.depth = 0")
+    List<Long> findAllNodeIds();
+
+    /**
+     * 获取所有直系路径
+     *
+     * @return 直系路径
+     * @since 2.17.0
+     */
+    @Query("""
+        select new baby.mumu.iam.infra.relations.database.PathEdge(a.id.ancestorId, a.id.descendantId)
+        from RolePathPO a where a.id.depth = 1
+        """)
+    List<PathEdge> findAllDirectEdges();
+
+    /**
+     * 指定祖先与后代之间是否存在任意深度的路径
+     *
+     * @param ancestorId   祖先角色ID
+     * @param descendantId 后代角色ID
+     * @return 是否存在
+     * @since 2.17.0
+     */
+    @Query("SELECT COUNT(*) > 0 FROM RolePathPO WHERE ancestor.id = :ancestorId AND descendant.id = :descendantId")
+    boolean existsPath(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+
+    /**
+     * 指定角色中是否存在成环路径
+     *
+     * @param ids 角色ID集合
+     * @return 是否存在
+     * @since 2.17.0
      */
-    @Modifying
     @Query("""
-        DELETE FROM RolePathPO ap1
-        WHERE ap1.id.depth > 1
-        AND NOT EXISTS (
-            SELECT 1
-            FROM RolePathPO ap2
-            JOIN RolePathPO ap3
-                ON ap2.descendant.id = ap3.ancestor.id
-            WHERE ap2.ancestor.id = ap1.ancestor.id
-            AND ap3.descendant.id = ap1.descendant.id
-            AND ap2.id.depth = 1
-            AND ap3.id.depth = 1
-        )
-        AND ap1.ancestor.id != ap1.descendant.id
+        SELECT COUNT(*) > 0 FROM RolePathPO
+        WHERE ancestor.id IN :ids AND ancestor.id = descendant.id AND id.depth > 0
         """)
-    void deleteUnreachableData();
+    boolean existsCycle(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 将后代及其整棵子树挂接到祖先及祖先的所有祖先之下
+     * <p>
+     * 依赖每个节点深度为0的自身路径，一条语句生成祖先集合与子树集合的笛卡尔积路径
+     *
+     * @param ancestorId   祖先角色ID
+     * @param descendantId 后代角色ID
+     * @param operatorId   操作人ID
+     * @since 2.17.0
+     */
+    @Modifying
+    @SuppressWarnings("SqlDialectInspection")
+    @Query(value = """
+        INSERT INTO mumu_role_paths (ancestor_id, descendant_id, depth, founder, modifier)
+        SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1, :operatorId, :operatorId
+        FROM mumu_role_paths a
+        JOIN mumu_role_paths d ON d.ancestor_id = :descendantId
+        WHERE a.descendant_id = :ancestorId
+        ON CONFLICT (ancestor_id, descendant_id, depth) DO NOTHING
+        """, nativeQuery = true)
+    void attachSubtree(@Param("ancestorId") Long ancestorId,
+                       @Param("descendantId") Long descendantId,
+                       @Param("operatorId") Long operatorId);
+
+    /**
+     * 删除祖先与后代之间的直系路径，以及祖先集合到子树集合之间的所有间接路径
+     * <p>
+     * 仅作用于受影响的祖先集合与子树集合，其余直系路径保持不变，经其他路径可达的间接路径由
+     * {@link #reconnectSubtree(Long, Long, Long)}重新生成
+     *
+     * @param ancestorId   祖先角色ID
+     * @param descendantId 后代角色ID
+     * @since 2.17.0
+     */
+    @Modifying
+    @SuppressWarnings("SqlDialectInspection")
+    @Query(value = """
+        DELETE FROM mumu_role_paths r
+        WHERE r.ancestor_id IN (SELECT a.ancestor_id FROM mumu_role_paths a WHERE a.descendant_id = :ancestorId)
+          AND r.descendant_id IN (SELECT d.descendant_id FROM mumu_role_paths d WHERE d.ancestor_id = :descendantId)
+          AND (r.depth > 1 OR (r.ancestor_id = :ancestorId AND r.descendant_id = :descendantId))
+        """, nativeQuery = true)
+    void detachSubtree(@Param("ancestorId") Long ancestorId,
+                       @Param("descendantId") Long descendantId);
+
+    /**
+     * 根据子树剩余的入边重新生成祖先集合到子树集合之间的间接路径
+     *
+     * @param ancestorId   原祖先角色ID
+     * @param descendantId 后代角色ID
+     * @param operatorId   操作人ID
+     * @since 2.17.0
+     */
+    @Modifying
+    @SuppressWarnings("SqlDialectInspection")
+    @Query(value = """
+        INSERT INTO mumu_role_paths (ancestor_id, descendant_id, depth, founder, modifier)
+        SELECT x.ancestor_id, y.descendant_id, x.depth + 1 + y.depth, :operatorId, :operatorId
+        FROM mumu_role_paths e
+        JOIN mumu_role_paths x ON x.descendant_id = e.ancestor_id
+        JOIN mumu_role_paths y ON y.ancestor_id = e.descendant_id
+        WHERE e.depth = 1
+          AND e.descendant_id IN (SELECT s.descendant_id FROM mumu_role_paths s WHERE s.ancestor_id = :descendantId)
+          AND e.ancestor_id NOT IN (SELECT s.descendant_id FROM mumu_role_paths s WHERE s.ancestor_id = :descendantId)
+          AND x.ancestor_id IN (SELECT a.ancestor_id FROM mumu_role_paths a WHERE a.descendant_id = :ancestorId)
+        ON CONFLICT (ancestor_id, descendant_id, depth) DO NOTHING
+        """, nativeQuery = true)
+    void reconnectSubtree(@Param("ancestorId") Long ancestorId,
+                          @Param("descendantId") Long descendantId,
+                          @Param("operatorId") Long operatorId);
 }
@@ -18,8 +18,13 @@ package baby.mumu.iam.infra.relations.database;
 
 import io.hypersistence.utils.spring.repository.BaseJpaRepository;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -54,4 +59,48 @@ public interface RolePermissionRepository extends
      * @return 角色权限关联关系列表
      */
     List<RolePermissionPO> findByRoleId(@NotNull final Long roleId);
+
+    /**
+     * 根据角色ID集合批量查询角色权限关联关系
+     *
+     * @param roleIds 角色ID集合
+     * @return 角色权限关联关系列表
+     */
+    List<RolePermissionPO> findByRoleIdIn(@NotNull final Collection<Long> roleIds);
+
+    /**
+     * 权限是否已授予任意角色
+     *
+     * @param permissionId 权限ID
+     * @return 是否存在
+     */
+    boolean existsByIdPermissionId(@NotNull final Long permissionId);
+
+    /**
+     * 分页查询拥有指定权限的角色编码
+     *
+     * @param permissionId 权限ID
+     * @param pageable     分页参数
+     * @return 角色编码
+     */
+    @Query("select r.code from RolePermissionPO rp join rp.role r where rp.id.permissionId = :permissionId order by rp.id.roleId")
+    Slice<String> findRoleCodesByPermissionId(@Param("permissionId") Long permissionId, Pageable pageable);
+
+    /**
+     * 统计拥有指定权限的角色数量，只扫描(permission_id, role_id)索引
+     *
+     * @param permissionId 权限ID
+     * @return 角色数量
+     */
+    long countByIdPermissionId(@NotNull final Long permissionId);
+
+    /**
+     * 分页查询拥有指定权限的角色ID，只扫描(permission_id, role_id)索引
+     *
+     * @param permissionId 权限ID
+     * @param pageable     分页参数
+     * @return 角色ID
+     */
+    @Query("select rp.id.roleId from RolePermissionPO rp where rp.id.permissionId = :permissionId order by rp.id.roleId")
+    Slice<Long> findRoleIdsByPermissionId(@Param("permissionId") Long permissionId, Pageable pageable);
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.relations.index;
+
+import baby.mumu.iam.infra.relations.database.PathEdge;
+import org.jspecify.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 层级结构只读索引
+ * <p>
+ * 节点ID升序存放于数组中，父子关系以偏移量数组加扁平ID数组的形式保存，构建后不可变，变更时整体替换
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public final class HierarchyIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final long[] nodes;
+    private final long[] roots;
+    private final int[] childOffsets;
+    private final long[] children;
+    private final int[] parentOffsets;
+    private final long[] parents;
+
+    private HierarchyIndex(long[] nodes, long[] roots, int[] childOffsets, long[] children,
+                           int[] parentOffsets, long[] parents) {
+        this.nodes = nodes;
+        this.roots = roots;
+        this.childOffsets = childOffsets;
+        this.children = children;
+        this.parentOffsets = parentOffsets;
+        this.parents = parents;
+    }
+
+    /**
+     * 根据节点与直系路径构建索引
+     *
+     * @param nodeIds 节点ID
+     * @param edges   直系路径
+     * @return 索引
+     */
+    public static @NonNull HierarchyIndex of(@NonNull Collection<Long> nodeIds,
+                                             @NonNull Collection<PathEdge> edges) {
+        long[] nodes = new long[nodeIds.size() + edges.size() * 2];
+        int count = 0;
+        for (Long nodeId : nodeIds) {
+            nodes[count++] = nodeId;
+        }
+        for (PathEdge edge : edges) {
+            nodes[count++] = edge.ancestorId();
+            nodes[count++] = edge.descendantId();
+        }
+        Arrays.sort(nodes, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || nodes[distinct - 1] != nodes[i]) {
+                nodes[distinct++] = nodes[i];
+            }
+        }
+        nodes = Arrays.copyOf(nodes, distinct);
+        int[] childOffsets = new int[distinct + 1];
+        int[] parentOffsets = new int[distinct + 1];
+        for (PathEdge edge : edges) {
+            childOffsets[Arrays.binarySearch(nodes, edge.ancestorId()) + 1]++;
+            parentOffsets[Arrays.binarySearch(nodes, edge.descendantId()) + 1]++;
+        }
+        for (int i = 0; i < distinct; i++) {
+            childOffsets[i + 1] += childOffsets[i];
+            parentOffsets[i + 1] += parentOffsets[i];
+        }
+        long[] children = new long[edges.size()];
+        long[] parents = new long[edges.size()];
+        int[] childCursor = Arrays.copyOf(childOffsets, distinct);
+        int[] parentCursor = Arrays.copyOf(parentOffsets, distinct);
+        for (PathEdge edge : edges) {
+            int ancestor = Arrays.binarySearch(nodes, edge.ancestorId());
+            int descendant = Arrays.binarySearch(nodes, edge.descendantId());
+            children[childCursor[ancestor]++] = edge.descendantId();
+            parents[parentCursor[descendant]++] = edge.ancestorId();
+        }
+        long[] roots = new long[distinct];
+        int rootCount = 0;
+        for (int i = 0; i < distinct; i++) {
+            Arrays.sort(children, childOffsets[i], childOffsets[i + 1]);
+            if (parentOffsets[i] == parentOffsets[i + 1]) {
+                roots[rootCount++] = nodes[i];
+            }
+        }
+        return new HierarchyIndex(nodes, Arrays.copyOf(roots, rootCount), childOffsets, children,
+            parentOffsets, parents);
+    }
+
+    /**
+     * 根节点数量
+     *
+     * @return 根节点数量
+     */
+    public int rootCount() {
+        return roots.length;
+    }
+
+    /**
+     * 按ID升序分页获取根节点
+     *
+     * @param offset 偏移量
+     * @param limit  数量
+     * @return 根节点ID
+     */
+    public long[] roots(long offset, int limit) {
+        return HierarchyIndex.slice(roots, 0, roots.length, offset, limit);
+    }
+
+    /**
+     * 直系后代数量
+     *
+     * @param ancestorId 祖先ID
+     * @return 直系后代数量
+     */
+    public int childCount(long ancestorId) {
+        int index = Arrays.binarySearch(nodes, ancestorId);
+        return index < 0 ? 0 : childOffsets[index + 1] - childOffsets[index];
+    }
+
+    /**
+     * 按ID升序分页获取直系后代
+     *
+     * @param ancestorId 祖先ID
+     * @param offset     偏移量
+     * @param limit      数量
+     * @return 直系后代ID
+     */
+    public long[] children(long ancestorId, long offset, int limit) {
+        int index = Arrays.binarySearch(nodes, ancestorId);
+        return index < 0 ? HierarchyIndex.EMPTY
+            : HierarchyIndex.slice(children, childOffsets[index], childOffsets[index + 1], offset, limit);
+    }
+
+    /**
+     * 获取指定节点到所有根节点的路径，格式为自根节点至该节点以|分隔的ID
+     *
+     * @param descendantId 后代ID
+     * @return 祖先路径
+     */
+    public List<String> ancestorPaths(long descendantId) {
+        List<String> paths = new ArrayList<>();
+        int index = Arrays.binarySearch(nodes, descendantId);
+        if (index >= 0 && parentOffsets[index] != parentOffsets[index + 1]) {
+            collectAncestorPaths(index, new long[]{descendantId}, 1, paths);
+        }
+        return paths;
+    }
+
+    private void collectAncestorPaths(int index, long[] path, int length, List<String> paths) {
+        int from = parentOffsets[index];
+        int to = parentOffsets[index + 1];
+        if (from == to) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = length - 1; i >= 0; i--) {
+                builder.append(path[i]);
+                if (i > 0) {
+                    builder.append('|');
+                }
+            }
+            paths.add(builder.toString());
+            return;
+        }
+        long[] next = length == path.length ? Arrays.copyOf(path, length * 2) : path;
+        for (int i = from; i < to; i++) {
+            long parent = parents[i];
+            if (HierarchyIndex.contains(next, length, parent)) {
+                continue;
+            }
+            next[length] = parent;
+            collectAncestorPaths(Arrays.binarySearch(nodes, parent), next, length + 1, paths);
+        }
+    }
+
+    private static boolean contains(long[] path, int length, long id) {
+        for (int i = 0; i < length; i++) {
+            if (path[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] slice(long[] source, int from, int to, long offset, int limit) {
+        if (offset >= to - from || limit <= 0) {
+            return HierarchyIndex.EMPTY;
+        }
+        int start = from + (int) offset;
+        return Arrays.copyOfRange(source, start, Math.min(to, start + limit));
+    }
+}
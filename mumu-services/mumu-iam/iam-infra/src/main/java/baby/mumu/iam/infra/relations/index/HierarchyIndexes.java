@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.relations.index;
+
+import baby.mumu.iam.infra.invalidation.InvalidationBus;
+import baby.mumu.iam.infra.relations.database.PermissionPathRepository;
+import baby.mumu.iam.infra.relations.database.RolePathRepository;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 权限与角色层级索引
+ * <p>
+ * 数据库为唯一数据源，索引在首次读取时整体构建；路径变更所在事务提交后递增redis中的层级版本号，
+ * 丢弃本地索引并经由 {@link InvalidationBus} 通知其他IAM实例丢弃，下次读取时重新构建。
+ * 订阅重连期间丢失的通知由定期比对版本号兜底，redis不可用时索引最长保留固定有效期
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class HierarchyIndexes implements InitializingBean {
+
+    private static final String CHANNEL = "mumu:iam:hierarchy-index";
+    private static final String VERSION_KEY_PREFIX = "mumu:iam:hierarchy-version:";
+    private static final long VERSION_CHECK_INTERVAL_NANOS = Duration.ofSeconds(30).toNanos();
+    private static final long TTL_NANOS = Duration.ofMinutes(10).toNanos();
+    private static final Logger log = LoggerFactory.getLogger(HierarchyIndexes.class);
+    private final Map<HierarchyType, Slot> slots = new EnumMap<>(HierarchyType.class);
+    private final InvalidationBus invalidationBus;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    public HierarchyIndexes(PermissionPathRepository permissionPathRepository,
+                            RolePathRepository rolePathRepository,
+                            InvalidationBus invalidationBus,
+                            StringRedisTemplate stringRedisTemplate) {
+        this.invalidationBus = invalidationBus;
+        this.stringRedisTemplate = stringRedisTemplate;
+        slots.put(HierarchyType.PERMISSION, new Slot(
+            () -> HierarchyIndex.of(permissionPathRepository.findAllNodeIds(),
+                permissionPathRepository.findAllDirectEdges()),
+            () -> version(HierarchyType.PERMISSION)));
+        slots.put(HierarchyType.ROLE, new Slot(
+            () -> HierarchyIndex.of(rolePathRepository.findAllNodeIds(),
+                rolePathRepository.findAllDirectEdges()),
+            () -> version(HierarchyType.ROLE)));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        invalidationBus.subscribe(HierarchyIndexes.CHANNEL, false, this::onMessage);
+    }
+
+    /**
+     * 获取权限层级索引
+     *
+     * @return 权限层级索引
+     */
+    public HierarchyIndex permissions() {
+        return slots.get(HierarchyType.PERMISSION).get();
+    }
+
+    /**
+     * 获取角色层级索引
+     *
+     * @return 角色层级索引
+     */
+    public HierarchyIndex roles() {
+        return slots.get(HierarchyType.ROLE).get();
+    }
+
+    /**
+     * 权限路径发生变更
+     */
+    public void invalidatePermissions() {
+        invalidate(HierarchyType.PERMISSION);
+    }
+
+    /**
+     * 角色路径发生变更
+     */
+    public void invalidateRoles() {
+        invalidate(HierarchyType.ROLE);
+    }
+
+    private void invalidate(HierarchyType type) {
+        Slot slot = slots.get(type);
+        // 先递增版本号再丢弃本地索引，使重新构建的索引记录变更后的版本号
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(type);
+            slot.invalidate();
+            return;
+        }
+        // 事务结束前构建的索引可能包含未提交或已回滚的路径，统一在事务结束后丢弃
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                    publish(type);
+                }
+                slot.invalidate();
+            }
+        });
+    }
+
+    private void publish(@NonNull HierarchyType type) {
+        try {
+            stringRedisTemplate.opsForValue().increment(HierarchyIndexes.VERSION_KEY_PREFIX + type.name());
+        } catch (RuntimeException e) {
+            HierarchyIndexes.log.warn("Failed to increment {} hierarchy version", type, e);
+        }
+        invalidationBus.publish(HierarchyIndexes.CHANNEL, type.name());
+    }
+
+    /**
+     * 读取层级版本号
+     *
+     * @param type 层级类型
+     * @return 层级版本号，redis不可用时返回空
+     */
+    private OptionalLong version(@NonNull HierarchyType type) {
+        try {
+            return Optional.ofNullable(
+                    stringRedisTemplate.opsForValue().get(HierarchyIndexes.VERSION_KEY_PREFIX + type.name()))
+                .map(version -> OptionalLong.of(Long.parseLong(version))).orElse(OptionalLong.of(0L));
+        } catch (RuntimeException e) {
+            HierarchyIndexes.log.warn("Failed to read {} hierarchy version", type, e);
+            return OptionalLong.empty();
+        }
+    }
+
+    private void onMessage(String body) {
+        try {
+            slots.get(HierarchyType.valueOf(body)).invalidate();
+        } catch (IllegalArgumentException e) {
+            HierarchyIndexes.log.warn("Ignore illegal hierarchy index message: {}", body);
+        }
+    }
+
+    private enum HierarchyType {
+        PERMISSION,
+        ROLE
+    }
+
+    private static final class Slot {
+
+        private final Supplier<HierarchyIndex> loader;
+        private final Supplier<OptionalLong> versionReader;
+        private final AtomicLong generation = new AtomicLong();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Snapshot snapshot;
+
+        private Slot(Supplier<HierarchyIndex> loader, Supplier<OptionalLong> versionReader) {
+            this.loader = loader;
+            this.versionReader = versionReader;
+        }
+
+        private HierarchyIndex get() {
+            Snapshot current = snapshot;
+            if (current != null && current.fresh(System.nanoTime())) {
+                return current.index();
+            }
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                current = snapshot;
+                if (current != null && current.fresh(now)) {
+                    return current.index();
+                }
+                long expected = generation.get();
+                // 先读取版本号再构建，构建期间发生的变更会在下次比对时发现
+                OptionalLong version = versionReader.get();
+                if (current != null && now - current.builtAt() < HierarchyIndexes.TTL_NANOS
+                    && (version.isEmpty() || version.getAsLong() == current.version())) {
+                    snapshot = new Snapshot(current.index(), current.version(), current.builtAt(), now);
+                    return current.index();
+                }
+                HierarchyIndex index = loader.get();
+                // 构建期间发生变更时仅本次使用，不替换索引
+                if (generation.get() == expected) {
+                    snapshot = new Snapshot(index, version.orElse(Long.MIN_VALUE), now, now);
+                }
+                return index;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void invalidate() {
+            generation.incrementAndGet();
+            snapshot = null;
+        }
+    }
+
+    /**
+     * 已构建的索引
+     *
+     * @param index     索引
+     * @param version   构建前读取的层级版本号，redis不可用时为{@link Long#MIN_VALUE}
+     * @param builtAt   构建时间（纳秒）
+     * @param checkedAt 最近一次比对版本号的时间（纳秒）
+     */
+    private record Snapshot(HierarchyIndex index, long version, long builtAt, long checkedAt) {
+
+        private boolean fresh(long now) {
+            return now - checkedAt < HierarchyIndexes.VERSION_CHECK_INTERVAL_NANOS
+                && now - builtAt < HierarchyIndexes.TTL_NANOS;
+        }
+    }
+}
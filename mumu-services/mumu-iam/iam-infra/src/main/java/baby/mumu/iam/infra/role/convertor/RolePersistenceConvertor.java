@@ -80,7 +80,7 @@ public class RolePersistenceConvertor {
         // noinspection DuplicatedCode
         return Optional.ofNullable(rolePO).map(roleDataObject -> {
             Role role = RolePersistenceMapper.INSTANCE.toEntity(roleDataObject);
-            setAuthorities(role, getPermissionIds(role));
+            setAuthorities(Collections.singletonList(role));
             return role;
         }).flatMap(this::hasDescendant);
     }
@@ -89,7 +89,7 @@ public class RolePersistenceConvertor {
     public List<Role> toEntities(List<RolePO> rolePOList) {
         List<Role> roles =
             Optional.ofNullable(RolePersistenceMapper.INSTANCE.toEntities(rolePOList)).orElse(new ArrayList<>());
-        roles.forEach(role -> setAuthorities(role, getPermissionIds(role)));
+        setAuthorities(roles);
         return this.hasDescendant(roles);
     }
 
@@ -119,72 +119,113 @@ public class RolePersistenceConvertor {
         return roles;
     }
 
-    private @NonNull List<Long> getPermissionIds(@NonNull Role role) {
-        return rolePermissionCacheRepository.findById(role.getId())
-            .map(RolePermissionCacheablePO::getPermissionIds).orElseGet(() -> {
-                List<Long> permissionIds = rolePermissionRepository.findByRoleId(role.getId()).stream()
-                    .map(RolePermissionPO::getId)
-                    .map(RolePermissionPOId::getPermissionId).distinct().collect(Collectors.toList());
-                rolePermissionCacheRepository.save(
-                    new RolePermissionCacheablePO(role.getId(), permissionIds));
-                return permissionIds;
-            });
-    }
-
-    private void setAuthorities(Role role, List<Long> permissionIds) {
-        Optional.ofNullable(role).ifPresent(roleDataObject -> {
-            ArrayList<Permission> authorities = getAuthorities(
-                Optional.ofNullable(permissionIds).map(
-                        permissionIdsNotNull -> permissionIdsNotNull.stream().distinct()
-                            .collect(Collectors.toList()))
-                    .orElse(new ArrayList<>()));
-            roleDataObject.setPermissions(authorities);
-            List<Long> ancestorIds = authorities.stream().filter(Permission::isHasDescendant)
-                .map(Permission::getId)
-                .collect(Collectors.toList());
-            if (CollectionUtils.isNotEmpty(ancestorIds)) {
-                roleDataObject.setDescendantPermissions(
-                    getAuthorities(permissionPathRepository.findByAncestorIdIn(
-                        ancestorIds).stream().map(PermissionPathPO::getId).map(
-                        PermissionPathPOId::getDescendantId).distinct().collect(Collectors.toList())));
+    /**
+     * 批量装配角色权限，同一批角色共用一次角色权限关系查询、一次权限查询与一次后代权限查询
+     *
+     * @param roles 角色列表
+     */
+    private void setAuthorities(List<Role> roles) {
+        List<Role> rolesNotNull = Optional.ofNullable(roles).orElse(new ArrayList<>()).stream()
+            .filter(Objects::nonNull).toList();
+        if (rolesNotNull.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Long>> permissionIdsByRoleId = getPermissionIds(
+            rolesNotNull.stream().map(Role::getId).filter(Objects::nonNull).collect(Collectors.toSet()));
+        Map<Long, Permission> permissionsById = getAuthorities(permissionIdsByRoleId.values().stream()
+            .flatMap(List::stream).collect(Collectors.toSet()));
+        // 一次查询出本批所有祖先权限的后代闭包
+        Set<Long> ancestorIds = permissionsById.values().stream().filter(Permission::isHasDescendant)
+            .map(Permission::getId).collect(Collectors.toSet());
+        Map<Long, Set<Long>> descendantIdsByAncestorId = new HashMap<>();
+        if (CollectionUtils.isNotEmpty(ancestorIds)) {
+            permissionPathRepository.findByAncestorIdIn(ancestorIds).stream().map(PermissionPathPO::getId)
+                .forEach(pathId -> descendantIdsByAncestorId.computeIfAbsent(pathId.getAncestorId(),
+                    ancestorId -> new LinkedHashSet<>()).add(pathId.getDescendantId()));
+        }
+        Map<Long, Permission> descendantPermissionsById = getAuthorities(
+            descendantIdsByAncestorId.values().stream().flatMap(Set::stream).collect(Collectors.toSet()));
+        // 在内存中组装每个角色的权限与后代权限
+        rolesNotNull.forEach(role -> {
+            ArrayList<Permission> authorities = permissionIdsByRoleId.getOrDefault(role.getId(), List.of())
+                .stream().distinct().map(permissionsById::get).filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new));
+            role.setPermissions(authorities);
+            List<Long> roleAncestorIds = authorities.stream().filter(Permission::isHasDescendant)
+                .map(Permission::getId).toList();
+            if (CollectionUtils.isNotEmpty(roleAncestorIds)) {
+                role.setDescendantPermissions(roleAncestorIds.stream()
+                    .flatMap(ancestorId -> descendantIdsByAncestorId.getOrDefault(ancestorId, Set.of()).stream())
+                    .distinct().map(descendantPermissionsById::get).filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(ArrayList::new)));
             }
         });
     }
 
-    private @NonNull ArrayList<Permission> getAuthorities(List<Long> permissionIds) {
+    /**
+     * 批量获取角色权限ID，缓存未命中的角色通过一次IN查询回源并回填缓存
+     *
+     * @param roleIds 角色ID集合
+     * @return 角色ID与权限ID列表映射
+     */
+    private @NonNull Map<Long, List<Long>> getPermissionIds(@NonNull Set<Long> roleIds) {
+        Map<Long, List<Long>> permissionIdsByRoleId = new HashMap<>();
+        if (roleIds.isEmpty()) {
+            return permissionIdsByRoleId;
+        }
+        rolePermissionCacheRepository.findAllById(roleIds).forEach(
+            rolePermissionCacheablePO -> permissionIdsByRoleId.put(rolePermissionCacheablePO.getRoleId(),
+                Optional.ofNullable(rolePermissionCacheablePO.getPermissionIds()).orElse(new ArrayList<>())));
+        Set<Long> uncachedRoleIds = new HashSet<>(roleIds);
+        uncachedRoleIds.removeAll(permissionIdsByRoleId.keySet());
+        if (uncachedRoleIds.isEmpty()) {
+            return permissionIdsByRoleId;
+        }
+        Map<Long, List<Long>> uncachedPermissionIdsByRoleId = rolePermissionRepository.findByRoleIdIn(
+                uncachedRoleIds).stream().map(RolePermissionPO::getId)
+            .collect(Collectors.groupingBy(RolePermissionPOId::getRoleId,
+                Collectors.mapping(RolePermissionPOId::getPermissionId, Collectors.toList())));
+        List<RolePermissionCacheablePO> rolePermissionCacheablePOS = uncachedRoleIds.stream()
+            .map(roleId -> new RolePermissionCacheablePO(roleId,
+                uncachedPermissionIdsByRoleId.getOrDefault(roleId, new ArrayList<>()).stream().distinct()
+                    .collect(Collectors.toList())))
+            .toList();
+        rolePermissionCacheRepository.saveAll(rolePermissionCacheablePOS);
+        rolePermissionCacheablePOS.forEach(rolePermissionCacheablePO -> permissionIdsByRoleId.put(
+            rolePermissionCacheablePO.getRoleId(), rolePermissionCacheablePO.getPermissionIds()));
+        return permissionIdsByRoleId;
+    }
+
+    private @NonNull Map<Long, Permission> getAuthorities(@NonNull Set<Long> permissionIds) {
+        Map<Long, Permission> permissionsById = new HashMap<>();
+        if (permissionIds.isEmpty()) {
+            return permissionsById;
+        }
         // 查询缓存中存在的数据
         List<PermissionCacheablePO> permissionCacheablePOS = permissionCacheRepository.findAllById(
             permissionIds);
-        // 缓存中存在的权限ID
-        List<Long> cachedCollectionOfPermissionIDs = permissionCacheablePOS.stream()
-            .map(PermissionCacheablePO::getId)
-            .collect(Collectors.toList());
-        // 已缓存的权限
-        List<Permission> cachedCollectionOfPermission = permissionCacheablePOS.stream()
-            .flatMap(
-                permissionCacheablePO -> permissionPersistenceConvertor.toEntity(permissionCacheablePO).stream())
-            .collect(
-                Collectors.toList());
-        // 未缓存的权限
-        List<Permission> uncachedCollectionOfPermission = Optional.of(
-                CollectionUtils.subtract(permissionIds, cachedCollectionOfPermissionIDs))
-            .filter(CollectionUtils::isNotEmpty).map(
-                uncachedCollectionOfPermissionId -> permissionRepository.findAllById(
-                        uncachedCollectionOfPermissionId)
-                    .stream()
-                    .flatMap(permissionDo -> permissionPersistenceConvertor.toEntity(permissionDo).stream())
-                    .collect(
-                        Collectors.toList())).orElse(new ArrayList<>());
-        // 未缓存的权限放入缓存
+        // 未缓存的权限ID
+        Set<Long> uncachedCollectionOfPermissionIDs = new HashSet<>(permissionIds);
+        permissionCacheablePOS.forEach(
+            permissionCacheablePO -> uncachedCollectionOfPermissionIDs.remove(permissionCacheablePO.getId()));
+        // 缓存命中的权限也通过一次查询批量判定是否存在后代权限
+        permissionPersistenceConvertor.toEntitiesFromCacheablePO(permissionCacheablePOS)
+            .forEach(permission -> permissionsById.put(permission.getId(), permission));
+        if (uncachedCollectionOfPermissionIDs.isEmpty()) {
+            return permissionsById;
+        }
+        // 未缓存的权限批量回源并放入缓存
+        List<Permission> uncachedCollectionOfPermission = permissionPersistenceConvertor.toEntities(
+            permissionRepository.findAllById(uncachedCollectionOfPermissionIDs));
         if (CollectionUtils.isNotEmpty(uncachedCollectionOfPermission)) {
             permissionCacheRepository.saveAll(uncachedCollectionOfPermission.stream()
                 .flatMap(permission -> permissionPersistenceConvertor.toPermissionCacheablePO(permission).stream())
                 .collect(
                     Collectors.toList()));
+            uncachedCollectionOfPermission.forEach(
+                permission -> permissionsById.put(permission.getId(), permission));
         }
-        // 合并已缓存和未缓存的权限
-        return new ArrayList<>(
-            CollectionUtils.union(cachedCollectionOfPermission, uncachedCollectionOfPermission));
+        return permissionsById;
     }
 
     @API(status = Status.STABLE, since = "1.0.4")
@@ -192,7 +233,7 @@ public class RolePersistenceConvertor {
         // noinspection DuplicatedCode
         return Optional.ofNullable(roleArchivedPO).map(roleArchivedDataObject -> {
             Role role = RolePersistenceMapper.INSTANCE.toEntity(roleArchivedDataObject);
-            setAuthorities(role, getPermissionIds(role));
+            setAuthorities(Collections.singletonList(role));
             return role;
         });
     }
@@ -201,7 +242,7 @@ public class RolePersistenceConvertor {
     public List<Role> toEntitiesFromArchivedPO(List<RoleArchivedPO> roleArchivedPOList) {
         List<Role> roles =
             Optional.ofNullable(RolePersistenceMapper.INSTANCE.toEntitiesFromArchivedPO(roleArchivedPOList)).orElse(new ArrayList<>());
-        roles.forEach(role -> setAuthorities(role, getPermissionIds(role)));
+        setAuthorities(roles);
         return roles;
     }
 
@@ -214,7 +255,7 @@ public class RolePersistenceConvertor {
     public Optional<Role> toEntity(RoleCacheablePO roleCacheablePO) {
         return Optional.ofNullable(RolePersistenceMapper.INSTANCE.toEntity(roleCacheablePO))
             .map(role -> {
-                setAuthorities(role, getPermissionIds(role));
+                setAuthorities(Collections.singletonList(role));
                 return role;
             });
     }
@@ -224,8 +265,8 @@ public class RolePersistenceConvertor {
         List<Role> roles = Optional.ofNullable(roleCacheablePOList).orElse(new ArrayList<>()).stream()
             .flatMap(roleCacheablePO -> Optional.ofNullable(RolePersistenceMapper.INSTANCE.toEntity(roleCacheablePO))
                 .stream())
-            .peek(role -> setAuthorities(role, getPermissionIds(role)))
             .toList();
+        setAuthorities(roles);
         return this.hasDescendant(roles);
     }
 
@@ -17,17 +17,22 @@
 package baby.mumu.iam.infra.role.gatewayimpl;
 
 import baby.mumu.basis.annotations.DangerousOperation;
+import baby.mumu.basis.domain.KeysetCursor;
 import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.kotlin.tools.SecurityContextUtils;
 import baby.mumu.basis.response.ResponseCode;
 import baby.mumu.extension.ExtensionProperties;
 import baby.mumu.extension.GlobalProperties;
-import baby.mumu.iam.domain.account.Account;
 import baby.mumu.iam.domain.account.gateway.AccountGateway;
 import baby.mumu.iam.domain.permission.Permission;
 import baby.mumu.iam.domain.role.Role;
 import baby.mumu.iam.domain.role.gateway.RoleGateway;
+import baby.mumu.iam.infra.invalidation.CacheInvalidationOutbox;
+import baby.mumu.iam.infra.relations.cache.AccountAuthorityVersions;
 import baby.mumu.iam.infra.relations.cache.RolePermissionCacheRepository;
 import baby.mumu.iam.infra.relations.database.*;
+import baby.mumu.iam.infra.relations.index.HierarchyIndex;
+import baby.mumu.iam.infra.relations.index.HierarchyIndexes;
 import baby.mumu.iam.infra.role.convertor.RolePersistenceConvertor;
 import baby.mumu.iam.infra.role.gatewayimpl.cache.RoleCacheRepository;
 import baby.mumu.iam.infra.role.gatewayimpl.database.RoleArchivedRepository;
@@ -36,18 +41,18 @@ import baby.mumu.iam.infra.role.gatewayimpl.database.po.RoleArchivedPO;
 import baby.mumu.iam.infra.role.gatewayimpl.database.po.RolePO;
 import io.micrometer.observation.annotation.Observed;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.scheduling.JobScheduler;
+import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -60,6 +65,11 @@ import java.util.stream.Collectors;
 @Observed(name = "RoleGatewayImpl")
 public class RoleGatewayImpl implements RoleGateway {
 
+    /**
+     * 仍被使用而无法删除或归档时，错误信息中列出的使用方数量上限
+     */
+    private static final int IN_USE_SAMPLE_SIZE = 20;
+
     private final RoleRepository roleRepository;
     private final AccountGateway accountGateway;
     private final RolePersistenceConvertor rolePersistenceConvertor;
@@ -70,6 +80,9 @@ public class RoleGatewayImpl implements RoleGateway {
     private final RoleCacheRepository roleCacheRepository;
     private final RolePermissionCacheRepository rolePermissionCacheRepository;
     private final RolePathRepository rolePathRepository;
+    private final AccountAuthorityVersions accountAuthorityVersions;
+    private final HierarchyIndexes hierarchyIndexes;
+    private final CacheInvalidationOutbox cacheInvalidationOutbox;
 
     public RoleGatewayImpl(RoleRepository roleRepository,
                            AccountGateway accountGateway, RolePersistenceConvertor rolePersistenceConvertor,
@@ -78,7 +91,10 @@ public class RoleGatewayImpl implements RoleGateway {
                            RolePermissionRepository rolePermissionRepository,
                            RoleCacheRepository roleCacheRepository,
                            RolePermissionCacheRepository rolePermissionCacheRepository,
-                           RolePathRepository rolePathRepository) {
+                           RolePathRepository rolePathRepository,
+                           AccountAuthorityVersions accountAuthorityVersions,
+                           HierarchyIndexes hierarchyIndexes,
+                           CacheInvalidationOutbox cacheInvalidationOutbox) {
         this.roleRepository = roleRepository;
         this.accountGateway = accountGateway;
         this.rolePersistenceConvertor = rolePersistenceConvertor;
@@ -89,6 +105,9 @@ public class RoleGatewayImpl implements RoleGateway {
         this.roleCacheRepository = roleCacheRepository;
         this.rolePermissionCacheRepository = rolePermissionCacheRepository;
         this.rolePathRepository = rolePathRepository;
+        this.accountAuthorityVersions = accountAuthorityVersions;
+        this.hierarchyIndexes = hierarchyIndexes;
+        this.cacheInvalidationOutbox = cacheInvalidationOutbox;
     }
 
     /**
@@ -110,7 +129,8 @@ public class RoleGatewayImpl implements RoleGateway {
         saveRoleAuthorityRelationsData(role);
         rolePathRepository.persist(
             new RolePathPO(new RolePathPOId(persisted.getId(), persisted.getId(), 0L), rolePO, rolePO));
-        roleCacheRepository.deleteById(persisted.getId());
+        hierarchyIndexes.invalidateRoles();
+        cacheInvalidationOutbox.deleteById(roleCacheRepository, persisted.getId());
         return persisted.getId();
     }
 
@@ -122,7 +142,7 @@ public class RoleGatewayImpl implements RoleGateway {
             List<RolePermissionPO> rolePermissionPOS = rolePersistenceConvertor.toRolePermissionPOS(role);
             if (CollectionUtils.isNotEmpty(rolePermissionPOS)) {
                 rolePermissionRepository.persistAll(rolePermissionPOS);
-                rolePermissionCacheRepository.deleteById(roleNonNull.getId());
+                cacheInvalidationOutbox.deleteById(rolePermissionCacheRepository, roleNonNull.getId());
             }
         });
     }
@@ -136,17 +156,18 @@ public class RoleGatewayImpl implements RoleGateway {
     @DangerousOperation("删除ID为%0的角色")
     public void deleteById(Long id) {
         Optional.ofNullable(id).ifPresent(roleId -> {
-            List<Account> allAccountByRoleId = accountGateway.findAllAccountByRoleId(roleId);
-            if (CollectionUtils.isNotEmpty(allAccountByRoleId)) {
+            if (accountGateway.existsByRoleId(roleId)) {
                 throw new ApplicationException(ResponseCode.ROLE_IS_IN_USE_AND_CANNOT_BE_REMOVED,
-                    allAccountByRoleId.stream().map(Account::getUsername).toList());
+                    accountGateway.findUsernamesByRoleId(roleId, 1, RoleGatewayImpl.IN_USE_SAMPLE_SIZE).getContent());
             }
+            accountAuthorityVersions.incrementByRoleIds(List.of(roleId));
             rolePermissionRepository.deleteByRoleId(roleId);
             roleRepository.deleteById(roleId);
             rolePathRepository.deleteAllPathsByRoleId(roleId);
+            hierarchyIndexes.invalidateRoles();
             roleArchivedRepository.deleteById(roleId);
-            roleCacheRepository.deleteById(roleId);
-            rolePermissionCacheRepository.deleteById(roleId);
+            cacheInvalidationOutbox.deleteById(roleCacheRepository, roleId);
+            cacheInvalidationOutbox.deleteById(rolePermissionCacheRepository, roleId);
         });
     }
 
@@ -175,8 +196,9 @@ public class RoleGatewayImpl implements RoleGateway {
         // 删除权限关系数据重新添加
         rolePermissionRepository.deleteByRoleId(merged.getId());
         saveRoleAuthorityRelationsData(role);
-        roleCacheRepository.deleteById(merged.getId());
-        rolePermissionCacheRepository.deleteById(merged.getId());
+        cacheInvalidationOutbox.deleteById(roleCacheRepository, merged.getId());
+        cacheInvalidationOutbox.deleteById(rolePermissionCacheRepository, merged.getId());
+        accountAuthorityVersions.incrementByRoleIds(List.of(merged.getId()));
         return rolePersistenceConvertor.toEntity(merged);
     }
 
@@ -198,6 +220,24 @@ public class RoleGatewayImpl implements RoleGateway {
         return new PageImpl<>(roles, pageRequest, rolePOPage.getTotalElements());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public Page<Role> findAll(Role role, @NonNull KeysetCursor cursor, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        RolePO rolePO = rolePersistenceConvertor.toRolePO(role).orElseGet(RolePO::new);
+        List<Long> permissionIds = Optional.ofNullable(role).flatMap(roleEntity -> Optional.ofNullable(
+                roleEntity.getPermissions()))
+            .map(authorities -> authorities.stream().map(Permission::getId).collect(
+                Collectors.toList())).orElse(null);
+        Slice<RolePO> rolePOSlice = roleRepository.findAllSliceAfter(rolePO, permissionIds,
+            cursor.creationTime(), cursor.id(), pageRequest);
+        List<Role> roles = rolePersistenceConvertor.toEntities(rolePOSlice.getContent());
+        return new PageImpl<>(roles, pageRequest, roleRepository.countAll(rolePO, permissionIds));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -216,6 +256,24 @@ public class RoleGatewayImpl implements RoleGateway {
         return new SliceImpl<>(roles, pageRequest, rolePOSlice.hasNext());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    @Transactional(rollbackFor = Exception.class)
+    public Slice<Role> findAllSlice(Role role, @NonNull KeysetCursor cursor, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        Slice<RolePO> rolePOSlice = roleRepository.findAllSliceAfter(
+            rolePersistenceConvertor.toRolePO(role).orElseGet(RolePO::new),
+            Optional.ofNullable(role).flatMap(roleEntity -> Optional.ofNullable(
+                    roleEntity.getPermissions()))
+                .map(authorities -> authorities.stream().map(Permission::getId).collect(
+                    Collectors.toList())).orElse(null), cursor.creationTime(), cursor.id(), pageRequest);
+        List<Role> roles = rolePersistenceConvertor.toEntities(rolePOSlice.getContent());
+        return new SliceImpl<>(roles, pageRequest, rolePOSlice.hasNext());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -263,6 +321,50 @@ public class RoleGatewayImpl implements RoleGateway {
             .map(RolePermissionPO::getRole).toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public boolean existsByPermissionId(Long permissionId) {
+        return permissionId != null && rolePermissionRepository.existsByIdPermissionId(permissionId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public Slice<String> findCodesByPermissionId(Long permissionId, int current, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(current - 1, pageSize);
+        if (permissionId == null) {
+            return new SliceImpl<>(List.of(), pageRequest, false);
+        }
+        return rolePermissionRepository.findRoleCodesByPermissionId(permissionId, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public long countByPermissionId(Long permissionId) {
+        return permissionId == null ? 0L : rolePermissionRepository.countByIdPermissionId(permissionId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public Slice<Long> findIdsByPermissionId(Long permissionId, int current, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(current - 1, pageSize);
+        if (permissionId == null) {
+            return new SliceImpl<>(List.of(), pageRequest, false);
+        }
+        return rolePermissionRepository.findRoleIdsByPermissionId(permissionId, pageRequest);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -270,19 +372,19 @@ public class RoleGatewayImpl implements RoleGateway {
     @Transactional(rollbackFor = Exception.class)
     @DangerousOperation("根据ID归档ID为%0的角色")
     public void archiveById(Long id) {
-        List<Account> allAccountByRoleId = accountGateway.findAllAccountByRoleId(id);
-        if (CollectionUtils.isNotEmpty(allAccountByRoleId)) {
+        if (accountGateway.existsByRoleId(id)) {
             throw new ApplicationException(ResponseCode.ROLE_IS_IN_USE_AND_CANNOT_BE_ARCHIVE,
-                allAccountByRoleId.stream().map(Account::getUsername).toList());
+                accountGateway.findUsernamesByRoleId(id, 1, RoleGatewayImpl.IN_USE_SAMPLE_SIZE).getContent());
         }
         Optional.ofNullable(id).flatMap(roleRepository::findById)
             .flatMap(rolePersistenceConvertor::toRoleArchivedPO).ifPresent(roleArchivedPO -> {
                 // noinspection DuplicatedCode
                 roleArchivedPO.setArchived(true);
+                accountAuthorityVersions.incrementByRoleIds(List.of(roleArchivedPO.getId()));
                 roleArchivedRepository.persist(roleArchivedPO);
                 roleRepository.deleteById(roleArchivedPO.getId());
-                roleCacheRepository.deleteById(roleArchivedPO.getId());
-                rolePermissionCacheRepository.deleteById(roleArchivedPO.getId());
+                cacheInvalidationOutbox.deleteById(roleCacheRepository, roleArchivedPO.getId());
+                cacheInvalidationOutbox.deleteById(rolePermissionCacheRepository, roleArchivedPO.getId());
                 GlobalProperties global = extensionProperties.getGlobal();
                 jobScheduler.schedule(Instant.now()
                         .plus(global.getArchiveDeletionPeriod(), global.getArchiveDeletionPeriodUnit()),
@@ -295,13 +397,15 @@ public class RoleGatewayImpl implements RoleGateway {
     @Transactional(rollbackFor = Exception.class)
     public void deleteArchivedDataJob(Long id) {
         Optional.ofNullable(id)
-            .filter(roleId -> accountGateway.findAllAccountByRoleId(roleId).isEmpty())
+            .filter(roleId -> !accountGateway.existsByRoleId(roleId))
             .ifPresent(roleIdNotNull -> {
+                accountAuthorityVersions.incrementByRoleIds(List.of(roleIdNotNull));
                 roleArchivedRepository.deleteById(roleIdNotNull);
                 rolePathRepository.deleteAllPathsByRoleId(roleIdNotNull);
+                hierarchyIndexes.invalidateRoles();
                 rolePermissionRepository.deleteByRoleId(roleIdNotNull);
-                roleCacheRepository.deleteById(roleIdNotNull);
-                rolePermissionCacheRepository.deleteById(roleIdNotNull);
+                cacheInvalidationOutbox.deleteById(roleCacheRepository, roleIdNotNull);
+                cacheInvalidationOutbox.deleteById(rolePermissionCacheRepository, roleIdNotNull);
             });
     }
 
@@ -316,8 +420,9 @@ public class RoleGatewayImpl implements RoleGateway {
                 rolePO.setArchived(false);
                 roleArchivedRepository.deleteById(rolePO.getId());
                 roleRepository.persist(rolePO);
-                roleCacheRepository.deleteById(rolePO.getId());
-                rolePermissionCacheRepository.deleteById(rolePO.getId());
+                cacheInvalidationOutbox.deleteById(roleCacheRepository, rolePO.getId());
+                cacheInvalidationOutbox.deleteById(rolePermissionCacheRepository, rolePO.getId());
+                accountAuthorityVersions.incrementByRoleIds(List.of(rolePO.getId()));
             });
     }
 
@@ -330,39 +435,48 @@ public class RoleGatewayImpl implements RoleGateway {
         if (!roleRepository.existsById(ancestorId)) {
             throw new ApplicationException(ResponseCode.ROLE_DOES_NOT_EXIST, ancestorId);
         }
-        // 后代角色
-        RolePO descendantRolePO = roleRepository.findById(
-                descendantId)
-            .orElseThrow(
-                () -> new ApplicationException(ResponseCode.ROLE_DOES_NOT_EXIST, descendantId));
-        // 为节点添加从所有祖先到自身的路径
-        List<RolePathPO> ancestorRoles = rolePathRepository.findByDescendantId(
-            ancestorId);
-        // 成环检测
-        Set<Long> ancestorIds = ancestorRoles.stream()
-            .map(rolePathPO -> rolePathPO.getId().getAncestorId())
-            .collect(
-                Collectors.toSet());
-        if (ancestorIds.contains(descendantId)) {
+        if (!roleRepository.existsById(descendantId)) {
+            throw new ApplicationException(ResponseCode.ROLE_DOES_NOT_EXIST, descendantId);
+        }
+        // 成环检测：后代角色（含自身）已是祖先角色的祖先
+        if (rolePathRepository.existsPath(descendantId, ancestorId)) {
             throw new ApplicationException(ResponseCode.ROLE_CYCLE);
         }
         if (rolePathRepository.existsById(
             new RolePathPOId(ancestorId, descendantId, 1L))) {
             throw new ApplicationException(ResponseCode.ROLE_PATH_ALREADY_EXISTS);
         }
-        List<RolePathPO> rolePathPOS = ancestorRoles.stream()
-            .map(rolePathPO -> new RolePathPO(
-                new RolePathPOId(rolePathPO.getId().getAncestorId(), descendantId,
-                    rolePathPO.getId().getDepth() + 1),
-                rolePathPO.getAncestor(), descendantRolePO))
-            .filter(
-                rolePathPO -> !rolePathRepository.existsById(rolePathPO.getId())
-            )
-            .collect(
-                Collectors.toList());
-        rolePathRepository.persistAll(rolePathPOS);
-        roleCacheRepository.deleteById(ancestorId);
-        roleCacheRepository.deleteById(descendantId);
+        accountAuthorityVersions.incrementByRoleIds(List.of(ancestorId));
+        rolePathRepository.attachSubtree(ancestorId, descendantId, operatorId());
+        hierarchyIndexes.invalidateRoles();
+        cacheInvalidationOutbox.deleteById(roleCacheRepository, ancestorId);
+        cacheInvalidationOutbox.deleteById(roleCacheRepository, descendantId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void importTree(Map<Long, Set<Long>> descendantIds) {
+        if (MapUtils.isEmpty(descendantIds)) {
+            return;
+        }
+        Set<Long> roleIds = new HashSet<>(descendantIds.keySet());
+        descendantIds.values().forEach(roleIds::addAll);
+        if (roleRepository.countByIdIn(roleIds) != roleIds.size()) {
+            throw new ApplicationException(ResponseCode.ROLE_DOES_NOT_EXIST);
+        }
+        accountAuthorityVersions.incrementByRoleIds(descendantIds.keySet());
+        Long operatorId = operatorId();
+        // 挂接语句按子树整体生成路径，与挂接顺序无关，成环统一在全部挂接完成后检测并回滚
+        descendantIds.forEach((ancestorId, ids) -> ids.forEach(
+            descendantId -> rolePathRepository.attachSubtree(ancestorId, descendantId, operatorId)));
+        hierarchyIndexes.invalidateRoles();
+        if (rolePathRepository.existsCycle(roleIds)) {
+            throw new ApplicationException(ResponseCode.ROLE_CYCLE);
+        }
+        cacheInvalidationOutbox.deleteAllById(roleCacheRepository, roleIds);
     }
 
     /**
@@ -371,12 +485,13 @@ public class RoleGatewayImpl implements RoleGateway {
     @Override
     public Page<Role> findRootRoles(int current, int pageSize) {
         PageRequest pageRequest = PageRequest.of(current - 1, pageSize);
-        Page<RolePathPO> repositoryAll = rolePathRepository.findRootRoles(
-            pageRequest);
-        List<Role> roles = repositoryAll.getContent().stream().flatMap(
-                rolePathPO -> findById(rolePathPO.getId().getAncestorId()).stream())
+        HierarchyIndex hierarchyIndex = hierarchyIndexes.roles();
+        List<Role> roles = Arrays.stream(
+                hierarchyIndex.roots(pageRequest.getOffset(), pageRequest.getPageSize()))
+            .boxed()
+            .flatMap(roleId -> findById(roleId).stream())
             .collect(Collectors.toList());
-        return new PageImpl<>(roles, pageRequest, repositoryAll.getTotalElements());
+        return new PageImpl<>(roles, pageRequest, hierarchyIndex.rootCount());
     }
 
     /**
@@ -385,13 +500,16 @@ public class RoleGatewayImpl implements RoleGateway {
     @Override
     public Page<Role> findDirectRoles(Long ancestorId, int current, int pageSize) {
         PageRequest pageRequest = PageRequest.of(current - 1, pageSize);
-        Page<RolePathPO> repositoryAll = rolePathRepository.findDirectRoles(
-            ancestorId,
-            pageRequest);
-        List<Role> roles = repositoryAll.getContent().stream().flatMap(
-                rolePathPO -> findById(rolePathPO.getId().getDescendantId()).stream())
+        if (ancestorId == null) {
+            return new PageImpl<>(Collections.emptyList(), pageRequest, 0);
+        }
+        HierarchyIndex hierarchyIndex = hierarchyIndexes.roles();
+        List<Role> roles = Arrays.stream(
+                hierarchyIndex.children(ancestorId, pageRequest.getOffset(), pageRequest.getPageSize()))
+            .boxed()
+            .flatMap(roleId -> findById(roleId).stream())
             .collect(Collectors.toList());
-        return new PageImpl<>(roles, pageRequest, repositoryAll.getTotalElements());
+        return new PageImpl<>(roles, pageRequest, hierarchyIndex.childCount(ancestorId));
     }
 
     /**
@@ -403,10 +521,15 @@ public class RoleGatewayImpl implements RoleGateway {
         if (rolePathRepository.existsDescendantRoles(descendantId)) {
             throw new ApplicationException(ResponseCode.DESCENDANT_ROLE_HAS_DESCENDANT_ROLE);
         }
-        rolePathRepository.deleteById(new RolePathPOId(ancestorId, descendantId, 1L));
-        rolePathRepository.deleteUnreachableData();
-        roleCacheRepository.deleteById(ancestorId);
-        roleCacheRepository.deleteById(descendantId);
+        if (rolePathRepository.existsById(new RolePathPOId(ancestorId, descendantId, 1L))) {
+            accountAuthorityVersions.incrementByRoleIds(List.of(ancestorId));
+            // 仅重建受影响子树的间接路径
+            rolePathRepository.detachSubtree(ancestorId, descendantId);
+            rolePathRepository.reconnectSubtree(ancestorId, descendantId, operatorId());
+            hierarchyIndexes.invalidateRoles();
+        }
+        cacheInvalidationOutbox.deleteById(roleCacheRepository, ancestorId);
+        cacheInvalidationOutbox.deleteById(roleCacheRepository, descendantId);
     }
 
     /**
@@ -434,4 +557,8 @@ public class RoleGatewayImpl implements RoleGateway {
                 return entity;
             }));
     }
+
+    private Long operatorId() {
+        return SecurityContextUtils.getLoginAccountId().orElse(0L);
+    }
 }
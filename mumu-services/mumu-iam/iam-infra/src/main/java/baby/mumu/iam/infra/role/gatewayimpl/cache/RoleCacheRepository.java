@@ -16,6 +16,8 @@
 
 package baby.mumu.iam.infra.role.gatewayimpl.cache;
 
+import baby.mumu.basis.enums.CacheLevelEnum;
+import baby.mumu.iam.infra.nearcache.NearCached;
 import baby.mumu.iam.infra.role.gatewayimpl.cache.po.RoleCacheablePO;
 import com.redis.om.spring.repository.RedisDocumentRepository;
 
@@ -28,6 +30,7 @@ import java.util.Optional;
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 2.2.0
  */
+@NearCached(level = CacheLevelEnum.LOW)
 public interface RoleCacheRepository extends
     RedisDocumentRepository<RoleCacheablePO, Long> {
 
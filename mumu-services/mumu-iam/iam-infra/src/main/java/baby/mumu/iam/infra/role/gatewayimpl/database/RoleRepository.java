@@ -27,6 +27,7 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -50,6 +51,15 @@ public interface RoleRepository extends BaseJpaRepository<RolePO, Long>,
      */
     boolean existsByIdOrCode(Long id, @Size(max = 100) @NotNull String code);
 
+    /**
+     * 统计指定id集合中存在的角色数量
+     *
+     * @param ids 角色id集合
+     * @return 存在的数量
+     * @since 2.17.0
+     */
+    long countByIdIn(Collection<Long> ids);
+
     /**
      * 角色code是否存在
      *
@@ -75,17 +85,43 @@ public interface RoleRepository extends BaseJpaRepository<RolePO, Long>,
      * @return 查询结果
      */
     @Query("""
-        select distinct r from RolePO r left join RolePermissionPO ra on r.id =ra.id.roleId
+        select r from RolePO r
             where (:#{#rolePO.id} is null or r.id = :#{#rolePO.id})
             and (:#{#rolePO.name} is null or r.name like %:#{#rolePO.name}%)
-            and (:#{#permissionIds} is null or ra.id.permissionId in :#{#permissionIds})
+            and (:#{#permissionIds} is null or exists (select 1 from RolePermissionPO ra where ra.id.roleId = r.id and ra.id.permissionId in :#{#permissionIds}))
             and (:#{#rolePO.code} is null or r.code like %:#{#rolePO.code}%)
             and (:#{#rolePO.description} is null or r.description like %:#{#rolePO.description}%)
-            order by r.creationTime desc
+            order by r.creationTime desc, r.id desc
         """)
     Slice<RolePO> findAllSlice(@Param("rolePO") RolePO rolePO,
                                @Param("permissionIds") Collection<Long> permissionIds, Pageable pageable);
 
+    /**
+     * 键集切片分页查询角色（不查询总数），从游标之后开始查询
+     *
+     * @param rolePO        查询条件
+     * @param permissionIds 权限ID集合
+     * @param creationTime  游标创建时间
+     * @param id            游标ID
+     * @param pageable      分页条件
+     * @return 查询结果
+     * @since 2.17.0
+     */
+    @Query("""
+        select r from RolePO r
+            where (r.creationTime, r.id) < (:creationTime, :id)
+            and (:#{#rolePO.id} is null or r.id = :#{#rolePO.id})
+            and (:#{#rolePO.name} is null or r.name like %:#{#rolePO.name}%)
+            and (:#{#permissionIds} is null or exists (select 1 from RolePermissionPO ra where ra.id.roleId = r.id and ra.id.permissionId in :#{#permissionIds}))
+            and (:#{#rolePO.code} is null or r.code like %:#{#rolePO.code}%)
+            and (:#{#rolePO.description} is null or r.description like %:#{#rolePO.description}%)
+            order by r.creationTime desc, r.id desc
+        """)
+    Slice<RolePO> findAllSliceAfter(@Param("rolePO") RolePO rolePO,
+                                    @Param("permissionIds") Collection<Long> permissionIds,
+                                    @Param("creationTime") OffsetDateTime creationTime,
+                                    @Param("id") Long id, Pageable pageable);
+
     /**
      * 分页查询角色（查询总数）
      *
@@ -95,17 +131,35 @@ public interface RoleRepository extends BaseJpaRepository<RolePO, Long>,
      * @return 查询结果
      */
     @Query("""
-        select distinct r from RolePO r left join RolePermissionPO ra on r.id =ra.id.roleId
+        select r from RolePO r
             where (:#{#rolePO.id} is null or r.id = :#{#rolePO.id})
             and (:#{#rolePO.name} is null or r.name like %:#{#rolePO.name}%)
-            and (:#{#permissionIds} is null or ra.id.permissionId in :#{#permissionIds})
+            and (:#{#permissionIds} is null or exists (select 1 from RolePermissionPO ra where ra.id.roleId = r.id and ra.id.permissionId in :#{#permissionIds}))
             and (:#{#rolePO.code} is null or r.code like %:#{#rolePO.code}%)
             and (:#{#rolePO.description} is null or r.description like %:#{#rolePO.description}%)
-            order by r.creationTime desc
+            order by r.creationTime desc, r.id desc
         """)
     Page<RolePO> findAllPage(@Param("rolePO") RolePO rolePO,
                              @Param("permissionIds") Collection<Long> permissionIds, Pageable pageable);
 
+    /**
+     * 统计符合条件的角色数量
+     *
+     * @param rolePO        查询条件
+     * @param permissionIds 权限ID集合
+     * @return 角色数量
+     * @since 2.17.0
+     */
+    @Query("""
+        select count(r) from RolePO r
+            where (:#{#rolePO.id} is null or r.id = :#{#rolePO.id})
+            and (:#{#rolePO.name} is null or r.name like %:#{#rolePO.name}%)
+            and (:#{#permissionIds} is null or exists (select 1 from RolePermissionPO ra where ra.id.roleId = r.id and ra.id.permissionId in :#{#permissionIds}))
+            and (:#{#rolePO.code} is null or r.code like %:#{#rolePO.code}%)
+            and (:#{#rolePO.description} is null or r.description like %:#{#rolePO.description}%)
+        """)
+    long countAll(@Param("rolePO") RolePO rolePO, @Param("permissionIds") Collection<Long> permissionIds);
+
     /**
      * 根据code查询角色
      *
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.singleflight;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 缓存合并加载器
+ * <p>
+ * 缓存未命中时同一个键在本实例内只有一个线程回源加载，其余线程等待加载完成后重新读取缓存；
+ * 加载线程同时竞争redis锁，其他实例持有锁时轮询缓存等待其回填，锁释放或等待超时后才自行回源
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class SingleFlightCacheLoader {
+
+    private static final String LOCK_PREFIX = "mumu:iam:single-flight:";
+    private static final Duration LOCK_TTL = Duration.ofSeconds(5);
+    private static final long POLL_INTERVAL_MILLIS = 50L;
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class);
+    private static final Logger log = LoggerFactory.getLogger(SingleFlightCacheLoader.class);
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    public SingleFlightCacheLoader(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * 读取缓存，未命中时合并回源加载
+     *
+     * @param key         加载键
+     * @param cacheReader 缓存读取，每个调用方使用各自的转换逻辑
+     * @param loader      回源加载，负责回填缓存
+     * @return 加载结果
+     */
+    public <T> Optional<T> load(String key, Supplier<Optional<T>> cacheReader,
+                                Supplier<Optional<T>> loader) {
+        Optional<T> cached = cacheReader.get();
+        if (cached.isPresent()) {
+            return cached;
+        }
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        CompletableFuture<Boolean> loading = inFlight.putIfAbsent(key, future);
+        if (loading != null) {
+            return await(loading, cacheReader, loader);
+        }
+        try {
+            Optional<T> loaded = loadExclusively(key, cacheReader, loader);
+            future.complete(loaded.isPresent());
+            return loaded;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private <T> Optional<T> await(CompletableFuture<Boolean> loading, Supplier<Optional<T>> cacheReader,
+                                  Supplier<Optional<T>> loader) {
+        try {
+            // 数据不存在时不缓存空值，直接沿用加载线程的结论
+            if (!loading.get(SingleFlightCacheLoader.LOCK_TTL.toMillis(), TimeUnit.MILLISECONDS)) {
+                return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.get();
+        } catch (ExecutionException | TimeoutException e) {
+            return loader.get();
+        }
+        // 领域对象可变，等待方重新读取缓存而不共享加载线程的结果
+        return cacheReader.get().or(loader);
+    }
+
+    private <T> Optional<T> loadExclusively(String key, Supplier<Optional<T>> cacheReader,
+                                            Supplier<Optional<T>> loader) {
+        String lockKey = SingleFlightCacheLoader.LOCK_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+        if (tryLock(lockKey, token)) {
+            try {
+                // 获得锁前其他实例可能已回填缓存
+                return cacheReader.get().or(loader);
+            } finally {
+                unlock(lockKey, token);
+            }
+        }
+        long deadline = System.nanoTime() + SingleFlightCacheLoader.LOCK_TTL.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(SingleFlightCacheLoader.POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Optional<T> cached = cacheReader.get();
+            if (cached.isPresent()) {
+                return cached;
+            }
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(lockKey))) {
+                break;
+            }
+        }
+        return loader.get();
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                .setIfAbsent(lockKey, token, SingleFlightCacheLoader.LOCK_TTL));
+        } catch (RuntimeException e) {
+            // redis不可用时退化为仅实例内合并
+            SingleFlightCacheLoader.log.warn("Failed to acquire single flight lock: {}", lockKey, e);
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            stringRedisTemplate.execute(SingleFlightCacheLoader.UNLOCK_SCRIPT, List.of(lockKey), token);
+        } catch (RuntimeException e) {
+            SingleFlightCacheLoader.log.warn("Failed to release single flight lock: {}", lockKey, e);
+        }
+    }
+}
@@ -18,7 +18,9 @@ package baby.mumu.iam.infra.token.gatewayimpl;
 
 import baby.mumu.basis.enums.OAuth2Enum;
 import baby.mumu.basis.enums.TokenClaimsEnum;
+import baby.mumu.iam.client.config.AuthorityDictionary;
 import baby.mumu.iam.domain.token.gateway.TokenGateway;
+import baby.mumu.iam.infra.relations.cache.AuthorityDictionaryStore;
 import baby.mumu.iam.infra.token.gatewayimpl.cache.AuthorizeCodeTokenCacheRepository;
 import baby.mumu.iam.infra.token.gatewayimpl.cache.ClientTokenCacheRepository;
 import baby.mumu.iam.infra.token.gatewayimpl.cache.PasswordTokenCacheRepository;
@@ -30,6 +32,7 @@ import org.springframework.security.oauth2.jwt.JwtClaimNames;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -46,16 +49,19 @@ public class TokenGatewayImpl implements TokenGateway {
     private final JwtDecoder jwtDecoder;
     private final ClientTokenCacheRepository clientTokenCacheRepository;
     private final AuthorizeCodeTokenCacheRepository authorizeCodeTokenCacheRepository;
+    private final AuthorityDictionaryStore authorityDictionaryStore;
 
     @Autowired
     public TokenGatewayImpl(PasswordTokenCacheRepository passwordTokenCacheRepository,
                             JwtDecoder jwtDecoder,
                             ClientTokenCacheRepository clientTokenCacheRepository,
-                            AuthorizeCodeTokenCacheRepository authorizeCodeTokenCacheRepository) {
+                            AuthorizeCodeTokenCacheRepository authorizeCodeTokenCacheRepository,
+                            AuthorityDictionaryStore authorityDictionaryStore) {
         this.passwordTokenCacheRepository = passwordTokenCacheRepository;
         this.jwtDecoder = jwtDecoder;
         this.clientTokenCacheRepository = clientTokenCacheRepository;
         this.authorizeCodeTokenCacheRepository = authorizeCodeTokenCacheRepository;
+        this.authorityDictionaryStore = authorityDictionaryStore;
     }
 
     @Override
@@ -82,4 +88,14 @@ public class TokenGatewayImpl implements TokenGateway {
             })
             .orElse(false);
     }
+
+    @Override
+    public Optional<List<String>> findAuthorityDictionary(long version) {
+        return authorityDictionaryStore.find(version).map(AuthorityDictionary::getCodes);
+    }
+
+    @Override
+    public Optional<Long> findCurrentAuthorityDictionaryVersion() {
+        return authorityDictionaryStore.current().map(AuthorityDictionary::getVersion);
+    }
 }
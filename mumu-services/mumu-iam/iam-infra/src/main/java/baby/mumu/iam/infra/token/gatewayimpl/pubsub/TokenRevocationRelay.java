@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.infra.token.gatewayimpl.pubsub;
+
+import baby.mumu.basis.event.TokenRevokedEvent;
+import baby.mumu.iam.infra.invalidation.InvalidationBus;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 令牌撤销跨实例中继
+ * <p>
+ * 本地撤销事件经由 {@link InvalidationBus} 广播至所有IAM实例（包括本实例），各实例收到后重新发布为已传播的撤销事件，
+ * 以便推送给订阅了撤销流的客户端
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class TokenRevocationRelay implements InitializingBean {
+
+    private static final String CHANNEL = "mumu:iam:token-revocation";
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationRelay.class);
+    private final InvalidationBus invalidationBus;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    public TokenRevocationRelay(InvalidationBus invalidationBus,
+                                ApplicationEventPublisher applicationEventPublisher) {
+        this.invalidationBus = invalidationBus;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        invalidationBus.subscribe(TokenRevocationRelay.CHANNEL, true, this::onMessage);
+    }
+
+    @EventListener
+    public void onTokenRevoked(@NonNull TokenRevokedEvent event) {
+        if (event.isPropagated() || event.getAccountId() == null) {
+            return;
+        }
+        invalidationBus.publish(TokenRevocationRelay.CHANNEL, String.valueOf(event.getAccountId()));
+    }
+
+    private void onMessage(String body) {
+        try {
+            applicationEventPublisher.publishEvent(new TokenRevokedEvent(this, Long.parseLong(body), true));
+        } catch (NumberFormatException e) {
+            TokenRevocationRelay.log.warn("Ignore illegal token revocation message: {}", body);
+        }
+    }
+}
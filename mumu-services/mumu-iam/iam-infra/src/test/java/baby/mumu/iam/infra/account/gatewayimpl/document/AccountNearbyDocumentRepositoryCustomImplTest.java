@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package baby.mumu.iam.infra.account.gatewayimpl.document;
+
+import baby.mumu.iam.infra.account.gatewayimpl.document.po.AccountNearbyDocumentPO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 附近的账号分页单元测试
+ * <p>
+ * 内存实现模拟 $geoNear：按距离排序，同距离记录按账号ID倒序返回，用于验证分页不依赖 $geoNear 的同距离顺序
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class AccountNearbyDocumentRepositoryCustomImplTest {
+
+    private static final GeoJsonPoint ORIGIN = new GeoJsonPoint(116.397, 39.909);
+    private static final long ORIGIN_ACCOUNT_ID = 1L;
+
+    @Test
+    public void tiedAccountsAreNeitherRepeatedNorSkipped() {
+        Map<Long, Double> distances = new TreeMap<>();
+        distances.put(AccountNearbyDocumentRepositoryCustomImplTest.ORIGIN_ACCOUNT_ID, 0D);
+        // 同一办公地址的账号距离完全相同
+        for (long accountId = 100; accountId < 137; accountId++) {
+            distances.put(accountId, 812.25D);
+        }
+        distances.put(2L, 0D);
+        distances.put(3L, 0D);
+        distances.put(50L, 120.5D);
+        distances.put(40L, 120.5D);
+        distances.put(7L, 4999.75D);
+        distances.put(8L, 5000D);
+        distances.put(9L, 5000.5D);
+        InMemoryRepository repository = new InMemoryRepository(distances);
+        for (int pageSize : new int[]{1, 2, 3, 5, 7, 40, 100}) {
+            List<Long> visited = new ArrayList<>();
+            NearbyCursor after = null;
+            while (true) {
+                List<GeoResult<AccountNearbyDocumentPO>> page = repository.findNearby(
+                    AccountNearbyDocumentRepositoryCustomImplTest.ORIGIN,
+                    AccountNearbyDocumentRepositoryCustomImplTest.ORIGIN_ACCOUNT_ID, 5000D, after, pageSize);
+                Assertions.assertTrue(page.size() <= pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (GeoResult<AccountNearbyDocumentPO> geoResult : page) {
+                    long accountId = geoResult.getContent().getAccountId();
+                    double distance = geoResult.getDistance().getValue();
+                    Assertions.assertTrue(after == null || after.precedes(distance, accountId));
+                    visited.add(accountId);
+                    after = new NearbyCursor(distance, accountId);
+                }
+            }
+            Assertions.assertEquals(repository.expectedOrder(5000D), visited, "pageSize=" + pageSize);
+        }
+    }
+
+    @Test
+    public void cursorBeyondRadiusReturnsNothing() {
+        InMemoryRepository repository = new InMemoryRepository(Map.of(2L, 10D));
+        Assertions.assertTrue(repository.findNearby(AccountNearbyDocumentRepositoryCustomImplTest.ORIGIN,
+            AccountNearbyDocumentRepositoryCustomImplTest.ORIGIN_ACCOUNT_ID, 5D, new NearbyCursor(6D, 2L), 10)
+            .isEmpty());
+    }
+
+    private static final class InMemoryRepository extends AccountNearbyDocumentRepositoryCustomImpl {
+
+        private final Map<Long, Double> distances;
+
+        private InMemoryRepository(Map<Long, Double> distances) {
+            super(null);
+            this.distances = distances;
+        }
+
+        private List<Long> expectedOrder(double radiusInMeters) {
+            return distances.entrySet().stream()
+                .filter(entry -> entry.getKey() != AccountNearbyDocumentRepositoryCustomImplTest.ORIGIN_ACCOUNT_ID)
+                .filter(entry -> entry.getValue() <= radiusInMeters)
+                .sorted(Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        }
+
+        @Override
+        List<GeoResult<AccountNearbyDocumentPO>> findTied(GeoJsonPoint location, Long excludedAccountId,
+                                                          double distance, Long afterAccountId, int limit) {
+            return distances.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(excludedAccountId))
+                .filter(entry -> Double.compare(entry.getValue(), distance) == 0)
+                .filter(entry -> afterAccountId == null || entry.getKey() > afterAccountId)
+                .sorted(Map.Entry.comparingByKey())
+                .limit(limit)
+                .map(InMemoryRepository::toGeoResult)
+                .toList();
+        }
+
+        @Override
+        List<GeoResult<AccountNearbyDocumentPO>> findFarther(GeoJsonPoint location, Long excludedAccountId,
+                                                             Double afterDistance, double radiusInMeters,
+                                                             int limit) {
+            return distances.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(excludedAccountId))
+                .filter(entry -> afterDistance == null || entry.getValue() > afterDistance)
+                .filter(entry -> entry.getValue() <= radiusInMeters)
+                .sorted(Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .limit(limit)
+                .map(InMemoryRepository::toGeoResult)
+                .toList();
+        }
+
+        private static GeoResult<AccountNearbyDocumentPO> toGeoResult(Map.Entry<Long, Double> entry) {
+            AccountNearbyDocumentPO accountNearbyDocumentPO = new AccountNearbyDocumentPO();
+            accountNearbyDocumentPO.setAccountId(entry.getKey());
+            accountNearbyDocumentPO.setLocation(AccountNearbyDocumentRepositoryCustomImplTest.ORIGIN);
+            return new GeoResult<>(accountNearbyDocumentPO, new Distance(entry.getValue(), Metrics.NEUTRAL));
+        }
+    }
+}
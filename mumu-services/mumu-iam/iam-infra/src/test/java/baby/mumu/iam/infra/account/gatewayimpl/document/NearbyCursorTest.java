@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package baby.mumu.iam.infra.account.gatewayimpl.document;
+
+import baby.mumu.basis.exception.ApplicationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * 附近的账号游标单元测试
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class NearbyCursorTest {
+
+    @Test
+    public void roundTrip() {
+        NearbyCursor nearbyCursor = new NearbyCursor(1234.567890123, 1928374655647382910L);
+        Assertions.assertEquals(Optional.of(nearbyCursor), NearbyCursor.decode(nearbyCursor.encode()));
+        NearbyCursor origin = new NearbyCursor(0D, 1L);
+        Assertions.assertEquals(Optional.of(origin), NearbyCursor.decode(origin.encode()));
+    }
+
+    @Test
+    public void blankCursorStartsFromNearest() {
+        Assertions.assertTrue(NearbyCursor.decode(null).isEmpty());
+        Assertions.assertTrue(NearbyCursor.decode(" ").isEmpty());
+    }
+
+    @Test
+    public void invalidCursorIsRejected() {
+        Assertions.assertThrows(ApplicationException.class, () -> NearbyCursor.decode("not base64!"));
+        Assertions.assertThrows(ApplicationException.class, () -> NearbyCursor.decode(NearbyCursorTest.encode("12.5")));
+        Assertions.assertThrows(ApplicationException.class, () -> NearbyCursor.decode(NearbyCursorTest.encode("|1")));
+        Assertions.assertThrows(ApplicationException.class, () -> NearbyCursor.decode(NearbyCursorTest.encode("-1|1")));
+        Assertions.assertThrows(ApplicationException.class,
+            () -> NearbyCursor.decode(NearbyCursorTest.encode("NaN|1")));
+        Assertions.assertThrows(ApplicationException.class,
+            () -> NearbyCursor.decode(NearbyCursorTest.encode("12.5|1,2")));
+    }
+
+    @Test
+    public void cursorLengthDoesNotGrowWithTies() {
+        NearbyCursor first = new NearbyCursor(250D, 1L);
+        NearbyCursor last = new NearbyCursor(250D, Long.MAX_VALUE);
+        Assertions.assertTrue(last.encode().length() <= first.encode().length() + 24);
+    }
+
+    @Test
+    public void tiesAreOrderedByAccountId() {
+        NearbyCursor nearbyCursor = new NearbyCursor(250D, 10L);
+        Assertions.assertFalse(nearbyCursor.precedes(250D, 9L));
+        Assertions.assertFalse(nearbyCursor.precedes(250D, 10L));
+        Assertions.assertTrue(nearbyCursor.precedes(250D, 11L));
+        Assertions.assertTrue(nearbyCursor.precedes(250.000001D, 1L));
+        Assertions.assertFalse(nearbyCursor.precedes(249.999999D, 99L));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -24,6 +24,9 @@ import baby.mumu.extension.ExtensionProperties;
 import baby.mumu.extension.authentication.AuthenticationProperties;
 import baby.mumu.extension.authentication.AuthenticationProperties.Rsa;
 import baby.mumu.iam.application.service.AccountUserDetailService;
+import baby.mumu.iam.client.config.AuthorityDictionary;
+import baby.mumu.iam.client.config.AuthorityDictionary.EncodedAuthorities;
+import baby.mumu.iam.client.config.CompactAuthoritiesProperties;
 import baby.mumu.iam.domain.account.Account;
 import baby.mumu.iam.domain.account.AccountAddress;
 import baby.mumu.iam.domain.account.gateway.AccountGateway;
@@ -34,6 +37,7 @@ import baby.mumu.iam.infra.client.gatewayimpl.database.ClientRepository;
 import baby.mumu.iam.infra.permission.convertor.PermissionPersistenceConvertor;
 import baby.mumu.iam.infra.permission.gatewayimpl.database.PermissionRepository;
 import baby.mumu.iam.infra.permission.gatewayimpl.database.po.PermissionPO;
+import baby.mumu.iam.infra.relations.cache.AuthorityDictionaryStore;
 import baby.mumu.iam.infra.role.convertor.RolePersistenceConvertor;
 import baby.mumu.iam.infra.role.gatewayimpl.database.RoleRepository;
 import baby.mumu.iam.infra.token.gatewayimpl.cache.AuthorizeCodeTokenCacheRepository;
@@ -66,7 +70,6 @@ import org.springframework.security.config.annotation.web.configuration.OAuth2Au
 import org.springframework.security.config.annotation.web.configurers.oauth2.server.authorization.OAuth2AuthorizationServerConfigurer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.jackson.CoreJacksonModule;
 import org.springframework.security.jackson.SecurityJacksonModules;
@@ -111,7 +114,7 @@ import java.util.stream.Stream;
  * @since 1.0.0
  */
 @Configuration
-@EnableConfigurationProperties(ExtensionProperties.class)
+@EnableConfigurationProperties({ExtensionProperties.class, PasswordHashingProperties.class})
 @EnableWebSecurity
 public class AuthorizationConfiguration {
 
@@ -198,11 +201,12 @@ public class AuthorizationConfiguration {
     /**
      * 密码加密策略
      *
-     * @return bCrypt密码加解密
+     * @param passwordHashingProperties 密码哈希配置
+     * @return 有界线程池执行的bCrypt密码加解密
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BoundedPasswordEncoder(passwordHashingProperties);
     }
 
     /**
@@ -218,18 +222,20 @@ public class AuthorizationConfiguration {
     /**
      * 客户端信息注册
      *
-     * @param properties 客户端属性
+     * @param properties            客户端属性
+     * @param registeredClientCache 注册客户端本地缓存
      * @return 客户端信息注册实例
      */
     @Bean
     public RegisteredClientRepository registeredClientRepository(
         OAuth2AuthorizationServerProperties properties, PasswordEncoder passwordEncoder,
-        ClientRepository clientRepository, ClientConvertor clientConvertor) {
+        ClientRepository clientRepository, ClientConvertor clientConvertor,
+        RegisteredClientCache registeredClientCache) {
         OAuth2AuthorizationServerPropertiesMapper oAuth2AuthorizationServerPropertiesMapper = new OAuth2AuthorizationServerPropertiesMapper(
             properties, passwordEncoder);
         List<RegisteredClient> registeredClients = oAuth2AuthorizationServerPropertiesMapper.asRegisteredClients();
         JpaRegisteredClientRepository jpaRegisteredClientRepository = new JpaRegisteredClientRepository(
-            clientRepository, clientConvertor);
+            clientRepository, clientConvertor, registeredClientCache);
         registeredClients.stream().filter(Objects::nonNull)
             .forEach(jpaRegisteredClientRepository::save);
         return jpaRegisteredClientRepository;
@@ -373,30 +379,42 @@ public class AuthorizationConfiguration {
                                                                         RolePersistenceConvertor rolePersistenceConvertor,
                                                                         PermissionRepository permissionRepository,
                                                                         PermissionPersistenceConvertor permissionPersistenceConvertor,
-                                                                        Oauth2AuthenticationRepository oauth2AuthenticationRepository) {
+                                                                        Oauth2AuthenticationRepository oauth2AuthenticationRepository,
+                                                                        CompactAuthoritiesProperties compactAuthoritiesProperties,
+                                                                        AuthorityDictionaryStore authorityDictionaryStore) {
         return context -> {
             // 检查登录账号信息是不是UserDetails，排除掉没有账号参与的流程
             if (context.getPrincipal().getPrincipal() instanceof Account account) {
                 // 获取申请的scopes
                 Set<String> scopes = context.getAuthorizedScopes();
-                // 获取账号的权限
-                Collection<? extends GrantedAuthority> authorities = account.getAuthorities();
-                // 提取权限并转为字符串
-                Set<String> authoritySet = Optional.of(authorities).orElse(Collections.emptyList())
-                    .stream()
-                    // 获取权限字符串
-                    .map(GrantedAuthority::getAuthority)
-                    // 去重
-                    .collect(Collectors.toSet());
+                // 优先使用登录时读取的有效权限快照，缺失时再由账号权限提取
+                Set<String> authoritySet = Optional.ofNullable(account.getEffectiveAuthorities())
+                    .<Set<String>>map(LinkedHashSet::new)
+                    .orElseGet(() -> account.getAuthorities()
+                        .stream()
+                        // 获取权限字符串
+                        .map(GrantedAuthority::getAuthority)
+                        // 去重
+                        .collect(Collectors.toSet()));
                 String originAuthorizationGrantTypeValue = AuthorizationConfiguration.getOriginAuthorizationGrantTypeValue(
                     oauth2AuthenticationRepository, context);
                 boolean isPasswordType = OAuth2Enum.GRANT_TYPE_PASSWORD.getName()
                     .equals(originAuthorizationGrantTypeValue);
                 JwtClaimsSet.Builder claims = context.getClaims();
-                claims.claim(TokenClaimsEnum.AUTHORITIES.getClaimName(), isPasswordType ? authoritySet
+                Collection<String> tokenAuthorities = isPasswordType ? authoritySet
                     : AuthorizationConfiguration.getFullScopes(roleRepository, rolePersistenceConvertor,
                     permissionRepository, permissionPersistenceConvertor,
-                    scopes));
+                    scopes);
+                // 字典内的权限以位图写入，字典外的权限（如角色）仍以字符串写入；字典不可用时写入完整的权限列表
+                Optional<AuthorityDictionary> authorityDictionary = compactAuthoritiesProperties.isEnabled()
+                    ? authorityDictionaryStore.current() : Optional.empty();
+                authorityDictionary.ifPresentOrElse(dictionary -> {
+                    EncodedAuthorities encodedAuthorities = dictionary.encode(tokenAuthorities);
+                    claims.claim(TokenClaimsEnum.AUTHORITIES.getClaimName(), encodedAuthorities.remainder());
+                    claims.claim(TokenClaimsEnum.AUTHORITY_BITSET.getClaimName(), encodedAuthorities.bitset());
+                    claims.claim(TokenClaimsEnum.AUTHORITY_DICTIONARY_VERSION.getClaimName(),
+                        String.valueOf(dictionary.getVersion()));
+                }, () -> claims.claim(TokenClaimsEnum.AUTHORITIES.getClaimName(), tokenAuthorities));
                 claims.claim(TokenClaimsEnum.ACCOUNT_NAME.getClaimName(), account.getUsername());
                 claims.claim(TokenClaimsEnum.ACCOUNT_ID.getClaimName(), account.getId());
                 claims.claim(TokenClaimsEnum.AUTHORIZATION_GRANT_TYPE.getClaimName(),
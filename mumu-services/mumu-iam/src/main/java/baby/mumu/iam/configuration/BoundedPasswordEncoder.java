@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.configuration;
+
+import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.response.ResponseCode;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+/**
+ * 有界密码哈希器
+ * <p>
+ * BCrypt计算在固定大小的线程池中执行，队列已满时立即拒绝，避免登录洪峰占满处理器；
+ * 未指定工作因子时在启动时按目标耗时校准，已保存密码的工作因子低于当前值时在登录成功后重新哈希
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String CALIBRATION_SAMPLE = "mumu-password-hashing-calibration";
+    private static final int MAX_BCRYPT_STRENGTH = 31;
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    public BoundedPasswordEncoder(@NonNull PasswordHashingProperties passwordHashingProperties) {
+        int strength = BoundedPasswordEncoder.calibrate(passwordHashingProperties);
+        int threads = passwordHashingProperties.getThreads() > 0 ? passwordHashingProperties.getThreads()
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, passwordHashingProperties.getQueueCapacity())),
+            Thread.ofPlatform().name("mumu-iam-password-hashing-", 0).daemon(true).factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+        BoundedPasswordEncoder.log.info("Password hashing uses BCrypt strength {} on {} threads", strength, threads);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // 只在工作因子低于当前值时升级，避免不同实例校准结果不同导致反复重新哈希
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ApplicationException(ResponseCode.TOO_MANY_REQUESTS);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static int calibrate(@NonNull PasswordHashingProperties passwordHashingProperties) {
+        if (passwordHashingProperties.getStrength() > 0) {
+            return passwordHashingProperties.getStrength();
+        }
+        long targetNanos = passwordHashingProperties.getTargetLatencyUnit()
+            .toNanos(passwordHashingProperties.getTargetLatency());
+        int maxStrength = Math.min(passwordHashingProperties.getMaxStrength(),
+            BoundedPasswordEncoder.MAX_BCRYPT_STRENGTH);
+        int strength = passwordHashingProperties.getMinStrength();
+        while (strength < maxStrength) {
+            // 工作因子每加1耗时翻倍，下一档超过目标耗时即停止
+            if (BoundedPasswordEncoder.measure(strength) * 2 > targetNanos) {
+                break;
+            }
+            strength++;
+        }
+        return strength;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(strength);
+        long elapsed = Long.MAX_VALUE;
+        // 取两次中的较小值，排除首次执行的预热开销
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            bCryptPasswordEncoder.encode(BoundedPasswordEncoder.CALIBRATION_SAMPLE);
+            elapsed = Math.min(elapsed, System.nanoTime() - start);
+        }
+        return elapsed;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
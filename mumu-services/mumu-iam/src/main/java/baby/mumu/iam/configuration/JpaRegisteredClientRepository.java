@@ -49,6 +49,7 @@ public class JpaRegisteredClientRepository implements RegisteredClientRepository
 
     private final ClientRepository clientRepository;
     private final ClientConvertor clientConvertor;
+    private final RegisteredClientCache registeredClientCache;
     private final List<JacksonModule> securityModules =
         SecurityJacksonModules.getModules(JpaRegisteredClientRepository.class.getClassLoader());
     private final JsonMapper jsonMapper = JsonMapper.builder()
@@ -57,11 +58,14 @@ public class JpaRegisteredClientRepository implements RegisteredClientRepository
         .build();
 
     public JpaRegisteredClientRepository(ClientRepository clientRepository,
-                                         ClientConvertor clientConvertor) {
+                                         ClientConvertor clientConvertor,
+                                         RegisteredClientCache registeredClientCache) {
         Assert.notNull(clientRepository, "clientRepository cannot be null");
         Assert.notNull(clientConvertor, "clientConvertor cannot be null");
+        Assert.notNull(registeredClientCache, "registeredClientCache cannot be null");
         this.clientConvertor = clientConvertor;
         this.clientRepository = clientRepository;
+        this.registeredClientCache = registeredClientCache;
     }
 
     @Override
@@ -75,20 +79,21 @@ public class JpaRegisteredClientRepository implements RegisteredClientRepository
                 clientConvertor.toClientPO(client).ifPresent(clientRepository::merge);
             }, () -> clientConvertor.toClientPO(toEntity(registeredClient))
                 .ifPresent(clientRepository::persist));
+        registeredClientCache.invalidate();
     }
 
     @Override
     public RegisteredClient findById(String id) {
         Assert.hasText(id, "id cannot be empty");
-        return this.clientRepository.findById(id).flatMap(clientConvertor::toEntity).map(this::toObject)
-            .orElse(null);
+        return registeredClientCache.getById(id, () -> this.clientRepository.findById(id)
+            .flatMap(clientConvertor::toEntity).map(this::toObject).orElse(null));
     }
 
     @Override
     public RegisteredClient findByClientId(String clientId) {
         Assert.hasText(clientId, "clientId cannot be empty");
-        return this.clientRepository.findByClientId(clientId).flatMap(clientConvertor::toEntity)
-            .map(this::toObject).orElse(null);
+        return registeredClientCache.getByClientId(clientId, () -> this.clientRepository.findByClientId(clientId)
+            .flatMap(clientConvertor::toEntity).map(this::toObject).orElse(null));
     }
 
     private RegisteredClient toObject(@NonNull Client client) {
@@ -17,6 +17,7 @@
 package baby.mumu.iam.configuration;
 
 import baby.mumu.basis.condition.ConditionalExecutor;
+import baby.mumu.basis.exception.ApplicationException;
 import baby.mumu.basis.response.ResponseCode;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -26,6 +27,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.*;
@@ -111,6 +113,7 @@ public class PasswordGrantAuthenticationProvider implements AuthenticationProvid
         // 校验用户名信息
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
         verifyAccountInformation(userDetails, password);
+        userDetails = upgradeEncodingIfNecessary(userDetails, password);
 
         // 由于在上面已验证过用户名、密码，现在构建一个已认证的对象UsernamePasswordAuthenticationToken
         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = UsernamePasswordAuthenticationToken.authenticated(
@@ -222,10 +225,40 @@ public class PasswordGrantAuthenticationProvider implements AuthenticationProvid
         checkCondition(!userDetails.isAccountNonLocked(), ResponseCode.ACCOUNT_LOCKED);
         checkCondition(!userDetails.isAccountNonExpired(), ResponseCode.ACCOUNT_HAS_EXPIRED);
         checkCondition(!userDetails.isCredentialsNonExpired(), ResponseCode.PASSWORD_EXPIRED);
-        checkCondition(!passwordEncoder.matches(password, userDetails.getPassword()),
+        checkCondition(!matches(password, userDetails.getPassword()),
             ResponseCode.ACCOUNT_PASSWORD_IS_INCORRECT);
     }
 
+    private boolean matches(String password, String encodedPassword) {
+        try {
+            return passwordEncoder.matches(password, encodedPassword);
+        } catch (ApplicationException e) {
+            // 哈希线程池过载时快速拒绝
+            throwAuthenticationException(e.getResponseCode());
+            return false;
+        }
+    }
+
+    /**
+     * 已保存密码的哈希参数低于当前配置时重新哈希
+     *
+     * @param userDetails 账号信息
+     * @param password    已验证的密码
+     * @return 账号信息
+     */
+    private UserDetails upgradeEncodingIfNecessary(@NonNull UserDetails userDetails, String password) {
+        if (userDetailsService instanceof UserDetailsPasswordService userDetailsPasswordService
+            && passwordEncoder.upgradeEncoding(userDetails.getPassword())) {
+            try {
+                return userDetailsPasswordService.updatePassword(userDetails, passwordEncoder.encode(password));
+            } catch (RuntimeException e) {
+                // 重新哈希失败不影响本次登录，下次登录时重试
+                return userDetails;
+            }
+        }
+        return userDetails;
+    }
+
     private void checkCondition(boolean condition, ResponseCode responseCode) {
         ConditionalExecutor.of(() -> condition)
             .ifTrue(() -> throwAuthenticationException(responseCode));
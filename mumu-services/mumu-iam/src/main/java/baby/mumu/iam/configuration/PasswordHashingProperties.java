@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密码哈希配置
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+@ConfigurationProperties("mumu.iam.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * 哈希线程数，不大于0时取处理器数量的一半
+     */
+    private int threads = 0;
+
+    /**
+     * 等待哈希的任务队列长度，队列已满时立即拒绝
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * BCrypt工作因子，不大于0时在启动时按目标耗时校准
+     */
+    private int strength = 0;
+
+    /**
+     * 校准时允许的最小工作因子
+     */
+    private int minStrength = 10;
+
+    /**
+     * 校准时允许的最大工作因子
+     */
+    private int maxStrength = 14;
+
+    /**
+     * 单次哈希的目标耗时
+     */
+    private long targetLatency = 250L;
+
+    /**
+     * 单次哈希的目标耗时单位
+     */
+    private TimeUnit targetLatencyUnit = TimeUnit.MILLISECONDS;
+}
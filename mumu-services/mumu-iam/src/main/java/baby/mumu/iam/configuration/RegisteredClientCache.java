@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.iam.configuration;
+
+import baby.mumu.iam.infra.invalidation.InvalidationBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 注册客户端本地缓存
+ * <p>
+ * 缓存已解析完成的不可变注册客户端，按ID与客户端ID分别索引，不缓存不存在的客户端；
+ * 客户端保存的事务提交后清空本地缓存并通过 {@link InvalidationBus} 通知其他实例清空，固定有效期兜底通知丢失的情况
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class RegisteredClientCache implements InitializingBean {
+
+    private static final String CHANNEL = "mumu:iam:registered-client";
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final long MAXIMUM_SIZE = 1_000L;
+    private final Cache<String, RegisteredClient> byId = Caffeine.newBuilder()
+        .maximumSize(RegisteredClientCache.MAXIMUM_SIZE)
+        .expireAfterWrite(RegisteredClientCache.TTL)
+        .build();
+    private final Cache<String, RegisteredClient> byClientId = Caffeine.newBuilder()
+        .maximumSize(RegisteredClientCache.MAXIMUM_SIZE)
+        .expireAfterWrite(RegisteredClientCache.TTL)
+        .build();
+    private final AtomicLong generation = new AtomicLong();
+    private final InvalidationBus invalidationBus;
+
+    @Autowired
+    public RegisteredClientCache(InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        invalidationBus.subscribe(RegisteredClientCache.CHANNEL, false, _ -> clearLocally());
+    }
+
+    /**
+     * 根据ID获取注册客户端，未命中时加载
+     *
+     * @param id     ID
+     * @param loader 加载器
+     * @return 注册客户端，不存在时返回null
+     */
+    public RegisteredClient getById(String id, Supplier<RegisteredClient> loader) {
+        RegisteredClient registeredClient = byId.getIfPresent(id);
+        return registeredClient != null ? registeredClient : load(loader);
+    }
+
+    /**
+     * 根据客户端ID获取注册客户端，未命中时加载
+     *
+     * @param clientId 客户端ID
+     * @param loader   加载器
+     * @return 注册客户端，不存在时返回null
+     */
+    public RegisteredClient getByClientId(String clientId, Supplier<RegisteredClient> loader) {
+        RegisteredClient registeredClient = byClientId.getIfPresent(clientId);
+        return registeredClient != null ? registeredClient : load(loader);
+    }
+
+    private RegisteredClient load(@NonNull Supplier<RegisteredClient> loader) {
+        long expected = generation.get();
+        RegisteredClient registeredClient = loader.get();
+        // 加载期间发生失效时不回填，避免旧值覆盖
+        if (registeredClient != null && generation.get() == expected) {
+            byId.put(registeredClient.getId(), registeredClient);
+            byClientId.put(registeredClient.getClientId(), registeredClient);
+        }
+        return registeredClient;
+    }
+
+    /**
+     * 清空本地缓存并通知其他实例，存在事务时推迟到提交后执行
+     */
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateNow();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        // 提交前失效会让并发读取以未提交前的旧值回填缓存
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateNow();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RegisteredClientCache.this);
+            }
+        });
+    }
+
+    private void invalidateNow() {
+        clearLocally();
+        // 通知失败时依赖缓存有效期收敛
+        invalidationBus.publish(RegisteredClientCache.CHANNEL, "*");
+    }
+
+    private void clearLocally() {
+        generation.incrementAndGet();
+        byId.invalidateAll();
+        byClientId.invalidateAll();
+    }
+}
@@ -0,0 +1,6 @@
+-- @formatter:off
+-- noinspection SqlResolveForFile
+CREATE INDEX IF NOT EXISTS account_roles_role_id_account_id ON mumu_account_roles(role_id, account_id);
+DROP INDEX IF EXISTS account_roles_role_id;
+CREATE INDEX IF NOT EXISTS role_permissions_permission_id_role_id ON mumu_role_permissions(permission_id, role_id);
+DROP INDEX IF EXISTS role_permissions_permission_id;
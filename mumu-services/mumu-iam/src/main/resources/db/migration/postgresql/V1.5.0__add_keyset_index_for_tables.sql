@@ -0,0 +1,5 @@
+-- @formatter:off
+-- noinspection SqlResolveForFile
+CREATE INDEX IF NOT EXISTS accounts_creation_time_id ON mumu_accounts(creation_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS roles_creation_time_id ON mumu_roles(creation_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS permissions_creation_time_id ON mumu_permissions(creation_time DESC, id DESC);
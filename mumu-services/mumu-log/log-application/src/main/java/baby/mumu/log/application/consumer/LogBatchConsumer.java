@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.log.application.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 日志批量消费者
+ * <p>
+ * 每次拉取的消息合并为一次bulk写入，无法解析的消息原样转入死信主题。
+ * 先写入再发送死信，写入失败时整批重新投递不会重复发送死信；写入与死信发送均确认后才提交位点，
+ * 文档以日志ID写入，重新投递时重复写入是幂等的
+ *
+ * @param <P> 消息载荷类型
+ * @param <C> 保存指令类型
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public abstract class LogBatchConsumer<P, C> {
+
+    private final JsonMapper jsonMapper;
+    private final Class<P> payloadType;
+    private final KafkaTemplate<Object, Object> deadLetterTemplate;
+    private final String deadLetterTopic;
+
+    protected LogBatchConsumer(JsonMapper jsonMapper, Class<P> payloadType,
+                               KafkaTemplate<Object, Object> deadLetterTemplate, String deadLetterTopic) {
+        this.jsonMapper = jsonMapper;
+        this.payloadType = payloadType;
+        this.deadLetterTemplate = deadLetterTemplate;
+        this.deadLetterTopic = deadLetterTopic;
+    }
+
+    /**
+     * 载荷转换为保存指令
+     *
+     * @param payload 消息载荷
+     * @return 保存指令
+     */
+    protected abstract Optional<C> toSaveCmd(P payload);
+
+    /**
+     * 批量保存
+     *
+     * @param saveCmds 保存指令
+     */
+    protected abstract void saveAll(List<C> saveCmds);
+
+    /**
+     * 消费一批消息，任一步骤失败时抛出异常且不提交位点，由容器重新投递整批消息
+     *
+     * @param records        消息
+     * @param acknowledgment 位点确认
+     */
+    protected void consume(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        List<C> saveCmds = new ArrayList<>(records.size());
+        List<ConsumerRecord<String, String>> unparsable = new ArrayList<>();
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                toSaveCmd(jsonMapper.readValue(record.value(), payloadType)).ifPresent(saveCmds::add);
+            } catch (JacksonException e) {
+                // 无法解析的消息重试没有意义，写入成功后原样转入死信主题
+                unparsable.add(record);
+            }
+        }
+        saveAll(saveCmds);
+        CompletableFuture.allOf(unparsable.stream()
+            .map(record -> deadLetterTemplate.send(deadLetterTopic, record.key(), record.value()))
+            .toArray(CompletableFuture[]::new)).join();
+        acknowledgment.acknowledge();
+    }
+}
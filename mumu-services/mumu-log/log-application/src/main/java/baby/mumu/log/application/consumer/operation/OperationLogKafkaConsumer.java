@@ -16,17 +16,25 @@
 
 package baby.mumu.log.application.consumer.operation;
 
+import baby.mumu.log.application.consumer.LogBatchConsumer;
 import baby.mumu.log.client.api.OperationLogService;
+import baby.mumu.log.client.cmds.OperationLogSaveCmd;
 import baby.mumu.log.infra.config.LogProperties;
 import baby.mumu.log.infra.operation.convertor.OperationLogConvertor;
+import baby.mumu.log.infra.operation.gatewayimpl.kafka.OperationLogKafkaRepository;
 import baby.mumu.log.infra.operation.gatewayimpl.kafka.po.OperationLogKafkaPO;
 import io.micrometer.observation.annotation.Observed;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * 操作日志消费者
  *
@@ -36,26 +44,38 @@ import tools.jackson.databind.json.JsonMapper;
 @Component
 @Observed(name = "OperationLogKafkaConsumer")
 @ConditionalOnProperty(prefix = "mumu.log.kafka", name = "enabled", havingValue = "true")
-public class OperationLogKafkaConsumer {
+public class OperationLogKafkaConsumer extends LogBatchConsumer<OperationLogKafkaPO, OperationLogSaveCmd> {
 
-    private final JsonMapper jsonMapper;
     private final OperationLogService operationLogService;
     private final OperationLogConvertor operationLogConvertor;
 
     @Autowired
     public OperationLogKafkaConsumer(JsonMapper jsonMapper,
                                      OperationLogService operationLogService,
-                                     OperationLogConvertor operationLogConvertor) {
-        this.jsonMapper = jsonMapper;
+                                     OperationLogConvertor operationLogConvertor,
+                                     OperationLogKafkaRepository operationLogKafkaRepository) {
+        super(jsonMapper, OperationLogKafkaPO.class, operationLogKafkaRepository,
+            LogProperties.OPERATION_LOG_DLT_KAFKA_TOPIC_NAME);
         this.operationLogService = operationLogService;
         this.operationLogConvertor = operationLogConvertor;
     }
 
-    @KafkaListener(topics = {LogProperties.OPERATION_LOG_KAFKA_TOPIC_NAME})
-    public void handle(String operationLog) {
-        OperationLogKafkaPO operationLogKafkaPO = jsonMapper.readValue(operationLog,
-            OperationLogKafkaPO.class);
-        operationLogConvertor.toOperationLogSaveCmd(operationLogKafkaPO)
-            .ifPresent(operationLogService::save);
+    /**
+     * 每次拉取的消息合并为一次bulk写入，写入确认后才提交位点
+     */
+    @KafkaListener(topics = {LogProperties.OPERATION_LOG_KAFKA_TOPIC_NAME},
+        containerFactory = LogProperties.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void handle(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        consume(records, acknowledgment);
+    }
+
+    @Override
+    protected Optional<OperationLogSaveCmd> toSaveCmd(OperationLogKafkaPO operationLogKafkaPO) {
+        return operationLogConvertor.toOperationLogSaveCmd(operationLogKafkaPO);
+    }
+
+    @Override
+    protected void saveAll(List<OperationLogSaveCmd> operationLogSaveCmds) {
+        operationLogService.saveAll(operationLogSaveCmds);
     }
 }
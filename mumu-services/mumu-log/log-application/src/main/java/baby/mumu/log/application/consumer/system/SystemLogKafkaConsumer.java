@@ -16,17 +16,25 @@
 
 package baby.mumu.log.application.consumer.system;
 
+import baby.mumu.log.application.consumer.LogBatchConsumer;
 import baby.mumu.log.client.api.SystemLogService;
+import baby.mumu.log.client.cmds.SystemLogSaveCmd;
 import baby.mumu.log.infra.config.LogProperties;
 import baby.mumu.log.infra.system.convertor.SystemLogConvertor;
+import baby.mumu.log.infra.system.gatewayimpl.kafka.SystemLogKafkaRepository;
 import baby.mumu.log.infra.system.gatewayimpl.kafka.po.SystemLogKafkaPO;
 import io.micrometer.observation.annotation.Observed;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * 系统日志消费者
  *
@@ -36,24 +44,38 @@ import tools.jackson.databind.json.JsonMapper;
 @Component
 @Observed(name = "SystemLogKafkaConsumer")
 @ConditionalOnProperty(prefix = "mumu.log.kafka", name = "enabled", havingValue = "true")
-public class SystemLogKafkaConsumer {
+public class SystemLogKafkaConsumer extends LogBatchConsumer<SystemLogKafkaPO, SystemLogSaveCmd> {
 
-    private final JsonMapper jsonMapper;
     private final SystemLogService systemLogService;
     private final SystemLogConvertor systemLogConvertor;
 
     @Autowired
-    public SystemLogKafkaConsumer(JsonMapper jsonMapper, SystemLogService systemLogService,
-                                  SystemLogConvertor systemLogConvertor) {
-        this.jsonMapper = jsonMapper;
+    public SystemLogKafkaConsumer(JsonMapper jsonMapper,
+                                  SystemLogService systemLogService,
+                                  SystemLogConvertor systemLogConvertor,
+                                  SystemLogKafkaRepository systemLogKafkaRepository) {
+        super(jsonMapper, SystemLogKafkaPO.class, systemLogKafkaRepository,
+            LogProperties.SYSTEM_LOG_DLT_KAFKA_TOPIC_NAME);
         this.systemLogService = systemLogService;
         this.systemLogConvertor = systemLogConvertor;
     }
 
-    @KafkaListener(topics = {LogProperties.SYSTEM_LOG_KAFKA_TOPIC_NAME})
-    public void handle(String systemLog) {
-        SystemLogKafkaPO systemLogKafkaPO = jsonMapper.readValue(systemLog,
-            SystemLogKafkaPO.class);
-        systemLogConvertor.toSystemLogSaveCmd(systemLogKafkaPO).ifPresent(systemLogService::save);
+    /**
+     * 每次拉取的消息合并为一次bulk写入，写入确认后才提交位点
+     */
+    @KafkaListener(topics = {LogProperties.SYSTEM_LOG_KAFKA_TOPIC_NAME},
+        containerFactory = LogProperties.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void handle(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        consume(records, acknowledgment);
+    }
+
+    @Override
+    protected Optional<SystemLogSaveCmd> toSaveCmd(SystemLogKafkaPO systemLogKafkaPO) {
+        return systemLogConvertor.toSystemLogSaveCmd(systemLogKafkaPO);
+    }
+
+    @Override
+    protected void saveAll(List<SystemLogSaveCmd> systemLogSaveCmds) {
+        systemLogService.saveAll(systemLogSaveCmds);
     }
 }
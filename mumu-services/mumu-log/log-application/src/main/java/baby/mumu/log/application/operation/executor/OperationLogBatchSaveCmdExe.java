@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.log.application.operation.executor;
+
+import baby.mumu.log.client.cmds.OperationLogSaveCmd;
+import baby.mumu.log.domain.operation.gateway.OperationLogGateway;
+import baby.mumu.log.infra.operation.convertor.OperationLogConvertor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 操作日志批量保存指令执行器
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class OperationLogBatchSaveCmdExe {
+
+    private final OperationLogGateway operationLogGateway;
+    private final OperationLogConvertor operationLogConvertor;
+
+    @Autowired
+    public OperationLogBatchSaveCmdExe(OperationLogGateway operationLogGateway,
+                                       OperationLogConvertor operationLogConvertor) {
+        this.operationLogGateway = operationLogGateway;
+        this.operationLogConvertor = operationLogConvertor;
+    }
+
+    public void execute(List<OperationLogSaveCmd> operationLogSaveCmds) {
+        Optional.ofNullable(operationLogSaveCmds).map(cmds -> cmds.stream()
+                .map(operationLogConvertor::toEntity)
+                .flatMap(Optional::stream)
+                .toList())
+            .filter(list -> !list.isEmpty())
+            .ifPresent(operationLogGateway::saveAll);
+    }
+}
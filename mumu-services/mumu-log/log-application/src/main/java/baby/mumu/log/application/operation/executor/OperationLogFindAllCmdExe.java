@@ -27,6 +27,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -55,10 +56,13 @@ public class OperationLogFindAllCmdExe {
         Assert.notNull(operationLogFindAllCmd, "operationLogFindAllCmd cannot be null");
         OperationLog operationLog = operationLogConvertor.toEntity(operationLogFindAllCmd)
             .orElseGet(OperationLog::new);
-        Page<OperationLog> operationLogs = operationLogGateway.findAll(
-            operationLog,
-            operationLogFindAllCmd.getCurrent(),
-            operationLogFindAllCmd.getPageSize());
+        // 仅在客户端显式进入游标模式或携带游标时走 search_after，避免普通首页查询也打开时间点
+        String cursor = operationLogFindAllCmd.getCursor();
+        Page<OperationLog> operationLogs =
+            StringUtils.hasText(cursor) || Boolean.TRUE.equals(operationLogFindAllCmd.getCursorMode())
+                ? operationLogGateway.findAll(operationLog, cursor, operationLogFindAllCmd.getPageSize())
+                : operationLogGateway.findAll(operationLog, operationLogFindAllCmd.getCurrent(),
+                operationLogFindAllCmd.getPageSize());
         List<OperationLogFindAllDTO> operationLogFindAllDTOS = operationLogs.getContent().stream()
             .map(operationLogConvertor::toOperationLogFindAllDTO).filter(Optional::isPresent)
             .map(Optional::get)
@@ -18,12 +18,14 @@ package baby.mumu.log.application.service;
 
 import baby.mumu.basis.annotations.RateLimiter;
 import baby.mumu.extension.provider.RateLimitingGrpcIpKeyProviderImpl;
+import baby.mumu.log.application.operation.executor.OperationLogBatchSaveCmdExe;
 import baby.mumu.log.application.operation.executor.OperationLogFindAllCmdExe;
 import baby.mumu.log.application.operation.executor.OperationLogQryCmdExe;
 import baby.mumu.log.application.operation.executor.OperationLogSaveCmdExe;
 import baby.mumu.log.application.operation.executor.OperationLogSubmitCmdExe;
 import baby.mumu.log.client.api.OperationLogService;
 import baby.mumu.log.client.api.grpc.OperationLogServiceGrpc.OperationLogServiceImplBase;
+import baby.mumu.log.client.api.grpc.OperationLogSubmitBatchGrpcCmd;
 import baby.mumu.log.client.api.grpc.OperationLogSubmitGrpcCmd;
 import baby.mumu.log.client.cmds.OperationLogFindAllCmd;
 import baby.mumu.log.client.cmds.OperationLogQryCmd;
@@ -41,6 +43,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.grpc.server.service.GrpcService;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * 操作日志
  *
@@ -56,6 +61,7 @@ public class OperationLogServiceImpl extends OperationLogServiceImplBase impleme
     private final OperationLogSubmitCmdExe operationLogSubmitCmdExe;
 
     private final OperationLogSaveCmdExe operationLogSaveCmdExe;
+    private final OperationLogBatchSaveCmdExe operationLogBatchSaveCmdExe;
 
     private final OperationLogQryCmdExe operationLogQryCmdExe;
 
@@ -66,12 +72,14 @@ public class OperationLogServiceImpl extends OperationLogServiceImplBase impleme
     public OperationLogServiceImpl(OperationLogSubmitCmdExe operationLogSubmitCmdExe,
                                    OperationLogSaveCmdExe operationLogSaveCmdExe, OperationLogQryCmdExe operationLogQryCmdExe,
                                    OperationLogFindAllCmdExe operationLogFindAllCmdExe,
-                                   OperationLogConvertor operationLogConvertor) {
+                                   OperationLogConvertor operationLogConvertor,
+                                   OperationLogBatchSaveCmdExe operationLogBatchSaveCmdExe) {
         this.operationLogSubmitCmdExe = operationLogSubmitCmdExe;
         this.operationLogSaveCmdExe = operationLogSaveCmdExe;
         this.operationLogQryCmdExe = operationLogQryCmdExe;
         this.operationLogFindAllCmdExe = operationLogFindAllCmdExe;
         this.operationLogConvertor = operationLogConvertor;
+        this.operationLogBatchSaveCmdExe = operationLogBatchSaveCmdExe;
     }
 
     @Override
@@ -84,6 +92,11 @@ public class OperationLogServiceImpl extends OperationLogServiceImplBase impleme
         operationLogSaveCmdExe.execute(operationLogSaveCmd);
     }
 
+    @Override
+    public void saveAll(List<OperationLogSaveCmd> operationLogSaveCmds) {
+        operationLogBatchSaveCmdExe.execute(operationLogSaveCmds);
+    }
+
     @Override
     @RateLimiter(keyProvider = RateLimitingGrpcIpKeyProviderImpl.class)
     public void submit(@NonNull OperationLogSubmitGrpcCmd request,
@@ -99,6 +112,21 @@ public class OperationLogServiceImpl extends OperationLogServiceImplBase impleme
             });
     }
 
+    /**
+     * 批量提交操作日志
+     */
+    @Override
+    @RateLimiter(keyProvider = RateLimitingGrpcIpKeyProviderImpl.class)
+    public void submitBatch(@NonNull OperationLogSubmitBatchGrpcCmd request,
+                            @NonNull StreamObserver<Empty> responseObserver) {
+        request.getLogsList().stream()
+            .map(operationLogConvertor::toOperationLogSubmitCmd)
+            .flatMap(Optional::stream)
+            .forEach(operationLogSubmitCmdExe::execute);
+        responseObserver.onNext(Empty.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
     @Override
     public OperationLogQryDTO findOperationLogById(String id) {
         OperationLogQryCmd operationLogQryCmd = new OperationLogQryCmd();
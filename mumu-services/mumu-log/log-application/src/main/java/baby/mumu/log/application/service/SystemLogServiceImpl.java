@@ -18,11 +18,13 @@ package baby.mumu.log.application.service;
 
 import baby.mumu.basis.annotations.RateLimiter;
 import baby.mumu.extension.provider.RateLimitingGrpcIpKeyProviderImpl;
+import baby.mumu.log.application.system.executor.SystemLogBatchSaveCmdExe;
 import baby.mumu.log.application.system.executor.SystemLogFindAllCmdExe;
 import baby.mumu.log.application.system.executor.SystemLogSaveCmdExe;
 import baby.mumu.log.application.system.executor.SystemLogSubmitCmdExe;
 import baby.mumu.log.client.api.SystemLogService;
 import baby.mumu.log.client.api.grpc.SystemLogServiceGrpc.SystemLogServiceImplBase;
+import baby.mumu.log.client.api.grpc.SystemLogSubmitBatchGrpcCmd;
 import baby.mumu.log.client.api.grpc.SystemLogSubmitGrpcCmd;
 import baby.mumu.log.client.cmds.SystemLogFindAllCmd;
 import baby.mumu.log.client.cmds.SystemLogSaveCmd;
@@ -36,6 +38,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.grpc.server.service.GrpcService;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * 系统日志
  *
@@ -49,17 +54,20 @@ public class SystemLogServiceImpl extends SystemLogServiceImplBase implements Sy
     private final SystemLogSubmitCmdExe systemLogSubmitCmdExe;
 
     private final SystemLogSaveCmdExe systemLogSaveCmdExe;
+    private final SystemLogBatchSaveCmdExe systemLogBatchSaveCmdExe;
     private final SystemLogFindAllCmdExe systemLogFindAllCmdExe;
     private final SystemLogConvertor systemLogConvertor;
 
     @Autowired
     public SystemLogServiceImpl(SystemLogSubmitCmdExe systemLogSubmitCmdExe,
                                 SystemLogSaveCmdExe systemLogSaveCmdExe, SystemLogFindAllCmdExe systemLogFindAllCmdExe,
-                                SystemLogConvertor systemLogConvertor) {
+                                SystemLogConvertor systemLogConvertor,
+                                SystemLogBatchSaveCmdExe systemLogBatchSaveCmdExe) {
         this.systemLogSubmitCmdExe = systemLogSubmitCmdExe;
         this.systemLogSaveCmdExe = systemLogSaveCmdExe;
         this.systemLogFindAllCmdExe = systemLogFindAllCmdExe;
         this.systemLogConvertor = systemLogConvertor;
+        this.systemLogBatchSaveCmdExe = systemLogBatchSaveCmdExe;
     }
 
     @Override
@@ -72,6 +80,11 @@ public class SystemLogServiceImpl extends SystemLogServiceImplBase implements Sy
         systemLogSaveCmdExe.execute(systemLogSaveCmd);
     }
 
+    @Override
+    public void saveAll(List<SystemLogSaveCmd> systemLogSaveCmds) {
+        systemLogBatchSaveCmdExe.execute(systemLogSaveCmds);
+    }
+
     @Override
     public Page<SystemLogFindAllDTO> findAll(SystemLogFindAllCmd systemLogFindAllCmd) {
         return systemLogFindAllCmdExe.execute(systemLogFindAllCmd);
@@ -91,4 +104,19 @@ public class SystemLogServiceImpl extends SystemLogServiceImplBase implements Sy
         });
     }
 
+    /**
+     * 批量提交，整批只占用一次限流令牌
+     */
+    @Override
+    @RateLimiter(keyProvider = RateLimitingGrpcIpKeyProviderImpl.class)
+    public void submitBatch(SystemLogSubmitBatchGrpcCmd request,
+                            StreamObserver<Empty> responseObserver) {
+        request.getLogsList().stream()
+            .map(systemLogConvertor::toSystemLogSubmitCmd)
+            .flatMap(Optional::stream)
+            .forEach(systemLogSubmitCmdExe::execute);
+        responseObserver.onNext(Empty.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
 }
@@ -17,13 +17,13 @@
 package baby.mumu.log.client.api;
 
 import baby.mumu.basis.enums.ServiceEnum;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
+import io.grpc.Channel;
 import io.grpc.ManagedChannel;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.ChannelBuilderOptions;
-import org.springframework.grpc.client.GrpcChannelFactory;
+import io.grpc.stub.AbstractStub;
 
-import java.time.Duration;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 日志grpc服务
@@ -34,29 +34,24 @@ import java.util.Optional;
 class LogGrpcService {
 
     public static final String GRPC_LOG = ServiceEnum.LOG.getName();
-    private final DiscoveryClient discoveryClient;
-    private final GrpcChannelFactory grpcChannelFactory;
+    private final GrpcChannelRegistry grpcChannelRegistry;
 
-    public LogGrpcService(DiscoveryClient discoveryClient, GrpcChannelFactory grpcChannelFactory) {
-        this.discoveryClient = discoveryClient;
-        this.grpcChannelFactory = grpcChannelFactory;
+    public LogGrpcService(GrpcChannelRegistry grpcChannelRegistry) {
+        this.grpcChannelRegistry = grpcChannelRegistry;
+        // 启动时即创建共享通道并开始建连
+        grpcChannelRegistry.register(LogGrpcService.GRPC_LOG);
     }
 
     protected Optional<ManagedChannel> getManagedChannel() {
-        if (!serviceAvailable()) {
-            return Optional.empty();
-        }
-        ChannelBuilderOptions opts = ChannelBuilderOptions.defaults()
-            .withInterceptorsMerge(true)
-            .withShutdownGracePeriod(Duration.ofSeconds(10));
-
-        // 这里传入的是“通道名”，会去读取 spring.grpc.client.channels.storage.* 的配置
-        ManagedChannel ch = grpcChannelFactory.createChannel(LogGrpcService.GRPC_LOG, opts);
-        return Optional.of(ch);
+        return grpcChannelRegistry.channel(LogGrpcService.GRPC_LOG);
     }
 
-    protected boolean serviceAvailable() {
-        return !discoveryClient.getInstances(LogGrpcService.GRPC_LOG).isEmpty();
+    protected <S extends AbstractStub<S>> S stub(Class<S> stubType,
+                                                 Function<Channel, S> stubFactory) {
+        return grpcChannelRegistry.stub(LogGrpcService.GRPC_LOG, stubType, stubFactory);
     }
 
+    protected boolean serviceAvailable() {
+        return getManagedChannel().isPresent();
+    }
 }
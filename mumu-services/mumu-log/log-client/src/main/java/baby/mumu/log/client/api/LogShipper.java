@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.log.client.api;
+
+import baby.mumu.log.client.config.LogShippingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 日志异步批量投递器
+ * <p>
+ * 调用方只负责入队，由单独的投递线程按批量大小或等待时间凑批后一次性发送
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+class LogShipper<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(LogShipper.class);
+
+    private final String type;
+    private final ArrayBlockingQueue<T> queue;
+    private final Predicate<List<T>> sender;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final LogShippingProperties.OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final AtomicLong overflowSequence = new AtomicLong();
+    private final Counter droppedCounter;
+    private final Timer flushTimer;
+    private final Thread drainThread;
+    private volatile boolean running = true;
+
+    /**
+     * @param type       日志类型，用于线程名和指标标签
+     * @param properties 投递配置
+     * @param sender     批量发送函数，返回false表示日志服务不可用
+     * @param registry   指标注册中心
+     */
+    LogShipper(String type, LogShippingProperties properties, Predicate<List<T>> sender,
+               MeterRegistry registry) {
+        this.type = type;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.sender = sender;
+        this.batchSize = properties.getBatchSize();
+        this.lingerNanos = properties.getLingerUnit().toNanos(properties.getLinger());
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.sampleRate = Math.max(1, properties.getSampleRate());
+        Gauge.builder("mumu.log.shipping.queue.depth", queue, Collection::size)
+            .tag("type", type)
+            .register(registry);
+        this.droppedCounter = Counter.builder("mumu.log.shipping.dropped")
+            .tag("type", type)
+            .register(registry);
+        this.flushTimer = Timer.builder("mumu.log.shipping.flush")
+            .tag("type", type)
+            .register(registry);
+        this.drainThread = Thread.ofPlatform()
+            .name("mumu-log-shipper-" + type)
+            .daemon()
+            .start(this::drain);
+    }
+
+    void offer(T record) {
+        if (queue.offer(record)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> droppedCounter.increment();
+            case DROP_OLDEST -> evictAndOffer(record);
+            case SAMPLE -> {
+                if (overflowSequence.getAndIncrement() % sampleRate == 0) {
+                    evictAndOffer(record);
+                } else {
+                    droppedCounter.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * 停止投递线程，并在凑批等待时间内发送剩余日志
+     */
+    void close() {
+        running = false;
+        try {
+            drainThread.join(TimeUnit.NANOSECONDS.toMillis(lingerNanos) + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void evictAndOffer(T record) {
+        if (queue.poll() != null) {
+            droppedCounter.increment();
+        }
+        // 并发下腾出的位置可能被其他线程抢占
+        if (!queue.offer(record)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void drain() {
+        List<T> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                T first = queue.poll(lingerNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queue.drainTo(batch);
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    private void flush(List<T> batch) {
+        long start = System.nanoTime();
+        try {
+            if (!sender.test(batch)) {
+                droppedCounter.increment(batch.size());
+            }
+        } catch (RuntimeException e) {
+            droppedCounter.increment(batch.size());
+            LogShipper.log.warn("Failed to ship {} {} logs: {}", batch.size(), type, e.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batch.clear();
+        }
+    }
+}
@@ -16,15 +16,18 @@
 
 package baby.mumu.log.client.api;
 
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.log.client.api.grpc.OperationLogServiceGrpc;
+import baby.mumu.log.client.api.grpc.OperationLogServiceGrpc.OperationLogServiceBlockingStub;
 import baby.mumu.log.client.api.grpc.OperationLogServiceGrpc.OperationLogServiceFutureStub;
+import baby.mumu.log.client.api.grpc.OperationLogSubmitBatchGrpcCmd;
 import baby.mumu.log.client.api.grpc.OperationLogSubmitGrpcCmd;
-import io.grpc.ManagedChannel;
+import baby.mumu.log.client.config.LogShippingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.DisposableBean;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.GrpcChannelFactory;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -36,33 +39,54 @@ import java.util.Optional;
 @Observed(name = "OperationLogGrpcService")
 public class OperationLogGrpcService extends LogGrpcService implements DisposableBean {
 
-    private ManagedChannel channel;
+    private final LogShippingProperties logShippingProperties;
+    private final LogShipper<OperationLogSubmitGrpcCmd> logShipper;
 
     public OperationLogGrpcService(
-        DiscoveryClient discoveryClient,
-        GrpcChannelFactory grpcChannelFactory) {
-        super(discoveryClient, grpcChannelFactory);
+        GrpcChannelRegistry grpcChannelRegistry, LogShippingProperties logShippingProperties,
+        MeterRegistry meterRegistry) {
+        super(grpcChannelRegistry);
+        this.logShippingProperties = logShippingProperties;
+        this.logShipper = logShippingProperties.isEnabled() ? new LogShipper<>("operation",
+            logShippingProperties, this::submitBatch, meterRegistry) : null;
     }
 
     @Override
     public void destroy() {
-        Optional.ofNullable(channel).ifPresent(ManagedChannel::shutdown);
+        Optional.ofNullable(logShipper).ifPresent(LogShipper::close);
     }
 
+    /**
+     * 提交操作日志，开启批量投递时仅入队，由后台线程合并发送
+     */
     public void syncSubmit(OperationLogSubmitGrpcCmd operationLogSubmitGrpcCmd) {
-        Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .ifPresent(ch -> {
-                channel = ch;
-                syncSubmitFromGrpc(operationLogSubmitGrpcCmd);
-            });
+        if (logShipper != null) {
+            logShipper.offer(operationLogSubmitGrpcCmd);
+            return;
+        }
+        getManagedChannel()
+            .ifPresent(_ -> syncSubmitFromGrpc(operationLogSubmitGrpcCmd));
     }
 
     private void syncSubmitFromGrpc(OperationLogSubmitGrpcCmd operationLogSubmitGrpcCmd) {
-        OperationLogServiceFutureStub operationLogServiceFutureStub = OperationLogServiceGrpc.newFutureStub(
-            channel);
+        OperationLogServiceFutureStub operationLogServiceFutureStub = stub(OperationLogServiceFutureStub.class,
+            OperationLogServiceGrpc::newFutureStub);
         // noinspection ResultOfMethodCallIgnored
         operationLogServiceFutureStub.submit(operationLogSubmitGrpcCmd);
     }
 
+    private boolean submitBatch(List<OperationLogSubmitGrpcCmd> operationLogSubmitGrpcCmds) {
+        return getManagedChannel()
+            .map(_ -> {
+                OperationLogServiceBlockingStub operationLogServiceBlockingStub = stub(OperationLogServiceBlockingStub.class,
+                    OperationLogServiceGrpc::newBlockingStub).withDeadlineAfter(logShippingProperties.getFlushTimeout(),
+                    logShippingProperties.getFlushTimeoutUnit());
+                // noinspection ResultOfMethodCallIgnored
+                operationLogServiceBlockingStub.submitBatch(OperationLogSubmitBatchGrpcCmd.newBuilder()
+                    .addAllLogs(operationLogSubmitGrpcCmds)
+                    .build());
+                return true;
+            }).orElse(false);
+    }
+
 }
@@ -23,6 +23,8 @@ import baby.mumu.log.client.dto.OperationLogFindAllDTO;
 import baby.mumu.log.client.dto.OperationLogQryDTO;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 /**
  * 操作日志api
  *
@@ -45,6 +47,13 @@ public interface OperationLogService {
      */
     void save(OperationLogSaveCmd operationLogSaveCmd);
 
+    /**
+     * 操作日志批量保存
+     *
+     * @param operationLogSaveCmds 操作日志保存指令
+     */
+    void saveAll(List<OperationLogSaveCmd> operationLogSaveCmds);
+
     /**
      * 根据id查询操作日志
      *
@@ -16,14 +16,17 @@
 
 package baby.mumu.log.client.api;
 
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.log.client.api.grpc.SystemLogServiceGrpc;
+import baby.mumu.log.client.api.grpc.SystemLogServiceGrpc.SystemLogServiceBlockingStub;
 import baby.mumu.log.client.api.grpc.SystemLogServiceGrpc.SystemLogServiceFutureStub;
+import baby.mumu.log.client.api.grpc.SystemLogSubmitBatchGrpcCmd;
 import baby.mumu.log.client.api.grpc.SystemLogSubmitGrpcCmd;
-import io.grpc.ManagedChannel;
+import baby.mumu.log.client.config.LogShippingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.DisposableBean;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.GrpcChannelFactory;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -34,34 +37,54 @@ import java.util.Optional;
  */
 public class SystemLogGrpcService extends LogGrpcService implements DisposableBean {
 
-    private ManagedChannel channel;
+    private final LogShippingProperties logShippingProperties;
+    private final LogShipper<SystemLogSubmitGrpcCmd> logShipper;
 
     public SystemLogGrpcService(
-        DiscoveryClient discoveryClient,
-        GrpcChannelFactory grpcChannelFactory) {
-        super(discoveryClient, grpcChannelFactory);
+        GrpcChannelRegistry grpcChannelRegistry, LogShippingProperties logShippingProperties,
+        MeterRegistry meterRegistry) {
+        super(grpcChannelRegistry);
+        this.logShippingProperties = logShippingProperties;
+        this.logShipper = logShippingProperties.isEnabled() ? new LogShipper<>("system",
+            logShippingProperties, this::submitBatch, meterRegistry) : null;
     }
 
-
     @Override
     public void destroy() {
-        Optional.ofNullable(channel).ifPresent(ManagedChannel::shutdown);
+        Optional.ofNullable(logShipper).ifPresent(LogShipper::close);
     }
 
+    /**
+     * 提交系统日志，开启批量投递时仅入队，由后台线程合并发送
+     */
     public void syncSubmit(SystemLogSubmitGrpcCmd systemLogSubmitGrpcCmd) {
-        Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .ifPresent(ch -> {
-                channel = ch;
-                syncSubmitFromGrpc(systemLogSubmitGrpcCmd);
-            });
+        if (logShipper != null) {
+            logShipper.offer(systemLogSubmitGrpcCmd);
+            return;
+        }
+        getManagedChannel()
+            .ifPresent(_ -> syncSubmitFromGrpc(systemLogSubmitGrpcCmd));
     }
 
     private void syncSubmitFromGrpc(SystemLogSubmitGrpcCmd systemLogSubmitGrpcCmd) {
-        SystemLogServiceFutureStub systemLogServiceFutureStub = SystemLogServiceGrpc.newFutureStub(
-            channel);
+        SystemLogServiceFutureStub systemLogServiceFutureStub = stub(SystemLogServiceFutureStub.class,
+            SystemLogServiceGrpc::newFutureStub);
         // noinspection ResultOfMethodCallIgnored
         systemLogServiceFutureStub.submit(systemLogSubmitGrpcCmd);
     }
 
+    private boolean submitBatch(List<SystemLogSubmitGrpcCmd> systemLogSubmitGrpcCmds) {
+        return getManagedChannel()
+            .map(_ -> {
+                SystemLogServiceBlockingStub systemLogServiceBlockingStub = stub(SystemLogServiceBlockingStub.class,
+                    SystemLogServiceGrpc::newBlockingStub).withDeadlineAfter(logShippingProperties.getFlushTimeout(),
+                    logShippingProperties.getFlushTimeoutUnit());
+                // noinspection ResultOfMethodCallIgnored
+                systemLogServiceBlockingStub.submitBatch(SystemLogSubmitBatchGrpcCmd.newBuilder()
+                    .addAllLogs(systemLogSubmitGrpcCmds)
+                    .build());
+                return true;
+            }).orElse(false);
+    }
+
 }
@@ -22,6 +22,8 @@ import baby.mumu.log.client.cmds.SystemLogSubmitCmd;
 import baby.mumu.log.client.dto.SystemLogFindAllDTO;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 /**
  * 系统日志api
  *
@@ -44,6 +46,13 @@ public interface SystemLogService {
      */
     void save(SystemLogSaveCmd systemLogSaveCmd);
 
+    /**
+     * 系统日志批量保存
+     *
+     * @param systemLogSaveCmds 系统日志保存指令
+     */
+    void saveAll(List<SystemLogSaveCmd> systemLogSaveCmds);
+
     /**
      * 分页查询系统日志
      *
@@ -106,6 +106,18 @@ public class OperationLogFindAllCmd {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime operatingEndTime;
 
+    /**
+     * 游标，传入后从该记录之后继续查询并忽略当前页
+     */
+    @Schema(description = "游标（上一页最后一条记录的cursor），传入后忽略当前页", requiredMode = RequiredMode.NOT_REQUIRED)
+    private String cursor;
+
+    /**
+     * 是否以游标模式查询首页，为 true 时即使未传游标也按游标模式返回记录游标
+     */
+    @Schema(description = "是否以游标模式查询首页，未传游标时生效", requiredMode = RequiredMode.NOT_REQUIRED)
+    private Boolean cursorMode = false;
+
     /**
      * 当前页码
      */
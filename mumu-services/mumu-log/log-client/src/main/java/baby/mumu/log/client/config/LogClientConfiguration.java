@@ -16,15 +16,20 @@
 
 package baby.mumu.log.client.config;
 
+import baby.mumu.basis.grpc.channel.GrpcChannelProperties;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.basis.grpc.resolvers.DiscoveryClientNameResolverProvider;
 import baby.mumu.log.client.api.OperationLogGrpcService;
 import baby.mumu.log.client.api.SystemLogGrpcService;
 import io.grpc.NameResolverRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.grpc.client.GrpcChannelFactory;
 
 /**
  * 日志客户端配置类
@@ -33,28 +38,33 @@ import org.springframework.grpc.client.GrpcChannelFactory;
  * @since 1.0.0
  */
 @Configuration
+@EnableConfigurationProperties(LogShippingProperties.class)
 public class LogClientConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
     public DiscoveryClientNameResolverProvider discoveryClientNameResolverProvider(
-        DiscoveryClient discoveryClient) {
+        DiscoveryClient discoveryClient, GrpcChannelProperties grpcChannelProperties) {
         DiscoveryClientNameResolverProvider discoveryClientNameResolverProvider = new DiscoveryClientNameResolverProvider(
-            discoveryClient);
+            discoveryClient, grpcChannelProperties.getLoadBalancingPolicy());
         NameResolverRegistry.getDefaultRegistry().register(discoveryClientNameResolverProvider);
         return discoveryClientNameResolverProvider;
     }
 
     @Bean
-    public OperationLogGrpcService operationLogGrpcService(DiscoveryClient discoveryClient,
-                                                           GrpcChannelFactory grpcChannelFactory) {
-        return new OperationLogGrpcService(discoveryClient, grpcChannelFactory);
+    public OperationLogGrpcService operationLogGrpcService(GrpcChannelRegistry grpcChannelRegistry,
+                                                           LogShippingProperties logShippingProperties,
+                                                           ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new OperationLogGrpcService(grpcChannelRegistry, logShippingProperties,
+            meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new));
     }
 
     @Bean
-    public SystemLogGrpcService systemLogGrpcService(DiscoveryClient discoveryClient,
-                                                     GrpcChannelFactory grpcChannelFactory) {
-        return new SystemLogGrpcService(discoveryClient, grpcChannelFactory);
+    public SystemLogGrpcService systemLogGrpcService(GrpcChannelRegistry grpcChannelRegistry,
+                                                     LogShippingProperties logShippingProperties,
+                                                     ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new SystemLogGrpcService(grpcChannelRegistry, logShippingProperties,
+            meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new));
     }
 
     @Bean
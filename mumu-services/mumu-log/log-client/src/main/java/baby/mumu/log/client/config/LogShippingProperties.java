@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.log.client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志异步批量投递配置
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Data
+@ConfigurationProperties("mumu.log.client.shipping")
+public class LogShippingProperties {
+
+    /**
+     * 是否开启，关闭时每条日志单独发起一次RPC
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓冲队列容量
+     */
+    private int capacity = 8192;
+
+    /**
+     * 单批最大条数
+     */
+    private int batchSize = 256;
+
+    /**
+     * 首条日志入队后等待凑批的最长时间
+     */
+    private long linger = 200;
+
+    /**
+     * 凑批等待时间单位
+     */
+    private TimeUnit lingerUnit = TimeUnit.MILLISECONDS;
+
+    /**
+     * 单批投递超时时间
+     */
+    private long flushTimeout = 5;
+
+    /**
+     * 单批投递超时时间单位
+     */
+    private TimeUnit flushTimeoutUnit = TimeUnit.SECONDS;
+
+    /**
+     * 队列满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+    /**
+     * 采样策略下每多少条溢出日志保留一条
+     */
+    private int sampleRate = 10;
+
+    public enum OverflowPolicy {
+        /**
+         * 丢弃新日志
+         */
+        DROP_NEWEST,
+        /**
+         * 丢弃最旧日志
+         */
+        DROP_OLDEST,
+        /**
+         * 按采样率挤出最旧日志，其余溢出日志丢弃
+         */
+        SAMPLE
+    }
+}
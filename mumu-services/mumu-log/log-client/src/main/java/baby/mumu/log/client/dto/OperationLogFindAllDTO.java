@@ -83,4 +83,8 @@ public class OperationLogFindAllDTO extends BaseDataTransferObject {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime operatingTime;
 
+    /**
+     * 游标，作为下一页查询的cursor传入即可从该记录之后继续查询
+     */
+    private String cursor;
 }
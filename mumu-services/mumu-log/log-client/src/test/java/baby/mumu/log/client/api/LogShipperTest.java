@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.log.client.api;
+
+import baby.mumu.log.client.config.LogShippingProperties;
+import baby.mumu.log.client.config.LogShippingProperties.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 日志异步批量投递器单元测试
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class LogShipperTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstFlushEntered = new CountDownLatch(1);
+    private final CountDownLatch firstFlushReleased = new CountDownLatch(1);
+    private LogShipper<Integer> logShipper;
+
+    @AfterEach
+    public void close() {
+        firstFlushReleased.countDown();
+        if (logShipper != null) {
+            logShipper.close();
+        }
+    }
+
+    @Test
+    public void batchesAreCappedAtBatchSize() {
+        LogShippingProperties properties = LogShipperTest.properties(OverflowPolicy.DROP_NEWEST);
+        properties.setCapacity(16);
+        properties.setBatchSize(3);
+        logShipper = new LogShipper<>("test", properties, blockingSender(true), registry);
+        logShipper.offer(0);
+        LogShipperTest.await(() -> firstFlushEntered.getCount() == 0);
+        for (int i = 1; i <= 7; i++) {
+            logShipper.offer(i);
+        }
+        firstFlushReleased.countDown();
+        LogShipperTest.await(() -> shipped().size() == 8);
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), shipped());
+        Assertions.assertTrue(batches.stream().allMatch(batch -> batch.size() <= 3));
+        Assertions.assertEquals(List.of(1, 2, 3), batches.get(1));
+    }
+
+    @Test
+    public void partialBatchIsFlushedAfterLinger() {
+        LogShippingProperties properties = LogShipperTest.properties(OverflowPolicy.DROP_NEWEST);
+        properties.setBatchSize(100);
+        properties.setLinger(200);
+        firstFlushReleased.countDown();
+        logShipper = new LogShipper<>("test", properties, blockingSender(true), registry);
+        logShipper.offer(1);
+        logShipper.offer(2);
+        LogShipperTest.await(() -> shipped().size() == 2);
+        Assertions.assertEquals(List.of(List.of(1, 2)), batches);
+    }
+
+    @Test
+    public void dropNewestKeepsQueuedLogs() {
+        logShipper = new LogShipper<>("test", LogShipperTest.properties(OverflowPolicy.DROP_NEWEST),
+            blockingSender(true), registry);
+        fillWhileFirstFlushBlocked();
+        LogShipperTest.await(() -> shipped().size() == 3);
+        Assertions.assertEquals(List.of(0, 1, 2), shipped());
+        Assertions.assertEquals(1.0D, dropped());
+    }
+
+    @Test
+    public void dropOldestKeepsNewestLogs() {
+        logShipper = new LogShipper<>("test", LogShipperTest.properties(OverflowPolicy.DROP_OLDEST),
+            blockingSender(true), registry);
+        fillWhileFirstFlushBlocked();
+        LogShipperTest.await(() -> shipped().size() == 3);
+        Assertions.assertEquals(List.of(0, 2, 3), shipped());
+        Assertions.assertEquals(1.0D, dropped());
+    }
+
+    @Test
+    public void rejectedBatchIsCountedAsDropped() {
+        firstFlushReleased.countDown();
+        logShipper = new LogShipper<>("test", LogShipperTest.properties(OverflowPolicy.DROP_NEWEST),
+            blockingSender(false), registry);
+        logShipper.offer(1);
+        logShipper.offer(2);
+        LogShipperTest.await(() -> dropped() == 2.0D);
+    }
+
+    @Test
+    public void closeShipsRemainingLogs() {
+        LogShippingProperties properties = LogShipperTest.properties(OverflowPolicy.DROP_NEWEST);
+        properties.setBatchSize(100);
+        properties.setLinger(200);
+        firstFlushReleased.countDown();
+        logShipper = new LogShipper<>("test", properties, blockingSender(true), registry);
+        logShipper.offer(1);
+        logShipper.offer(2);
+        logShipper.close();
+        Assertions.assertEquals(List.of(1, 2), shipped());
+    }
+
+    /**
+     * 首批发送阻塞期间写满容量为2的队列，再写入一条触发溢出
+     */
+    private void fillWhileFirstFlushBlocked() {
+        logShipper.offer(0);
+        LogShipperTest.await(() -> firstFlushEntered.getCount() == 0);
+        logShipper.offer(1);
+        logShipper.offer(2);
+        logShipper.offer(3);
+        firstFlushReleased.countDown();
+    }
+
+    private Predicate<List<Integer>> blockingSender(boolean accepted) {
+        return batch -> {
+            batches.add(List.copyOf(batch));
+            firstFlushEntered.countDown();
+            try {
+                firstFlushReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return accepted;
+        };
+    }
+
+    private List<Integer> shipped() {
+        return batches.stream().flatMap(List::stream).toList();
+    }
+
+    private double dropped() {
+        return registry.get("mumu.log.shipping.dropped").counter().count();
+    }
+
+    private static LogShippingProperties properties(OverflowPolicy overflowPolicy) {
+        LogShippingProperties properties = new LogShippingProperties();
+        properties.setCapacity(2);
+        properties.setBatchSize(1);
+        properties.setLinger(20);
+        properties.setOverflowPolicy(overflowPolicy);
+        return properties;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -84,4 +84,9 @@ public class OperationLog {
      * 操作日志的结束操作时间
      */
     private LocalDateTime operatingEndTime;
+
+    /**
+     * 键集分页游标
+     */
+    private String cursor;
 }
@@ -19,6 +19,7 @@ package baby.mumu.log.domain.operation.gateway;
 import baby.mumu.log.domain.operation.OperationLog;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -43,6 +44,13 @@ public interface OperationLogGateway {
      */
     void save(OperationLog operationLog);
 
+    /**
+     * 批量保存操作日志
+     *
+     * @param operationLogs 操作日志领域对象
+     */
+    void saveAll(List<OperationLog> operationLogs);
+
     /**
      * 根据日志ID获取操作日志
      *
@@ -60,4 +68,15 @@ public interface OperationLogGateway {
      * @return 查询结果
      */
     Page<OperationLog> findAll(OperationLog operationLog, int current, int pageSize);
+
+    /**
+     * 从游标之后分页查询操作日志，查询耗时与页深度无关且不受 max_result_window 限制
+     *
+     * @param operationLog 查询条件
+     * @param cursor       上一页最后一条记录的游标，为空时从第一条开始
+     * @param pageSize     每页数量
+     * @return 查询结果，每条记录携带自身的游标
+     * @since 2.17.0
+     */
+    Page<OperationLog> findAll(OperationLog operationLog, String cursor, int pageSize);
 }
@@ -19,6 +19,8 @@ package baby.mumu.log.domain.system.gateway;
 import baby.mumu.log.domain.system.SystemLog;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 /**
  * 系统日志领域网关
  *
@@ -41,6 +43,13 @@ public interface SystemLogGateway {
      */
     void save(SystemLog systemLog);
 
+    /**
+     * 批量保存系统日志
+     *
+     * @param systemLogs 系统日志领域对象
+     */
+    void saveAll(List<SystemLog> systemLogs);
+
     /**
      * 分页查询系统日志
      *
@@ -20,6 +20,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * 日志服务全局配置信息
  *
@@ -38,6 +40,12 @@ public class LogProperties {
     public static final String OPERATION_LOG_KAFKA_TOPIC_NAME = "mumu-operation-log";
     //  系统日志topic名称
     public static final String SYSTEM_LOG_KAFKA_TOPIC_NAME = "mumu-system-log";
+    //  操作日志死信topic名称
+    public static final String OPERATION_LOG_DLT_KAFKA_TOPIC_NAME = "mumu-operation-log-dlt";
+    //  系统日志死信topic名称
+    public static final String SYSTEM_LOG_DLT_KAFKA_TOPIC_NAME = "mumu-system-log-dlt";
+    //  日志批量消费监听容器工厂名称
+    public static final String BATCH_LISTENER_CONTAINER_FACTORY = "logBatchKafkaListenerContainerFactory";
 
     @NestedConfigurationProperty
     private Elasticsearch elasticsearch = new Elasticsearch();
@@ -78,5 +86,30 @@ public class LogProperties {
          * 是否启用
          */
         private boolean enabled = true;
+
+        /**
+         * 单次拉取的最大消息数，即单次bulk写入的最大条数
+         */
+        private int batchSize = 500;
+
+        /**
+         * 拉取凑批的最长等待时间
+         */
+        private long maxWait = 500;
+
+        /**
+         * 拉取凑批等待时间单位
+         */
+        private TimeUnit maxWaitUnit = TimeUnit.MILLISECONDS;
+
+        /**
+         * 达到该字节数即返回，不再等待凑批
+         */
+        private int minBytes = 65536;
+
+        /**
+         * bulk写入部分失败时对失败条目的重试次数，仍失败则转入死信主题
+         */
+        private int bulkRetries = 3;
     }
 }
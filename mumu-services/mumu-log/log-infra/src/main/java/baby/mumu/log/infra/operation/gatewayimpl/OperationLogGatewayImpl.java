@@ -16,33 +16,44 @@
 
 package baby.mumu.log.infra.operation.gatewayimpl;
 
+import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.response.ResponseCode;
 import baby.mumu.genix.client.api.PrimaryKeyGrpcService;
 import baby.mumu.log.domain.operation.OperationLog;
 import baby.mumu.log.domain.operation.gateway.OperationLogGateway;
 import baby.mumu.log.infra.config.LogProperties;
 import baby.mumu.log.infra.operation.convertor.OperationLogConvertor;
 import baby.mumu.log.infra.operation.gatewayimpl.elasticsearch.OperationLogEsRepository;
+import baby.mumu.log.infra.operation.gatewayimpl.elasticsearch.SearchAfterCursor;
 import baby.mumu.log.infra.operation.gatewayimpl.elasticsearch.po.OperationLogEsPO;
 import baby.mumu.log.infra.operation.gatewayimpl.elasticsearch.po.OperationLogEsPOMetamodel;
 import baby.mumu.log.infra.operation.gatewayimpl.kafka.OperationLogKafkaRepository;
+import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.BulkFailureException;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.Criteria;
 import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Component;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static baby.mumu.basis.constants.CommonConstants.ES_QUERY_EN;
 import static baby.mumu.basis.constants.CommonConstants.ES_QUERY_SP;
@@ -56,25 +67,33 @@ import static baby.mumu.basis.constants.CommonConstants.ES_QUERY_SP;
 @Component
 public class OperationLogGatewayImpl implements OperationLogGateway {
 
+    /**
+     * 游标分页时间点保活时长，每次翻页都会续期
+     */
+    private static final Duration POINT_IN_TIME_KEEP_ALIVE = Duration.ofMinutes(1);
+
     private final OperationLogKafkaRepository operationLogKafkaRepository;
     private final OperationLogEsRepository operationLogEsRepository;
     private final JsonMapper jsonMapper;
     private final PrimaryKeyGrpcService primaryKeyGrpcService;
     private final ElasticsearchTemplate elasticsearchTemplate;
     private final OperationLogConvertor operationLogConvertor;
+    private final LogProperties logProperties;
 
     @Autowired
     public OperationLogGatewayImpl(OperationLogKafkaRepository operationLogKafkaRepository,
                                    OperationLogEsRepository operationLogEsRepository, JsonMapper jsonMapper,
                                    PrimaryKeyGrpcService primaryKeyGrpcService,
                                    ElasticsearchTemplate elasticsearchTemplate,
-                                   OperationLogConvertor operationLogConvertor) {
+                                   OperationLogConvertor operationLogConvertor,
+                                   LogProperties logProperties) {
         this.operationLogKafkaRepository = operationLogKafkaRepository;
         this.operationLogEsRepository = operationLogEsRepository;
         this.jsonMapper = jsonMapper;
         this.primaryKeyGrpcService = primaryKeyGrpcService;
         this.elasticsearchTemplate = elasticsearchTemplate;
         this.operationLogConvertor = operationLogConvertor;
+        this.logProperties = logProperties;
     }
 
     @Override
@@ -91,6 +110,44 @@ public class OperationLogGatewayImpl implements OperationLogGateway {
             .ifPresent(operationLogEsRepository::save);
     }
 
+    @Override
+    public void saveAll(List<OperationLog> operationLogs) {
+        List<OperationLog> pending = operationLogs;
+        int retries = logProperties.getKafka().getBulkRetries();
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            try {
+                elasticsearchTemplate.bulkIndex(toIndexQueries(pending), OperationLogEsPO.class);
+                return;
+            } catch (BulkFailureException e) {
+                // 只重试bulk响应中失败的条目，已成功的条目不重复写入
+                Set<String> failedIds = e.getFailedDocuments().keySet();
+                pending = pending.stream().filter(log -> failedIds.contains(log.getId())).toList();
+                if (attempt >= retries) {
+                    deadLetter(pending);
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<IndexQuery> toIndexQueries(List<OperationLog> operationLogs) {
+        return operationLogs.stream()
+            .map(operationLogConvertor::toOperationLogEsPO)
+            .flatMap(Optional::stream)
+            .map(operationLogEsPO -> new IndexQueryBuilder().withId(operationLogEsPO.getId())
+                .withObject(operationLogEsPO).build())
+            .toList();
+    }
+
+    private void deadLetter(List<OperationLog> operationLogs) {
+        CompletableFuture.allOf(operationLogs.stream()
+            .map(operationLogConvertor::toOperationLogKafkaPO)
+            .flatMap(Optional::stream)
+            .map(res -> operationLogKafkaRepository.send(LogProperties.OPERATION_LOG_DLT_KAFKA_TOPIC_NAME,
+                jsonMapper.writeValueAsString(res)))
+            .toArray(CompletableFuture[]::new)).join();
+    }
+
     @Override
     public Optional<OperationLog> findOperationLogById(String id) {
         Optional<OperationLog> optionalOperationLog = operationLogEsRepository.findById(
@@ -107,9 +164,69 @@ public class OperationLogGatewayImpl implements OperationLogGateway {
     }
 
     @Override
-    @SuppressWarnings("DuplicatedCode")
     public Page<OperationLog> findAll(OperationLog operationLog, int current, int pageSize) {
         PageRequest pageRequest = PageRequest.of(current - 1, pageSize);
+        Query query = new CriteriaQuery(toCriteria(operationLog)).setPageable(pageRequest)
+            .addSort(
+                Sort.by(OperationLogEsPOMetamodel.OPERATING_TIME).descending());
+        SearchHits<OperationLogEsPO> searchHits = elasticsearchTemplate.search(query,
+            OperationLogEsPO.class);
+        List<OperationLog> operationLogs = searchHits.getSearchHits().stream()
+            .map(SearchHit::getContent).map(operationLogConvertor::toEntity)
+            .filter(Optional::isPresent).map(Optional::get)
+            .peek(operationLogDomain ->
+                operationLogDomain.setOperatingTime(
+                    operationLogDomain.getOperatingTime()))
+            .toList();
+        return new PageImpl<>(operationLogs, pageRequest, searchHits.getTotalHits());
+    }
+
+    @Override
+    public Page<OperationLog> findAll(OperationLog operationLog, String cursor, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        Optional<SearchAfterCursor> searchAfterCursor = SearchAfterCursor.decode(jsonMapper, cursor);
+        String pointInTimeId = searchAfterCursor.map(SearchAfterCursor::pointInTimeId)
+            .orElseGet(() -> elasticsearchTemplate.openPointInTime(
+                elasticsearchTemplate.getIndexCoordinatesFor(OperationLogEsPO.class),
+                POINT_IN_TIME_KEEP_ALIVE, false));
+        // 时间点会隐式追加 _shard_doc 作为决胜排序字段，search_after 只需携带上一页最后一条记录的排序值
+        CriteriaQuery query = new CriteriaQuery(toCriteria(operationLog));
+        query.setPageable(pageRequest);
+        query.addSort(Sort.by(OperationLogEsPOMetamodel.OPERATING_TIME).descending());
+        query.setPointInTime(new Query.PointInTime(pointInTimeId, POINT_IN_TIME_KEEP_ALIVE));
+        searchAfterCursor.ifPresent(after -> query.setSearchAfter(after.sortValues()));
+        SearchHits<OperationLogEsPO> searchHits;
+        try {
+            searchHits = elasticsearchTemplate.search(query, OperationLogEsPO.class);
+        } catch (DataAccessException e) {
+            if (searchAfterCursor.isPresent()) {
+                // 游标中的时间点已过期或不存在，需要客户端重新从首页开始
+                throw new ApplicationException(ResponseCode.PARAMS_IS_INVALID, e);
+            }
+            // 本次新打开的时间点未被使用，立即释放
+            elasticsearchTemplate.closePointInTime(pointInTimeId);
+            throw e;
+        }
+        // 时间点ID在续期后可能变化，游标始终携带最新的ID
+        String nextPointInTimeId = Optional.ofNullable(searchHits.getPointInTimeId())
+            .orElse(pointInTimeId);
+        List<OperationLog> operationLogs = searchHits.getSearchHits().stream()
+            .flatMap(searchHit -> operationLogConvertor.toEntity(searchHit.getContent())
+                .map(operationLogDomain -> {
+                    operationLogDomain.setCursor(
+                        new SearchAfterCursor(nextPointInTimeId, searchHit.getSortValues()).encode(jsonMapper));
+                    return operationLogDomain;
+                }).stream())
+            .toList();
+        if (operationLogs.size() < pageSize) {
+            // 已到最后一页，提前释放时间点
+            elasticsearchTemplate.closePointInTime(nextPointInTimeId);
+        }
+        return new PageImpl<>(operationLogs, pageRequest, searchHits.getTotalHits());
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    private @NonNull Criteria toCriteria(OperationLog operationLog) {
         Criteria criteria = new Criteria();
         Optional.ofNullable(operationLog).ifPresent(optLog -> {
             Optional.ofNullable(optLog.getId())
@@ -181,18 +298,6 @@ public class OperationLogGatewayImpl implements OperationLogGateway {
                             OperationLogEsPOMetamodel.OPERATING_TIME).lessThan(
                             operatingEndTime)));
         });
-        Query query = new CriteriaQuery(criteria).setPageable(pageRequest)
-            .addSort(
-                Sort.by(OperationLogEsPOMetamodel.OPERATING_TIME).descending());
-        SearchHits<OperationLogEsPO> searchHits = elasticsearchTemplate.search(query,
-            OperationLogEsPO.class);
-        List<OperationLog> operationLogs = searchHits.getSearchHits().stream()
-            .map(SearchHit::getContent).map(operationLogConvertor::toEntity)
-            .filter(Optional::isPresent).map(Optional::get)
-            .peek(operationLogDomain ->
-                operationLogDomain.setOperatingTime(
-                    operationLogDomain.getOperatingTime()))
-            .toList();
-        return new PageImpl<>(operationLogs, pageRequest, searchHits.getTotalHits());
+        return criteria;
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.log.infra.operation.gatewayimpl.elasticsearch;
+
+import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.response.ResponseCode;
+import org.apache.commons.lang3.StringUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Elasticsearch search_after 游标
+ * <p>
+ * 由时间点（point in time）ID与命中记录的排序值组成，排序值包含时间点隐式追加的 {@code _shard_doc}
+ * 决胜字段，因此翻页结果稳定且不重复
+ *
+ * @param pointInTimeId 时间点ID
+ * @param sortValues    排序值
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public record SearchAfterCursor(String pointInTimeId, List<Object> sortValues) {
+
+    /**
+     * 编码为不透明游标
+     *
+     * @param jsonMapper json mapper
+     * @return 游标
+     */
+    public String encode(JsonMapper jsonMapper) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(jsonMapper.writeValueAsBytes(this));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param jsonMapper json mapper
+     * @param cursor     游标
+     * @return 游标为空时返回空
+     * @throws ApplicationException 游标格式不合法
+     */
+    public static Optional<SearchAfterCursor> decode(JsonMapper jsonMapper, String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return Optional.empty();
+        }
+        try {
+            SearchAfterCursor searchAfterCursor = jsonMapper.readValue(
+                Base64.getUrlDecoder().decode(cursor), SearchAfterCursor.class);
+            if (StringUtils.isBlank(searchAfterCursor.pointInTimeId())
+                || searchAfterCursor.sortValues() == null || searchAfterCursor.sortValues().isEmpty()) {
+                throw new ApplicationException(ResponseCode.PARAMS_IS_INVALID);
+            }
+            return Optional.of(searchAfterCursor);
+        } catch (IllegalArgumentException | JacksonException e) {
+            throw new ApplicationException(ResponseCode.PARAMS_IS_INVALID, e);
+        }
+    }
+}
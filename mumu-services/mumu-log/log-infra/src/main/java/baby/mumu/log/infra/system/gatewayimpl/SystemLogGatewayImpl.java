@@ -29,17 +29,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.BulkFailureException;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.Criteria;
 import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Component;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static baby.mumu.basis.constants.CommonConstants.ES_QUERY_EN;
 import static baby.mumu.basis.constants.CommonConstants.ES_QUERY_SP;
@@ -58,16 +63,19 @@ public class SystemLogGatewayImpl implements SystemLogGateway {
     private final JsonMapper jsonMapper;
     private final ElasticsearchTemplate elasticsearchTemplate;
     private final SystemLogConvertor systemLogConvertor;
+    private final LogProperties logProperties;
 
     @Autowired
     public SystemLogGatewayImpl(SystemLogKafkaRepository systemLogKafkaRepository,
                                 SystemLogEsRepository systemLogEsRepository, JsonMapper jsonMapper,
-                                ElasticsearchTemplate elasticsearchTemplate, SystemLogConvertor systemLogConvertor) {
+                                ElasticsearchTemplate elasticsearchTemplate, SystemLogConvertor systemLogConvertor,
+                                LogProperties logProperties) {
         this.systemLogKafkaRepository = systemLogKafkaRepository;
         this.systemLogEsRepository = systemLogEsRepository;
         this.jsonMapper = jsonMapper;
         this.elasticsearchTemplate = elasticsearchTemplate;
         this.systemLogConvertor = systemLogConvertor;
+        this.logProperties = logProperties;
     }
 
     @Override
@@ -82,6 +90,44 @@ public class SystemLogGatewayImpl implements SystemLogGateway {
         systemLogConvertor.toSystemLogEsPO(systemLog).ifPresent(systemLogEsRepository::save);
     }
 
+    @Override
+    public void saveAll(List<SystemLog> systemLogs) {
+        List<SystemLog> pending = systemLogs;
+        int retries = logProperties.getKafka().getBulkRetries();
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            try {
+                elasticsearchTemplate.bulkIndex(toIndexQueries(pending), SystemLogEsPO.class);
+                return;
+            } catch (BulkFailureException e) {
+                // 只重试bulk响应中失败的条目，已成功的条目不重复写入
+                Set<String> failedIds = e.getFailedDocuments().keySet();
+                pending = pending.stream().filter(log -> failedIds.contains(log.getId())).toList();
+                if (attempt >= retries) {
+                    deadLetter(pending);
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<IndexQuery> toIndexQueries(List<SystemLog> systemLogs) {
+        return systemLogs.stream()
+            .map(systemLogConvertor::toSystemLogEsPO)
+            .flatMap(Optional::stream)
+            .map(systemLogEsPO -> new IndexQueryBuilder().withId(systemLogEsPO.getId())
+                .withObject(systemLogEsPO).build())
+            .toList();
+    }
+
+    private void deadLetter(List<SystemLog> systemLogs) {
+        CompletableFuture.allOf(systemLogs.stream()
+            .map(systemLogConvertor::toSystemLogKafkaPO)
+            .flatMap(Optional::stream)
+            .map(res -> systemLogKafkaRepository.send(LogProperties.SYSTEM_LOG_DLT_KAFKA_TOPIC_NAME,
+                jsonMapper.writeValueAsString(res)))
+            .toArray(CompletableFuture[]::new)).join();
+    }
+
     @Override
     @SuppressWarnings("DuplicatedCode")
     public Page<SystemLog> findAll(SystemLog systemLog, int current, int pageSize) {
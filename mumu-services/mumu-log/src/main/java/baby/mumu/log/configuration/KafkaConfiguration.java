@@ -18,10 +18,20 @@ package baby.mumu.log.configuration;
 
 import baby.mumu.log.infra.config.LogProperties;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.kafka.autoconfigure.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.Properties;
 
 /**
  * kafka配置类
@@ -31,6 +41,7 @@ import org.springframework.kafka.config.TopicBuilder;
  */
 @Configuration
 @ConditionalOnProperty(prefix = "mumu.log.kafka", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(LogProperties.class)
 public class KafkaConfiguration {
 
     /**
@@ -58,4 +69,60 @@ public class KafkaConfiguration {
             .replicas(1)
             .build();
     }
+
+    /**
+     * 操作日志死信主题
+     *
+     * @return topic
+     */
+    @Bean
+    public NewTopic operationLogDeadLetter() {
+        return TopicBuilder.name(LogProperties.OPERATION_LOG_DLT_KAFKA_TOPIC_NAME)
+            .partitions(1)
+            .replicas(1)
+            .build();
+    }
+
+    /**
+     * 系统日志死信主题
+     *
+     * @return topic
+     */
+    @Bean
+    public NewTopic systemLogDeadLetter() {
+        return TopicBuilder.name(LogProperties.SYSTEM_LOG_DLT_KAFKA_TOPIC_NAME)
+            .partitions(1)
+            .replicas(1)
+            .build();
+    }
+
+    /**
+     * 日志批量消费监听容器工厂
+     *
+     * @return 监听容器工厂
+     */
+    @Bean(LogProperties.BATCH_LISTENER_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> logBatchKafkaListenerContainerFactory(
+        ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+        ConsumerFactory<Object, Object> consumerFactory, LogProperties logProperties) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        ContainerProperties containerProperties = factory.getContainerProperties();
+        // 由监听器在bulk写入确认后手动提交位点
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        // 无法解析与写入失败的日志均已转入死信主题，监听器抛出异常只意味着es或死信主题不可用，
+        // 持续退避重试整批消息而不是在重试耗尽后跳过未保存的日志
+        ExponentialBackOff backOff = new ExponentialBackOff(1000L, 2.0);
+        backOff.setMaxInterval(30_000L);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        LogProperties.Kafka kafka = logProperties.getKafka();
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, kafka.getBatchSize());
+        consumerProperties.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, kafka.getMinBytes());
+        consumerProperties.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG,
+            (int) kafka.getMaxWaitUnit().toMillis(kafka.getMaxWait()));
+        containerProperties.setKafkaConsumerProperties(consumerProperties);
+        return factory;
+    }
 }
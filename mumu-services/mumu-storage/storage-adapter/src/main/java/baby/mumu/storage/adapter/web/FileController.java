@@ -24,6 +24,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import org.apiguardian.api.API;
@@ -87,8 +88,9 @@ public class FileController {
     @API(status = Status.STABLE, since = "2.12.0")
     public void downloadByMetadataId(
         @PathVariable @NotNull Long metadataId,
+        HttpServletRequest httpServletRequest,
         HttpServletResponse httpServletResponse) {
-        fileService.downloadByMetadataId(metadataId, httpServletResponse);
+        fileService.downloadByMetadataId(metadataId, httpServletRequest, httpServletResponse);
     }
 
     @Operation(summary = "根据元数据ID获取文件元数据信息",
@@ -16,14 +16,25 @@
 
 package baby.mumu.storage.application.file.executor;
 
+import baby.mumu.basis.exception.ApplicationException;
 import baby.mumu.basis.kotlin.tools.FileDownloadUtils;
+import baby.mumu.basis.response.ResponseCode;
 import baby.mumu.storage.domain.file.File;
 import baby.mumu.storage.domain.file.FileMetadata;
 import baby.mumu.storage.domain.file.gateway.FileGateway;
 import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * 根据元数据ID下载文件指令执行器
@@ -42,10 +53,85 @@ public class FileDownloadByMetadataIdCmdExe {
         this.fileGateway = fileGateway;
     }
 
-    public void execute(Long metadataId, HttpServletResponse httpServletResponse) {
-        File file = fileGateway.downloadByMetadataId(metadataId);
-        FileMetadata metadata = file.getMetadata();
+    public void execute(Long metadataId, HttpServletRequest httpServletRequest,
+                        HttpServletResponse httpServletResponse) {
+        FileMetadata metadata = fileGateway.findMetaByMetaId(metadataId)
+            .orElseThrow(() -> new ApplicationException(ResponseCode.FILE_DOES_NOT_EXIST));
+        Long size = Optional.ofNullable(metadata.getSize()).filter(value -> value >= 0).orElse(null);
+        // 文件内容上传后不再变更，元数据ID与大小即可作为强校验器
+        String eTag = size == null ? "\"%d\"".formatted(metadata.getId())
+            : "\"%d-%d\"".formatted(metadata.getId(), size);
+        long lastModified = Optional.ofNullable(metadata.getModificationTime())
+            .or(() -> Optional.ofNullable(metadata.getCreationTime()))
+            .map(time -> time.toInstant().toEpochMilli())
+            .orElse(-1L);
+        if (new ServletWebRequest(httpServletRequest, httpServletResponse).checkNotModified(eTag,
+            lastModified)) {
+            return;
+        }
+        if (size == null) {
+            // 大小未知时无法计算范围，忽略Range按完整内容返回
+            writeFull(metadata, null, httpServletResponse);
+            return;
+        }
+        httpServletResponse.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        String rangeHeader = httpServletRequest.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isBlank(rangeHeader) || !ifRangeMatches(httpServletRequest, eTag, lastModified)) {
+            writeFull(metadata, size, httpServletResponse);
+            return;
+        }
+        long rangeStart;
+        long rangeEnd;
+        try {
+            List<HttpRange> httpRanges = HttpRange.parseRanges(rangeHeader);
+            if (httpRanges.size() != 1) {
+                // 多段范围需要multipart/byteranges响应，按完整内容返回
+                writeFull(metadata, size, httpServletResponse);
+                return;
+            }
+            rangeStart = httpRanges.getFirst().getRangeStart(size);
+            rangeEnd = httpRanges.getFirst().getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            httpServletResponse.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            httpServletResponse.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+        File file = fileGateway.download(metadata, rangeStart, rangeEnd);
+        httpServletResponse.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        httpServletResponse.setHeader(HttpHeaders.CONTENT_RANGE,
+            "bytes %d-%d/%d".formatted(rangeStart, rangeEnd, size));
+        httpServletResponse.setContentLengthLong(rangeEnd - rangeStart + 1);
         FileDownloadUtils.download(httpServletResponse, metadata.getStoredFilename(),
             file.getContent(), metadata.getContentType());
     }
+
+    private void writeFull(FileMetadata metadata, Long size, HttpServletResponse httpServletResponse) {
+        File file = fileGateway.download(metadata, null, null);
+        if (size != null) {
+            httpServletResponse.setContentLengthLong(size);
+        }
+        FileDownloadUtils.download(httpServletResponse, metadata.getStoredFilename(),
+            file.getContent(), metadata.getContentType());
+    }
+
+    /**
+     * 没有If-Range或其校验器与当前文件一致时才按Range返回部分内容
+     */
+    private boolean ifRangeMatches(HttpServletRequest httpServletRequest, String eTag,
+                                   long lastModified) {
+        String ifRange = httpServletRequest.getHeader(HttpHeaders.IF_RANGE);
+        if (StringUtils.isBlank(ifRange)) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // 弱校验器不能用于范围请求
+            return eTag.equals(ifRange);
+        }
+        try {
+            long ifRangeTime = httpServletRequest.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified != -1 && lastModified / 1000 == ifRangeTime / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 }
@@ -27,6 +27,7 @@ import com.google.protobuf.Empty;
 import com.google.protobuf.Int64Value;
 import io.grpc.stub.StreamObserver;
 import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.NonNull;
 import org.springframework.grpc.server.service.GrpcService;
@@ -83,9 +84,9 @@ public class FileServiceImpl extends FileServiceImplBase implements FileService
      * {@inheritDoc}
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public void downloadByMetadataId(Long metadataId, HttpServletResponse httpServletResponse) {
-        fileDownloadByMetadataIdCmdExe.execute(metadataId, httpServletResponse);
+    public void downloadByMetadataId(Long metadataId, HttpServletRequest httpServletRequest,
+                                     HttpServletResponse httpServletResponse) {
+        fileDownloadByMetadataIdCmdExe.execute(metadataId, httpServletRequest, httpServletResponse);
     }
 
     /**
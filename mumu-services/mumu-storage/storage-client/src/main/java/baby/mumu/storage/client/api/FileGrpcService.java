@@ -17,21 +17,16 @@
 package baby.mumu.storage.client.api;
 
 import baby.mumu.basis.exception.ApplicationException;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.storage.client.api.grpc.FileServiceGrpc;
 import baby.mumu.storage.client.api.grpc.FileServiceGrpc.FileServiceBlockingStub;
 import baby.mumu.storage.client.api.grpc.FileServiceGrpc.FileServiceFutureStub;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.Empty;
 import com.google.protobuf.Int64Value;
-import io.grpc.ManagedChannel;
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.jspecify.annotations.NonNull;
-import org.springframework.beans.factory.DisposableBean;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.GrpcChannelFactory;
-
-import java.util.Optional;
 
 import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
 
@@ -41,31 +36,19 @@ import static baby.mumu.basis.response.ResponseCode.GRPC_SERVICE_NOT_FOUND;
  * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
  * @since 2.14.0
  */
-public class FileGrpcService extends StorageGrpcService implements DisposableBean {
-
-    private ManagedChannel channel;
+public class FileGrpcService extends StorageGrpcService {
 
     public FileGrpcService(
-        DiscoveryClient discoveryClient,
-        GrpcChannelFactory grpcChannelFactory) {
-        super(discoveryClient, grpcChannelFactory);
-    }
-
-    @Override
-    public void destroy() {
-        Optional.ofNullable(channel).ifPresent(ManagedChannel::shutdown);
+        GrpcChannelRegistry grpcChannelRegistry) {
+        super(grpcChannelRegistry);
     }
 
 
     @SuppressWarnings("unused")
     @API(status = Status.STABLE, since = "2.14.0")
     public void deleteByMetadataId(Int64Value metadataId) {
-        Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .ifPresentOrElse(ch -> {
-                channel = ch;
-                deleteByMetadataIdFromGrpc(metadataId);
-            }, () -> {
+        getManagedChannel()
+            .ifPresentOrElse(_ -> deleteByMetadataIdFromGrpc(metadataId), () -> {
                 throw new ApplicationException(GRPC_SERVICE_NOT_FOUND);
             });
     }
@@ -74,27 +57,24 @@ public class FileGrpcService extends StorageGrpcService implements DisposableBea
     @API(status = Status.STABLE, since = "2.14.0")
     public ListenableFuture<Empty> syncDeleteByMetadataId(
         Int64Value roleId) {
-        return Optional.ofNullable(channel)
-            .or(this::getManagedChannel)
-            .map(ch -> {
-                channel = ch;
-                return syncDeleteByMetadataIdFromGrpc(roleId);
-            })
+        return getManagedChannel()
+            .map(_ -> syncDeleteByMetadataIdFromGrpc(roleId))
             .orElseThrow(() -> new ApplicationException(GRPC_SERVICE_NOT_FOUND));
     }
 
 
     private void deleteByMetadataIdFromGrpc(
         Int64Value metadataId) {
-        FileServiceBlockingStub fileServiceBlockingStub = FileServiceGrpc.newBlockingStub(channel);
+        FileServiceBlockingStub fileServiceBlockingStub = stub(FileServiceBlockingStub.class,
+            FileServiceGrpc::newBlockingStub);
         // noinspection ResultOfMethodCallIgnored
         fileServiceBlockingStub.deleteByMetadataId(metadataId);
     }
 
     private @NonNull ListenableFuture<Empty> syncDeleteByMetadataIdFromGrpc(
         Int64Value metadataId) {
-        FileServiceFutureStub fileServiceFutureStub = FileServiceGrpc.newFutureStub(
-            channel);
+        FileServiceFutureStub fileServiceFutureStub = stub(FileServiceFutureStub.class,
+            FileServiceGrpc::newFutureStub);
         return fileServiceFutureStub.deleteByMetadataId(metadataId);
     }
 
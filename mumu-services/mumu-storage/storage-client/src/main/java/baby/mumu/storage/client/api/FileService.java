@@ -17,6 +17,7 @@
 package baby.mumu.storage.client.api;
 
 import baby.mumu.storage.client.dto.FileFindMetaByMetaIdDTO;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -45,12 +46,14 @@ public interface FileService {
     void deleteByMetadataId(Long metadataId);
 
     /**
-     * 根据文件元数据ID下载文件
+     * 根据文件元数据ID下载文件，支持Range断点续传与条件请求
      *
      * @param metadataId          文件元数据ID
+     * @param httpServletRequest  请求
      * @param httpServletResponse 响应
      */
-    void downloadByMetadataId(Long metadataId, HttpServletResponse httpServletResponse);
+    void downloadByMetadataId(Long metadataId, HttpServletRequest httpServletRequest,
+                              HttpServletResponse httpServletResponse);
 
     /**
      * 根据文件元数据ID获取文件元数据信息
@@ -17,13 +17,13 @@
 package baby.mumu.storage.client.api;
 
 import baby.mumu.basis.enums.ServiceEnum;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
+import io.grpc.Channel;
 import io.grpc.ManagedChannel;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-import org.springframework.grpc.client.ChannelBuilderOptions;
-import org.springframework.grpc.client.GrpcChannelFactory;
+import io.grpc.stub.AbstractStub;
 
-import java.time.Duration;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 存储grpc服务
@@ -34,30 +34,24 @@ import java.util.Optional;
 class StorageGrpcService {
 
     public static final String GRPC_STORAGE = ServiceEnum.STORAGE.getName();
-    private final DiscoveryClient discoveryClient;
+    private final GrpcChannelRegistry grpcChannelRegistry;
 
-    private final GrpcChannelFactory grpcChannelFactory;
-
-    public StorageGrpcService(DiscoveryClient discoveryClient,
-                              GrpcChannelFactory grpcChannelFactory) {
-        this.discoveryClient = discoveryClient;
-        this.grpcChannelFactory = grpcChannelFactory;
+    public StorageGrpcService(GrpcChannelRegistry grpcChannelRegistry) {
+        this.grpcChannelRegistry = grpcChannelRegistry;
+        // 启动时即创建共享通道并开始建连
+        grpcChannelRegistry.register(StorageGrpcService.GRPC_STORAGE);
     }
 
     protected Optional<ManagedChannel> getManagedChannel() {
-        if (!serviceAvailable()) {
-            return Optional.empty();
-        }
-        ChannelBuilderOptions opts = ChannelBuilderOptions.defaults()
-            .withInterceptorsMerge(true)
-            .withShutdownGracePeriod(Duration.ofSeconds(10));
-
-        // 这里传入的是“通道名”，会去读取 spring.grpc.client.channels.storage.* 的配置
-        ManagedChannel ch = grpcChannelFactory.createChannel(StorageGrpcService.GRPC_STORAGE, opts);
-        return Optional.of(ch);
+        return grpcChannelRegistry.channel(StorageGrpcService.GRPC_STORAGE);
+    }
+
+    protected <S extends AbstractStub<S>> S stub(Class<S> stubType,
+                                                 Function<Channel, S> stubFactory) {
+        return grpcChannelRegistry.stub(StorageGrpcService.GRPC_STORAGE, stubType, stubFactory);
     }
 
     protected boolean serviceAvailable() {
-        return !discoveryClient.getInstances(StorageGrpcService.GRPC_STORAGE).isEmpty();
+        return getManagedChannel().isPresent();
     }
 }
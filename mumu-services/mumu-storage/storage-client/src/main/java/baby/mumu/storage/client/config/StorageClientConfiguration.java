@@ -16,6 +16,8 @@
 
 package baby.mumu.storage.client.config;
 
+import baby.mumu.basis.grpc.channel.GrpcChannelProperties;
+import baby.mumu.basis.grpc.channel.GrpcChannelRegistry;
 import baby.mumu.basis.grpc.resolvers.DiscoveryClientNameResolverProvider;
 import baby.mumu.storage.client.api.FileGrpcService;
 import io.grpc.NameResolverRegistry;
@@ -23,7 +25,6 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.grpc.client.GrpcChannelFactory;
 
 /**
  * 存储服务客户端配置
@@ -37,18 +38,16 @@ public class StorageClientConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public DiscoveryClientNameResolverProvider discoveryClientNameResolverProvider(
-        DiscoveryClient discoveryClient) {
+        DiscoveryClient discoveryClient, GrpcChannelProperties grpcChannelProperties) {
         DiscoveryClientNameResolverProvider discoveryClientNameResolverProvider = new DiscoveryClientNameResolverProvider(
-            discoveryClient);
+            discoveryClient, grpcChannelProperties.getLoadBalancingPolicy());
         NameResolverRegistry.getDefaultRegistry().register(discoveryClientNameResolverProvider);
         return discoveryClientNameResolverProvider;
     }
 
     @Bean
-    public FileGrpcService fileGrpcService(DiscoveryClient discoveryClient,
-                                           GrpcChannelFactory grpcChannelFactory) {
-        return new FileGrpcService(discoveryClient,
-            grpcChannelFactory);
+    public FileGrpcService fileGrpcService(GrpcChannelRegistry grpcChannelRegistry) {
+        return new FileGrpcService(grpcChannelRegistry);
     }
 
     @Bean
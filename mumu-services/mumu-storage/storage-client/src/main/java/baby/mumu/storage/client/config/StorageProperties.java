@@ -21,6 +21,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * 存储配置类
  *
@@ -49,6 +51,12 @@ public class StorageProperties {
     @NestedConfigurationProperty
     private FileStorageMediaTypeEnum storageMediaType = FileStorageMediaTypeEnum.S3;
 
+    /**
+     * 存储区域存在性缓存配置属性
+     */
+    @NestedConfigurationProperty
+    private ZoneCache zoneCache = new ZoneCache();
+
     @Data
     public static class Minio {
 
@@ -95,5 +103,49 @@ public class StorageProperties {
          * 启用路径样式访问
          */
         private boolean pathStyleAccessEnabled;
+
+        /**
+         * 超过该大小（字节）的文件使用分片上传
+         */
+        private long multipartThreshold = 50L * 1024 * 1024;
+
+        /**
+         * 最小分片大小（字节），超大文件会按分片数量上限自动增大
+         */
+        private int minPartSize = 8 * 1024 * 1024;
+
+        /**
+         * 同时上传中的最大分片数
+         */
+        private int maxInFlightParts = 8;
+
+        /**
+         * 单个分片最大尝试次数
+         */
+        private int maxPartAttempts = 3;
+
+        /**
+         * 所有分片上传共用的分片缓冲区总大小上限（字节），至少容纳一个分片
+         */
+        private long maxBufferSize = 256L * 1024 * 1024;
+    }
+
+    @Data
+    public static class ZoneCache {
+
+        /**
+         * 最大缓存数量
+         */
+        private long maximumSize = 1000;
+
+        /**
+         * 已存在的存储区域缓存时长
+         */
+        private long existsTtl = 30;
+
+        /**
+         * 已存在的存储区域缓存时长单位
+         */
+        private TimeUnit existsTtlUnit = TimeUnit.MINUTES;
     }
 }
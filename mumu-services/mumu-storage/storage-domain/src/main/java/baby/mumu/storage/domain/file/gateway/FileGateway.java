@@ -51,6 +51,16 @@ public interface FileGateway {
      */
     File downloadByMetadataId(Long fileMetadataId);
 
+    /**
+     * 按字节范围下载文件，文件内容为直连存储的流
+     *
+     * @param fileMetadata 目标文件元数据
+     * @param rangeStart   起始字节（包含），为空时下载完整文件
+     * @param rangeEnd     结束字节（包含），为空时下载完整文件
+     * @return 文件
+     */
+    File download(FileMetadata fileMetadata, Long rangeStart, Long rangeEnd);
+
     /**
      * 根据文件元数据ID获取文件元数据信息
      *
@@ -21,4 +21,5 @@ dependencies {
     implementation(libs.tika.core)
     implementation(libs.s3)
     implementation(libs.s3.transfer.manager)
+    implementation(libs.caffeine)
 }
@@ -130,7 +130,6 @@ public class FileGatewayImpl implements FileGateway {
      * {@inheritDoc}
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public File downloadByMetadataId(Long fileMetadataId) {
         if (fileMetadataId == null) {
             throw new ApplicationException(ResponseCode.FILE_DOES_NOT_EXIST);
@@ -139,10 +138,19 @@ public class FileGatewayImpl implements FileGateway {
             .orElseThrow(() -> new ApplicationException(ResponseCode.FILE_DOES_NOT_EXIST));
         FileMetadata fileMetadata = fileConvertor.toEntity(fileMetadataPO)
             .orElseThrow(() -> new ApplicationException(ResponseCode.FILE_METADATA_INVALID));
+        return download(fileMetadata, null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @API(status = Status.STABLE, since = "2.17.0")
+    public File download(FileMetadata fileMetadata, Long rangeStart, Long rangeEnd) {
         File file = new File();
         file.setMetadata(fileMetadata);
         try {
-            file.setContent(fileStorageRepository.download(file));
+            file.setContent(fileStorageRepository.download(file, rangeStart, rangeEnd));
         } catch (Exception e) {
             throw new ApplicationException(ResponseCode.FILE_DOWNLOAD_FAILED);
         }
@@ -43,11 +43,13 @@ public interface FileStorageRepository {
     void delete(File file) throws Exception;
 
     /**
-     * 文件下载
+     * 文件下载，返回直连存储的流，由调用方负责关闭
      *
-     * @param file 目标文件
+     * @param file       目标文件
+     * @param rangeStart 起始字节（包含），为空时下载完整文件
+     * @param rangeEnd   结束字节（包含），为空时下载完整文件
      */
-    InputStream download(File file) throws Exception;
+    InputStream download(File file, Long rangeStart, Long rangeEnd) throws Exception;
 
 
     /**
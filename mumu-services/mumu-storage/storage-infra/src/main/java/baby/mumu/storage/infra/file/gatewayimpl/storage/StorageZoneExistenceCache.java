@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.storage.infra.file.gatewayimpl.storage;
+
+import baby.mumu.storage.client.config.StorageProperties;
+import baby.mumu.storage.client.config.StorageProperties.ZoneCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 存储区域存在性本地缓存
+ * <p>
+ * 存储区域确认存在后在有效期内不再向对象存储发起探测；不存在的结果不缓存，
+ * 避免其他实例已创建的存储区域在缓存期内被重复创建
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+@Component
+public class StorageZoneExistenceCache {
+
+    private final Cache<String, Boolean> cache;
+
+    @Autowired
+    public StorageZoneExistenceCache(@NonNull StorageProperties storageProperties) {
+        ZoneCache zoneCache = storageProperties.getZoneCache();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(zoneCache.getMaximumSize())
+            .expireAfterWrite(Duration.ofNanos(zoneCache.getExistsTtlUnit().toNanos(zoneCache.getExistsTtl())))
+            .build();
+    }
+
+    /**
+     * 判断存储区域是否存在，未命中缓存时执行探测，仅缓存存在的结果
+     *
+     * @param code  存储区域编码
+     * @param probe 对象存储探测
+     * @return 是否存在
+     */
+    public <E extends Exception> boolean exists(String code, Probe<E> probe) throws E {
+        Boolean cached = cache.getIfPresent(code);
+        if (cached != null) {
+            return cached;
+        }
+        boolean exists = probe.exists();
+        if (exists) {
+            cache.put(code, true);
+        }
+        return exists;
+    }
+
+    /**
+     * 标记存储区域已存在
+     *
+     * @param code 存储区域编码
+     */
+    public void markExists(String code) {
+        cache.put(code, true);
+    }
+
+    /**
+     * 存储区域被外部删除时失效缓存
+     *
+     * @param code 存储区域编码
+     */
+    public void invalidate(String code) {
+        cache.invalidate(code);
+    }
+
+    @FunctionalInterface
+    public interface Probe<E extends Exception> {
+
+        boolean exists() throws E;
+    }
+}
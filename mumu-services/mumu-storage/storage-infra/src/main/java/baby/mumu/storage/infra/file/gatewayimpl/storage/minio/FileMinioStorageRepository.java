@@ -23,7 +23,9 @@ import baby.mumu.storage.domain.file.File;
 import baby.mumu.storage.domain.file.FileMetadata;
 import baby.mumu.storage.domain.zone.StorageZone;
 import baby.mumu.storage.infra.file.gatewayimpl.storage.FileStorageRepository;
+import baby.mumu.storage.infra.file.gatewayimpl.storage.StorageZoneExistenceCache;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
 import org.apache.commons.lang3.StringUtils;
 import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,10 +46,13 @@ import java.util.Optional;
 public class FileMinioStorageRepository implements FileStorageRepository {
 
     private final MinioClient minioClient;
+    private final StorageZoneExistenceCache storageZoneExistenceCache;
 
     @Autowired
-    public FileMinioStorageRepository(MinioClient minioClient) {
+    public FileMinioStorageRepository(MinioClient minioClient,
+                                      StorageZoneExistenceCache storageZoneExistenceCache) {
         this.minioClient = minioClient;
+        this.storageZoneExistenceCache = storageZoneExistenceCache;
     }
 
     @Override
@@ -67,22 +72,30 @@ public class FileMinioStorageRepository implements FileStorageRepository {
         String storageZoneCode = storageZone.getCode();
         createStorageZone(file);
         // 上传
-        minioClient.putObject(
-            PutObjectArgs.builder()
-                .bucket(storageZoneCode)
-                .object(file.getMetadata().getStoragePath())
-                // 自动计算分表大小
-                .stream(file.getContent(), fileSize, -1L)
-                .contentType(file.getMetadata().getContentType())
-                .build()
-        );
+        try {
+            minioClient.putObject(
+                PutObjectArgs.builder()
+                    .bucket(storageZoneCode)
+                    .object(file.getMetadata().getStoragePath())
+                    // 自动计算分表大小
+                    .stream(file.getContent(), fileSize, -1L)
+                    .contentType(file.getMetadata().getContentType())
+                    .build()
+            );
+        } catch (ErrorResponseException e) {
+            // Bucket 已被外部删除，失效缓存以便下次上传重新创建
+            if ("NoSuchBucket".equals(e.errorResponse().code())) {
+                storageZoneExistenceCache.invalidate(storageZoneCode);
+            }
+            throw e;
+        }
     }
 
     @Override
     public boolean storageZoneExists(File file) throws Exception {
         StorageZone storageZone = file.getMetadata().getStorageZone();
-        return minioClient.bucketExists(
-            BucketExistsArgs.builder().bucket(storageZone.getCode()).build());
+        return storageZoneExistenceCache.exists(storageZone.getCode(), () -> minioClient.bucketExists(
+            BucketExistsArgs.builder().bucket(storageZone.getCode()).build()));
     }
 
     @Override
@@ -92,8 +105,16 @@ public class FileMinioStorageRepository implements FileStorageRepository {
             return;
         }
         StorageZone storageZone = file.getMetadata().getStorageZone();
-        minioClient.makeBucket(
-            MakeBucketArgs.builder().bucket(storageZone.getCode()).build());
+        try {
+            minioClient.makeBucket(
+                MakeBucketArgs.builder().bucket(storageZone.getCode()).build());
+        } catch (ErrorResponseException e) {
+            // 其他实例已并发创建，视为创建成功，策略设置幂等仍继续执行
+            if (!"BucketAlreadyOwnedByYou".equals(e.errorResponse().code())) {
+                throw e;
+            }
+        }
+        storageZoneExistenceCache.markExists(storageZone.getCode());
         if (StorageZonePolicyEnum.PUBLIC.equals(storageZone.getPolicy())) {
             /*
              * s3:GetBucketLocation: 获取桶的位置
@@ -155,9 +176,13 @@ public class FileMinioStorageRepository implements FileStorageRepository {
     }
 
     @Override
-    public InputStream download(@NonNull File file) throws Exception {
-        return minioClient.getObject(
-            GetObjectArgs.builder().bucket(file.getMetadata().getStorageZone().getCode())
-                .object(file.getMetadata().getStoragePath()).build());
+    public InputStream download(@NonNull File file, Long rangeStart, Long rangeEnd) throws Exception {
+        GetObjectArgs.Builder builder = GetObjectArgs.builder()
+            .bucket(file.getMetadata().getStorageZone().getCode())
+            .object(file.getMetadata().getStoragePath());
+        if (rangeStart != null && rangeEnd != null) {
+            builder.offset(rangeStart).length(rangeEnd - rangeStart + 1);
+        }
+        return minioClient.getObject(builder.build());
     }
 }
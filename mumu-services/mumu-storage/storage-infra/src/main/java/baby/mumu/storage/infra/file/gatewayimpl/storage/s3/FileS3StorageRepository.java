@@ -25,7 +25,9 @@ import baby.mumu.storage.domain.file.File;
 import baby.mumu.storage.domain.file.FileMetadata;
 import baby.mumu.storage.domain.zone.StorageZone;
 import baby.mumu.storage.infra.file.gatewayimpl.storage.FileStorageRepository;
+import baby.mumu.storage.infra.file.gatewayimpl.storage.StorageZoneExistenceCache;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -36,9 +38,6 @@ import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest.Builder;
 
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -53,13 +52,20 @@ public class FileS3StorageRepository implements FileStorageRepository {
 
     private final S3Client s3Client;
     private final StorageProperties storageProperties;
+    private final S3MultipartUploader s3MultipartUploader;
+    private final StorageZoneExistenceCache storageZoneExistenceCache;
 
 
     @Autowired
     public FileS3StorageRepository(S3Client s3Client,
-                                   StorageProperties storageProperties) {
+                                   StorageProperties storageProperties,
+                                   StorageZoneExistenceCache storageZoneExistenceCache) {
         this.s3Client = s3Client;
         this.storageProperties = storageProperties;
+        this.storageZoneExistenceCache = storageZoneExistenceCache;
+        S3 s3 = storageProperties.getS3();
+        this.s3MultipartUploader = new S3MultipartUploader(s3Client, s3.getMinPartSize(),
+            s3.getMaxInFlightParts(), s3.getMaxPartAttempts(), s3.getMaxBufferSize());
     }
 
     @Override
@@ -78,19 +84,26 @@ public class FileS3StorageRepository implements FileStorageRepository {
         // 确保 Bucket 存在
         String storageZoneCode = storageZone.getCode();
         createStorageZone(file);
-        if (fileSize > 0 && fileSize <= 50L * 1024 * 1024) {
-            // 上传
-            PutObjectRequest request = PutObjectRequest.builder()
-                .bucket(storageZoneCode)
-                .key(String.valueOf(fileMetadata.getId()))
-                .contentType(fileMetadata.getContentType())
-                .build();
+        try {
+            if (fileSize <= storageProperties.getS3().getMultipartThreshold()) {
+                // 上传
+                PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(storageZoneCode)
+                    .key(String.valueOf(fileMetadata.getId()))
+                    .contentType(fileMetadata.getContentType())
+                    .build();
 
-            s3Client.putObject(request, RequestBody.fromInputStream(file.getContent(), fileSize));
-        } else {
-            uploadStreamAsMultipart(storageZoneCode, String.valueOf(fileMetadata.getId()),
-                file.getContent(),
-                fileMetadata.getContentType());
+                s3Client.putObject(request, RequestBody.fromInputStream(file.getContent(), fileSize));
+            } else {
+                s3MultipartUploader.upload(storageZoneCode, String.valueOf(fileMetadata.getId()),
+                    file.getContent(), fileSize, fileMetadata.getContentType());
+            }
+        } catch (RuntimeException e) {
+            // Bucket 已被外部删除，失效缓存以便下次上传重新创建
+            if (ExceptionUtils.indexOfThrowable(e, NoSuchBucketException.class) != -1) {
+                storageZoneExistenceCache.invalidate(storageZoneCode);
+            }
+            throw e;
         }
     }
 
@@ -111,7 +124,12 @@ public class FileS3StorageRepository implements FileStorageRepository {
             } else if (StorageZonePolicyEnum.PRIVATE.equals(storageZone.getPolicy())) {
                 builder.acl(BucketCannedACL.PRIVATE);
             }
-            s3Client.createBucket(builder.build());
+            try {
+                s3Client.createBucket(builder.build());
+            } catch (BucketAlreadyOwnedByYouException e) {
+                // 其他实例已并发创建，视为创建成功
+            }
+            storageZoneExistenceCache.markExists(storageZone.getCode());
         }
     }
 
@@ -126,104 +144,16 @@ public class FileS3StorageRepository implements FileStorageRepository {
     }
 
     @Override
-    public InputStream download(@NonNull File file) {
+    public InputStream download(@NonNull File file, Long rangeStart, Long rangeEnd) {
         FileMetadata metadata = file.getMetadata();
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+        GetObjectRequest.Builder builder = GetObjectRequest.builder()
             .bucket(metadata.getStorageZone().getCode())
-            .key(String.valueOf(metadata.getId()))
-            .build();
-        return s3Client.getObjectAsBytes(getObjectRequest).asInputStream();
-    }
-
-    /**
-     * 使用 InputStream 进行分片上传到 S3
-     */
-    public void uploadStreamAsMultipart(String bucket,
-                                        String key,
-                                        InputStream inputStream,
-                                        String contentType) {
-
-        // 每个分片大小（至少 5 MB，最后一片可以小于 5MB）
-        final int partSize = 5 * 1024 * 1024; // 5MB
-
-        // 1. 初始化 multipart upload
-        CreateMultipartUploadRequest createMultipartUploadRequest =
-            CreateMultipartUploadRequest.builder()
-                .bucket(bucket)
-                .key(key)
-                .contentType(contentType)
-                .build();
-
-        CreateMultipartUploadResponse createResponse =
-            s3Client.createMultipartUpload(createMultipartUploadRequest);
-
-        String uploadId = createResponse.uploadId();
-
-        List<CompletedPart> completedParts = new ArrayList<>();
-        byte[] buffer = new byte[partSize];
-        int partNumber = 1;
-
-        try {
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-
-                byte[] bytesToUpload;
-                if (bytesRead == buffer.length) {
-                    bytesToUpload = buffer;
-                } else {
-                    // 最后一块可能没读满 buffer
-                    bytesToUpload = Arrays.copyOf(buffer, bytesRead);
-                }
-
-                UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .uploadId(uploadId)
-                    .partNumber(partNumber)
-                    .contentLength((long) bytesRead)
-                    .build();
-
-                UploadPartResponse uploadPartResponse = s3Client.uploadPart(
-                    uploadPartRequest,
-                    RequestBody.fromBytes(bytesToUpload)
-                );
-
-                completedParts.add(
-                    CompletedPart.builder()
-                        .partNumber(partNumber)
-                        .eTag(uploadPartResponse.eTag())
-                        .build()
-                );
-
-                partNumber++;
-            }
-
-            // 2. 所有分片上传完，合并分片
-            CompletedMultipartUpload completedMultipartUpload = CompletedMultipartUpload.builder()
-                .parts(completedParts)
-                .build();
-
-            CompleteMultipartUploadRequest completeMultipartUploadRequest =
-                CompleteMultipartUploadRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .uploadId(uploadId)
-                    .multipartUpload(completedMultipartUpload)
-                    .build();
-
-            s3Client.completeMultipartUpload(completeMultipartUploadRequest);
-
-        } catch (Exception e) {
-            // 3. 出异常中止 upload
-            AbortMultipartUploadRequest abortMultipartUploadRequest =
-                AbortMultipartUploadRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .uploadId(uploadId)
-                    .build();
-            s3Client.abortMultipartUpload(abortMultipartUploadRequest);
-            throw new RuntimeException("Multipart upload failed", e);
+            .key(String.valueOf(metadata.getId()));
+        if (rangeStart != null && rangeEnd != null) {
+            builder.range("bytes=%d-%d".formatted(rangeStart, rangeEnd));
         }
+        // 直接返回响应流，不在堆内缓存对象内容
+        return s3Client.getObject(builder.build());
     }
 
     /**
@@ -231,18 +161,20 @@ public class FileS3StorageRepository implements FileStorageRepository {
      */
     @Override
     public boolean storageZoneExists(File file) {
-        try {
-            s3Client.headBucket(
-                HeadBucketRequest.builder().bucket(file.getMetadata().getStorageZone().getCode()).build());
-            return true;
-        } catch (NoSuchBucketException e) {
-            return false;
-        } catch (S3Exception e) {
-            // 403: 没权限也意味着存在，但不可访问
-            if (e.statusCode() == 403) {
+        String storageZoneCode = file.getMetadata().getStorageZone().getCode();
+        return storageZoneExistenceCache.exists(storageZoneCode, () -> {
+            try {
+                s3Client.headBucket(HeadBucketRequest.builder().bucket(storageZoneCode).build());
                 return true;
+            } catch (NoSuchBucketException e) {
+                return false;
+            } catch (S3Exception e) {
+                // 403: 没权限也意味着存在，但不可访问
+                if (e.statusCode() == 403) {
+                    return true;
+                }
+                throw e;
             }
-            throw e;
-        }
+        });
     }
 }
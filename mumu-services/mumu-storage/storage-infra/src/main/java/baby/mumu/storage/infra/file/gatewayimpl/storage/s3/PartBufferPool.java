@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package baby.mumu.storage.infra.file.gatewayimpl.storage.s3;
+
+import java.nio.ByteBuffer;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分片缓冲区池
+ * <p>
+ * 按分片大小分级复用堆缓冲区，所有上传共用一个以KiB计的配额，租出与空闲的缓冲区都占用配额；
+ * 配额不足时先丢弃其他大小的空闲缓冲区，仍不足时阻塞等待归还，因此缓冲区总占用不超过上限
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+final class PartBufferPool {
+
+    private static final int KIB = 1024;
+    private static final long EVICTION_WAIT_MILLIS = 100;
+
+    private final Semaphore budget;
+    private final int maxPermits;
+    private final Map<Integer, Deque<ByteBuffer>> idle = new ConcurrentHashMap<>();
+
+    PartBufferPool(long maxBytes) {
+        this.maxPermits = (int) Math.clamp(maxBytes / PartBufferPool.KIB, 1L, Integer.MAX_VALUE);
+        this.budget = new Semaphore(maxPermits);
+    }
+
+    /**
+     * 租用指定大小的缓冲区，配额不足时阻塞
+     *
+     * @param size 缓冲区大小（字节）
+     * @return 已清空的缓冲区
+     * @throws InterruptedException 等待配额时被中断
+     */
+    ByteBuffer acquire(int size) throws InterruptedException {
+        Deque<ByteBuffer> sameSize = idle.get(size);
+        ByteBuffer pooled = sameSize == null ? null : sameSize.pollFirst();
+        if (pooled != null) {
+            return pooled.clear();
+        }
+        int permits = permits(size);
+        while (!budget.tryAcquire(permits)) {
+            // 先释放空闲缓冲区，没有可释放的空闲缓冲区时限时等待其他上传归还
+            if (!evictIdle() && budget.tryAcquire(permits, PartBufferPool.EVICTION_WAIT_MILLIS,
+                TimeUnit.MILLISECONDS)) {
+                break;
+            }
+        }
+        return ByteBuffer.allocate(size);
+    }
+
+    /**
+     * 归还缓冲区，有线程等待配额时直接释放，否则按大小放回空闲队列继续占用配额
+     *
+     * @param buffer 缓冲区
+     */
+    void release(ByteBuffer buffer) {
+        if (budget.hasQueuedThreads()) {
+            budget.release(permits(buffer.capacity()));
+            return;
+        }
+        idle.computeIfAbsent(buffer.capacity(), _ -> new ConcurrentLinkedDeque<>()).offerFirst(buffer);
+    }
+
+    /**
+     * 丢弃一个空闲缓冲区并释放其配额
+     *
+     * @return 是否丢弃了缓冲区
+     */
+    private boolean evictIdle() {
+        for (Deque<ByteBuffer> buffers : idle.values()) {
+            ByteBuffer buffer = buffers.pollLast();
+            if (buffer != null) {
+                budget.release(permits(buffer.capacity()));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 单个缓冲区占用的配额，超过上限的超大分片按上限计算，保证总能独占配额上传
+     */
+    private int permits(int size) {
+        return (int) Math.min(maxPermits, ((long) size + PartBufferPool.KIB - 1) / PartBufferPool.KIB);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2024-2026, the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package baby.mumu.storage.infra.file.gatewayimpl.storage.s3;
+
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32C;
+
+/**
+ * S3流水线分片上传
+ * <p>
+ * 读取线程按顺序把输入流切成分片写入池化的堆缓冲区，分片在虚拟线程上并行上传，
+ * 单次上传读取中与上传中的分片共同受信号量限制，所有上传的缓冲区总占用受 {@link PartBufferPool} 配额限制
+ *
+ * @author <a href="mailto:kaiyu.shan@outlook.com">Kaiyu Shan</a>
+ * @since 2.17.0
+ */
+public class S3MultipartUploader {
+
+    /**
+     * S3 单次分片上传的分片数量上限
+     */
+    private static final int MAX_PARTS = 10_000;
+    private static final int MIB = 1024 * 1024;
+    private static final long RETRY_BACKOFF_MILLIS = 200;
+
+    private final S3Client s3Client;
+    private final int minPartSize;
+    private final int maxInFlightParts;
+    private final int maxPartAttempts;
+    private final PartBufferPool bufferPool;
+
+    public S3MultipartUploader(S3Client s3Client, int minPartSize, int maxInFlightParts,
+                               int maxPartAttempts, long maxBufferSize) {
+        this.s3Client = s3Client;
+        this.minPartSize = Math.max(5 * MIB, minPartSize);
+        this.maxInFlightParts = Math.max(1, maxInFlightParts);
+        this.maxPartAttempts = Math.max(1, maxPartAttempts);
+        this.bufferPool = new PartBufferPool(maxBufferSize);
+    }
+
+    /**
+     * 分片上传
+     *
+     * @param bucket      存储桶
+     * @param key         对象键
+     * @param inputStream 源文件流
+     * @param size        文件大小，用于计算分片大小，未知时传入非正数
+     * @param contentType 文件类型
+     */
+    public void upload(String bucket, String key, InputStream inputStream, long size,
+                       String contentType) {
+        int partSize = partSize(size);
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .contentType(contentType)
+            .checksumAlgorithm(ChecksumAlgorithm.CRC32_C)
+            .build()).uploadId();
+        Semaphore inFlight = new Semaphore(maxInFlightParts);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                boolean endOfStream = false;
+                for (int partNumber = 1; !endOfStream; partNumber++) {
+                    inFlight.acquire();
+                    ByteBuffer buffer;
+                    try {
+                        buffer = bufferPool.acquire(partSize);
+                    } catch (InterruptedException e) {
+                        inFlight.release();
+                        throw e;
+                    }
+                    boolean submitted = false;
+                    try {
+                        // 有分片失败时停止读取，尽快中止上传
+                        if (failure.get() != null) {
+                            break;
+                        }
+                        endOfStream = fill(inputStream, buffer);
+                        buffer.flip();
+                        if (!buffer.hasRemaining()) {
+                            break;
+                        }
+                        int currentPartNumber = partNumber;
+                        futures.add(executor.submit(() -> {
+                            try {
+                                return uploadPart(bucket, key, uploadId, currentPartNumber, buffer);
+                            } catch (Throwable e) {
+                                failure.compareAndSet(null, e);
+                                throw e;
+                            } finally {
+                                bufferPool.release(buffer);
+                                inFlight.release();
+                            }
+                        }));
+                        submitted = true;
+                    } finally {
+                        if (!submitted) {
+                            bufferPool.release(buffer);
+                            inFlight.release();
+                        }
+                    }
+                }
+                List<CompletedPart> completedParts = new ArrayList<>(futures.size());
+                for (Future<CompletedPart> future : futures) {
+                    completedParts.add(future.get());
+                }
+                s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+            } catch (Exception e) {
+                futures.forEach(future -> future.cancel(true));
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+                throw new RuntimeException("Multipart upload failed",
+                    e instanceof ExecutionException ? e.getCause() : e);
+            }
+        }
+    }
+
+    /**
+     * 分片大小取最小分片大小与满足分片数量上限所需大小中的较大者，并按MiB对齐
+     */
+    int partSize(long size) {
+        if (size <= 0) {
+            return minPartSize;
+        }
+        long required = (size + MAX_PARTS - 1) / MAX_PARTS;
+        long aligned = (required + MIB - 1) / MIB * MIB;
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(minPartSize, aligned));
+    }
+
+    private CompletedPart uploadPart(String bucket, String key, String uploadId, int partNumber,
+                                     ByteBuffer buffer) throws InterruptedException {
+        String checksum = crc32c(buffer);
+        long contentLength = buffer.remaining();
+        // 每次尝试都从缓冲区的只读视图重新读取，无需复制分片内容
+        RequestBody requestBody = RequestBody.fromContentProvider(
+            () -> new ByteBufferInputStream(buffer.asReadOnlyBuffer()), contentLength,
+            "application/octet-stream");
+        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .uploadId(uploadId)
+            .partNumber(partNumber)
+            .contentLength(contentLength)
+            .checksumCRC32C(checksum)
+            .build();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                UploadPartResponse uploadPartResponse = s3Client.uploadPart(uploadPartRequest,
+                    requestBody);
+                return CompletedPart.builder()
+                    .partNumber(partNumber)
+                    .eTag(uploadPartResponse.eTag())
+                    .checksumCRC32C(checksum)
+                    .build();
+            } catch (SdkException e) {
+                if (attempt >= maxPartAttempts) {
+                    throw e;
+                }
+                TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF_MILLIS << (attempt - 1));
+            }
+        }
+    }
+
+    private static String crc32c(ByteBuffer buffer) {
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(buffer.duplicate());
+        int value = (int) crc32c.getValue();
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    /**
+     * 读满缓冲区或读到流末尾
+     *
+     * @return 是否已到流末尾
+     */
+    private static boolean fill(InputStream inputStream, ByteBuffer buffer) throws IOException {
+        // 直接读入堆缓冲区的底层数组，避免经由通道的中间复制
+        while (buffer.hasRemaining()) {
+            int read = inputStream.read(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                buffer.remaining());
+            if (read < 0) {
+                return true;
+            }
+            buffer.position(buffer.position() + read);
+        }
+        return false;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}